@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.aspsp.profile.event;
+
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Published in the application context whenever the ASPSP profile settings were changed in the same JVM
+ * (update via debug endpoints or scheduled reloading of bank profiles)
+ */
+@Value
+public class AspspProfileUpdatedEvent {
+    /**
+     * ID of the instance, which settings were changed, or <code>null</code> if settings of all instances were reloaded
+     */
+    @Nullable
+    private final String instanceId;
+}
@@ -40,5 +40,14 @@ public interface AspspProfileService {
      */
     List<ScaApproach> getScaApproaches(String instanceId);
 
+    /**
+     * Reads current version of aspsp settings and sca approaches. Version is changed every time the settings of given instance are
+     * updated or reloaded, so it can be polled in order to find out whether previously read settings are still actual.
+     *
+     * @param instanceId ID of the instance
+     * @return current version of the settings
+     */
+    long getAspspSettingsVersion(String instanceId);
+
     boolean isMultitenancyEnabled();
 }
@@ -60,4 +60,25 @@ public class ProfileConfigurations implements InitializingBean {
         instanceConfigurations.clear();
         instanceConfigurations.putAll(newProfileConfiguration.getInstanceConfigurations());
     }
+
+    /**
+     * Replaces settings of the single configuration with the settings of the given configuration
+     *
+     * @param newConfiguration configuration, which was read from the bank profile
+     */
+    public void updateSingleConfiguration(ProfileConfiguration newConfiguration) {
+        newConfiguration.setDefaultProperties();
+        singleConfiguration.setSetting(newConfiguration.getSetting());
+    }
+
+    /**
+     * Replaces configuration of the given instance
+     *
+     * @param instanceId       ID of the instance
+     * @param newConfiguration configuration, which was read from the bank profile of the instance
+     */
+    public void updateInstanceConfiguration(String instanceId, ProfileConfiguration newConfiguration) {
+        newConfiguration.setDefaultProperties();
+        instanceConfigurations.put(instanceId.toLowerCase(), newConfiguration);
+    }
 }
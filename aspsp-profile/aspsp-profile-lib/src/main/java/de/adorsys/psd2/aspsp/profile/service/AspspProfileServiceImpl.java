@@ -33,20 +33,65 @@ import de.adorsys.psd2.aspsp.profile.domain.sb.SbAspspProfileSetting;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.profile.StartAuthorisationMode;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class AspspProfileServiceImpl implements AspspProfileService {
     private final ProfileConfigurations profileConfigurations;
+    private final AspspProfileVersionService aspspProfileVersionService;
 
+    private final Map<String, VersionedAspspSettings> aspspSettingsCache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns settings of the given instance. Settings are built once per version of the bank profile and shared
+     * between all callers, so the returned object must not be modified.
+     *
+     * @param instanceId ID of the instance
+     * @return ASPSP settings of the instance
+     */
     @Override
     public AspspSettings getAspspSettings(String instanceId) {
-        BankProfileSetting setting = profileConfigurations.getSetting(instanceId);
+        String cacheKey = profileConfigurations.isMultitenancyEnabled()
+                              ? StringUtils.lowerCase(StringUtils.defaultString(instanceId))
+                              : "";
+        // version is read before the settings, so that settings changed in the meantime are never cached as current
+        long version = aspspProfileVersionService.getVersion(instanceId);
+
+        VersionedAspspSettings cachedSettings = aspspSettingsCache.get(cacheKey);
+        if (cachedSettings != null && cachedSettings.version == version) {
+            return cachedSettings.settings;
+        }
+
+        AspspSettings aspspSettings = buildAspspSettings(profileConfigurations.getSetting(instanceId));
+        aspspSettingsCache.put(cacheKey, new VersionedAspspSettings(version, aspspSettings));
+        return aspspSettings;
+    }
+
+    @Override
+    public List<ScaApproach> getScaApproaches(String instanceId) {
+        return profileConfigurations.getSetting(instanceId)
+                   .getCommon()
+                   .getScaApproachesSupported();
+    }
+
+    @Override
+    public long getAspspSettingsVersion(String instanceId) {
+        return aspspProfileVersionService.getVersion(instanceId);
+    }
 
+    @Override
+    public boolean isMultitenancyEnabled() {
+        return profileConfigurations.isMultitenancyEnabled();
+    }
+
+    private AspspSettings buildAspspSettings(BankProfileSetting setting) {
         AisAspspProfileBankSetting aisBankSetting = setting.getAis();
         ConsentTypeBankSetting consentTypeSetting = aisBankSetting.getConsentTypes();
         ConsentTypeSetting consentTypes = new ConsentTypeSetting(consentTypeSetting.isBankOfferedConsentSupported(),
@@ -120,15 +165,13 @@ public class AspspProfileServiceImpl implements AspspProfileService {
         return new AspspSettings(ais, pis, piis, sb, common);
     }
 
-    @Override
-    public List<ScaApproach> getScaApproaches(String instanceId) {
-        return profileConfigurations.getSetting(instanceId)
-                   .getCommon()
-                   .getScaApproachesSupported();
-    }
+    private static final class VersionedAspspSettings {
+        private final long version;
+        private final AspspSettings settings;
 
-    @Override
-    public boolean isMultitenancyEnabled() {
-        return profileConfigurations.isMultitenancyEnabled();
+        private VersionedAspspSettings(long version, AspspSettings settings) {
+            this.version = version;
+            this.settings = settings;
+        }
     }
 }
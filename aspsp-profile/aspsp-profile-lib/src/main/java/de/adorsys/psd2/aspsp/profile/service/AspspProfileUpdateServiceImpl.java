@@ -33,6 +33,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
 
     private final ProfileConfigurations profileConfigurations;
     private final AspspSettingsToBankProfileSettingMapper profileSettingMapper;
+    private final AspspProfileVersionService aspspProfileVersionService;
 
     /**
      * Update sca approach
@@ -44,6 +45,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
         profileConfigurations.getSetting(instanceId)
             .getCommon()
             .setScaApproachesSupported(scaApproaches);
+        incrementVersion(instanceId);
     }
 
     /**
@@ -59,10 +61,20 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
     public void updateAspspSettings(@NotNull AspspSettings aspspSettings, String instanceId) {
         BankProfileSetting setting = profileConfigurations.getSetting(instanceId);
         profileSettingMapper.updateBankProfileSetting(aspspSettings, setting);
+        incrementVersion(instanceId);
     }
 
     @Override
     public void enableMultitenancy(Boolean multitenancyEnabled) {
         profileConfigurations.setMultitenancyEnabled(multitenancyEnabled);
+        aspspProfileVersionService.incrementAllVersions();
+    }
+
+    private void incrementVersion(String instanceId) {
+        if (profileConfigurations.isMultitenancyEnabled()) {
+            aspspProfileVersionService.incrementVersion(instanceId);
+        } else {
+            aspspProfileVersionService.incrementAllVersions();
+        }
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of ASPSP profile settings versions. Global version is initialised with startup time, so that the versions
+ * are not repeated after restart of the profile.
+ */
+@Service
+@RequiredArgsConstructor
+public class AspspProfileVersionService {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final AtomicLong globalVersion = new AtomicLong(System.currentTimeMillis());
+    private final Map<String, AtomicLong> instanceVersions = new ConcurrentHashMap<>();
+
+    public long getVersion(String instanceId) {
+        AtomicLong instanceVersion = instanceVersions.get(toKey(instanceId));
+        return instanceVersion == null
+                   ? globalVersion.get()
+                   : globalVersion.get() + instanceVersion.get();
+    }
+
+    /**
+     * Increments version of the settings for the given instance and notifies listeners in the same application context
+     *
+     * @param instanceId ID of the instance, which settings were changed
+     */
+    public void incrementVersion(String instanceId) {
+        instanceVersions.computeIfAbsent(toKey(instanceId), k -> new AtomicLong()).incrementAndGet();
+        applicationEventPublisher.publishEvent(new AspspProfileUpdatedEvent(instanceId));
+    }
+
+    /**
+     * Increments version of the settings for all instances and notifies listeners in the same application context
+     */
+    public void incrementAllVersions() {
+        globalVersion.incrementAndGet();
+        applicationEventPublisher.publishEvent(new AspspProfileUpdatedEvent(null));
+    }
+
+    private String toKey(String instanceId) {
+        return StringUtils.lowerCase(StringUtils.defaultString(instanceId));
+    }
+}
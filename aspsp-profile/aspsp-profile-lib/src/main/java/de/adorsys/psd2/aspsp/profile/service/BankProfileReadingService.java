@@ -10,14 +10,19 @@ import org.springframework.context.ResourceLoaderAware;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.representer.Representer;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Slf4j
@@ -26,6 +31,7 @@ public class BankProfileReadingService implements ResourceLoaderAware {
     private static final String CLASSPATH_PREFIX = "classpath:";
     private static final String FILE_PREFIX = "file:";
     private static final String FILE_NOT_FOUND_ERROR_MESSAGE = "PSD2 api file is not found";
+    private static final String SINGLE_PROFILE_KEY = "";
 
     @Value("${xs2a.bank_profile.path:}")
     private String customBankProfile;
@@ -38,6 +44,8 @@ public class BankProfileReadingService implements ResourceLoaderAware {
 
     private ResourceLoader resourceLoader;
     private Yaml yaml;
+    // Fingerprints of the last read profiles by instance ID, single profile is stored with empty key
+    private final Map<String, ProfileFingerprint> profileFingerprints = new ConcurrentHashMap<>();
 
     public BankProfileReadingService() {
         this.yaml = new Yaml(createRepresenter(), createDumperOptions());
@@ -49,37 +57,106 @@ public class BankProfileReadingService implements ResourceLoaderAware {
     }
 
     public ProfileConfigurations getProfileConfigurations() {
-        Map<String, ProfileConfiguration> instanceConfigurations = new HashMap<>();
+        Map<String, ProfileConfiguration> instanceConfigurations = new ConcurrentHashMap<>();
         if (multitenancyEnabled) {
             customBankProfiles.keySet().forEach(key -> instanceConfigurations.put(
                 key.toLowerCase(),
-                yaml.loadAs(loadProfile(key), ProfileConfiguration.class)
+                parseProfile(key.toLowerCase(), loadProfile(key))
             ));
         }
-        ProfileConfiguration singleProfileConfiguration = yaml.loadAs(loadProfile(), ProfileConfiguration.class);
+        ProfileConfiguration singleProfileConfiguration = parseProfile(SINGLE_PROFILE_KEY, loadProfile());
         return new ProfileConfigurations(multitenancyEnabled, singleProfileConfiguration, instanceConfigurations);
     }
 
-    private InputStream loadProfile() {
+    /**
+     * Reads the single bank profile, if its file was changed since the last reading. File is considered to be changed,
+     * if its modification time and the hash of its content are both different.
+     *
+     * @return changed profile configuration or empty optional, if the file wasn't changed
+     */
+    public Optional<ProfileConfiguration> getChangedSingleConfiguration() {
+        return isModified(SINGLE_PROFILE_KEY, resolveBankProfile())
+                   ? parseProfileIfChanged(SINGLE_PROFILE_KEY, loadProfile())
+                   : Optional.empty();
+    }
+
+    /**
+     * Reads bank profiles of the instances, which files were changed since the last reading
+     *
+     * @return changed profile configurations by lowercase instance ID
+     */
+    public Map<String, ProfileConfiguration> getChangedInstanceConfigurations() {
+        Map<String, ProfileConfiguration> changedConfigurations = new HashMap<>();
+        if (multitenancyEnabled) {
+            customBankProfiles.keySet().forEach(key -> {
+                String instanceKey = key.toLowerCase();
+                if (isModified(instanceKey, resolveBankProfile(key))) {
+                    parseProfileIfChanged(instanceKey, loadProfile(key))
+                        .ifPresent(configuration -> changedConfigurations.put(instanceKey, configuration));
+                }
+            });
+        }
+        return changedConfigurations;
+    }
+
+    private ProfileConfiguration parseProfile(String profileKey, ProfileContent profileContent) {
+        profileFingerprints.put(profileKey, profileContent.fingerprint);
+        return yaml.loadAs(new ByteArrayInputStream(profileContent.content), ProfileConfiguration.class);
+    }
+
+    private Optional<ProfileConfiguration> parseProfileIfChanged(String profileKey, ProfileContent profileContent) {
+        ProfileFingerprint previousFingerprint = profileFingerprints.get(profileKey);
+        if (previousFingerprint != null && previousFingerprint.hash.equals(profileContent.fingerprint.hash)) {
+            profileFingerprints.put(profileKey, profileContent.fingerprint);
+            return Optional.empty();
+        }
+        return Optional.of(parseProfile(profileKey, profileContent));
+    }
+
+    private boolean isModified(String profileKey, String location) {
+        ProfileFingerprint previousFingerprint = profileFingerprints.get(profileKey);
+        long lastModified = getLastModified(resourceLoader.getResource(location));
+        return previousFingerprint == null
+                   || lastModified <= 0
+                   || previousFingerprint.lastModified != lastModified;
+    }
+
+    private ProfileContent loadProfile() {
         Resource resource = resourceLoader.getResource(resolveBankProfile());
         try {
-            return resource.getInputStream();
+            return readProfile(resource);
         } catch (IOException e) {
             log.error(FILE_NOT_FOUND_ERROR_MESSAGE, e);
             throw new IllegalArgumentException(FILE_NOT_FOUND_ERROR_MESSAGE);
         }
     }
 
-    private InputStream loadProfile(String instanceId) {
+    private ProfileContent loadProfile(String instanceId) {
         Resource resource = resourceLoader.getResource(resolveBankProfile(instanceId));
         try {
-            return resource.getInputStream();
+            return readProfile(resource);
         } catch (IOException e) {
             log.error(FILE_NOT_FOUND_ERROR_MESSAGE, e);
             throw new IllegalArgumentException("PSD2 api file for `instance-id` " + instanceId + "is not found");
         }
     }
 
+    private ProfileContent readProfile(Resource resource) throws IOException {
+        long lastModified = getLastModified(resource);
+        try (InputStream inputStream = resource.getInputStream()) {
+            return new ProfileContent(lastModified, StreamUtils.copyToByteArray(inputStream));
+        }
+    }
+
+    private long getLastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // modification time is not available for all resources, such files are checked by content hash only
+            return 0;
+        }
+    }
+
     private String resolveBankProfile(String instanceId) {
         if (multitenancyEnabled) {
             if (!customBankProfiles.containsKey(instanceId.toLowerCase())) {
@@ -114,4 +191,24 @@ public class BankProfileReadingService implements ResourceLoaderAware {
         options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
         return options;
     }
+
+    private static final class ProfileFingerprint {
+        private final long lastModified;
+        private final String hash;
+
+        private ProfileFingerprint(long lastModified, String hash) {
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+
+    private static final class ProfileContent {
+        private final ProfileFingerprint fingerprint;
+        private final byte[] content;
+
+        private ProfileContent(long lastModified, byte[] content) {
+            this.fingerprint = new ProfileFingerprint(lastModified, DigestUtils.md5DigestAsHex(content));
+            this.content = content;
+        }
+    }
 }
@@ -1,20 +1,37 @@
 package de.adorsys.psd2.aspsp.profile.service;
 
+import de.adorsys.psd2.aspsp.profile.config.ProfileConfiguration;
 import de.adorsys.psd2.aspsp.profile.config.ProfileConfigurations;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.Optional;
+
 @Component
 @RequiredArgsConstructor
 public class BankProfileReloadingScheduleTask {
     private final BankProfileReadingService bankProfileReadingService;
     private final ProfileConfigurations profileConfigurations;
+    private final AspspProfileVersionService aspspProfileVersionService;
 
+    /**
+     * Reloads bank profiles, which files were changed since the last reading, and increments versions of the changed
+     * settings. Settings of the instances with unchanged files are kept as they are.
+     */
     @Scheduled(cron = "${aspsp-profile-reload.cron.expression:-}")
     public void updateProfileConfiguration() {
-        ProfileConfigurations newProfileConfiguration = bankProfileReadingService.getProfileConfigurations();
-        profileConfigurations.updateSettings(newProfileConfiguration);
-        profileConfigurations.setDefaultProperties();
+        Optional<ProfileConfiguration> singleConfiguration = bankProfileReadingService.getChangedSingleConfiguration();
+        Map<String, ProfileConfiguration> instanceConfigurations = bankProfileReadingService.getChangedInstanceConfigurations();
+
+        singleConfiguration.ifPresent(profileConfigurations::updateSingleConfiguration);
+        instanceConfigurations.forEach(profileConfigurations::updateInstanceConfiguration);
+
+        if (singleConfiguration.isPresent()) {
+            aspspProfileVersionService.incrementAllVersions();
+        } else {
+            instanceConfigurations.keySet().forEach(aspspProfileVersionService::incrementVersion);
+        }
     }
 }
@@ -42,7 +42,9 @@ import java.util.*;
 import static de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField.IBAN;
 import static de.adorsys.psd2.xs2a.core.ais.BookingStatus.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AspspProfileServiceTest {
@@ -103,6 +105,8 @@ class AspspProfileServiceTest {
 
     @Mock
     private ProfileConfigurations profileConfigurations;
+    @Mock
+    private AspspProfileVersionService aspspProfileVersionService;
     private AspspSettings actualResponse;
 
     @BeforeEach
@@ -141,6 +145,42 @@ class AspspProfileServiceTest {
         assertEquals(Collections.singletonList(REDIRECT_APPROACH), actualResponse);
     }
 
+    @Test
+    void getAspspSettingsVersion_success() {
+        //Given:
+        when(aspspProfileVersionService.getVersion(INSTANCE_ID)).thenReturn(7L);
+
+        //When:
+        long actualVersion = aspspProfileService.getAspspSettingsVersion(INSTANCE_ID);
+
+        //Then:
+        assertEquals(7L, actualVersion);
+    }
+
+    @Test
+    void getAspspSettings_sameVersion_settingsAreNotRebuilt() {
+        //When:
+        AspspSettings secondResponse = aspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        //Then:
+        assertSame(actualResponse, secondResponse);
+        verify(profileConfigurations, times(1)).getSetting(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_versionChanged_settingsAreRebuilt() {
+        //Given:
+        when(aspspProfileVersionService.getVersion(INSTANCE_ID)).thenReturn(1L);
+
+        //When:
+        AspspSettings secondResponse = aspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        //Then:
+        assertNotSame(actualResponse, secondResponse);
+        assertEquals(actualResponse, secondResponse);
+        verify(profileConfigurations, times(2)).getSetting(INSTANCE_ID);
+    }
+
     @Test
     void getRedirectUrlExpirationTimeMs_success() {
         assertEquals(REDIRECT_URL_EXPIRATION_TIME_MS, actualResponse.getCommon().getRedirectUrlExpirationTimeMs());
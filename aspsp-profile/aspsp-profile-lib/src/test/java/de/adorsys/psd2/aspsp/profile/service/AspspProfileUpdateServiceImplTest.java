@@ -111,6 +111,8 @@ class AspspProfileUpdateServiceImplTest {
 
     @Mock
     private ProfileConfigurations profileConfigurations;
+    @Mock
+    private AspspProfileVersionService aspspProfileVersionService;
 
     @Spy
     private AspspSettingsToBankProfileSettingMapper profileSettingMapper = Mappers.getMapper(AspspSettingsToBankProfileSettingMapper.class);
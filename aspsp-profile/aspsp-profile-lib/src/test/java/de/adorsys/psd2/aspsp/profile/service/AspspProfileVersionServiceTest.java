@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AspspProfileVersionServiceTest {
+    private static final String INSTANCE_ID = "bank1";
+    private static final String ANOTHER_INSTANCE_ID = "bank2";
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private AspspProfileVersionService aspspProfileVersionService;
+
+    @Test
+    void incrementVersion_changesOnlyGivenInstance() {
+        //Given:
+        long initialVersion = aspspProfileVersionService.getVersion(INSTANCE_ID);
+        long anotherInitialVersion = aspspProfileVersionService.getVersion(ANOTHER_INSTANCE_ID);
+
+        //When:
+        aspspProfileVersionService.incrementVersion(INSTANCE_ID.toUpperCase());
+
+        //Then:
+        assertNotEquals(initialVersion, aspspProfileVersionService.getVersion(INSTANCE_ID));
+        assertEquals(anotherInitialVersion, aspspProfileVersionService.getVersion(ANOTHER_INSTANCE_ID));
+        verify(applicationEventPublisher).publishEvent(new AspspProfileUpdatedEvent(INSTANCE_ID.toUpperCase()));
+    }
+
+    @Test
+    void incrementAllVersions_changesAllInstances() {
+        //Given:
+        long initialVersion = aspspProfileVersionService.getVersion(INSTANCE_ID);
+        long anotherInitialVersion = aspspProfileVersionService.getVersion(ANOTHER_INSTANCE_ID);
+
+        //When:
+        aspspProfileVersionService.incrementAllVersions();
+
+        //Then:
+        assertNotEquals(initialVersion, aspspProfileVersionService.getVersion(INSTANCE_ID));
+        assertNotEquals(anotherInitialVersion, aspspProfileVersionService.getVersion(ANOTHER_INSTANCE_ID));
+        verify(applicationEventPublisher).publishEvent(new AspspProfileUpdatedEvent(null));
+    }
+}
@@ -1,14 +1,23 @@
 package de.adorsys.psd2.aspsp.profile.service;
 
+import de.adorsys.psd2.aspsp.profile.config.ProfileConfiguration;
 import de.adorsys.psd2.aspsp.profile.config.ProfileConfigurations;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,6 +26,9 @@ class BankProfileReadingServiceTest {
 
     private BankProfileReadingService bankProfileReadingService;
 
+    @TempDir
+    Path tempDir;
+
     @BeforeEach
     void setUp() {
         bankProfileReadingService = new BankProfileReadingService();
@@ -101,4 +113,85 @@ class BankProfileReadingServiceTest {
         assertTrue(profileConfigurations.getInstanceConfigurations().containsKey("bank1"));
         assertTrue(profileConfigurations.getInstanceConfigurations().containsKey("bank2"));
     }
+
+    @Test
+    void getChangedSingleConfiguration_fileNotChanged() throws IOException {
+        //Given
+        Path profile = copyProfile("bank_profile_sca_redirect_flow_redirect.yml", tempDir.resolve("bank_profile.yml"));
+        ReflectionTestUtils.setField(bankProfileReadingService, "customBankProfile", profile.toString());
+        bankProfileReadingService.getProfileConfigurations();
+
+        //When
+        Optional<ProfileConfiguration> changedConfiguration = bankProfileReadingService.getChangedSingleConfiguration();
+
+        //Then
+        assertFalse(changedConfiguration.isPresent());
+    }
+
+    @Test
+    void getChangedSingleConfiguration_onlyModificationTimeChanged() throws IOException {
+        //Given
+        Path profile = copyProfile("bank_profile_sca_redirect_flow_redirect.yml", tempDir.resolve("bank_profile.yml"));
+        ReflectionTestUtils.setField(bankProfileReadingService, "customBankProfile", profile.toString());
+        bankProfileReadingService.getProfileConfigurations();
+        touch(profile);
+
+        //When
+        Optional<ProfileConfiguration> changedConfiguration = bankProfileReadingService.getChangedSingleConfiguration();
+
+        //Then
+        assertFalse(changedConfiguration.isPresent());
+    }
+
+    @Test
+    void getChangedSingleConfiguration_fileChanged() throws IOException {
+        //Given
+        Path profile = copyProfile("bank_profile_sca_redirect_flow_redirect.yml", tempDir.resolve("bank_profile.yml"));
+        ReflectionTestUtils.setField(bankProfileReadingService, "customBankProfile", profile.toString());
+        bankProfileReadingService.getProfileConfigurations();
+        copyProfile("bank_profile_sca_redirect_flow_oauth.yml", profile);
+        touch(profile);
+
+        //When
+        Optional<ProfileConfiguration> changedConfiguration = bankProfileReadingService.getChangedSingleConfiguration();
+
+        //Then
+        assertTrue(changedConfiguration.isPresent());
+        assertEquals(ScaRedirectFlow.OAUTH, changedConfiguration.get().getSetting().getCommon().getScaRedirectFlow());
+        assertFalse(bankProfileReadingService.getChangedSingleConfiguration().isPresent());
+    }
+
+    @Test
+    void getChangedInstanceConfigurations_onlyChangedInstance() throws IOException {
+        //Given
+        Path bank1Profile = copyProfile("bank_profile_sca_redirect_flow_redirect.yml", tempDir.resolve("bank1.yml"));
+        Path bank2Profile = copyProfile("bank_profile_sca_redirect_flow_redirect.yml", tempDir.resolve("bank2.yml"));
+        ReflectionTestUtils.setField(bankProfileReadingService, "multitenancyEnabled", true);
+        Map<String, String> customBankProfiles = new HashMap<>();
+        customBankProfiles.put("bank1", "file:" + bank1Profile);
+        customBankProfiles.put("bank2", "file:" + bank2Profile);
+        ReflectionTestUtils.setField(bankProfileReadingService, "customBankProfiles", customBankProfiles);
+        bankProfileReadingService.getProfileConfigurations();
+        copyProfile("bank_profile_sca_redirect_flow_oauth.yml", bank2Profile);
+        touch(bank2Profile);
+
+        //When
+        Map<String, ProfileConfiguration> changedConfigurations = bankProfileReadingService.getChangedInstanceConfigurations();
+
+        //Then
+        assertEquals(1, changedConfigurations.size());
+        assertEquals(ScaRedirectFlow.OAUTH, changedConfigurations.get("bank2").getSetting().getCommon().getScaRedirectFlow());
+    }
+
+    private Path copyProfile(String classpathProfile, Path target) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(classpathProfile)) {
+            Files.write(target, StreamUtils.copyToByteArray(inputStream));
+        }
+        return target;
+    }
+
+    private void touch(Path path) throws IOException {
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 10_000));
+    }
 }
@@ -8,17 +8,15 @@ import de.adorsys.psd2.aspsp.profile.domain.common.CommonAspspProfileBankSetting
 import de.adorsys.psd2.aspsp.profile.domain.piis.PiisAspspProfileBankSetting;
 import de.adorsys.psd2.aspsp.profile.domain.pis.PisAspspProfileBankSetting;
 import de.adorsys.psd2.aspsp.profile.domain.sb.SbAspspProfileBankSetting;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
+import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,29 +25,57 @@ class BankProfileReloadingScheduleTaskTest {
     private BankProfileReadingService bankProfileReadingService;
     @Mock
     private ProfileConfigurations profileConfigurations;
+    @Mock
+    private AspspProfileVersionService aspspProfileVersionService;
 
     @InjectMocks
     private BankProfileReloadingScheduleTask bankProfileReloadingScheduleTask;
 
-    @BeforeEach
-    void setUp() {
-        ProfileConfiguration singleConfiguration = buildNewProfileConfiguration();
-        when(bankProfileReadingService.getProfileConfigurations())
-            .thenReturn(new ProfileConfigurations(false, singleConfiguration, Collections.singletonMap("bank1", singleConfiguration)));
+    @Test
+    void updateProfileConfiguration_singleProfileChanged() {
+        // Given
+        ProfileConfiguration newProfileConfiguration = buildNewProfileConfiguration();
+        when(bankProfileReadingService.getChangedSingleConfiguration()).thenReturn(Optional.of(newProfileConfiguration));
+        when(bankProfileReadingService.getChangedInstanceConfigurations()).thenReturn(Collections.emptyMap());
+
+        // When
+        bankProfileReloadingScheduleTask.updateProfileConfiguration();
+
+        // Then
+        verify(profileConfigurations).updateSingleConfiguration(newProfileConfiguration);
+        verify(profileConfigurations, never()).updateInstanceConfiguration(any(), any());
+        verify(aspspProfileVersionService).incrementAllVersions();
+        verify(aspspProfileVersionService, never()).incrementVersion(any());
     }
 
     @Test
-    void updateProfileConfiguration() {
+    void updateProfileConfiguration_instanceProfileChanged() {
+        // Given
+        ProfileConfiguration newProfileConfiguration = buildNewProfileConfiguration();
+        when(bankProfileReadingService.getChangedSingleConfiguration()).thenReturn(Optional.empty());
+        when(bankProfileReadingService.getChangedInstanceConfigurations()).thenReturn(Collections.singletonMap("bank1", newProfileConfiguration));
+
+        // When
         bankProfileReloadingScheduleTask.updateProfileConfiguration();
 
-        ProfileConfiguration newProfileConfiguration = buildNewProfileConfiguration();
+        // Then
+        verify(profileConfigurations, never()).updateSingleConfiguration(any());
+        verify(profileConfigurations).updateInstanceConfiguration("bank1", newProfileConfiguration);
+        verify(aspspProfileVersionService).incrementVersion("bank1");
+        verify(aspspProfileVersionService, never()).incrementAllVersions();
+    }
 
-        ArgumentCaptor<ProfileConfigurations> profileConfigurationsArgumentCaptor = ArgumentCaptor.forClass(ProfileConfigurations.class);
-        verify(profileConfigurations, times(1)).updateSettings(profileConfigurationsArgumentCaptor.capture());
-        verify(profileConfigurations, times(1)).setDefaultProperties();
+    @Test
+    void updateProfileConfiguration_nothingChanged() {
+        // Given
+        when(bankProfileReadingService.getChangedSingleConfiguration()).thenReturn(Optional.empty());
+        when(bankProfileReadingService.getChangedInstanceConfigurations()).thenReturn(Collections.emptyMap());
+
+        // When
+        bankProfileReloadingScheduleTask.updateProfileConfiguration();
 
-        assertEquals(bankProfileReadingService.getProfileConfigurations().getSingleConfiguration(), newProfileConfiguration);
-        assertEquals(profileConfigurationsArgumentCaptor.getValue().getSingleConfiguration().getSetting(), newProfileConfiguration.getSetting());
+        // Then
+        verifyNoInteractions(profileConfigurations, aspspProfileVersionService);
     }
 
     private ProfileConfiguration buildNewProfileConfiguration() {
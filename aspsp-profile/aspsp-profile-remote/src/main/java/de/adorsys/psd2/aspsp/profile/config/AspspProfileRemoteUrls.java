@@ -43,6 +43,15 @@ public class AspspProfileRemoteUrls {
         return aspspProfileBaseUrl + "/aspsp-profile";
     }
 
+    /**
+     * Returns URL-string in order to get current version of aspsp settings
+     *
+     * @return String
+     */
+    public String getAspspSettingsVersion() {
+        return aspspProfileBaseUrl + "/aspsp-profile/version";
+    }
+
     public String isMultitenancyEnabled() {
         return aspspProfileBaseUrl + "/aspsp-profile/multitenancy/enabled";
     }
@@ -15,39 +15,53 @@
  */
 package de.adorsys.psd2.aspsp.profile.config;
 
+import de.adorsys.psd2.http.client.PooledHttpClientFactory;
+import de.adorsys.psd2.http.client.PooledHttpClientProperties;
 import de.adorsys.psd2.logger.web.LoggingContextInterceptor;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 @RequiredArgsConstructor
 public class AspspProfileRestConfig {
-    private final LoggingContextInterceptor loggingContextInterceptor;
+    private static final String PROPERTY_PREFIX = "xs2a.rest-profile-config";
+    private static final String LEGACY_READ_TIMEOUT_PROPERTY = "http-client.read-timeout.ms";
+    private static final String LEGACY_CONNECTION_TIMEOUT_PROPERTY = "http-client.connection-timeout.ms";
+    private static final String POOL_METRIC_CLIENT_NAME = "aspsp-profile";
 
-    @Value("${http-client.read-timeout.ms:10000}")
-    private int readTimeout;
-    @Value("${http-client.connection-timeout.ms:10000}")
-    private int connectionTimeout;
+    private final LoggingContextInterceptor loggingContextInterceptor;
+    private final Environment environment;
 
     @Bean(name = "aspspProfileRestTemplate")
     public RestTemplate aspspProfileRestTemplate() {
-        RestTemplate rest = new RestTemplate(clientHttpRequestFactory());
+        RestTemplate rest = new RestTemplate(aspspProfileClientHttpRequestFactory());
         rest.getMessageConverters().removeIf(m -> m.getClass().isAssignableFrom(MappingJackson2XmlHttpMessageConverter.class));
         rest.setErrorHandler(new AspspProfileRestErrorHandler());
         rest.getInterceptors().add(loggingContextInterceptor);
         return rest;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setReadTimeout(readTimeout);
-        factory.setConnectTimeout(connectionTimeout);
-        return factory;
+    /**
+     * Creates request factory, which is backed by the pool of persistent connections to ASPSP profile. Factory is exposed as a bean
+     * in order to close the pool on shutdown of the application context.
+     * <p>
+     * Timeouts previously configured with {@code http-client.*} properties are still taken into account, unless they are
+     * overridden by {@code xs2a.rest-profile-config.*} properties.
+     *
+     * @return pooled request factory
+     */
+    @Bean
+    public ClientHttpRequestFactory aspspProfileClientHttpRequestFactory() {
+        PooledHttpClientProperties properties = new PooledHttpClientProperties();
+        properties.setReadTimeout(environment.getProperty(LEGACY_READ_TIMEOUT_PROPERTY, Integer.class, properties.getReadTimeout()));
+        properties.setConnectionTimeout(environment.getProperty(LEGACY_CONNECTION_TIMEOUT_PROPERTY, Integer.class, properties.getConnectionTimeout()));
+        properties.bind(environment, PROPERTY_PREFIX);
+        return new PooledHttpClientFactory(Metrics.globalRegistry).createRequestFactory(POOL_METRIC_CLIENT_NAME, properties);
     }
 }
@@ -56,6 +56,15 @@ public class AspspProfileServiceRemote implements AspspProfileService {
             }).getBody();
     }
 
+    @Override
+    public long getAspspSettingsVersion(String instanceId) {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add("Instance-ID", instanceId);
+        Long version = aspspProfileRestTemplate.exchange(
+            aspspProfileRemoteUrls.getAspspSettingsVersion(), HttpMethod.GET, new HttpEntity<>(headers), Long.class).getBody();
+        return version == null ? 0 : version;
+    }
+
     @Override
     public boolean isMultitenancyEnabled() {
         return BooleanUtils.isTrue(aspspProfileRestTemplate.getForObject(aspspProfileRemoteUrls.isMultitenancyEnabled(), Boolean.class));
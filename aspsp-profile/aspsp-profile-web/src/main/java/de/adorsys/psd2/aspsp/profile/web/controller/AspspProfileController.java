@@ -60,6 +60,15 @@ public class AspspProfileController {
         return new ResponseEntity<>(aspspProfileService.getScaApproaches(instanceId), HttpStatus.OK);
     }
 
+    @GetMapping(path = "/version")
+    @ApiOperation(value = "Reads current version of aspsp specific settings")
+    @ApiResponse(code = 200, message = "Ok", response = Long.class)
+    public ResponseEntity<Long> getAspspSettingsVersion(
+        @RequestHeader(value = "Instance-ID", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId
+    ) {
+        return new ResponseEntity<>(aspspProfileService.getAspspSettingsVersion(instanceId), HttpStatus.OK);
+    }
+
     @GetMapping(path = "/multitenancy/enabled")
     @ApiOperation(value = "Reads multitenncy supporting flag")
     @ApiResponse(code = 200, message = "Ok", response = ScaApproach.class)
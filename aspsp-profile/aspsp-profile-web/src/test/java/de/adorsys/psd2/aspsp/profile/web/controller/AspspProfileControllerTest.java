@@ -74,4 +74,20 @@ class AspspProfileControllerTest {
         assertThat(actualResponse.getStatusCode()).isEqualTo(expectedStatusCode);
         assertThat(actualResponse.getBody()).isEqualTo(Collections.singletonList(ScaApproach.REDIRECT));
     }
+
+    @Test
+    void getAspspSettingsVersion() {
+        //Given:
+        HttpStatus expectedStatusCode = HttpStatus.OK;
+
+        when(aspspProfileService.getAspspSettingsVersion(""))
+            .thenReturn(3L);
+
+        //When:
+        ResponseEntity<Long> actualResponse = aspspProfileController.getAspspSettingsVersion("");
+
+        //Then:
+        assertThat(actualResponse.getStatusCode()).isEqualTo(expectedStatusCode);
+        assertThat(actualResponse.getBody()).isEqualTo(3L);
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationStatusService;
+import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
+import de.adorsys.psd2.scheduler.engine.KeysetChunkedJob;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.IterableUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Migrates consent data from obsolete AIS and PIIS consent tables in the background, so that consents don't have to be
+ * migrated on reading. The job is resumed after the last migrated consent on every run and stops being executed once
+ * all consents have been migrated.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ConsentDataMigrationScheduleTask implements KeysetChunkedJob {
+    private static final Set<String> MIGRATED_CONSENT_TYPES = Set.of(ConsentType.AIS.getName(), ConsentType.PIIS_ASPSP.getName());
+
+    private final ConsentJpaRepository consentJpaRepository;
+    private final AisConsentLazyMigrationService aisConsentLazyMigrationService;
+    private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    private final ConsentDataMigrationStatusService consentDataMigrationStatusService;
+    private final SchedulerJobRunner schedulerJobRunner;
+
+    @Value("${xs2a.cms.consent-data-migration.enabled:true}")
+    private boolean migrationEnabled;
+
+    @Value("${xs2a.cms.consent-data-migration.chunk-delay.ms:100}")
+    private long chunkDelayMs;
+
+    @Scheduled(cron = "${xs2a.cms.consent-data-migration.cron.expression:0 0/15 * * * *}")
+    public void migrateConsentData() {
+        if (!migrationEnabled || consentDataMigrationStatusService.isMigrationCompleted()) {
+            return;
+        }
+        schedulerJobRunner.runResumable(this, chunkDelayMs);
+    }
+
+    @Override
+    public String getName() {
+        return ConsentDataMigrationStatusService.JOB_NAME;
+    }
+
+    @Override
+    public List<Long> findIdsAfter(long lastId, Pageable pageable) {
+        return consentJpaRepository.findIdsWithoutDataByConsentTypeInAndIdGreaterThan(MIGRATED_CONSENT_TYPES, lastId, pageable);
+    }
+
+    @Override
+    public int processChunk(List<Long> ids) {
+        int migrated = 0;
+        for (ConsentEntity consent : IterableUtils.toList(consentJpaRepository.findAllById(ids))) {
+            if (consent.getData() == null && migrate(consent).getData() != null) {
+                migrated++;
+            }
+        }
+        log.debug("Migrated data of {} consents", migrated);
+        return migrated;
+    }
+
+    private ConsentEntity migrate(ConsentEntity consent) {
+        return ConsentType.AIS.getName().equals(consent.getConsentType())
+                   ? aisConsentLazyMigrationService.migrateIfNeeded(consent)
+                   : piisConsentLazyMigrationService.migrateIfNeeded(consent);
+    }
+}
@@ -17,11 +17,10 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 
@@ -29,18 +28,16 @@ import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.RECEIVED;
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
 
 
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ConsentScheduleTask {
+    private static final String JOB_NAME = "consent-expiration";
+
     private final ConsentJpaRepository consentJpaRepository;
+    private final SchedulerJobRunner schedulerJobRunner;
 
     @Scheduled(cron = "${xs2a.cms.consent.cron.expression}")
-    @Transactional
     public void checkConsentStatus() {
-        long start = System.currentTimeMillis();
-        log.info("Consent schedule task is run!");
-        consentJpaRepository.expireByConsentStatusIn(EnumSet.of(RECEIVED, VALID));
-        log.info("Consent schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerJobRunner.runExclusively(JOB_NAME, () -> consentJpaRepository.expireByConsentStatusIn(EnumSet.of(RECEIVED, VALID)));
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.event.persist.EventRetentionRepository;
+import de.adorsys.psd2.scheduler.engine.KeysetChunkedJob;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Removes events, that are older than the configured retention period. Daily counts of the removed events are kept
+ * in the event rollups.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class EventRetentionScheduleTask implements KeysetChunkedJob {
+    private static final String JOB_NAME = "event-retention";
+
+    private final EventRetentionRepository eventRetentionRepository;
+    private final SchedulerJobRunner schedulerJobRunner;
+
+    @Value("${xs2a.cms.event.retention.days:0}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${xs2a.cms.event.retention.cron.expression:0 30 2 * * *}")
+    public void removeExpiredEvents() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        schedulerJobRunner.run(this);
+    }
+
+    @Override
+    public String getName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public List<Long> findIdsAfter(long lastId, Pageable pageable) {
+        OffsetDateTime retentionStart = OffsetDateTime.now().minusDays(retentionDays);
+        return eventRetentionRepository.findIdsRecordedBefore(retentionStart, lastId, pageable.getPageSize());
+    }
+
+    @Override
+    public int processChunk(List<Long> ids) {
+        int removed = eventRetentionRepository.deleteByIds(ids);
+        log.debug("Removed {} events older than {} days", removed, retentionDays);
+        return removed;
+    }
+}
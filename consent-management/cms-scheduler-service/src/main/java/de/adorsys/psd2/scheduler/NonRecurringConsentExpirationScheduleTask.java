@@ -17,29 +17,26 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.RECEIVED;
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
 
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class NonRecurringConsentExpirationScheduleTask {
+    private static final String JOB_NAME = "used-non-recurring-consent-expiration";
+
     private final ConsentJpaRepository consentJpaRepository;
+    private final SchedulerJobRunner schedulerJobRunner;
 
     @Scheduled(cron = "${xs2a.cms.used-non-recurring-consent-expiration.cron.expression}")
-    @Transactional
     public void expireUsedNonRecurringConsent() {
-        long start = System.currentTimeMillis();
-        log.info("Non-recurring consent expiration task has started!");
-        consentJpaRepository.expireUsedNonRecurringConsents(EnumSet.of(RECEIVED, VALID));
-        log.info("Non-recurring consent expiration task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerJobRunner.runExclusively(JOB_NAME, () -> consentJpaRepository.expireUsedNonRecurringConsents(EnumSet.of(RECEIVED, VALID)));
     }
 }
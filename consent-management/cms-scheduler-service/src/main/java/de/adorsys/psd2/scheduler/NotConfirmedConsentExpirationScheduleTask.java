@@ -13,49 +13,68 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.AisConsentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.engine.KeysetChunkedJob;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.IterableUtils;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class NotConfirmedConsentExpirationScheduleTask {
+public class NotConfirmedConsentExpirationScheduleTask implements KeysetChunkedJob {
+    private static final String JOB_NAME = "not-confirmed-consent-expiration";
+    private static final Set<ConsentStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED);
+
     private final AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
     private final ConsentJpaRepository consentJpaRepository;
+    private final SchedulerJobRunner schedulerJobRunner;
 
     @Scheduled(cron = "${xs2a.cms.not-confirmed-consent-expiration.cron.expression}")
-    @Transactional
     public void obsoleteNotConfirmedConsentIfExpired() {
-        long start = System.currentTimeMillis();
-        log.info("Not confirmed consent expiration schedule task is run!");
+        schedulerJobRunner.run(this);
+    }
+
+    @Override
+    public String getName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public List<Long> findIdsAfter(long lastId, Pageable pageable) {
+        return consentJpaRepository.findIdsByConsentStatusInAndIdGreaterThan(NOT_CONFIRMED_STATUSES, lastId, pageable);
+    }
 
-        List<String> expiredNotConfirmedConsentIds = consentJpaRepository.findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED))
-                                                     .stream()
-                                                     .filter(c -> !c.isSigningBasketBlocked())
-                                                     .filter(aisConsentConfirmationExpirationService::isConfirmationExpired)
-                                                     .map(ConsentEntity::getExternalId)
-                                                     .collect(Collectors.toList());
-        log.info("Found {} non confirmed consent items for expiration", expiredNotConfirmedConsentIds.size());
+    @Override
+    public int processChunk(List<Long> ids) {
+        List<String> expiredNotConfirmedConsentIds = IterableUtils.toList(consentJpaRepository.findAllById(ids))
+                                                         .stream()
+                                                         .filter(c -> NOT_CONFIRMED_STATUSES.contains(c.getConsentStatus()))
+                                                         .filter(c -> !c.isSigningBasketBlocked())
+                                                         .filter(aisConsentConfirmationExpirationService::isConfirmationExpired)
+                                                         .map(ConsentEntity::getExternalId)
+                                                         .collect(Collectors.toList());
+        log.debug("Found {} non confirmed consent items for expiration", expiredNotConfirmedConsentIds.size());
 
         if (CollectionUtils.isNotEmpty(expiredNotConfirmedConsentIds)) {
             aisConsentConfirmationExpirationService.updateConsentListOnConfirmationExpirationByExternalIds(expiredNotConfirmedConsentIds);
         }
 
-        log.info("Not confirmed consent expiration schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        return expiredNotConfirmedConsentIds.size();
     }
 }
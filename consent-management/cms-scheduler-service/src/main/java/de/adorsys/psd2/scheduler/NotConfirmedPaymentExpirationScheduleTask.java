@@ -13,55 +13,67 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.engine.KeysetChunkedJob;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.IterableUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class NotConfirmedPaymentExpirationScheduleTask extends PageableSchedulerTask {
+public class NotConfirmedPaymentExpirationScheduleTask implements KeysetChunkedJob {
+    private static final String JOB_NAME = "not-confirmed-payment-expiration";
+    private static final Set<TransactionStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC);
+
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     private final PisCommonPaymentDataRepository paymentDataRepository;
+    private final SchedulerJobRunner schedulerJobRunner;
 
     @Scheduled(cron = "${xs2a.cms.not-confirmed-payment-expiration.cron.expression}")
-    @Transactional
     public void obsoleteNotConfirmedPaymentIfExpired() {
-        long start = System.currentTimeMillis();
-        log.info("Not confirmed payment expiration schedule task is run!");
+        schedulerJobRunner.run(this);
+    }
 
-        Long totalItems = paymentDataRepository.countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        log.debug("Found {} non confirmed payment items for expiration checking", totalItems);
+    @Override
+    public String getName() {
+        return JOB_NAME;
+    }
 
-        execute(totalItems);
-        log.info("Not confirmed payment expiration schedule task completed in {}ms!", System.currentTimeMillis() - start);
+    @Override
+    public List<Long> findIdsAfter(long lastId, Pageable pageable) {
+        return paymentDataRepository.findIdsByTransactionStatusInAndIdGreaterThan(NOT_CONFIRMED_STATUSES, lastId, pageable);
     }
 
     @Override
-    protected void executePageable(Pageable pageable) {
-        List<PisCommonPaymentData> expiredNotConfirmedPayments = paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), pageable)
+    public int processChunk(List<Long> ids) {
+        List<PisCommonPaymentData> expiredNotConfirmedPayments = IterableUtils.toList(paymentDataRepository.findAllById(ids))
                                                                      .stream()
+                                                                     .filter(p -> NOT_CONFIRMED_STATUSES.contains(p.getTransactionStatus()))
                                                                      .filter(p -> !p.isSigningBasketBlocked())
                                                                      .filter(pisCommonPaymentConfirmationExpirationService::isConfirmationExpired)
                                                                      .collect(Collectors.toList());
+        log.debug("Found {} non confirmed payment items for expiration", expiredNotConfirmedPayments.size());
 
         if (CollectionUtils.isNotEmpty(expiredNotConfirmedPayments)) {
             pisCommonPaymentConfirmationExpirationService.updatePaymentDataListOnConfirmationExpiration(expiredNotConfirmedPayments);
         }
+
+        return expiredNotConfirmedPayments.size();
     }
 }
@@ -20,6 +20,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+/**
+ * @deprecated since 13.1, use {@link de.adorsys.psd2.scheduler.engine.KeysetChunkedJob} instead, as offset pagination
+ * skips rows if the rows of the previous pages are modified by the task
+ */
+@Deprecated
 public abstract class PageableSchedulerTask {
 
     @Value("${xs2a.cms.scheduler.processing.page-size:100}")
@@ -17,24 +17,23 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-@Slf4j
+import java.time.OffsetDateTime;
+
 @RequiredArgsConstructor
 @Component
 public class TppStopListScheduleTask {
+    private static final String JOB_NAME = "tpp-stop-list-unblocking";
+
     private final TppStopListRepository tppStopListRepository;
+    private final SchedulerJobRunner schedulerJobRunner;
 
     @Scheduled(cron = "${xs2a.cms.stoplist.cron.expression}")
-    @Transactional
     public void unblockTppIfBlockingExpired() {
-        long start = System.currentTimeMillis();
-        log.info("Tpp Stop List schedule task is run!");
-        tppStopListRepository.unblockExpiredBlockedTpp();
-        log.info("Tpp Stop List schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerJobRunner.runExclusively(JOB_NAME, () -> tppStopListRepository.unblockExpiredBlockedTpp(OffsetDateTime.now()));
     }
 }
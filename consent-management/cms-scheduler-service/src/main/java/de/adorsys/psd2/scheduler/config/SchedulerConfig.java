@@ -17,18 +17,26 @@
 package de.adorsys.psd2.scheduler.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 @EnableScheduling
 public class SchedulerConfig implements SchedulingConfigurer {
     @Value("${xs2a.cms.scheduler.pool.size:20}")
     private int poolSize;
 
+    @Value("${xs2a.cms.scheduler.processing.workers:1}")
+    private int workers;
+
     @Override
     public void configureTasks(ScheduledTaskRegistrar scheduledTaskRegistrar) {
         ThreadPoolTaskScheduler threadPool = new ThreadPoolTaskScheduler();
@@ -38,4 +46,14 @@ public class SchedulerConfig implements SchedulingConfigurer {
 
         scheduledTaskRegistrar.setTaskScheduler(threadPool);
     }
+
+    /**
+     * Executor for parallel processing of chunks by scheduler jobs
+     *
+     * @return executor with the configured number of worker threads
+     */
+    @Bean(name = "schedulerChunkExecutor", destroyMethod = "shutdown")
+    public ExecutorService schedulerChunkExecutor() {
+        return Executors.newFixedThreadPool(Math.max(workers, 1), new CustomizableThreadFactory("consent-scheduler-worker-"));
+    }
 }
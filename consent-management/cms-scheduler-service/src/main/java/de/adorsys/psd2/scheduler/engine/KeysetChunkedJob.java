@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler.engine;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Scheduled job, that processes the rows of a table in chunks ordered by their IDs (keyset pagination)
+ * <p>
+ * Every chunk is processed in a separate transaction, so rows that were already processed are committed even if the
+ * processing of the following chunks fails.
+ */
+public interface KeysetChunkedJob {
+    /**
+     * Returns the name of the job, used for the lease and metrics
+     *
+     * @return name of the job
+     */
+    String getName();
+
+    /**
+     * Finds IDs of the rows, that should be checked by the job
+     *
+     * @param lastId   the biggest ID of the previous chunk, <code>0</code> for the first chunk
+     * @param pageable maximum size of the chunk
+     * @return IDs of the next chunk, greater than <code>lastId</code> in ascending order
+     */
+    List<Long> findIdsAfter(long lastId, Pageable pageable);
+
+    /**
+     * Processes the rows with given IDs
+     *
+     * @param ids IDs of the rows in the chunk
+     * @return number of rows, that were changed by the job
+     */
+    int processChunk(List<Long> ids);
+}
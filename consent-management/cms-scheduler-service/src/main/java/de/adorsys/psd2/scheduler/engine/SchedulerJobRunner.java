@@ -0,0 +1,314 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler.engine;
+
+import de.adorsys.psd2.consent.domain.SchedulerJobProgressEntity;
+import de.adorsys.psd2.consent.repository.SchedulerJobProgressRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes scheduled jobs under the lease, so that every job runs on only one CMS instance at a time, and records
+ * metrics of every run.
+ */
+@Slf4j
+@Component
+public class SchedulerJobRunner {
+    static final String ROWS_SCANNED_METRIC = "cms.scheduler.rows.scanned";
+    static final String ROWS_EXPIRED_METRIC = "cms.scheduler.rows.expired";
+    static final String RUN_DURATION_METRIC = "cms.scheduler.run.duration";
+    private static final String JOB_TAG = "job";
+
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final SchedulerJobProgressRepository schedulerJobProgressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService chunkExecutor;
+
+    @Value("${xs2a.cms.scheduler.processing.page-size:100}")
+    private int chunkSize;
+
+    @Value("${xs2a.cms.scheduler.processing.workers:1}")
+    private int workers;
+
+    public SchedulerJobRunner(SchedulerLeaseService schedulerLeaseService,
+                              SchedulerJobProgressRepository schedulerJobProgressRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectProvider<MeterRegistry> meterRegistry,
+                              @Qualifier("schedulerChunkExecutor") ExecutorService chunkExecutor) {
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.schedulerJobProgressRepository = schedulerJobProgressRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.chunkExecutor = chunkExecutor;
+    }
+
+    /**
+     * Executes the task in one transaction, if the lease on the job could be acquired by this instance
+     *
+     * @param jobName name of the job
+     * @param task    task to be executed
+     * @return metrics of the run or empty value if the job is being executed by another instance
+     */
+    public Optional<SchedulerRunMetrics> runExclusively(String jobName, Runnable task) {
+        if (!schedulerLeaseService.acquireLease(jobName)) {
+            log.info("Scheduler job [{}] is skipped, as it is being executed by another CMS instance", jobName);
+            return Optional.empty();
+        }
+
+        long start = System.currentTimeMillis();
+        log.info("Scheduler job [{}] is run!", jobName);
+        try {
+            transactionTemplate.executeWithoutResult(status -> task.run());
+        } finally {
+            schedulerLeaseService.releaseLease(jobName);
+        }
+
+        return Optional.of(record(new SchedulerRunMetrics(jobName, 0, 0, System.currentTimeMillis() - start)));
+    }
+
+    /**
+     * Executes the job chunk by chunk, if the lease on the job could be acquired by this instance. The lease is
+     * extended after every chunk, the job is stopped if the lease has been lost.
+     *
+     * @param job job to be executed
+     * @return metrics of the run or empty value if the job is being executed by another instance
+     */
+    public Optional<SchedulerRunMetrics> run(KeysetChunkedJob job) {
+        String jobName = job.getName();
+        if (!schedulerLeaseService.acquireLease(jobName)) {
+            log.info("Scheduler job [{}] is skipped, as it is being executed by another CMS instance", jobName);
+            return Optional.empty();
+        }
+
+        long start = System.currentTimeMillis();
+        log.info("Scheduler job [{}] is run!", jobName);
+        try {
+            return Optional.of(record(processInChunks(job, start)));
+        } finally {
+            schedulerLeaseService.releaseLease(jobName);
+        }
+    }
+
+    /**
+     * Continues the job after the last processed row, if the lease on the job could be acquired by this instance.
+     * <p>
+     * Chunks are processed one by one, the progress is stored in the same transaction as the chunk, so that the next
+     * run resumes after the last committed chunk. The run is stopped on the first failed chunk, and the job is marked
+     * as completed once there are no rows left.
+     *
+     * @param job          job to be executed
+     * @param chunkDelayMs pause in ms between chunks, limiting the load on the database
+     * @return metrics of the run or empty value if the job is being executed by another instance or is already completed
+     */
+    public Optional<SchedulerRunMetrics> runResumable(KeysetChunkedJob job, long chunkDelayMs) {
+        String jobName = job.getName();
+        if (!schedulerLeaseService.acquireLease(jobName)) {
+            log.info("Scheduler job [{}] is skipped, as it is being executed by another CMS instance", jobName);
+            return Optional.empty();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            SchedulerJobProgressEntity progress = schedulerJobProgressRepository.findById(jobName)
+                                                      .orElseGet(() -> new SchedulerJobProgressEntity(jobName, 0, false, null));
+            if (progress.isCompleted()) {
+                log.info("Scheduler job [{}] is skipped, as it has already been completed", jobName);
+                return Optional.empty();
+            }
+
+            log.info("Scheduler job [{}] is resumed after ID {}!", jobName, progress.getLastProcessedId());
+            return Optional.of(record(processResumable(job, progress.getLastProcessedId(), chunkDelayMs, start)));
+        } finally {
+            schedulerLeaseService.releaseLease(jobName);
+        }
+    }
+
+    private SchedulerRunMetrics processResumable(KeysetChunkedJob job, long lastProcessedId, long chunkDelayMs, long start) {
+        String jobName = job.getName();
+        long rowsScanned = 0;
+        long rowsProcessed = 0;
+        long lastId = lastProcessedId;
+
+        while (true) {
+            long afterId = lastId;
+            List<Long> ids = Optional.ofNullable(readOnlyTransactionTemplate.execute(status -> job.findIdsAfter(afterId, PageRequest.of(0, chunkSize))))
+                                 .orElse(Collections.emptyList());
+            if (ids.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> saveProgress(jobName, afterId, true));
+                log.info("Scheduler job [{}] has processed all rows and is marked as completed", jobName);
+                break;
+            }
+
+            long chunkLastId = ids.get(ids.size() - 1);
+            Integer processed;
+            try {
+                processed = transactionTemplate.execute(status -> {
+                    int processedInChunk = job.processChunk(ids);
+                    saveProgress(jobName, chunkLastId, false);
+                    return processedInChunk;
+                });
+            } catch (RuntimeException e) {
+                log.error("Scheduler job [{}]: processing of the chunk with IDs from {} to {} failed, the job will be resumed after ID {}",
+                          jobName, ids.get(0), chunkLastId, afterId, e);
+                break;
+            }
+
+            rowsScanned += ids.size();
+            rowsProcessed += processed == null ? 0 : processed;
+            lastId = chunkLastId;
+
+            if (!schedulerLeaseService.acquireLease(jobName)) {
+                log.warn("Scheduler job [{}] is stopped, as the lease has been taken over by another CMS instance", jobName);
+                break;
+            }
+            if (!pause(chunkDelayMs)) {
+                break;
+            }
+        }
+
+        return new SchedulerRunMetrics(jobName, rowsScanned, rowsProcessed, System.currentTimeMillis() - start);
+    }
+
+    private void saveProgress(String jobName, long lastProcessedId, boolean completed) {
+        schedulerJobProgressRepository.save(new SchedulerJobProgressEntity(jobName, lastProcessedId, completed, OffsetDateTime.now()));
+    }
+
+    private boolean pause(long delayMs) {
+        if (delayMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delayMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private SchedulerRunMetrics processInChunks(KeysetChunkedJob job, long start) {
+        Deque<Future<Integer>> chunksInProgress = new ArrayDeque<>();
+        long rowsScanned = 0;
+        long rowsExpired = 0;
+        long lastId = 0;
+        List<Long> ids;
+
+        do {
+            long afterId = lastId;
+            ids = Optional.ofNullable(readOnlyTransactionTemplate.execute(status -> job.findIdsAfter(afterId, PageRequest.of(0, chunkSize))))
+                      .orElse(Collections.emptyList());
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            rowsScanned += ids.size();
+            lastId = ids.get(ids.size() - 1);
+
+            List<Long> chunk = ids;
+            if (workers > 1) {
+                chunksInProgress.add(chunkExecutor.submit(() -> processChunk(job, chunk)));
+                if (chunksInProgress.size() >= workers) {
+                    rowsExpired += awaitChunk(chunksInProgress.poll());
+                }
+            } else {
+                rowsExpired += processChunk(job, chunk);
+            }
+
+            if (!schedulerLeaseService.acquireLease(job.getName())) {
+                log.warn("Scheduler job [{}] is stopped, as the lease has been taken over by another CMS instance", job.getName());
+                break;
+            }
+        } while (ids.size() == chunkSize);
+
+        while (!chunksInProgress.isEmpty()) {
+            rowsExpired += awaitChunk(chunksInProgress.poll());
+        }
+
+        return new SchedulerRunMetrics(job.getName(), rowsScanned, rowsExpired, System.currentTimeMillis() - start);
+    }
+
+    private int processChunk(KeysetChunkedJob job, List<Long> ids) {
+        try {
+            Integer processed = transactionTemplate.execute(status -> job.processChunk(ids));
+            return processed == null ? 0 : processed;
+        } catch (RuntimeException e) {
+            log.error("Scheduler job [{}]: processing of the chunk with IDs from {} to {} failed", job.getName(),
+                      ids.get(0), ids.get(ids.size() - 1), e);
+            return 0;
+        }
+    }
+
+    private int awaitChunk(Future<Integer> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            log.error("Processing of the chunk failed", e.getCause());
+            return 0;
+        }
+    }
+
+    private SchedulerRunMetrics record(SchedulerRunMetrics metrics) {
+        String jobName = metrics.getJobName();
+        Counter.builder(ROWS_SCANNED_METRIC)
+            .tag(JOB_TAG, jobName)
+            .register(meterRegistry)
+            .increment(metrics.getRowsScanned());
+        Counter.builder(ROWS_EXPIRED_METRIC)
+            .tag(JOB_TAG, jobName)
+            .register(meterRegistry)
+            .increment(metrics.getRowsExpired());
+        Timer.builder(RUN_DURATION_METRIC)
+            .tag(JOB_TAG, jobName)
+            .register(meterRegistry)
+            .record(metrics.getDurationMs(), TimeUnit.MILLISECONDS);
+
+        log.info("Scheduler job [{}] completed in {}ms! Rows scanned: {}, rows expired: {}", jobName,
+                 metrics.getDurationMs(), metrics.getRowsScanned(), metrics.getRowsExpired());
+        return metrics;
+    }
+}
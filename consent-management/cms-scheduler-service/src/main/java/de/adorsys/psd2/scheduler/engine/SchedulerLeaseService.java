@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler.engine;
+
+import de.adorsys.psd2.consent.domain.SchedulerLockEntity;
+import de.adorsys.psd2.consent.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Grants leases on scheduled jobs, so that every job is executed by only one CMS instance at a time.
+ * <p>
+ * Leases are stored in the <code>scheduler_lock</code> table and expire after the configured duration, so that a job
+ * may be taken over by another instance if its owner has been stopped without releasing the lease.
+ */
+@Slf4j
+@Service
+public class SchedulerLeaseService {
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String ownerId = resolveOwnerId();
+
+    @Value("${xs2a.cms.scheduler.lease.enabled:true}")
+    private boolean leaseEnabled;
+
+    @Value("${xs2a.cms.scheduler.lease.duration.ms:600000}")
+    private long leaseDurationMs;
+
+    public SchedulerLeaseService(SchedulerLockRepository schedulerLockRepository, PlatformTransactionManager transactionManager) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Acquires the lease on the job or extends the lease already held by this instance
+     *
+     * @param jobName name of the job
+     * @return <code>true</code> if the lease is held by this instance, <code>false</code> otherwise
+     */
+    public boolean acquireLease(String jobName) {
+        if (!leaseEnabled) {
+            return true;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime lockedUntil = now.plus(Duration.ofMillis(leaseDurationMs));
+
+        try {
+            Integer updated = transactionTemplate.execute(status -> schedulerLockRepository.acquireLock(jobName, ownerId, now, lockedUntil));
+            if (updated != null && updated > 0) {
+                return true;
+            }
+
+            Boolean created = transactionTemplate.execute(status -> createLock(jobName, lockedUntil));
+            return Boolean.TRUE.equals(created);
+        } catch (DataAccessException | TransactionException e) {
+            log.info("Lease on scheduler job [{}] couldn't be acquired: {}", jobName, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Releases the lease on the job, if it's held by this instance
+     *
+     * @param jobName name of the job
+     */
+    public void releaseLease(String jobName) {
+        if (!leaseEnabled) {
+            return;
+        }
+
+        try {
+            transactionTemplate.execute(status -> schedulerLockRepository.releaseLock(jobName, ownerId, OffsetDateTime.now()));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Lease on scheduler job [{}] couldn't be released: {}", jobName, e.getMessage());
+        }
+    }
+
+    String getOwnerId() {
+        return ownerId;
+    }
+
+    private boolean createLock(String jobName, OffsetDateTime lockedUntil) {
+        if (schedulerLockRepository.existsById(jobName)) {
+            return false;
+        }
+
+        schedulerLockRepository.save(new SchedulerLockEntity(jobName, ownerId, lockedUntil));
+        return true;
+    }
+
+    private static String resolveOwnerId() {
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            hostName = null;
+        }
+
+        String instanceId = UUID.randomUUID().toString();
+        return StringUtils.isBlank(hostName)
+                   ? instanceId
+                   : StringUtils.left(hostName, 200) + ":" + instanceId;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationStatusService;
+import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsentDataMigrationScheduleTaskTest {
+    private static final List<Long> IDS = List.of(1L, 2L);
+    private static final long CHUNK_DELAY_MS = 50;
+
+    @InjectMocks
+    private ConsentDataMigrationScheduleTask scheduleTask;
+
+    @Mock
+    private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private AisConsentLazyMigrationService aisConsentLazyMigrationService;
+    @Mock
+    private PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    @Mock
+    private ConsentDataMigrationStatusService consentDataMigrationStatusService;
+    @Mock
+    private SchedulerJobRunner schedulerJobRunner;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduleTask, "migrationEnabled", true);
+        ReflectionTestUtils.setField(scheduleTask, "chunkDelayMs", CHUNK_DELAY_MS);
+    }
+
+    @Test
+    void migrateConsentData() {
+        // Given
+        when(consentDataMigrationStatusService.isMigrationCompleted()).thenReturn(false);
+
+        // When
+        scheduleTask.migrateConsentData();
+
+        // Then
+        verify(schedulerJobRunner).runResumable(scheduleTask, CHUNK_DELAY_MS);
+    }
+
+    @Test
+    void migrateConsentData_migrationCompleted() {
+        // Given
+        when(consentDataMigrationStatusService.isMigrationCompleted()).thenReturn(true);
+
+        // When
+        scheduleTask.migrateConsentData();
+
+        // Then
+        verify(schedulerJobRunner, never()).runResumable(any(), anyLong());
+    }
+
+    @Test
+    void migrateConsentData_disabled() {
+        // Given
+        ReflectionTestUtils.setField(scheduleTask, "migrationEnabled", false);
+
+        // When
+        scheduleTask.migrateConsentData();
+
+        // Then
+        verify(schedulerJobRunner, never()).runResumable(any(), anyLong());
+    }
+
+    @Test
+    void findIdsAfter() {
+        // Given
+        PageRequest pageRequest = PageRequest.of(0, 100);
+        when(consentJpaRepository.findIdsWithoutDataByConsentTypeInAndIdGreaterThan(Set.of(ConsentType.AIS.getName(), ConsentType.PIIS_ASPSP.getName()), 10L, pageRequest))
+            .thenReturn(IDS);
+
+        // When
+        List<Long> actual = scheduleTask.findIdsAfter(10L, pageRequest);
+
+        // Then
+        assertEquals(IDS, actual);
+    }
+
+    @Test
+    void processChunk() {
+        // Given
+        ConsentEntity aisConsent = buildConsentEntity(ConsentType.AIS);
+        ConsentEntity piisConsent = buildConsentEntity(ConsentType.PIIS_ASPSP);
+        when(consentJpaRepository.findAllById(IDS)).thenReturn(List.of(aisConsent, piisConsent));
+        when(aisConsentLazyMigrationService.migrateIfNeeded(aisConsent)).thenAnswer(invocation -> {
+            aisConsent.setData(new byte[]{1});
+            return aisConsent;
+        });
+        when(piisConsentLazyMigrationService.migrateIfNeeded(piisConsent)).thenReturn(piisConsent);
+
+        // When
+        int migrated = scheduleTask.processChunk(IDS);
+
+        // Then
+        assertEquals(1, migrated);
+    }
+
+    @Test
+    void processChunk_alreadyMigrated() {
+        // Given
+        ConsentEntity aisConsent = buildConsentEntity(ConsentType.AIS);
+        aisConsent.setData(new byte[]{1});
+        when(consentJpaRepository.findAllById(IDS)).thenReturn(List.of(aisConsent));
+
+        // When
+        int migrated = scheduleTask.processChunk(IDS);
+
+        // Then
+        assertEquals(0, migrated);
+        verify(aisConsentLazyMigrationService, never()).migrateIfNeeded(any(ConsentEntity.class));
+    }
+
+    private ConsentEntity buildConsentEntity(ConsentType consentType) {
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setConsentType(consentType.getName());
+        return consentEntity;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.event.persist.EventRetentionRepository;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventRetentionScheduleTaskTest {
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+    private static final int RETENTION_DAYS = 90;
+
+    @InjectMocks
+    private EventRetentionScheduleTask scheduleTask;
+
+    @Mock
+    private EventRetentionRepository eventRetentionRepository;
+    @Mock
+    private SchedulerJobRunner schedulerJobRunner;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduleTask, "retentionDays", RETENTION_DAYS);
+    }
+
+    @Test
+    void removeExpiredEvents() {
+        // When
+        scheduleTask.removeExpiredEvents();
+
+        // Then
+        verify(schedulerJobRunner, times(1)).run(scheduleTask);
+    }
+
+    @Test
+    void removeExpiredEvents_retentionDisabled() {
+        // Given
+        ReflectionTestUtils.setField(scheduleTask, "retentionDays", 0);
+
+        // When
+        scheduleTask.removeExpiredEvents();
+
+        // Then
+        verify(schedulerJobRunner, never()).run(any());
+    }
+
+    @Test
+    void findIdsAfter() {
+        // Given
+        ArgumentCaptor<OffsetDateTime> retentionStartCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        when(eventRetentionRepository.findIdsRecordedBefore(retentionStartCaptor.capture(), eq(10L), eq(100)))
+            .thenReturn(IDS);
+        OffsetDateTime expectedRetentionStart = OffsetDateTime.now().minusDays(RETENTION_DAYS);
+
+        // When
+        List<Long> actual = scheduleTask.findIdsAfter(10L, PageRequest.of(0, 100));
+
+        // Then
+        assertEquals(IDS, actual);
+        assertTrue(!retentionStartCaptor.getValue().isBefore(expectedRetentionStart)
+                       && retentionStartCaptor.getValue().isBefore(expectedRetentionStart.plusMinutes(1)));
+    }
+
+    @Test
+    void processChunk() {
+        // Given
+        when(eventRetentionRepository.deleteByIds(IDS)).thenReturn(3);
+
+        // When
+        int removed = scheduleTask.processChunk(IDS);
+
+        // Then
+        assertEquals(3, removed);
+    }
+}
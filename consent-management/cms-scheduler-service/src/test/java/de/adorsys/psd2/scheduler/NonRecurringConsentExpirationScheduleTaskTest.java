@@ -17,6 +17,7 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -24,9 +25,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.EnumSet;
+import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.RECEIVED;
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -38,9 +43,17 @@ class NonRecurringConsentExpirationScheduleTaskTest {
 
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private SchedulerJobRunner schedulerJobRunner;
 
     @Test
     void expireUsedNonRecurringConsent() {
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(1);
+            task.run();
+            return Optional.empty();
+        }).when(schedulerJobRunner).runExclusively(anyString(), any(Runnable.class));
+
         scheduleTask.expireUsedNonRecurringConsent();
         verify(consentJpaRepository, times(1)).expireUsedNonRecurringConsents(EnumSet.of(RECEIVED, VALID));
     }
@@ -13,12 +13,12 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.AisConsentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +27,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -39,6 +40,7 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotConfirmedConsentExpirationScheduleTaskTest {
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
 
     @InjectMocks
     private NotConfirmedConsentExpirationScheduleTask scheduleTask;
@@ -47,43 +49,83 @@ class NotConfirmedConsentExpirationScheduleTaskTest {
     private AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private SchedulerJobRunner schedulerJobRunner;
 
     @Captor
     private ArgumentCaptor<ArrayList<String>> consentsCaptor;
 
     @Test
     void obsoleteNotConfirmedConsentIfExpired() {
+        // When
+        scheduleTask.obsoleteNotConfirmedConsentIfExpired();
+
+        // Then
+        verify(schedulerJobRunner, times(1)).run(scheduleTask);
+    }
+
+    @Test
+    void findIdsAfter() {
         // Given
-        when(consentJpaRepository.findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED)))
+        PageRequest pageRequest = PageRequest.of(0, 100);
+        when(consentJpaRepository.findIdsByConsentStatusInAndIdGreaterThan(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED), 10L, pageRequest))
+            .thenReturn(IDS);
+
+        // When
+        List<Long> actual = scheduleTask.findIdsAfter(10L, pageRequest);
+
+        // Then
+        assertEquals(IDS, actual);
+    }
+
+    @Test
+    void processChunk() {
+        // Given
+        when(consentJpaRepository.findAllById(IDS))
             .thenReturn(getTestConsentEntityList());
         when(aisConsentConfirmationExpirationService.isConfirmationExpired(any(ConsentEntity.class)))
             .thenReturn(true, false, true);
 
         // When
-        scheduleTask.obsoleteNotConfirmedConsentIfExpired();
+        int expired = scheduleTask.processChunk(IDS);
 
         // Then
-        verify(consentJpaRepository, times(1))
-            .findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED));
         verify(aisConsentConfirmationExpirationService, times(2)).isConfirmationExpired(any(ConsentEntity.class));
         verify(aisConsentConfirmationExpirationService, times(1)).updateConsentListOnConfirmationExpirationByExternalIds(consentsCaptor.capture());
 
+        assertEquals(1, expired);
         assertEquals(1, consentsCaptor.getValue().size());
         assertEquals("first id", consentsCaptor.getValue().get(0));
     }
 
     @Test
-    void obsoleteNotConfirmedConsentIfExpired_emptyList() {
+    void processChunk_statusChanged() {
+        // Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setConsentStatus(ConsentStatus.VALID);
+        when(consentJpaRepository.findAllById(IDS))
+            .thenReturn(List.of(consentEntity));
+
+        // When
+        int expired = scheduleTask.processChunk(IDS);
+
+        // Then
+        assertEquals(0, expired);
+        verify(aisConsentConfirmationExpirationService, never()).isConfirmationExpired(any(ConsentEntity.class));
+        verify(aisConsentConfirmationExpirationService, never()).updateConsentListOnConfirmationExpirationByExternalIds(anyList());
+    }
+
+    @Test
+    void processChunk_emptyList() {
         // Given
-        when(consentJpaRepository.findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED)))
+        when(consentJpaRepository.findAllById(IDS))
             .thenReturn(Collections.emptyList());
 
         // When
-        scheduleTask.obsoleteNotConfirmedConsentIfExpired();
+        int expired = scheduleTask.processChunk(IDS);
 
         // Then
-        verify(consentJpaRepository, times(1))
-            .findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED));
+        assertEquals(0, expired);
         verify(aisConsentConfirmationExpirationService, never()).isConfirmationExpired(any(ConsentEntity.class));
         verify(aisConsentConfirmationExpirationService, never()).updateConsentListOnConfirmationExpirationByExternalIds(anyList());
     }
@@ -91,12 +133,15 @@ class NotConfirmedConsentExpirationScheduleTaskTest {
     private List<ConsentEntity> getTestConsentEntityList() {
         ConsentEntity firstEntity = new ConsentEntity();
         firstEntity.setExternalId("first id");
+        firstEntity.setConsentStatus(ConsentStatus.RECEIVED);
         firstEntity.setSigningBasketBlocked(false);
         ConsentEntity secondEntity = new ConsentEntity();
         secondEntity.setExternalId("second id");
+        secondEntity.setConsentStatus(ConsentStatus.PARTIALLY_AUTHORISED);
         secondEntity.setSigningBasketBlocked(false);
         ConsentEntity thirdEntity = new ConsentEntity();
         thirdEntity.setExternalId("third id");
+        thirdEntity.setConsentStatus(ConsentStatus.RECEIVED);
         thirdEntity.setSigningBasketBlocked(true);
         return List.of(firstEntity, secondEntity, thirdEntity);
     }
@@ -13,14 +13,13 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -29,8 +28,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -44,6 +41,7 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotConfirmedPaymentExpirationScheduleTaskTest {
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
 
     @InjectMocks
     private NotConfirmedPaymentExpirationScheduleTask scheduleTask;
@@ -52,25 +50,43 @@ class NotConfirmedPaymentExpirationScheduleTaskTest {
     private PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     @Mock
     private PisCommonPaymentDataRepository paymentDataRepository;
+    @Mock
+    private SchedulerJobRunner schedulerJobRunner;
 
     @Captor
     private ArgumentCaptor<ArrayList<PisCommonPaymentData>> commonPaymentDataCaptor;
 
-    @BeforeEach
-    void setUp() {
-        ReflectionTestUtils.setField(scheduleTask, "pageSize", 100);
+    @Test
+    void obsoleteNotConfirmedPaymentIfExpired() {
+        // When
+        scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
+
+        // Then
+        verify(schedulerJobRunner, times(1)).run(scheduleTask);
     }
 
     @Test
-    void obsoleteNotConfirmedPaymentIfExpired() {
+    void findIdsAfter() {
+        // Given
+        PageRequest pageRequest = PageRequest.of(0, 100);
+        when(paymentDataRepository.findIdsByTransactionStatusInAndIdGreaterThan(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), 10L, pageRequest))
+            .thenReturn(IDS);
+
+        // When
+        List<Long> actual = scheduleTask.findIdsAfter(10L, pageRequest);
+
+        // Then
+        assertEquals(IDS, actual);
+    }
+
+    @Test
+    void processChunk() {
         // Given
         List<PisCommonPaymentData> pisCommonPaymentDataList = new ArrayList<>();
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
+        pisCommonPaymentDataList.add(buildPaymentData(TransactionStatus.RCVD));
+        pisCommonPaymentDataList.add(buildPaymentData(TransactionStatus.PATC));
 
-        when(paymentDataRepository.countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)))
-            .thenReturn(10L);
-        when(paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), PageRequest.of(0, 100)))
+        when(paymentDataRepository.findAllById(IDS))
             .thenReturn(pisCommonPaymentDataList);
         when(pisCommonPaymentConfirmationExpirationService.isConfirmationExpired(any(PisCommonPaymentData.class)))
             .thenReturn(true, false);
@@ -78,32 +94,27 @@ class NotConfirmedPaymentExpirationScheduleTaskTest {
             .thenReturn(Collections.emptyList());
 
         // When
-        scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
+        int expired = scheduleTask.processChunk(IDS);
 
         // Then
-        verify(paymentDataRepository, times(1))
-            .countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        verify(paymentDataRepository, times(1))
-            .findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), PageRequest.of(0, 100));
         verify(pisCommonPaymentConfirmationExpirationService, times(2)).isConfirmationExpired(any(PisCommonPaymentData.class));
         verify(pisCommonPaymentConfirmationExpirationService, times(1)).updatePaymentDataListOnConfirmationExpiration(anyList());
 
+        assertEquals(1, expired);
         assertEquals(1, commonPaymentDataCaptor.getValue().size());
     }
 
     @Test
-    void obsoleteNotConfirmedPaymentIfExpiredAndSigningBasketBlocked() {
+    void processChunk_signingBasketBlocked() {
         // Given
         List<PisCommonPaymentData> pisCommonPaymentDataList = new ArrayList<>();
-        PisCommonPaymentData pisCommonPaymentData = new PisCommonPaymentData();
+        PisCommonPaymentData pisCommonPaymentData = buildPaymentData(TransactionStatus.RCVD);
         pisCommonPaymentData.setSigningBasketBlocked(true);
         pisCommonPaymentDataList.add(pisCommonPaymentData);
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
+        pisCommonPaymentDataList.add(buildPaymentData(TransactionStatus.RCVD));
+        pisCommonPaymentDataList.add(buildPaymentData(TransactionStatus.RCVD));
 
-        when(paymentDataRepository.countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)))
-            .thenReturn(10L);
-        when(paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), PageRequest.of(0, 100)))
+        when(paymentDataRepository.findAllById(IDS))
             .thenReturn(pisCommonPaymentDataList);
         when(pisCommonPaymentConfirmationExpirationService.isConfirmationExpired(any(PisCommonPaymentData.class)))
             .thenReturn(true, false);
@@ -111,32 +122,49 @@ class NotConfirmedPaymentExpirationScheduleTaskTest {
             .thenReturn(Collections.emptyList());
 
         // When
-        scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
+        int expired = scheduleTask.processChunk(IDS);
 
         // Then
-        verify(paymentDataRepository, times(1))
-            .countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        verify(paymentDataRepository, times(1))
-            .findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), PageRequest.of(0, 100));
         verify(pisCommonPaymentConfirmationExpirationService, times(2)).isConfirmationExpired(any(PisCommonPaymentData.class));
         verify(pisCommonPaymentConfirmationExpirationService, times(1)).updatePaymentDataListOnConfirmationExpiration(anyList());
 
+        assertEquals(1, expired);
         assertEquals(1, commonPaymentDataCaptor.getValue().size());
     }
 
     @Test
-    void obsoleteNotConfirmedPaymentIfExpired_emptyList() {
+    void processChunk_statusChanged() {
         // Given
-        when(paymentDataRepository.countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)))
-            .thenReturn(0L);
+        when(paymentDataRepository.findAllById(IDS))
+            .thenReturn(List.of(buildPaymentData(TransactionStatus.ACSP)));
 
         // When
-        scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
+        int expired = scheduleTask.processChunk(IDS);
 
         // Then
-        verify(paymentDataRepository, times(1)).countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        verify(paymentDataRepository, never()).findByTransactionStatusIn(anySet(), any(Pageable.class));
+        assertEquals(0, expired);
         verify(pisCommonPaymentConfirmationExpirationService, never()).isConfirmationExpired(any(PisCommonPaymentData.class));
         verify(pisCommonPaymentConfirmationExpirationService, never()).updatePaymentDataListOnConfirmationExpiration(anyList());
     }
+
+    @Test
+    void processChunk_emptyList() {
+        // Given
+        when(paymentDataRepository.findAllById(IDS))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        int expired = scheduleTask.processChunk(IDS);
+
+        // Then
+        assertEquals(0, expired);
+        verify(pisCommonPaymentConfirmationExpirationService, never()).isConfirmationExpired(any(PisCommonPaymentData.class));
+        verify(pisCommonPaymentConfirmationExpirationService, never()).updatePaymentDataListOnConfirmationExpiration(anyList());
+    }
+
+    private PisCommonPaymentData buildPaymentData(TransactionStatus transactionStatus) {
+        PisCommonPaymentData pisCommonPaymentData = new PisCommonPaymentData();
+        pisCommonPaymentData.setTransactionStatus(transactionStatus);
+        return pisCommonPaymentData;
+    }
 }
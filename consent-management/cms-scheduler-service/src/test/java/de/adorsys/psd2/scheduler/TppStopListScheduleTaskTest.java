@@ -17,12 +17,19 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.scheduler.engine.SchedulerJobRunner;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -34,10 +41,18 @@ class TppStopListScheduleTaskTest {
 
     @Mock
     private TppStopListRepository tppStopListRepository;
+    @Mock
+    private SchedulerJobRunner schedulerJobRunner;
 
     @Test
     void unblockTppIfBlockingExpired() {
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(1);
+            task.run();
+            return Optional.empty();
+        }).when(schedulerJobRunner).runExclusively(anyString(), any(Runnable.class));
+
         scheduleTask.unblockTppIfBlockingExpired();
-        verify(tppStopListRepository, times(1)).unblockExpiredBlockedTpp();
+        verify(tppStopListRepository, times(1)).unblockExpiredBlockedTpp(any(OffsetDateTime.class));
     }
 }
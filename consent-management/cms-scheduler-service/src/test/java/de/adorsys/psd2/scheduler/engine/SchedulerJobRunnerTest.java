@@ -0,0 +1,293 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler.engine;
+
+import de.adorsys.psd2.consent.domain.SchedulerJobProgressEntity;
+import de.adorsys.psd2.consent.repository.SchedulerJobProgressRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerJobRunnerTest {
+    private static final String JOB_NAME = "test-job";
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+    @Mock
+    private SchedulerJobProgressRepository schedulerJobProgressRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private SchedulerJobRunner schedulerJobRunner;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        schedulerJobRunner = new SchedulerJobRunner(schedulerLeaseService, schedulerJobProgressRepository, transactionManager,
+                                                    meterRegistryProvider, executorService);
+        ReflectionTestUtils.setField(schedulerJobRunner, "chunkSize", 2);
+        ReflectionTestUtils.setField(schedulerJobRunner, "workers", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void run_leaseNotAcquired_shouldSkipJob() {
+        // Given
+        TestJob job = new TestJob(5);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(false);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.run(job);
+
+        // Then
+        assertTrue(actual.isEmpty());
+        assertTrue(job.processedChunks.isEmpty());
+        verify(schedulerLeaseService, never()).releaseLease(JOB_NAME);
+    }
+
+    @Test
+    void run_shouldProcessAllChunksInIdOrder() {
+        // Given
+        TestJob job = new TestJob(5);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.run(job);
+
+        // Then
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), job.processedChunks);
+        assertEquals(List.of(0L, 2L, 4L), job.requestedLastIds);
+        assertTrue(actual.isPresent());
+        assertEquals(5, actual.get().getRowsScanned());
+        assertEquals(5, actual.get().getRowsExpired());
+        assertEquals(5, meterRegistry.get(SchedulerJobRunner.ROWS_SCANNED_METRIC).tag("job", JOB_NAME).counter().count());
+        assertEquals(5, meterRegistry.get(SchedulerJobRunner.ROWS_EXPIRED_METRIC).tag("job", JOB_NAME).counter().count());
+        assertEquals(1, meterRegistry.get(SchedulerJobRunner.RUN_DURATION_METRIC).tag("job", JOB_NAME).timer().count());
+        verify(transactionManager, times(6)).commit(any());
+        verify(schedulerLeaseService).releaseLease(JOB_NAME);
+    }
+
+    @Test
+    void run_chunkFailed_shouldContinueWithNextChunks() {
+        // Given
+        TestJob job = new TestJob(5);
+        job.failingChunk = List.of(3L, 4L);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.run(job);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertEquals(5, actual.get().getRowsScanned());
+        assertEquals(3, actual.get().getRowsExpired());
+        assertEquals(List.of(List.of(1L, 2L), List.of(5L)), job.processedChunks);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void run_leaseLost_shouldStopJob() {
+        // Given
+        TestJob job = new TestJob(5);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true, true, false);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.run(job);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertEquals(4, actual.get().getRowsScanned());
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L)), job.processedChunks);
+    }
+
+    @Test
+    void run_parallelWorkers_shouldProcessAllChunks() {
+        // Given
+        ReflectionTestUtils.setField(schedulerJobRunner, "workers", 2);
+        TestJob job = new TestJob(9);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.run(job);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertEquals(9, actual.get().getRowsScanned());
+        assertEquals(9, actual.get().getRowsExpired());
+        List<Long> processedIds = job.processedChunks.stream()
+                                      .flatMap(List::stream)
+                                      .sorted()
+                                      .collect(Collectors.toList());
+        assertEquals(LongStream.rangeClosed(1, 9).boxed().collect(Collectors.toList()), processedIds);
+    }
+
+    @Test
+    void runExclusively_shouldExecuteTaskUnderLease() {
+        // Given
+        Runnable task = mock(Runnable.class);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.runExclusively(JOB_NAME, task);
+
+        // Then
+        assertTrue(actual.isPresent());
+        verify(task).run();
+        verify(transactionManager).commit(any());
+        verify(schedulerLeaseService).releaseLease(JOB_NAME);
+    }
+
+    @Test
+    void runExclusively_leaseNotAcquired_shouldSkipTask() {
+        // Given
+        Runnable task = mock(Runnable.class);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(false);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.runExclusively(JOB_NAME, task);
+
+        // Then
+        assertFalse(actual.isPresent());
+        verify(task, never()).run();
+    }
+
+    @Test
+    void runResumable_shouldResumeAfterLastProcessedIdAndMarkJobAsCompleted() {
+        // Given
+        TestJob job = new TestJob(5);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true);
+        when(schedulerJobProgressRepository.findById(JOB_NAME))
+            .thenReturn(Optional.of(new SchedulerJobProgressEntity(JOB_NAME, 2, false, null)));
+        ArgumentCaptor<SchedulerJobProgressEntity> progressCaptor = ArgumentCaptor.forClass(SchedulerJobProgressEntity.class);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.runResumable(job, 0);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertEquals(3, actual.get().getRowsScanned());
+        assertEquals(List.of(List.of(3L, 4L), List.of(5L)), job.processedChunks);
+        assertEquals(List.of(2L, 4L, 5L), job.requestedLastIds);
+        verify(schedulerJobProgressRepository, times(3)).save(progressCaptor.capture());
+        List<SchedulerJobProgressEntity> savedProgress = progressCaptor.getAllValues();
+        assertEquals(List.of(4L, 5L, 5L), savedProgress.stream().map(SchedulerJobProgressEntity::getLastProcessedId).collect(Collectors.toList()));
+        assertEquals(List.of(false, false, true), savedProgress.stream().map(SchedulerJobProgressEntity::isCompleted).collect(Collectors.toList()));
+        verify(schedulerLeaseService).releaseLease(JOB_NAME);
+    }
+
+    @Test
+    void runResumable_chunkFailed_shouldStopWithoutSavingProgressOfFailedChunk() {
+        // Given
+        TestJob job = new TestJob(5);
+        job.failingChunk = List.of(3L, 4L);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true);
+        when(schedulerJobProgressRepository.findById(JOB_NAME)).thenReturn(Optional.empty());
+        ArgumentCaptor<SchedulerJobProgressEntity> progressCaptor = ArgumentCaptor.forClass(SchedulerJobProgressEntity.class);
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.runResumable(job, 0);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertEquals(2, actual.get().getRowsScanned());
+        assertEquals(List.of(List.of(1L, 2L)), job.processedChunks);
+        verify(schedulerJobProgressRepository).save(progressCaptor.capture());
+        assertEquals(2L, progressCaptor.getValue().getLastProcessedId());
+        assertFalse(progressCaptor.getValue().isCompleted());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void runResumable_jobCompleted_shouldSkipJob() {
+        // Given
+        TestJob job = new TestJob(5);
+        when(schedulerLeaseService.acquireLease(JOB_NAME)).thenReturn(true);
+        when(schedulerJobProgressRepository.findById(JOB_NAME))
+            .thenReturn(Optional.of(new SchedulerJobProgressEntity(JOB_NAME, 5, true, null)));
+
+        // When
+        Optional<SchedulerRunMetrics> actual = schedulerJobRunner.runResumable(job, 0);
+
+        // Then
+        assertTrue(actual.isEmpty());
+        assertTrue(job.requestedLastIds.isEmpty());
+        verify(schedulerLeaseService).releaseLease(JOB_NAME);
+    }
+
+    private static class TestJob implements KeysetChunkedJob {
+        private final List<Long> ids;
+        private final List<Long> requestedLastIds = Collections.synchronizedList(new ArrayList<>());
+        private final List<List<Long>> processedChunks = Collections.synchronizedList(new ArrayList<>());
+        private List<Long> failingChunk;
+
+        private TestJob(int size) {
+            ids = LongStream.rangeClosed(1, size).boxed().collect(Collectors.toList());
+        }
+
+        @Override
+        public String getName() {
+            return JOB_NAME;
+        }
+
+        @Override
+        public List<Long> findIdsAfter(long lastId, Pageable pageable) {
+            requestedLastIds.add(lastId);
+            return ids.stream()
+                       .filter(id -> id > lastId)
+                       .limit(pageable.getPageSize())
+                       .collect(Collectors.toList());
+        }
+
+        @Override
+        public int processChunk(List<Long> chunk) {
+            if (chunk.equals(failingChunk)) {
+                throw new IllegalStateException("Chunk processing failed");
+            }
+            processedChunks.add(chunk);
+            return chunk.size();
+        }
+    }
+}
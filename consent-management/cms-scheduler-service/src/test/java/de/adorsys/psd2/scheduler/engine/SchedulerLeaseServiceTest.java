@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.scheduler.engine;
+
+import de.adorsys.psd2.consent.domain.SchedulerLockEntity;
+import de.adorsys.psd2.consent.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLeaseServiceTest {
+    private static final String JOB_NAME = "test-job";
+
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        schedulerLeaseService = new SchedulerLeaseService(schedulerLockRepository, transactionManager);
+        ReflectionTestUtils.setField(schedulerLeaseService, "leaseEnabled", true);
+        ReflectionTestUtils.setField(schedulerLeaseService, "leaseDurationMs", 60000L);
+    }
+
+    @Test
+    void acquireLease_lockUpdated() {
+        // Given
+        ArgumentCaptor<OffsetDateTime> nowCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<OffsetDateTime> lockedUntilCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        when(schedulerLockRepository.acquireLock(eq(JOB_NAME), eq(schedulerLeaseService.getOwnerId()), nowCaptor.capture(), lockedUntilCaptor.capture()))
+            .thenReturn(1);
+
+        // When
+        boolean actual = schedulerLeaseService.acquireLease(JOB_NAME);
+
+        // Then
+        assertTrue(actual);
+        assertEquals(nowCaptor.getValue().plusMinutes(1), lockedUntilCaptor.getValue());
+        verify(schedulerLockRepository, never()).save(any());
+    }
+
+    @Test
+    void acquireLease_lockHeldByAnotherInstance() {
+        // Given
+        when(schedulerLockRepository.acquireLock(eq(JOB_NAME), anyString(), any(), any()))
+            .thenReturn(0);
+        when(schedulerLockRepository.existsById(JOB_NAME))
+            .thenReturn(true);
+
+        // When
+        boolean actual = schedulerLeaseService.acquireLease(JOB_NAME);
+
+        // Then
+        assertFalse(actual);
+        verify(schedulerLockRepository, never()).save(any());
+    }
+
+    @Test
+    void acquireLease_lockDoesNotExist_shouldCreateLock() {
+        // Given
+        ArgumentCaptor<SchedulerLockEntity> lockCaptor = ArgumentCaptor.forClass(SchedulerLockEntity.class);
+        when(schedulerLockRepository.acquireLock(eq(JOB_NAME), anyString(), any(), any()))
+            .thenReturn(0);
+        when(schedulerLockRepository.existsById(JOB_NAME))
+            .thenReturn(false);
+
+        // When
+        boolean actual = schedulerLeaseService.acquireLease(JOB_NAME);
+
+        // Then
+        assertTrue(actual);
+        verify(schedulerLockRepository).save(lockCaptor.capture());
+        assertEquals(JOB_NAME, lockCaptor.getValue().getLockName());
+        assertEquals(schedulerLeaseService.getOwnerId(), lockCaptor.getValue().getLockedBy());
+    }
+
+    @Test
+    void acquireLease_lockCreatedConcurrently() {
+        // Given
+        when(schedulerLockRepository.acquireLock(eq(JOB_NAME), anyString(), any(), any()))
+            .thenReturn(0);
+        when(schedulerLockRepository.existsById(JOB_NAME))
+            .thenReturn(false);
+        when(schedulerLockRepository.save(any(SchedulerLockEntity.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        boolean actual = schedulerLeaseService.acquireLease(JOB_NAME);
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @Test
+    void acquireLease_leaseDisabled() {
+        // Given
+        ReflectionTestUtils.setField(schedulerLeaseService, "leaseEnabled", false);
+
+        // When
+        boolean actual = schedulerLeaseService.acquireLease(JOB_NAME);
+
+        // Then
+        assertTrue(actual);
+        verifyNoInteractions(schedulerLockRepository);
+    }
+
+    @Test
+    void releaseLease() {
+        // When
+        schedulerLeaseService.releaseLease(JOB_NAME);
+
+        // Then
+        verify(schedulerLockRepository).releaseLock(eq(JOB_NAME), eq(schedulerLeaseService.getOwnerId()), any(OffsetDateTime.class));
+    }
+}
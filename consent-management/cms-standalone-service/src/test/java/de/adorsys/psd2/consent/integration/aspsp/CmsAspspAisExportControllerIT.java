@@ -115,7 +115,7 @@ class CmsAspspAisExportControllerIT {
             .willReturn(new PageImpl<>(Collections.singletonList(consentEntity), PageRequest.of(0, 20), 1));
         given(authorisationRepository.findAllByParentExternalIdAndType(consentEntity.getExternalId(), AuthorisationType.CONSENT))
             .willReturn(Collections.emptyList());
-        given(aisConsentUsageRepository.findReadByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class)))
+        given(aisConsentUsageRepository.findUsageAmountsByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class)))
             .willReturn(Collections.emptyList());
     }
 
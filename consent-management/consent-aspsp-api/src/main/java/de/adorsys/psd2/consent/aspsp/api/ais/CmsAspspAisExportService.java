@@ -27,6 +27,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 
 @NotNull
@@ -90,4 +91,22 @@ public interface CmsAspspAisExportService {
                                                                                              @NotNull String instanceId,
                                                                                              Integer pageIndex, Integer itemsPerPage,
                                                                                              @Nullable String additionalTppInfo);
+
+    /**
+     * Passes consents by given criteria one by one to the given consumer. Consents are read from the database in chunks
+     * ordered by their internal IDs, so the cost of reading doesn't depend on the number of already exported consents.
+     *
+     * @param tppAuthorisationNumber Mandatory TPP ID
+     * @param createDateFrom         Optional starting creation date criteria
+     * @param createDateTo           Optional ending creation date criteria
+     * @param psuIdData              Optional Psu information criteria
+     * @param instanceId             Mandatory id of particular service instance
+     * @param additionalTppInfo      Optional additional TPP info criteria
+     * @param consumer               Consumer of exported consents
+     */
+    void streamConsentsByTpp(String tppAuthorisationNumber,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @Nullable PsuIdData psuIdData, @NotNull String instanceId,
+                             @Nullable String additionalTppInfo,
+                             @NotNull Consumer<? super CmsAisAccountConsent> consumer);
 }
@@ -26,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 
 @NotNull
@@ -99,4 +100,20 @@ public interface CmsAspspPiisFundsExportService {
                                                                    Integer pageIndex, Integer itemsPerPage
     );
 
+    /**
+     * Passes consents by given criteria one by one to the given consumer. Consents are read from the database in chunks
+     * ordered by their internal IDs, so the cost of reading doesn't depend on the number of already exported consents.
+     *
+     * @param tppAuthorisationNumber Mandatory TPP ID
+     * @param createDateFrom         Optional starting creation date criteria
+     * @param createDateTo           Optional ending creation date criteria
+     * @param psuIdData              Optional Psu information criteria
+     * @param instanceId             Optional id of particular service instance.
+     *                               If it's not provided, default value will be used instead.
+     * @param consumer               Consumer of exported consents
+     */
+    void streamConsentsByTpp(String tppAuthorisationNumber,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @Nullable PsuIdData psuIdData, @Nullable String instanceId,
+                             @NotNull Consumer<? super CmsPiisConsent> consumer);
 }
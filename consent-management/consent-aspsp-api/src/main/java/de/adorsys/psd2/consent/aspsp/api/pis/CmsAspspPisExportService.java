@@ -26,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 
 @NotNull
@@ -88,4 +89,19 @@ public interface CmsAspspPisExportService {
                                                      @NotNull String instanceId,
                                                      Integer pageIndex, Integer itemsPerPage);
 
+    /**
+     * Passes payments by given criteria one by one to the given consumer. Payments are read from the database in chunks
+     * ordered by their internal IDs, so the cost of reading doesn't depend on the number of already exported payments.
+     *
+     * @param tppAuthorisationNumber Mandatory TPP ID
+     * @param createDateFrom         Optional starting creation date criteria
+     * @param createDateTo           Optional ending creation date criteria
+     * @param psuIdData              Optional Psu information criteria
+     * @param instanceId             Mandatory id of particular service instance
+     * @param consumer               Consumer of exported payments
+     */
+    void streamPaymentsByTpp(String tppAuthorisationNumber,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @Nullable PsuIdData psuIdData, @NotNull String instanceId,
+                             @NotNull Consumer<? super CmsBasePaymentResponse> consumer);
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.web.aspsp.component;
+
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Builds responses with newline delimited JSON (NDJSON) bodies, where every exported object is serialized to a separate
+ * line and written to the response as soon as it's produced.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonResponseBuilder {
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final Xs2aObjectMapper xs2aObjectMapper;
+
+    /**
+     * Creates response, which body is filled by the given producer
+     *
+     * @param producer passes all exported objects to the consumer, which writes them to the response
+     * @param <T>      type of exported objects
+     * @return response with streaming body
+     */
+    public <T> ResponseEntity<StreamingResponseBody> build(Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            producer.accept(item -> writeLine(outputStream, item));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                   .contentType(APPLICATION_NDJSON)
+                   .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object item) {
+        try {
+            outputStream.write(xs2aObjectMapper.writeValueAsBytes(item));
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -23,10 +23,13 @@ import de.adorsys.psd2.consent.aspsp.api.CmsAspspAisExportApi;
 import de.adorsys.psd2.consent.aspsp.api.PageData;
 import de.adorsys.psd2.consent.aspsp.api.ais.CmsAspspAisExportService;
 import de.adorsys.psd2.xs2a.core.pagination.data.PageRequestParameters;
+import de.adorsys.psd2.consent.web.aspsp.component.NdjsonResponseBuilder;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Collection;
@@ -35,6 +38,7 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class CmsAspspAisExportController implements CmsAspspAisExportApi {
     private final CmsAspspAisExportService cmsAspspAisExportService;
+    private final NdjsonResponseBuilder ndjsonResponseBuilder;
 
     @Override
     public ResponseData<Collection<CmsAisAccountConsent>> getConsentsByTpp(String tppId, LocalDate start,
@@ -84,4 +88,15 @@ public class CmsAspspAisExportController implements CmsAspspAisExportApi {
             new CmsPageInfo(consents.getPage(), consents.getPageSize(), consents.getTotal()),
             HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamConsentsByTpp(String tppId, LocalDate start,
+                                                                     LocalDate end, String psuId,
+                                                                     String psuIdType, String psuCorporateId,
+                                                                     String psuCorporateIdType, String instanceId,
+                                                                     String additionalTppInfo) {
+        PsuIdData psuIdData = new PsuIdData(psuId, psuIdType, psuCorporateId, psuCorporateIdType, null);
+        return ndjsonResponseBuilder.build(
+            consumer -> cmsAspspAisExportService.streamConsentsByTpp(tppId, start, end, psuIdData, instanceId, additionalTppInfo, consumer));
+    }
 }
@@ -21,12 +21,14 @@ import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.service.AspspEventService;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventCount;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -79,4 +81,10 @@ public class CmsAspspEventController implements CmsAspspEventApi {
         List<AspspEvent> events = aspspEventService.getEventsForPeriodAndEventOrigin(start, end, eventOriginValue, instanceId, pageIndex, itemsPerPage);
         return new ResponseEntity<>(events, HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<List<AspspEventCount>> getEventCountsForDates(LocalDate start, LocalDate end, String instanceId) {
+        List<AspspEventCount> eventCounts = aspspEventService.getEventCountsForPeriod(start, end, instanceId);
+        return new ResponseEntity<>(eventCounts, HttpStatus.OK);
+    }
 }
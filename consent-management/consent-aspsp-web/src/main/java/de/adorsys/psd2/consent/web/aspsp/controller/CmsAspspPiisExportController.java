@@ -22,10 +22,13 @@ import de.adorsys.psd2.consent.api.piis.v1.CmsPiisConsent;
 import de.adorsys.psd2.consent.aspsp.api.CmsAspspPiisExportApi;
 import de.adorsys.psd2.consent.aspsp.api.PageData;
 import de.adorsys.psd2.consent.aspsp.api.piis.CmsAspspPiisFundsExportService;
+import de.adorsys.psd2.consent.web.aspsp.component.NdjsonResponseBuilder;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Collection;
@@ -34,6 +37,7 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class CmsAspspPiisExportController implements CmsAspspPiisExportApi {
     private final CmsAspspPiisFundsExportService cmsAspspPiisExportService;
+    private final NdjsonResponseBuilder ndjsonResponseBuilder;
 
     @Override
     public ResponseData<Collection<CmsPiisConsent>> getConsentsByTpp(String tppId, LocalDate start,
@@ -73,4 +77,14 @@ public class CmsAspspPiisExportController implements CmsAspspPiisExportApi {
             new CmsPageInfo(consents.getPage(), consents.getPageSize(), consents.getTotal()),
             HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamConsentsByTpp(String tppId, LocalDate start,
+                                                                     LocalDate end, String psuId,
+                                                                     String psuIdType, String psuCorporateId,
+                                                                     String psuCorporateIdType, String instanceId) {
+        PsuIdData psuIdData = new PsuIdData(psuId, psuIdType, psuCorporateId, psuCorporateIdType, null);
+        return ndjsonResponseBuilder.build(
+            consumer -> cmsAspspPiisExportService.streamConsentsByTpp(tppId, start, end, psuIdData, instanceId, consumer));
+    }
 }
@@ -22,10 +22,13 @@ import de.adorsys.psd2.consent.api.pis.CmsBasePaymentResponse;
 import de.adorsys.psd2.consent.aspsp.api.CmsAspspPisExportApi;
 import de.adorsys.psd2.consent.aspsp.api.PageData;
 import de.adorsys.psd2.consent.aspsp.api.pis.CmsAspspPisExportService;
+import de.adorsys.psd2.consent.web.aspsp.component.NdjsonResponseBuilder;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Collection;
@@ -34,6 +37,7 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class CmsAspspPisExportController implements CmsAspspPisExportApi {
     private final CmsAspspPisExportService cmsAspspPisExportService;
+    private final NdjsonResponseBuilder ndjsonResponseBuilder;
 
     @Override
     public ResponseData<Collection<CmsBasePaymentResponse>> getPaymentsByTpp(String tppId, LocalDate start, LocalDate end,
@@ -71,4 +75,14 @@ public class CmsAspspPisExportController implements CmsAspspPisExportApi {
             new CmsPageInfo(payments.getPage(), payments.getPageSize(), payments.getTotal()),
             HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamPaymentsByTpp(String tppId, LocalDate start, LocalDate end,
+                                                                     String psuId, String psuIdType,
+                                                                     String psuCorporateId, String psuCorporateIdType,
+                                                                     String instanceId) {
+        PsuIdData psuIdData = new PsuIdData(psuId, psuIdType, psuCorporateId, psuCorporateIdType, null);
+        return ndjsonResponseBuilder.build(
+            consumer -> cmsAspspPisExportService.streamPaymentsByTpp(tppId, start, end, psuIdData, instanceId, consumer));
+    }
 }
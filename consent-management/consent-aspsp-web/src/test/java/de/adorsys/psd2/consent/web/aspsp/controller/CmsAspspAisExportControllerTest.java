@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.web.aspsp.controller;
 import de.adorsys.psd2.consent.api.ais.CmsAisAccountConsent;
 import de.adorsys.psd2.consent.aspsp.api.PageData;
 import de.adorsys.psd2.consent.aspsp.api.ais.CmsAspspAisExportService;
+import de.adorsys.psd2.consent.web.aspsp.component.NdjsonResponseBuilder;
 import de.adorsys.psd2.consent.web.aspsp.config.ObjectMapperTestConfig;
 import de.adorsys.psd2.xs2a.core.pagination.data.PageRequestParameters;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -28,21 +29,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -66,6 +73,8 @@ class CmsAspspAisExportControllerTest {
 
     @Mock
     private CmsAspspAisExportService cmsAspspAisExportService;
+    @Spy
+    private NdjsonResponseBuilder ndjsonResponseBuilder = new NdjsonResponseBuilder(new ObjectMapperTestConfig().getXs2aObjectMapper());
 
     @BeforeEach
     void setUp() {
@@ -136,4 +145,27 @@ class CmsAspspAisExportControllerTest {
         verify(cmsAspspAisExportService, times(1)).exportConsentsByAccountIdAndAdditionalTppInfo(accountId, START_DATE, END_DATE, INSTANCE_ID, PAGE_INDEX, ITEMS_PER_PAGE,
                                                                                                  null);
     }
+
+    @Test
+    void streamConsentsByTpp_Success() throws Exception {
+        String TPP_ID = "PSDDE-FAKENCA-87B2AC";
+        CmsAisAccountConsent consent = consents.iterator().next();
+        doAnswer(invocation -> {
+            Consumer<CmsAisAccountConsent> consumer = invocation.getArgument(6);
+            consumer.accept(consent);
+            consumer.accept(consent);
+            return null;
+        }).when(cmsAspspAisExportService).streamConsentsByTpp(eq(TPP_ID), eq(START_DATE), eq(END_DATE), eq(psuIdData), eq(INSTANCE_ID), isNull(), any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/aspsp-api/v1/ais/consents/tpp/PSDDE-FAKENCA-87B2AC/stream")
+                                                  .headers(httpHeaders))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String expectedLine = new ObjectMapperTestConfig().getXs2aObjectMapper().writeValueAsString(consent) + "\n";
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().is(HttpStatus.OK.value()))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+            .andExpect(content().string(expectedLine + expectedLine));
+    }
 }
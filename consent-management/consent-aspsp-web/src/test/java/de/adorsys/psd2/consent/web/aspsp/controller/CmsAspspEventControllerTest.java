@@ -21,6 +21,7 @@ import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.service.AspspEventService;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventCount;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,14 +34,14 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class CmsAspspEventControllerTest {
 
@@ -57,6 +58,7 @@ class CmsAspspEventControllerTest {
     private static final String GET_ASPSP_EVENT_LIST_BY_EVENT_ORIGIN_URL = "/aspsp-api/v1/events/origin/TPP";
     private static final String GET_ASPSP_EVENT_LIST_BY_EVENT_ORIGIN_URL_INVALID = "/aspsp-api/v1/events/origin/get";
     private static final String GET_ASPSP_EVENT_LIST_BY_EVENT_TYPE_URL_INVALID = "/aspsp-api/v1/events/type/GET";
+    private static final String GET_ASPSP_EVENT_COUNTS_URL = "/aspsp-api/v1/events/counts";
 
     @Mock
     private AspspEventService aspspEventService;
@@ -199,4 +201,30 @@ class CmsAspspEventControllerTest {
 
         verify(aspspEventService, times(1)).getEventsForPeriod(OffsetDateTime.parse(START), OffsetDateTime.parse(END), INSTANCE_ID, 0, 20);
     }
+
+    @Test
+    void getEventCountsForDates_success() throws Exception {
+        LocalDate start = LocalDate.of(2019, 7, 11);
+        LocalDate end = LocalDate.of(2019, 7, 12);
+        AspspEventCount eventCount = AspspEventCount.builder()
+                                         .date(start)
+                                         .instanceId(INSTANCE_ID)
+                                         .eventType(EventType.GET_SIGNING_BASKET_REQUEST_RECEIVED)
+                                         .eventOrigin(EventOrigin.TPP)
+                                         .count(5)
+                                         .build();
+        when(aspspEventService.getEventCountsForPeriod(start, end, INSTANCE_ID))
+            .thenReturn(Collections.singletonList(eventCount));
+
+        mockMvc.perform(get(GET_ASPSP_EVENT_COUNTS_URL)
+                            .header("start-date", "2019-07-11")
+                            .header("end-date", "2019-07-12"))
+            .andExpect(status().is(HttpStatus.OK.value()))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$[0].eventType").value("GET_SIGNING_BASKET_REQUEST_RECEIVED"))
+            .andExpect(jsonPath("$[0].count").value(5))
+            .andReturn();
+
+        verify(aspspEventService, times(1)).getEventCountsForPeriod(start, end, INSTANCE_ID);
+    }
 }
@@ -17,9 +17,11 @@
 package de.adorsys.psd2.consent.config;
 
 import de.adorsys.psd2.consent.repository.CryptoAlgorithmRepository;
+import de.adorsys.psd2.consent.service.security.provider.AbstractCryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoInstanceFactory;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
+import de.adorsys.psd2.consent.service.security.provider.SecretKeyCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -40,6 +42,12 @@ public class CryptoConfig {
     @Value("${xs2a.cms.encryption.defaultProvider.idProvider:psGLvQpt9Q}")
     private String defaultIdProviderId;
 
+    @Value("${xs2a.cms.encryption.key-cache.max-size:1000}")
+    private int keyCacheMaxSize;
+
+    @Value("${xs2a.cms.encryption.key-cache.zeroing-on-eviction:false}")
+    private boolean keyCacheZeroingOnEviction;
+
     @Bean
     public CryptoProviderHolder initCryptoProviders(CryptoAlgorithmRepository cryptoAlgorithmRepository) {
         Map<String, CryptoProvider> providerMap = getInitializedProviderMap(cryptoAlgorithmRepository);
@@ -69,13 +77,21 @@ public class CryptoConfig {
                                                                             .getConstructor()
                                                                             .newInstance();
 
-            return factoryImpl.initProvider(cryptoProviderId, params);
+            CryptoProvider cryptoProvider = factoryImpl.initProvider(cryptoProviderId, params);
+            initSecretKeyCache(cryptoProvider);
+            return cryptoProvider;
         } catch (Exception ex) {
             log.info("Error creation factory class from name: {}", factoryClassName, ex);
         }
         return null;
     }
 
+    private void initSecretKeyCache(CryptoProvider cryptoProvider) {
+        if (cryptoProvider instanceof AbstractCryptoProvider) {
+            ((AbstractCryptoProvider) cryptoProvider).setSecretKeyCache(new SecretKeyCache(keyCacheMaxSize, keyCacheZeroingOnEviction));
+        }
+    }
+
     private void validateDefaultProviders(CryptoProvider defaultDataProvider, CryptoProvider defaultIdProvider) {
         if (Objects.isNull(defaultDataProvider)
                 || Objects.isNull(defaultIdProvider)) {
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.config;
+
+import de.adorsys.psd2.consent.service.PiisConsentIndexListener;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+
+@Configuration
+@RequiredArgsConstructor
+public class PiisConsentIndexListenerConfig {
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    private final PiisConsentIndexListener piisConsentIndexListener;
+
+    @PostConstruct
+    public void registerListeners() {
+        final SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        final EventListenerRegistry registry = sessionFactory
+                                                   .getServiceRegistry()
+                                                   .getService(EventListenerRegistry.class);
+
+        registry.getEventListenerGroup(EventType.POST_INSERT)
+            .appendListener(piisConsentIndexListener);
+        registry.getEventListenerGroup(EventType.POST_UPDATE)
+            .appendListener(piisConsentIndexListener);
+        registry.getEventListenerGroup(EventType.POST_DELETE)
+            .appendListener(piisConsentIndexListener);
+    }
+}
@@ -2,16 +2,18 @@ package de.adorsys.psd2.consent.domain;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 
 @Entity
 @NoArgsConstructor
 @Data
+@BatchSize(size = 100)
 public class AdditionalPsuData {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "additional_psu_data_generator")
-    @SequenceGenerator(name = "additional_psu_data_generator", sequenceName = "additional_psu_data_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "additional_psu_data_generator", sequenceName = "additional_psu_data_id_seq", allocationSize = 50)
     private Long id;
     @Column
     private String psuIpPort;
@@ -18,12 +18,14 @@ package de.adorsys.psd2.consent.domain;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 
 @Data
 @Entity(name = "authorisation_template")
 @NoArgsConstructor
+@BatchSize(size = 100)
 public class AuthorisationTemplateEntity {
 
     @Id
@@ -49,6 +49,16 @@ public class TppStopListEntity extends InstanceDependableEntity {
     @Column(name = "expiration_timestamp")
     private OffsetDateTime blockingExpirationTimestamp;
 
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_change_timestamp")
+    private OffsetDateTime lastChangeTimestamp;
+
+    @PrePersist
+    @PreUpdate
+    public void tppStopListPreUpdate() {
+        lastChangeTimestamp = OffsetDateTime.now();
+    }
+
     public void block(@Nullable Duration lockPeriod) {
         this.status = TppStatus.BLOCKED;
         this.blockingExpirationTimestamp = lockPeriod != null
@@ -30,6 +30,7 @@ import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.apache.commons.collections4.CollectionUtils;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -108,6 +109,7 @@ public class ConsentEntity extends InstanceDependableEntity implements Authorisa
     @JoinColumn(name = "consent_tpp_information_id", nullable = false)
     private ConsentTppInformationEntity tppInformation = new ConsentTppInformationEntity();
 
+    @BatchSize(size = 100)
     @OneToMany(cascade = CascadeType.ALL)
     @JoinTable(name = "consent_psu_data",
         joinColumns = @JoinColumn(name = "consent_id"),
@@ -117,10 +119,12 @@ public class ConsentEntity extends InstanceDependableEntity implements Authorisa
     @OneToMany(mappedBy = "consent", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AisConsentUsage> usages = new ArrayList<>();
 
+    @BatchSize(size = 100)
     @ElementCollection
     @CollectionTable(name = "account_access", joinColumns = @JoinColumn(name = "consent_id"))
     private List<TppAccountAccess> tppAccountAccesses = new ArrayList<>();
 
+    @BatchSize(size = 100)
     @ElementCollection
     @CollectionTable(name = "aspsp_account_access", joinColumns = @JoinColumn(name = "consent_id"))
     private List<AspspAccountAccess> aspspAccountAccesses = new ArrayList<>();
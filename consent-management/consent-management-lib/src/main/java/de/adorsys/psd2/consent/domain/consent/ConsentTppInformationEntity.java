@@ -22,6 +22,7 @@ import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.List;
@@ -30,6 +31,7 @@ import java.util.Objects;
 @Data
 @Entity(name = "consent_tpp_information")
 @ApiModel(description = "Consent tpp information", value = "ConsentTppInformationEntity")
+@BatchSize(size = 100)
 public class ConsentTppInformationEntity {
     @Id
     @Column(name = "consent_tpp_information_id")
@@ -55,6 +57,7 @@ public class ConsentTppInformationEntity {
     @Column(name = "tpp_brand_log_info")
     private String tppBrandLoggingInformation;
 
+    @BatchSize(size = 100)
     @ElementCollection
     @CollectionTable(name = "ais_consent_tpp_ntfc", joinColumns = @JoinColumn(name = "id"))
     @Column(name = "notification_mode", nullable = false)
@@ -24,6 +24,7 @@ import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.OffsetDateTime;
@@ -64,6 +65,7 @@ public class PisCommonPaymentData extends InstanceDependableEntity implements Au
     @Column(name = "payment")
     private byte[] payment;
 
+    @BatchSize(size = 100)
     @OneToMany(cascade = CascadeType.ALL)
     @JoinTable(name = "pis_common_payment_psu_data",
         joinColumns = @JoinColumn(name = "pis_common_payment_id"),
@@ -81,12 +83,14 @@ public class PisCommonPaymentData extends InstanceDependableEntity implements Au
     @Column(name = "tpp_ntfc_uri")
     private String tppNotificationUri;
 
+    @BatchSize(size = 100)
     @ElementCollection
     @CollectionTable(name = "payment_tpp_ntfc", joinColumns = @JoinColumn(name = "id"))
     @Column(name = "notification_mode", nullable = false)
     @Enumerated(value = EnumType.STRING)
     private List<NotificationSupportedMode> tppNotificationContentPreferred;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "paymentData",
         cascade = CascadeType.ALL,
         orphanRemoval = true)
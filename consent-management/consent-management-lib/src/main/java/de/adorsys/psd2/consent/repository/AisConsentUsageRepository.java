@@ -19,20 +19,117 @@ package de.adorsys.psd2.consent.repository;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AisConsentUsageRepository extends CrudRepository<AisConsentUsage, Long> {
-    @Lock(value = LockModeType.OPTIMISTIC_FORCE_INCREMENT)
-    Optional<AisConsentUsage> findWriteByConsentAndUsageDateAndRequestUri(ConsentEntity aisConsent, LocalDate usageDate, String requestUri);
-
     @Lock(value = LockModeType.OPTIMISTIC)
     List<AisConsentUsage> findReadByConsentAndUsageDate(ConsentEntity aisConsent, LocalDate usageDate);
 
+    /**
+     * Returns usage amounts of the consent for the given date, read directly from the database
+     *
+     * @param aisConsent consent
+     * @param usageDate  date of the usage
+     * @return request URIs and their usage amounts
+     */
+    @Query(
+        "SELECT u.consent.id AS consentId, u.requestUri AS requestUri, u.usage AS usage " +
+            "FROM consent_usage u " +
+            "WHERE u.consent = :consent AND u.usageDate = :usageDate"
+    )
+    List<AisConsentUsageAmount> findUsageAmountsByConsentAndUsageDate(@Param("consent") ConsentEntity aisConsent,
+                                                                      @Param("usageDate") LocalDate usageDate);
+
+    /**
+     * Returns usage amounts of several consents for the given date with one query
+     *
+     * @param consentIds internal IDs of the consents
+     * @param usageDate  date of the usage
+     * @return consent IDs, request URIs and their usage amounts
+     */
+    @Query(
+        "SELECT u.consent.id AS consentId, u.requestUri AS requestUri, u.usage AS usage " +
+            "FROM consent_usage u " +
+            "WHERE u.consent.id IN :consentIds AND u.usageDate = :usageDate"
+    )
+    List<AisConsentUsageAmount> findUsageAmountsByConsentIdsAndUsageDate(@Param("consentIds") Collection<Long> consentIds,
+                                                                         @Param("usageDate") LocalDate usageDate);
+
+    /**
+     * Returns usage amount of the consent for the given date and request URI, read directly from the database
+     *
+     * @param consentId  internal ID of the consent
+     * @param usageDate  date of the usage
+     * @param requestUri request URI
+     * @return usage amount or empty optional if there is no usage row yet
+     */
+    @Query(
+        "SELECT u.usage FROM consent_usage u " +
+            "WHERE u.consent.id = :consentId AND u.usageDate = :usageDate AND u.requestUri = :requestUri"
+    )
+    Optional<Integer> findUsageAmount(@Param("consentId") Long consentId,
+                                      @Param("usageDate") LocalDate usageDate,
+                                      @Param("requestUri") String requestUri);
+
+    /**
+     * Reads the usage row of the consent for the given date and request URI with a pessimistic lock, so that rows
+     * committed by concurrent transactions are visible regardless of the isolation level
+     *
+     * @param consentId  internal ID of the consent
+     * @param usageDate  date of the usage
+     * @param requestUri request URI
+     * @return locked usage row or empty optional if there is no usage row yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "SELECT u FROM consent_usage u " +
+            "WHERE u.consent.id = :consentId AND u.usageDate = :usageDate AND u.requestUri = :requestUri"
+    )
+    Optional<AisConsentUsage> findAndLockUsage(@Param("consentId") Long consentId,
+                                               @Param("usageDate") LocalDate usageDate,
+                                               @Param("requestUri") String requestUri);
+
+    /**
+     * Increments usage of the consent for the given date and request URI with one conditional update, without
+     * loading and locking of the usage row. The usage is incremented only if it doesn't exceed the frequency per day
+     * afterwards, so the limit holds for concurrent requests as well.
+     *
+     * @param consentId       internal ID of the consent
+     * @param usageDate       date of the usage
+     * @param requestUri      request URI
+     * @param amount          number of usages to be added
+     * @param frequencyPerDay maximal usage amount of the consent per day and request URI
+     * @param resourceId      ID of the last accessed resource
+     * @param transactionId   ID of the last accessed transaction
+     * @return number of updated rows, <code>0</code> if there is no usage row for the given date and request URI yet
+     * or the frequency per day would be exceeded
+     */
+    @Query(
+        "UPDATE consent_usage u " +
+            "SET u.usage = u.usage + :amount, u.resourceId = :resourceId, u.transactionId = :transactionId " +
+            "WHERE u.consent.id = :consentId AND u.usageDate = :usageDate AND u.requestUri = :requestUri " +
+            "AND u.usage + :amount <= :frequencyPerDay"
+    )
+    @Modifying
+    @Transactional
+    int incrementUsage(@Param("consentId") Long consentId,
+                       @Param("usageDate") LocalDate usageDate,
+                       @Param("requestUri") String requestUri,
+                       @Param("amount") int amount,
+                       @Param("frequencyPerDay") int frequencyPerDay,
+                       @Param("resourceId") String resourceId,
+                       @Param("transactionId") String transactionId);
+
     int countByConsentIdAndResourceId(Long consentId, String resourceId);
 
     int countByConsentIdAndRequestUri(Long consentId, String requestUri);
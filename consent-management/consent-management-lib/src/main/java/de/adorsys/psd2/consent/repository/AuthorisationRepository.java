@@ -25,6 +25,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -43,6 +44,9 @@ public interface AuthorisationRepository extends CrudRepository<AuthorisationEnt
                                                                AuthorisationType authorisationType,
                                                                Pageable pageable);
 
+    List<AuthorisationEntity> findAllByParentExternalIdInAndType(Collection<String> parentExternalIds,
+                                                                 AuthorisationType authorisationType);
+
     List<AuthorisationEntity> findAllByParentExternalIdAndTypeIn(String parentExternalId,
                                                                  Set<AuthorisationType> authorisationTypes);
 
@@ -21,11 +21,13 @@ import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -39,8 +41,37 @@ public interface ConsentJpaRepository extends CrudRepository<ConsentEntity, Long
 
     Long countByConsentStatusIn(Set<ConsentStatus> statuses);
 
+    @Query(
+        "SELECT c.id FROM consent c " +
+            "WHERE c.consentStatus IN :consentStatuses AND c.id > :lastId " +
+            "ORDER BY c.id"
+    )
+    List<Long> findIdsByConsentStatusInAndIdGreaterThan(@Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                                                        @Param("lastId") long lastId,
+                                                        Pageable pageable);
+
+    @Query(
+        "SELECT c.id FROM consent c " +
+            "WHERE c.data IS NULL AND c.consentType IN :consentTypes AND c.id > :lastId " +
+            "ORDER BY c.id"
+    )
+    List<Long> findIdsWithoutDataByConsentTypeInAndIdGreaterThan(@Param("consentTypes") Set<String> consentTypes,
+                                                                 @Param("lastId") long lastId,
+                                                                 Pageable pageable);
+
     Optional<ConsentEntity> findByExternalId(String externalId);
 
+    /**
+     * Locks the consent row until the end of the current transaction, e.g. to serialise concurrent creation of its
+     * usage rows
+     *
+     * @param id internal ID of the consent
+     * @return locked consent
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM consent c WHERE c.id = :id")
+    Optional<ConsentEntity> findAndLockById(@Param("id") Long id);
+
     List<ConsentEntity> findAllByExternalIdIn(List<String> externalIds);
 
     @Query(
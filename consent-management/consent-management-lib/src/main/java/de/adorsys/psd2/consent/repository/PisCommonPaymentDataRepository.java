@@ -20,7 +20,9 @@ import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,4 +44,13 @@ public interface PisCommonPaymentDataRepository extends CrudRepository<PisCommon
     Long countByTransactionStatusIn(Set<TransactionStatus> statuses);
 
     List<PisCommonPaymentData> findByTransactionStatusIn(Set<TransactionStatus> statuses, Pageable pageable);
+
+    @Query(
+        "SELECT p.id FROM pis_common_payment p " +
+            "WHERE p.transactionStatus IN :statuses AND p.id > :lastId " +
+            "ORDER BY p.id"
+    )
+    List<Long> findIdsByTransactionStatusInAndIdGreaterThan(@Param("statuses") Set<TransactionStatus> statuses,
+                                                            @Param("lastId") long lastId,
+                                                            Pageable pageable);
 }
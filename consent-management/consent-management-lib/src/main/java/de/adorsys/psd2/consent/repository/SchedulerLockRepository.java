@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.SchedulerLockEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+
+public interface SchedulerLockRepository extends CrudRepository<SchedulerLockEntity, String> {
+
+    /**
+     * Takes over the lock, if it's not held by another owner or its lease has expired
+     *
+     * @param lockName    name of the lock
+     * @param lockedBy    identifier of the new owner
+     * @param now         current time
+     * @param lockedUntil expiration time of the new lease
+     * @return number of updated rows, <code>1</code> if the lock was acquired, <code>0</code> otherwise
+     */
+    @Query(
+        "UPDATE scheduler_lock " +
+            "SET lockedBy = :lockedBy, lockedUntil = :lockedUntil " +
+            "WHERE lockName = :lockName AND (lockedUntil <= :now OR lockedBy = :lockedBy)"
+    )
+    @Modifying
+    int acquireLock(@Param("lockName") String lockName,
+                    @Param("lockedBy") String lockedBy,
+                    @Param("now") OffsetDateTime now,
+                    @Param("lockedUntil") OffsetDateTime lockedUntil);
+
+    /**
+     * Releases the lock, if it's held by the given owner
+     *
+     * @param lockName name of the lock
+     * @param lockedBy identifier of the owner
+     * @param now      current time, to be set as an expiration time of the lease
+     * @return number of updated rows
+     */
+    @Query(
+        "UPDATE scheduler_lock " +
+            "SET lockedBy = NULL, lockedUntil = :now " +
+            "WHERE lockName = :lockName AND lockedBy = :lockedBy"
+    )
+    @Modifying
+    int releaseLock(@Param("lockName") String lockName,
+                    @Param("lockedBy") String lockedBy,
+                    @Param("now") OffsetDateTime now);
+}
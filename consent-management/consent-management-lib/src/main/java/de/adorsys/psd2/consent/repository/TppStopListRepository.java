@@ -17,22 +17,30 @@
 package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface TppStopListRepository extends CrudRepository<TppStopListEntity, Long> {
 
     Optional<TppStopListEntity> findByTppAuthorisationNumberAndInstanceId(@NotNull String tppAuthorisationNumber, @NotNull String instanceId);
 
+    List<TppStopListEntity> findAllByInstanceIdAndStatus(@NotNull String instanceId, @NotNull TppStatus status);
+
+    List<TppStopListEntity> findAllByInstanceIdAndLastChangeTimestampAfter(@NotNull String instanceId, @NotNull OffsetDateTime lastChangeTimestamp);
+
     @Query(
         "UPDATE tpp_stop_list " +
-            "SET status = 'ENABLED', blockingExpirationTimestamp = NULL " +
+            "SET status = 'ENABLED', blockingExpirationTimestamp = NULL, lastChangeTimestamp = :changeTimestamp " +
             "WHERE status = 'BLOCKED' AND blockingExpirationTimestamp < CURRENT_TIMESTAMP"
     )
     @Modifying
-    void unblockExpiredBlockedTpp();
+    void unblockExpiredBlockedTpp(@Param("changeTimestamp") OffsetDateTime changeTimestamp);
 }
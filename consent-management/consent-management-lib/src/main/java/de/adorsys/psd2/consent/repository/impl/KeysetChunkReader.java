@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository.impl;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads entities matching given specification in chunks ordered by their IDs, each chunk starting right after the last
+ * ID of the previous one (keyset pagination). Unlike offset pagination, the cost of reading a chunk doesn't depend on
+ * its position in the result set, and the persistence context is cleared after each chunk, so memory consumption
+ * doesn't grow with the number of read entities.
+ * <p>
+ * Should be called within a transaction.
+ */
+@Component
+public class KeysetChunkReader {
+    private static final String ID_ATTRIBUTE = "id";
+
+    @Value("${cms.export.stream.chunk-size:500}")
+    private int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> void readInChunks(Class<T> entityClass, @Nullable Specification<T> specification,
+                                 Function<T, Long> idExtractor, Consumer<List<T>> chunkConsumer) {
+        Long lastId = null;
+        List<T> chunk;
+        do {
+            chunk = readChunk(entityClass, specification, lastId);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            lastId = idExtractor.apply(chunk.get(chunk.size() - 1));
+            chunkConsumer.accept(chunk);
+            entityManager.clear();
+        } while (chunk.size() == chunkSize);
+    }
+
+    private <T> List<T> readChunk(Class<T> entityClass, @Nullable Specification<T> specification, @Nullable Long lastId) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (lastId != null) {
+            predicates.add(criteriaBuilder.greaterThan(root.get(ID_ATTRIBUTE), lastId));
+        }
+
+        query.select(root)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(criteriaBuilder.asc(root.get(ID_ATTRIBUTE)));
+        return entityManager.createQuery(query)
+                   .setMaxResults(chunkSize)
+                   .getResultList();
+    }
+}
@@ -70,6 +70,8 @@ public class AisConsentServiceInternal implements AisConsentService {
      * Saves information about consent usage and consent's sub-resources usage.
      *
      * @param request {@link AisConsentActionRequest} needed parameters for logging usage AIS consent
+     * @return response with <code>LOGICAL_ERROR</code> if the usage wasn't counted, as the frequency per day of the
+     * consent has already been reached
      */
     @Override
     @Transactional(rollbackFor = WrongChecksumException.class)
@@ -79,8 +81,14 @@ public class AisConsentServiceInternal implements AisConsentService {
             ConsentEntity consent = consentOpt.get();
             aisConsentConfirmationExpirationService.checkAndUpdateOnConfirmationExpiration(consent);
             checkAndUpdateOnExpiration(consent);
-            updateAisConsentUsage(consent, request);
+            boolean usageCounted = updateAisConsentUsage(consent, request);
             logConsentAction(consent.getExternalId(), request.getActionStatus(), request.getTppId());
+
+            if (!usageCounted) {
+                return CmsResponse.<CmsResponse.VoidResponse>builder()
+                           .error(LOGICAL_ERROR)
+                           .build();
+            }
         }
 
         return CmsResponse.<CmsResponse.VoidResponse>builder()
@@ -142,11 +150,13 @@ public class AisConsentServiceInternal implements AisConsentService {
         return consent;
     }
 
-    private void updateAisConsentUsage(ConsentEntity consent, AisConsentActionRequest request) throws WrongChecksumException {
+    private boolean updateAisConsentUsage(ConsentEntity consent, AisConsentActionRequest request) throws WrongChecksumException {
         if (!request.isUpdateUsage()) {
-            return;
+            return true;
+        }
+        if (!aisConsentUsageService.incrementUsage(consent, request)) {
+            return false;
         }
-        aisConsentUsageService.incrementUsage(consent, request);
 
         CmsConsent cmsConsent = mapToCmsConsent(consent);
 
@@ -158,6 +168,7 @@ public class AisConsentServiceInternal implements AisConsentService {
         consent.setLastActionDate(LocalDate.now());
 
         aisConsentRepository.verifyAndSave(consent);
+        return true;
     }
 
     private CmsConsent mapToCmsConsent(ConsentEntity consent) {
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer of AIS consent usages for single-node CMS deployments.
+ * <p>
+ * Once the usage row for the consent, usage date and request URI is known to exist in the database, further usages
+ * are counted in memory and written to the database periodically with one conditional update per row. Buffered usages
+ * are added to the usages from the database on reading. The usages left until the frequency per day is reached are
+ * taken from the database on registration of the row and counted down in memory, so that buffered usages never exceed
+ * the frequency per day. The buffer must not be enabled if several CMS instances share one database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AisConsentUsageBuffer {
+    private static final String FLUSH_THREAD_NAME = "cms-consent-usage-flush";
+
+    private final AisConsentUsageRepository aisConsentUsageRepository;
+
+    private final Map<Long, Map<UsageKey, PendingUsage>> pendingUsages = new ConcurrentHashMap<>();
+
+    @Value("${xs2a.cms.consent.usage.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${xs2a.cms.consent.usage.write-behind.flush-interval.ms:1000}")
+    private long flushIntervalMs;
+
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, FLUSH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic flushing and writes all buffered usages to the database
+     */
+    @PreDestroy
+    public void stop() {
+        if (flushExecutor == null) {
+            return;
+        }
+
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Counts the usage in memory, if the usage row for the consent, usage date and request URI was registered before
+     *
+     * @param consentId internal ID of the consent
+     * @param usageDate date of the usage
+     * @param request   consent action request
+     * @return {@link AddResult#BUFFERED} if the usage was buffered, {@link AddResult#QUOTA_EXHAUSTED} if the frequency
+     * per day has been reached or {@link AddResult#NOT_BUFFERED} if the usage has to be written to the database
+     */
+    public AddResult add(Long consentId, LocalDate usageDate, AisConsentActionRequest request) {
+        if (!enabled || consentId == null) {
+            return AddResult.NOT_BUFFERED;
+        }
+
+        Map<UsageKey, PendingUsage> consentUsages = pendingUsages.get(consentId);
+        if (consentUsages == null) {
+            return AddResult.NOT_BUFFERED;
+        }
+
+        PendingUsage pendingUsage = consentUsages.get(new UsageKey(usageDate, request.getRequestUri()));
+        if (pendingUsage == null) {
+            return AddResult.NOT_BUFFERED;
+        }
+        return pendingUsage.add(request.getResourceId(), request.getTransactionId());
+    }
+
+    /**
+     * Registers the existing usage row, so that further usages of the consent for the same date and request URI are
+     * buffered in memory until the frequency per day is reached
+     *
+     * @param consentId       internal ID of the consent
+     * @param usageDate       date of the usage
+     * @param requestUri      request URI
+     * @param frequencyPerDay frequency per day of the consent
+     */
+    public void register(Long consentId, LocalDate usageDate, String requestUri, int frequencyPerDay) {
+        if (!enabled || consentId == null) {
+            return;
+        }
+
+        Map<UsageKey, PendingUsage> consentUsages = pendingUsages.computeIfAbsent(consentId, id -> new ConcurrentHashMap<>());
+        UsageKey key = new UsageKey(usageDate, requestUri);
+        if (consentUsages.containsKey(key)) {
+            return;
+        }
+
+        aisConsentUsageRepository.findUsageAmount(consentId, usageDate, requestUri)
+            .ifPresent(usage -> consentUsages.putIfAbsent(key, new PendingUsage(frequencyPerDay, frequencyPerDay - usage)));
+    }
+
+    /**
+     * Returns buffered usages of the consent, which weren't written to the database yet
+     *
+     * @param consentId internal ID of the consent
+     * @param usageDate date of the usage
+     * @return request URIs and their buffered usage amounts
+     */
+    public Map<String, Integer> getPendingAmounts(Long consentId, LocalDate usageDate) {
+        if (!enabled || consentId == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<UsageKey, PendingUsage> consentUsages = pendingUsages.get(consentId);
+        if (consentUsages == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Integer> amounts = new HashMap<>();
+        consentUsages.forEach((key, pendingUsage) -> {
+            int amount = pendingUsage.getAmount();
+            if (amount > 0 && key.getUsageDate().equals(usageDate)) {
+                amounts.put(key.getRequestUri(), amount);
+            }
+        });
+        return amounts;
+    }
+
+    /**
+     * Drops all buffered usages of the consent, e.g. on reset of its usage counters
+     *
+     * @param consentId internal ID of the consent
+     */
+    public void discard(Long consentId) {
+        if (!enabled || consentId == null) {
+            return;
+        }
+
+        Map<UsageKey, PendingUsage> consentUsages = pendingUsages.remove(consentId);
+        if (consentUsages != null) {
+            consentUsages.values().forEach(PendingUsage::close);
+        }
+    }
+
+    /**
+     * Writes buffered usages to the database with one conditional update per usage row.
+     * <p>
+     * Buffered amounts are decreased only after the successful update, so that usages are never undercounted on
+     * reading. Usages of previous days are removed from the buffer once they are written.
+     */
+    public void flush() {
+        LocalDate today = LocalDate.now();
+        pendingUsages.forEach((consentId, consentUsages) -> {
+            consentUsages.forEach((key, pendingUsage) -> flushUsage(consentId, key, pendingUsage, today));
+            if (consentUsages.isEmpty()) {
+                pendingUsages.remove(consentId, consentUsages);
+            }
+        });
+    }
+
+    private void flushUsage(Long consentId, UsageKey key, PendingUsage pendingUsage, LocalDate today) {
+        PendingUsageSnapshot snapshot = pendingUsage.snapshot();
+
+        if (snapshot.getAmount() > 0) {
+            try {
+                int updatedRows = aisConsentUsageRepository.incrementUsage(consentId, key.getUsageDate(), key.getRequestUri(),
+                                                                           snapshot.getAmount(), pendingUsage.getFrequencyPerDay(),
+                                                                           snapshot.getResourceId(), snapshot.getTransactionId());
+                if (updatedRows == 0) {
+                    log.info("Consent usage of consent [{}] for [{}] wasn't found or exceeds the frequency per day, {} buffered usages are dropped",
+                             consentId, key.getRequestUri(), snapshot.getAmount());
+                    removeUsage(consentId, key, pendingUsage);
+                    return;
+                }
+                pendingUsage.confirm(snapshot.getAmount());
+            } catch (RuntimeException e) {
+                log.warn("Consent usage of consent [{}] for [{}] couldn't be written, will be retried: {}",
+                         consentId, key.getRequestUri(), e.getMessage());
+                return;
+            }
+        }
+
+        if (key.getUsageDate().isBefore(today) && pendingUsage.closeIfEmpty()) {
+            removeUsage(consentId, key, pendingUsage);
+        }
+    }
+
+    private void removeUsage(Long consentId, UsageKey key, PendingUsage pendingUsage) {
+        pendingUsage.close();
+        Map<UsageKey, PendingUsage> consentUsages = pendingUsages.get(consentId);
+        if (consentUsages != null) {
+            consentUsages.remove(key, pendingUsage);
+        }
+    }
+
+    public enum AddResult {
+        BUFFERED,
+        QUOTA_EXHAUSTED,
+        NOT_BUFFERED
+    }
+
+    @Data
+    private static final class UsageKey {
+        private final LocalDate usageDate;
+        private final String requestUri;
+    }
+
+    @Data
+    private static final class PendingUsageSnapshot {
+        private final int amount;
+        private final String resourceId;
+        private final String transactionId;
+    }
+
+    private static final class PendingUsage {
+        private final int frequencyPerDay;
+        private int remainingUsages;
+        private int amount;
+        private String resourceId;
+        private String transactionId;
+        private boolean closed;
+
+        private PendingUsage(int frequencyPerDay, int remainingUsages) {
+            this.frequencyPerDay = frequencyPerDay;
+            this.remainingUsages = remainingUsages;
+        }
+
+        private int getFrequencyPerDay() {
+            return frequencyPerDay;
+        }
+
+        private synchronized AddResult add(String resourceId, String transactionId) {
+            if (closed) {
+                return AddResult.NOT_BUFFERED;
+            }
+            if (remainingUsages <= 0) {
+                return AddResult.QUOTA_EXHAUSTED;
+            }
+            remainingUsages--;
+            amount++;
+            this.resourceId = resourceId;
+            this.transactionId = transactionId;
+            return AddResult.BUFFERED;
+        }
+
+        private synchronized int getAmount() {
+            return amount;
+        }
+
+        private synchronized PendingUsageSnapshot snapshot() {
+            return new PendingUsageSnapshot(amount, resourceId, transactionId);
+        }
+
+        private synchronized void confirm(int flushedAmount) {
+            amount -= flushedAmount;
+        }
+
+        private synchronized boolean closeIfEmpty() {
+            if (amount == 0) {
+                closed = true;
+            }
+            return closed;
+        }
+
+        private synchronized void close() {
+            closed = true;
+        }
+    }
+}
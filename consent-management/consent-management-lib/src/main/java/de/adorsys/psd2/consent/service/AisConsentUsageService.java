@@ -19,33 +19,82 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.AisConsentUsageAmount;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Counts usages of AIS consents per day and request URI.
+ * <p>
+ * Existing usage rows are incremented with one conditional update instead of being loaded with an optimistic lock, so
+ * that parallel requests under the same consent don't conflict on one row. The update is conditional on the frequency
+ * per day, so the stored usage never exceeds it. Creation of the first usage row of a day is serialised by a lock on
+ * the consent row. With write-behind buffer enabled, usages of already existing rows are counted in memory and flushed
+ * periodically (see {@link AisConsentUsageBuffer}).
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AisConsentUsageService {
+    private static final int USAGE_QUERY_CHUNK_SIZE = 1000;
+
     private final AisConsentUsageRepository aisConsentUsageRepository;
+    private final AisConsentUsageBuffer aisConsentUsageBuffer;
+    private final ConsentJpaRepository consentJpaRepository;
 
+    /**
+     * Counts one usage of the consent for the current date and request URI
+     *
+     * @param consent consent
+     * @param request consent action request
+     * @return <code>true</code> if the usage was counted, <code>false</code> if the frequency per day of the consent
+     * has already been reached
+     */
     @Transactional
-    public void incrementUsage(ConsentEntity consent, AisConsentActionRequest request) {
-        AisConsentUsage aisConsentUsage = getUsage(consent, request.getRequestUri());
-        int usage = aisConsentUsage.getUsage();
-        aisConsentUsage.setUsage(++usage);
-        aisConsentUsage.setResourceId(request.getResourceId());
-        aisConsentUsage.setTransactionId(request.getTransactionId());
-        aisConsentUsageRepository.save(aisConsentUsage);
+    public boolean incrementUsage(ConsentEntity consent, AisConsentActionRequest request) {
+        LocalDate usageDate = LocalDate.now();
+        AisConsentUsageBuffer.AddResult bufferResult = aisConsentUsageBuffer.add(consent.getId(), usageDate, request);
+        if (bufferResult == AisConsentUsageBuffer.AddResult.BUFFERED) {
+            return true;
+        }
+        if (bufferResult == AisConsentUsageBuffer.AddResult.QUOTA_EXHAUSTED) {
+            return rejectExhaustedUsage(consent, request);
+        }
+
+        if (incrementExistingUsage(consent, usageDate, request)) {
+            return true;
+        }
+
+        // Either there is no usage row yet or the frequency per day is reached. Concurrent creators of the row wait
+        // for each other on the consent lock and retry the update once the row is committed.
+        consentJpaRepository.findAndLockById(consent.getId());
+        if (incrementExistingUsage(consent, usageDate, request)) {
+            return true;
+        }
+
+        boolean usageExists = aisConsentUsageRepository.findAndLockUsage(consent.getId(), usageDate, request.getRequestUri()).isPresent();
+        if (usageExists || consent.getFrequencyPerDay() < 1) {
+            return rejectExhaustedUsage(consent, request);
+        }
+
+        createUsage(consent, request);
+        return true;
     }
 
     @Transactional
     public void resetUsage(ConsentEntity consent) {
+        aisConsentUsageBuffer.discard(consent.getId());
         List<AisConsentUsage> aisConsentUsageList = aisConsentUsageRepository.findReadByConsentAndUsageDate(consent, LocalDate.now());
         aisConsentUsageList.forEach(acu -> acu.setUsage(0));
         aisConsentUsageRepository.saveAll(aisConsentUsageList);
@@ -53,18 +102,75 @@ public class AisConsentUsageService {
 
     @Transactional
     public Map<String, Integer> getUsageCounterMap(ConsentEntity consent) {
-        return aisConsentUsageRepository.findReadByConsentAndUsageDate(consent, LocalDate.now())
+        LocalDate usageDate = LocalDate.now();
+        Map<String, Integer> usages = aisConsentUsageRepository.findUsageAmountsByConsentAndUsageDate(consent, usageDate)
+                                          .stream()
+                                          .collect(Collectors.toMap(AisConsentUsageAmount::getRequestUri,
+                                                                    AisConsentUsageAmount::getUsage));
+        return mapToUsageCounterMap(consent, usages, usageDate);
+    }
+
+    /**
+     * Returns usage counters of several consents, usage amounts of all consents are read with one query per chunk
+     *
+     * @param consents consents
+     * @return usage counters by internal ID of the consent
+     */
+    public Map<Long, Map<String, Integer>> getUsageCounterMaps(List<ConsentEntity> consents) {
+        LocalDate usageDate = LocalDate.now();
+        List<Long> consentIds = consents.stream()
+                                    .map(ConsentEntity::getId)
+                                    .distinct()
+                                    .collect(Collectors.toList());
+
+        Map<Long, Map<String, Integer>> usagesByConsentId = new HashMap<>();
+        ListUtils.partition(consentIds, USAGE_QUERY_CHUNK_SIZE)
+            .forEach(ids -> aisConsentUsageRepository.findUsageAmountsByConsentIdsAndUsageDate(ids, usageDate)
+                                .forEach(amount -> usagesByConsentId.computeIfAbsent(amount.getConsentId(), id -> new HashMap<>())
+                                                       .put(amount.getRequestUri(), amount.getUsage())));
+
+        Map<Long, Map<String, Integer>> usageCounters = new HashMap<>();
+        consents.forEach(consent -> usageCounters.put(consent.getId(),
+                                                      mapToUsageCounterMap(consent,
+                                                                           usagesByConsentId.getOrDefault(consent.getId(), new HashMap<>()),
+                                                                           usageDate)));
+        return usageCounters;
+    }
+
+    private Map<String, Integer> mapToUsageCounterMap(ConsentEntity consent, Map<String, Integer> usages, LocalDate usageDate) {
+        aisConsentUsageBuffer.getPendingAmounts(consent.getId(), usageDate)
+            .forEach((requestUri, amount) -> usages.merge(requestUri, amount, Integer::sum));
+
+        return usages.entrySet()
                    .stream()
-                   .collect(Collectors.toMap(AisConsentUsage::getRequestUri,
-                                             u -> Math.max(consent.getFrequencyPerDay() - u.getUsage(), 0)));
+                   .collect(Collectors.toMap(Map.Entry::getKey,
+                                             e -> Math.max(consent.getFrequencyPerDay() - e.getValue(), 0)));
+    }
+
+    private boolean incrementExistingUsage(ConsentEntity consent, LocalDate usageDate, AisConsentActionRequest request) {
+        int updatedRows = aisConsentUsageRepository.incrementUsage(consent.getId(), usageDate, request.getRequestUri(), 1,
+                                                                   consent.getFrequencyPerDay(),
+                                                                   request.getResourceId(), request.getTransactionId());
+        if (updatedRows == 0) {
+            return false;
+        }
+
+        aisConsentUsageBuffer.register(consent.getId(), usageDate, request.getRequestUri(), consent.getFrequencyPerDay());
+        return true;
+    }
+
+    private boolean rejectExhaustedUsage(ConsentEntity consent, AisConsentActionRequest request) {
+        log.info("Consent ID: [{}]. Usage of [{}] wasn't counted, frequency per day [{}] has been reached",
+                 consent.getExternalId(), request.getRequestUri(), consent.getFrequencyPerDay());
+        return false;
     }
 
-    private AisConsentUsage getUsage(ConsentEntity consent, String requestUri) {
-        return aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(consent, LocalDate.now(), requestUri)
-                   .orElseGet(() -> {
-                       AisConsentUsage usage = new AisConsentUsage(consent, requestUri);
-                       consent.addUsage(usage);
-                       return usage;
-                   });
+    private void createUsage(ConsentEntity consent, AisConsentActionRequest request) {
+        AisConsentUsage aisConsentUsage = new AisConsentUsage(consent, request.getRequestUri());
+        aisConsentUsage.setUsage(1);
+        aisConsentUsage.setResourceId(request.getResourceId());
+        aisConsentUsage.setTransactionId(request.getTransactionId());
+        consent.addUsage(aisConsentUsage);
+        aisConsentUsageRepository.save(aisConsentUsage);
     }
 }
@@ -20,7 +20,13 @@ import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.authorisation.AisAuthorisationParentHolder;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.PsuData;
@@ -41,6 +47,7 @@ import de.adorsys.psd2.xs2a.core.consent.TerminateOldConsentsRequest;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -68,6 +75,7 @@ public class ConsentServiceInternal implements ConsentService {
     private final CmsConsentMapper cmsConsentMapper;
     private final AisConsentLazyMigrationService aisConsentLazyMigrationService;
     private final AspspProfileService aspspProfileService;
+    private final AuthorisationService authorisationService;
 
     /**
      * Creates consent.
@@ -343,6 +351,46 @@ public class ConsentServiceInternal implements ConsentService {
                    .build();
     }
 
+    /**
+     * Stores multilevel SCA required field and creates first authorisation of the consent in one transaction
+     * <p>
+     * ASPSP consent data from the request is ignored here, as it can only be stored with encrypted consent ID.
+     *
+     * @param consentId String representation of the consent identifier
+     * @param request   multilevel SCA required indicator and first authorisation
+     * @return response containing created authorisation
+     * @throws WrongChecksumException in case of any attempt to change definite consent fields after its status became valid.
+     */
+    @Override
+    @Transactional(rollbackFor = WrongChecksumException.class)
+    public CmsResponse<CmsCompleteConsentCreationResponse> completeConsentCreation(String consentId, CmsCompleteConsentCreationRequest request) throws WrongChecksumException {
+        // default value is false, so the consent is updated only for non-default (true) case
+        if (request.isMultilevelScaRequired()) {
+            CmsResponse<Boolean> multilevelScaResponse = updateMultilevelScaRequired(consentId, true);
+            if (BooleanUtils.isNotTrue(multilevelScaResponse.getPayload())) {
+                log.info("Consent ID: [{}]. Complete consent creation failed, because consent is not found", consentId);
+                return CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                           .error(LOGICAL_ERROR)
+                           .build();
+            }
+        }
+
+        CreateAuthorisationResponse authorisation = null;
+        CreateAuthorisationRequest authorisationRequest = request.getAuthorisationRequest();
+        if (authorisationRequest != null) {
+            CmsResponse<CreateAuthorisationResponse> authorisationResponse = authorisationService.createAuthorisation(new AisAuthorisationParentHolder(consentId), authorisationRequest);
+            if (authorisationResponse.hasError()) {
+                log.info("Consent ID: [{}]. First authorisation of consent cannot be created", consentId);
+            } else {
+                authorisation = authorisationResponse.getPayload();
+            }
+        }
+
+        return CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                   .payload(new CmsCompleteConsentCreationResponse(authorisation))
+                   .build();
+    }
+
     private ConsentEntity checkAndUpdateOnExpiration(ConsentEntity consent) {
         if (consent != null && consent.shouldConsentBeExpired()) {
             return aisConsentConfirmationExpirationService.expireConsent(consent);
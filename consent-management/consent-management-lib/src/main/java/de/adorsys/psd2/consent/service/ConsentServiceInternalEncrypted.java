@@ -16,18 +16,23 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
 import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.consent.TerminateOldConsentsRequest;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +48,7 @@ import static de.adorsys.psd2.consent.api.CmsError.TECHNICAL_ERROR;
 public class ConsentServiceInternalEncrypted implements ConsentServiceEncrypted {
     private final SecurityDataService securityDataService;
     private final ConsentService consentService;
+    private final AspspDataService aspspDataService;
 
     @Override
     @Transactional(rollbackFor = WrongChecksumException.class)
@@ -174,4 +180,26 @@ public class ConsentServiceInternalEncrypted implements ConsentServiceEncrypted
 
         return consentService.updateMultilevelScaRequired(decryptIdOptional.get(), multilevelScaRequired);
     }
+
+    @Override
+    @Transactional(rollbackFor = WrongChecksumException.class)
+    public CmsResponse<CmsCompleteConsentCreationResponse> completeConsentCreation(String encryptedConsentId, CmsCompleteConsentCreationRequest request) throws WrongChecksumException {
+        Optional<String> decryptIdOptional = securityDataService.decryptId(encryptedConsentId);
+
+        if (decryptIdOptional.isEmpty()) {
+            log.info("Encrypted Consent ID: [{}]. Complete consent creation failed, couldn't decrypt consent id",
+                     encryptedConsentId);
+            return CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                       .error(TECHNICAL_ERROR)
+                       .build();
+        }
+
+        CmsResponse<CmsCompleteConsentCreationResponse> response = consentService.completeConsentCreation(decryptIdOptional.get(), request);
+
+        if (response.isSuccessful() && ArrayUtils.isNotEmpty(request.getAspspConsentData())) {
+            aspspDataService.updateAspspConsentData(new AspspConsentData(request.getAspspConsentData(), encryptedConsentId));
+        }
+
+        return response;
+    }
 }
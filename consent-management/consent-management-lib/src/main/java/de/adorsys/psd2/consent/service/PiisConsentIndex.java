@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of ASPSP-given PIIS consents, keyed by account identifier and currency.
+ * <p>
+ * Used on the funds confirmation path to avoid searching the consent table on every request. Entries are invalidated
+ * by {@link PiisConsentIndexListener} whenever a PIIS consent is created, updated or removed on this node and expire
+ * after the configured TTL otherwise, which bounds staleness caused by bulk updates and by changes made on other CMS
+ * nodes. Status and validity of returned consents are still checked by XS2A.
+ */
+@Slf4j
+@Component
+public class PiisConsentIndex {
+    private final Map<IndexKey, IndexEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationCounter = new AtomicLong();
+    private final boolean enabled;
+    private final long ttlMs;
+    private final int maxSize;
+    private final Clock clock;
+
+    public PiisConsentIndex(@Value("${xs2a.cms.piis.consent-index.enabled:false}") boolean enabled,
+                            @Value("${xs2a.cms.piis.consent-index.ttl.ms:10000}") long ttlMs,
+                            @Value("${xs2a.cms.piis.consent-index.max-size:10000}") int maxSize) {
+        this(enabled, ttlMs, maxSize, Clock.systemUTC());
+    }
+
+    PiisConsentIndex(boolean enabled, long ttlMs, int maxSize, Clock clock) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns PIIS consents for the given account and currency from the index, loading and storing them on a miss
+     * <p>
+     * Loaded consents are not stored if any PIIS consent has been invalidated while they were loaded.
+     *
+     * @param currency optional currency of the account
+     * @param selector account reference selector
+     * @param loader   function loading consents from the database
+     * @return list of consents for the account
+     */
+    public List<CmsConsent> getConsents(@Nullable Currency currency, @NotNull AccountReferenceSelector selector,
+                                        Supplier<List<CmsConsent>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        IndexKey key = new IndexKey(selector.getAccountValue(), currency);
+        long now = clock.millis();
+        IndexEntry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.consents;
+        }
+
+        long invalidationsBeforeLoad = invalidationCounter.get();
+        List<CmsConsent> consents = List.copyOf(loader.get());
+        if (invalidationCounter.get() == invalidationsBeforeLoad) {
+            if (entries.size() >= maxSize) {
+                log.debug("PIIS consent index reached its maximum size of {} entries and will be cleared", maxSize);
+                entries.clear();
+            }
+            entries.put(key, new IndexEntry(consents, now + ttlMs));
+        }
+        return consents;
+    }
+
+    /**
+     * Removes entries for the given accounts from the index
+     * <p>
+     * If called within a transaction, the entries are removed once more after the commit, so that consents loaded by
+     * concurrent requests before the commit don't remain in the index.
+     *
+     * @param accountIdentifiers identifiers of the accounts, affected by the consent change
+     */
+    public void invalidate(Collection<String> accountIdentifiers) {
+        if (!enabled) {
+            return;
+        }
+
+        removeEntries(accountIdentifiers);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeEntries(accountIdentifiers);
+                }
+            });
+        }
+    }
+
+    private void removeEntries(Collection<String> accountIdentifiers) {
+        invalidationCounter.incrementAndGet();
+        entries.keySet().removeIf(key -> accountIdentifiers.contains(key.accountIdentifier));
+    }
+
+    private static final class IndexKey {
+        private final String accountIdentifier;
+        private final Currency currency;
+
+        private IndexKey(String accountIdentifier, Currency currency) {
+            this.accountIdentifier = accountIdentifier;
+            this.currency = currency;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            IndexKey indexKey = (IndexKey) o;
+            return Objects.equals(accountIdentifier, indexKey.accountIdentifier)
+                       && Objects.equals(currency, indexKey.currency);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountIdentifier, currency);
+        }
+    }
+
+    private static final class IndexEntry {
+        private final List<CmsConsent> consents;
+        private final long expiresAt;
+
+        private IndexEntry(List<CmsConsent> consents, long expiresAt) {
+            this.consents = consents;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
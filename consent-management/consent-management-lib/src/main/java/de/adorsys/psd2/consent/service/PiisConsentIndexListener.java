@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.domain.account.AspspAccountAccess;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate event listener, invalidating {@link PiisConsentIndex} entries on changes of ASPSP-given PIIS consents.
+ * <p>
+ * Registered in the session factory by {@link de.adorsys.psd2.consent.config.PiisConsentIndexListenerConfig}, so that
+ * consent entities don't depend on the service layer.
+ */
+@Component
+@RequiredArgsConstructor
+public class PiisConsentIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private final PiisConsentIndex piisConsentIndex;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidateIndex(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidateIndex(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidateIndex(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanlding(EntityPersister persister) {
+        return false;
+    }
+
+    private void invalidateIndex(Object entity) {
+        if (!(entity instanceof ConsentEntity)) {
+            return;
+        }
+
+        ConsentEntity consent = (ConsentEntity) entity;
+        if (!ConsentType.PIIS_ASPSP.getName().equals(consent.getConsentType())) {
+            return;
+        }
+
+        Set<String> accountIdentifiers = consent.getAspspAccountAccesses().stream()
+                                             .map(AspspAccountAccess::getAccountIdentifier)
+                                             .collect(Collectors.toSet());
+        piisConsentIndex.invalidate(accountIdentifiers);
+    }
+}
@@ -25,12 +25,14 @@ import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecifi
 import de.adorsys.psd2.consent.service.mapper.CmsConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
 import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
 import java.util.Currency;
@@ -41,29 +43,55 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
 public class PiisConsentServiceInternal implements PiisConsentService {
     private final ConsentJpaRepository consentJpaRepository;
     private final CmsConsentMapper cmsConsentMapper;
     private final PiisConsentEntitySpecification piisConsentEntitySpecification;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    private final PiisConsentIndex piisConsentIndex;
+    private final TransactionTemplate transactionTemplate;
 
+    public PiisConsentServiceInternal(ConsentJpaRepository consentJpaRepository,
+                                      CmsConsentMapper cmsConsentMapper,
+                                      PiisConsentEntitySpecification piisConsentEntitySpecification,
+                                      PiisConsentLazyMigrationService piisConsentLazyMigrationService,
+                                      PiisConsentIndex piisConsentIndex,
+                                      PlatformTransactionManager transactionManager) {
+        this.consentJpaRepository = consentJpaRepository;
+        this.cmsConsentMapper = cmsConsentMapper;
+        this.piisConsentEntitySpecification = piisConsentEntitySpecification;
+        this.piisConsentLazyMigrationService = piisConsentLazyMigrationService;
+        this.piisConsentIndex = piisConsentIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Returns ASPSP-given PIIS consents for the account, served from {@link PiisConsentIndex} if possible.
+     * <p>
+     * The method itself is not transactional, a transaction is only started if consents have to be loaded from the
+     * database.
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CmsResponse<List<CmsConsent>> getPiisConsentListByAccountIdentifier(@Nullable Currency currency, AccountReferenceSelector accountReferenceSelector) {
+        List<CmsConsent> consents = piisConsentIndex.getConsents(currency, accountReferenceSelector,
+                                                                 () -> transactionTemplate.execute(status -> findPiisConsents(currency, accountReferenceSelector)));
+
+        return CmsResponse.<List<CmsConsent>>builder()
+                   .payload(consents)
+                   .build();
+    }
+
+    private List<CmsConsent> findPiisConsents(@Nullable Currency currency, AccountReferenceSelector accountReferenceSelector) {
         Specification<ConsentEntity> specification;
 
         specification = currency == null
                             ? piisConsentEntitySpecification.byAccountReferenceSelector(accountReferenceSelector)
                             : piisConsentEntitySpecification.byCurrencyAndAccountReferenceSelector(currency, accountReferenceSelector);
 
-        List<CmsConsent> consents = consentJpaRepository.findAll(specification).stream()
-            .map( piisConsentLazyMigrationService::migrateIfNeeded )
-            .map( consentEntity -> cmsConsentMapper.mapToCmsConsent(consentEntity, Collections.emptyList(), Collections.emptyMap()) )
-            .collect(Collectors.toList());
-
-        return CmsResponse.<List<CmsConsent>>builder()
-                   .payload(consents)
-                   .build();
+        return consentJpaRepository.findAll(specification).stream()
+                   .map( piisConsentLazyMigrationService::migrateIfNeeded )
+                   .map( consentEntity -> cmsConsentMapper.mapToCmsConsent(consentEntity, Collections.emptyList(), Collections.emptyMap()) )
+                   .collect(Collectors.toList());
     }
 }
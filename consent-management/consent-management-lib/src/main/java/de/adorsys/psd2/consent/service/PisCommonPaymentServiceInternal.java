@@ -17,10 +17,16 @@
 package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.authorisation.PisAuthorisationParentHolder;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisPayment;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
@@ -60,6 +66,7 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     private final CorePaymentsConvertService corePaymentsConvertService;
     private final AuthorisationRepository authorisationRepository;
+    private final AuthorisationService authorisationService;
 
     /**
      * Creates new pis common payment with full information about payment
@@ -89,6 +96,33 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
                    .build();
     }
 
+    /**
+     * Creates new pis common payment and its first authorisation in one transaction
+     * <p>
+     * ASPSP consent data from the request is ignored here, as it can only be stored with encrypted payment ID.
+     *
+     * @param request information about the payment and its first authorisation
+     * @return Response containing identifier of common payment and created authorisation
+     */
+    @Override
+    @Transactional
+    public CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> createCommonPaymentWithAuthorisation(CreatePisCommonPaymentWithAuthorisationRequest request) {
+        CmsResponse<CreatePisCommonPaymentResponse> paymentResponse = createCommonPayment(request.getPaymentInfo());
+
+        if (paymentResponse.hasError()) {
+            return CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                       .error(paymentResponse.getError())
+                       .build();
+        }
+
+        CreatePisCommonPaymentResponse payment = paymentResponse.getPayload();
+        CreateAuthorisationResponse authorisation = createFirstAuthorisation(payment.getPaymentId(), request.getAuthorisationRequest());
+
+        return CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                   .payload(new CreatePisCommonPaymentWithAuthorisationResponse(payment, authorisation))
+                   .build();
+    }
+
     /**
      * Retrieves common payment status from pis common payment by payment identifier
      *
@@ -256,4 +290,19 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
 
         return commonPaymentData;
     }
+
+    private CreateAuthorisationResponse createFirstAuthorisation(String paymentId, CreateAuthorisationRequest authorisationRequest) {
+        if (authorisationRequest == null) {
+            return null;
+        }
+
+        CmsResponse<CreateAuthorisationResponse> authorisationResponse = authorisationService.createAuthorisation(new PisAuthorisationParentHolder(paymentId), authorisationRequest);
+
+        if (authorisationResponse.hasError()) {
+            log.info("Payment ID: [{}]. First authorisation of pis common payment cannot be created", paymentId);
+            return null;
+        }
+
+        return authorisationResponse.getPayload();
+    }
 }
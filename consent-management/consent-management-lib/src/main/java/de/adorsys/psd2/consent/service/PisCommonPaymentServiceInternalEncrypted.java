@@ -16,17 +16,22 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +47,7 @@ import static de.adorsys.psd2.consent.api.CmsError.TECHNICAL_ERROR;
 public class PisCommonPaymentServiceInternalEncrypted implements PisCommonPaymentServiceEncrypted {
     private final SecurityDataService securityDataService;
     private final PisCommonPaymentService pisCommonPaymentService;
+    private final AspspDataService aspspDataService;
 
     @Override
     @Transactional
@@ -67,6 +73,37 @@ public class PisCommonPaymentServiceInternalEncrypted implements PisCommonPaymen
                    .build();
     }
 
+    @Override
+    @Transactional
+    public CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> createCommonPaymentWithAuthorisation(CreatePisCommonPaymentWithAuthorisationRequest request) {
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> response = pisCommonPaymentService.createCommonPaymentWithAuthorisation(request);
+
+        if (response.hasError()) {
+            return response;
+        }
+
+        CreatePisCommonPaymentWithAuthorisationResponse payload = response.getPayload();
+        CreatePisCommonPaymentResponse payment = payload.getPayment();
+        Optional<String> encryptIdOptional = securityDataService.encryptId(payment.getPaymentId());
+
+        if (encryptIdOptional.isEmpty()) {
+            log.info("Payment ID: [{}]. Create common payment with authorisation failed, couldn't encrypt payment id", payment.getPaymentId());
+            return CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                       .error(TECHNICAL_ERROR)
+                       .build();
+        }
+
+        String encryptedPaymentId = encryptIdOptional.get();
+        if (ArrayUtils.isNotEmpty(request.getAspspConsentData())) {
+            aspspDataService.updateAspspConsentData(new AspspConsentData(request.getAspspConsentData(), encryptedPaymentId));
+        }
+
+        CreatePisCommonPaymentResponse encryptedPayment = new CreatePisCommonPaymentResponse(encryptedPaymentId, payment.getTppNotificationContentPreferred());
+        return CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                   .payload(new CreatePisCommonPaymentWithAuthorisationResponse(encryptedPayment, payload.getAuthorisation()))
+                   .build();
+    }
+
     @Override
     @Transactional
     public CmsResponse<TransactionStatus> getPisCommonPaymentStatusById(String encryptedPaymentId) {
@@ -20,12 +20,20 @@ import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.mapper.TppStopListMapper;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -33,10 +41,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TppStopListServiceInternal implements TppStopListService {
     private final TppStopListRepository tppStopListRepository;
+    private final TppStopListMapper tppStopListMapper;
 
     @Value("${xs2a.cms.service.instance-id:UNDEFINED}")
     private String serviceInstanceId;
 
+    // Changes committed by concurrent transactions may become visible only after the version has been returned
+    @Value("${xs2a.cms.stoplist.changes.overlap.ms:5000}")
+    private long changesOverlapMs;
+
     @Override
     public CmsResponse<Boolean> checkIfTppBlocked(String tppAuthorisationNumber, String instanceId) {
         String requestedInstanceId = StringUtils.isBlank(instanceId) ? serviceInstanceId : instanceId;
@@ -56,4 +69,24 @@ public class TppStopListServiceInternal implements TppStopListService {
                    .payload(blocked)
                    .build();
     }
+
+    @Override
+    public CmsResponse<TppStopListChanges> getTppStopListChanges(String instanceId, @Nullable Long version) {
+        String requestedInstanceId = StringUtils.isBlank(instanceId) ? serviceInstanceId : instanceId;
+        OffsetDateTime currentTimestamp = OffsetDateTime.now();
+
+        List<TppStopListEntity> changedEntities = version == null
+                                                      ? tppStopListRepository.findAllByInstanceIdAndStatus(requestedInstanceId, TppStatus.BLOCKED)
+                                                      : tppStopListRepository.findAllByInstanceIdAndLastChangeTimestampAfter(requestedInstanceId, toTimestamp(version - changesOverlapMs));
+
+        TppStopListChanges changes = new TppStopListChanges(currentTimestamp.toInstant().toEpochMilli(),
+                                                            tppStopListMapper.mapToTppStopListRecords(changedEntities));
+        return CmsResponse.<TppStopListChanges>builder()
+                   .payload(changes)
+                   .build();
+    }
+
+    private OffsetDateTime toTimestamp(long version) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(version), ZoneOffset.UTC);
+    }
 }
@@ -23,7 +23,9 @@ import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.impl.KeysetChunkReader;
 import de.adorsys.psd2.consent.repository.specification.AisConsentSpecification;
+import de.adorsys.psd2.consent.service.AisConsentUsageService;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
@@ -33,6 +35,7 @@ import de.adorsys.psd2.xs2a.core.pagination.data.PageRequestParameters;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -48,7 +51,9 @@ import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -56,12 +61,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportService {
+    private static final int AUTHORISATION_QUERY_CHUNK_SIZE = 1000;
+
     private final AisConsentSpecification aisConsentSpecification;
     private final ConsentJpaRepository consentJpaRepository;
     private final AisConsentMapper aisConsentMapper;
     private final AuthorisationRepository authorisationRepository;
+    private final AisConsentUsageService aisConsentUsageService;
     private final AisConsentLazyMigrationService aisConsentLazyMigrationService;
     private final PageRequestBuilder pageRequestBuilder;
+    private final KeysetChunkReader keysetChunkReader;
 
     @Override
     @Transactional
@@ -133,20 +142,54 @@ public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportServic
         return mapToPageData(consentEntityPage);
     }
 
+    @Override
+    public void streamConsentsByTpp(String tppAuthorisationNumber,
+                                    @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                    @Nullable PsuIdData psuIdData, @NotNull String instanceId,
+                                    @Nullable String additionalTppInfo,
+                                    @NotNull Consumer<? super CmsAisAccountConsent> consumer) {
+        if (StringUtils.isBlank(tppAuthorisationNumber) || StringUtils.isBlank(instanceId)) {
+            log.info("TPP ID: [{}], InstanceId: [{}]. Stream Consents by TPP: Some of these two values are empty", tppAuthorisationNumber, instanceId);
+            return;
+        }
+
+        keysetChunkReader.readInChunks(ConsentEntity.class,
+                                       aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(tppAuthorisationNumber, createDateFrom, createDateTo, psuIdData, instanceId, additionalTppInfo),
+                                       ConsentEntity::getId,
+                                       chunk -> mapToCmsAisAccountConsents(chunk).forEach(consumer));
+    }
+
     private PageData<Collection<CmsAisAccountConsent>> mapToPageData(Page<ConsentEntity> entities) {
-        return new PageData<>(entities
-                                  .stream()
-                                  .map(aisConsentLazyMigrationService::migrateIfNeeded)
-                                  .map(this::mapToCmsAisAccountConsentWithAuthorisations)
-                                  .collect(Collectors.toList()),
+        return new PageData<>(mapToCmsAisAccountConsents(entities.getContent()),
                               entities.getPageable().getPageNumber(),
                               entities.getPageable().getPageSize(),
                               entities.getTotalElements());
     }
 
-    private CmsAisAccountConsent mapToCmsAisAccountConsentWithAuthorisations(ConsentEntity aisConsentEntity) {
-        List<AuthorisationEntity> authorisations =
-            authorisationRepository.findAllByParentExternalIdAndType(aisConsentEntity.getExternalId(), AuthorisationType.CONSENT);
-        return aisConsentMapper.mapToCmsAisAccountConsent(aisConsentEntity, authorisations);
+    private List<CmsAisAccountConsent> mapToCmsAisAccountConsents(List<ConsentEntity> entities) {
+        List<ConsentEntity> consents = entities
+                                           .stream()
+                                           .map(aisConsentLazyMigrationService::migrateIfNeeded)
+                                           .collect(Collectors.toList());
+        Map<String, List<AuthorisationEntity>> authorisationsByConsentId = getAuthorisationsByConsentId(consents);
+        Map<Long, Map<String, Integer>> usageCountersByConsentId = aisConsentUsageService.getUsageCounterMaps(consents);
+
+        return consents
+                   .stream()
+                   .map(consent -> aisConsentMapper.mapToCmsAisAccountConsent(consent,
+                                                                             authorisationsByConsentId.getOrDefault(consent.getExternalId(), Collections.emptyList()),
+                                                                             usageCountersByConsentId.getOrDefault(consent.getId(), Collections.emptyMap())))
+                   .collect(Collectors.toList());
+    }
+
+    private Map<String, List<AuthorisationEntity>> getAuthorisationsByConsentId(List<ConsentEntity> consents) {
+        List<String> consentIds = consents.stream()
+                                      .map(ConsentEntity::getExternalId)
+                                      .distinct()
+                                      .collect(Collectors.toList());
+        return ListUtils.partition(consentIds, AUTHORISATION_QUERY_CHUNK_SIZE)
+                   .stream()
+                   .flatMap(ids -> authorisationRepository.findAllByParentExternalIdInAndType(ids, AuthorisationType.CONSENT).stream())
+                   .collect(Collectors.groupingBy(AuthorisationEntity::getParentExternalId));
     }
 }
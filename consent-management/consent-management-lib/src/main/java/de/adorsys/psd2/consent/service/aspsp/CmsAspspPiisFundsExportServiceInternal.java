@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.aspsp.api.PageData;
 import de.adorsys.psd2.consent.aspsp.api.piis.CmsAspspPiisFundsExportService;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.impl.KeysetChunkReader;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
@@ -38,6 +39,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -52,6 +54,7 @@ public class CmsAspspPiisFundsExportServiceInternal implements CmsAspspPiisFunds
     private final PiisConsentMapper piisConsentMapper;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
     private final PageRequestBuilder pageRequestBuilder;
+    private final KeysetChunkReader keysetChunkReader;
 
     @Override
     @Transactional
@@ -106,6 +109,27 @@ public class CmsAspspPiisFundsExportServiceInternal implements CmsAspspPiisFunds
             pageRequestBuilder.getPageable(pageIndex, itemsPerPage)));
     }
 
+    @Override
+    public void streamConsentsByTpp(String tppAuthorisationNumber,
+                                    @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                    @Nullable PsuIdData psuIdData, @Nullable String instanceId,
+                                    @NotNull Consumer<? super CmsPiisConsent> consumer) {
+        if (StringUtils.isBlank(tppAuthorisationNumber)) {
+            log.info("TPP ID: [{}], instanceId: [{}]. Stream consents by TPP failed, TPP ID is empty or null.",
+                     tppAuthorisationNumber, instanceId);
+            return;
+        }
+
+        String actualInstanceId = StringUtils.defaultIfEmpty(instanceId, DEFAULT_SERVICE_INSTANCE_ID);
+        keysetChunkReader.readInChunks(ConsentEntity.class,
+                                       piisConsentEntitySpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(tppAuthorisationNumber, createDateFrom, createDateTo, psuIdData, actualInstanceId, null),
+                                       ConsentEntity::getId,
+                                       chunk -> chunk.stream()
+                                                    .map(piisConsentLazyMigrationService::migrateIfNeeded)
+                                                    .map(piisConsentMapper::mapToCmsPiisConsent)
+                                                    .forEach(consumer));
+    }
+
     private PageData<Collection<CmsPiisConsent>> mapToPageData(Page<ConsentEntity> entities) {
         return new PageData<>(entities
                                   .stream()
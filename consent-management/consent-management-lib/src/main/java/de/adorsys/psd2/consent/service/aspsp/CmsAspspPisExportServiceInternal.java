@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.aspsp.api.PageData;
 import de.adorsys.psd2.consent.aspsp.api.pis.CmsAspspPisExportService;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.repository.impl.KeysetChunkReader;
 import de.adorsys.psd2.consent.repository.specification.PisCommonPaymentDataSpecification;
 import de.adorsys.psd2.consent.service.mapper.CmsPsuPisMapper;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
@@ -37,6 +38,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -48,6 +50,7 @@ public class CmsAspspPisExportServiceInternal implements CmsAspspPisExportServic
     private final PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
     private final CmsPsuPisMapper cmsPsuPisMapper;
     private final PageRequestBuilder pageRequestBuilder;
+    private final KeysetChunkReader keysetChunkReader;
 
 
     @Override
@@ -95,6 +98,24 @@ public class CmsAspspPisExportServiceInternal implements CmsAspspPisExportServic
             pageRequestBuilder.getPageable(pageIndex, itemsPerPage)));
     }
 
+    @Override
+    public void streamPaymentsByTpp(String tppAuthorisationNumber, @Nullable LocalDate createDateFrom,
+                                    @Nullable LocalDate createDateTo, @Nullable PsuIdData psuIdData,
+                                    @NotNull String instanceId, @NotNull Consumer<? super CmsBasePaymentResponse> consumer) {
+        if (StringUtils.isBlank(tppAuthorisationNumber) || StringUtils.isBlank(instanceId)) {
+            log.info("InstanceId: [{}], TPP ID: [{}]. Stream payments by TPP failed, TPP ID or instanceId is empty or null.", instanceId,
+                     tppAuthorisationNumber);
+            return;
+        }
+
+        keysetChunkReader.readInChunks(PisCommonPaymentData.class,
+                                       pisCommonPaymentDataSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(tppAuthorisationNumber, createDateFrom, createDateTo, psuIdData, instanceId),
+                                       PisCommonPaymentData::getId,
+                                       chunk -> chunk.stream()
+                                                    .map(cmsPsuPisMapper::mapPaymentDataToCmsPayment)
+                                                    .forEach(consumer));
+    }
+
     private PageData<Collection<CmsBasePaymentResponse>> mapToPageData(Page<PisCommonPaymentData> entities) {
         return new PageData<>(entities
                                   .stream()
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.mapper;
+
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.core.mapper.ConsentDataMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU cache of decoded AIS consent data, keyed by consent ID and hash of the encoded data.
+ * <p>
+ * Decoded data is immutable, so that the same instance is shared between all readers. Encoded data is compared on
+ * every hit, as the hash alone doesn't guarantee that the data of the consent hasn't been changed.
+ */
+@Component
+public class AisConsentDataCache {
+    private final ConsentDataMapper consentDataMapper;
+    private final int maxSize;
+    private final Map<CacheKey, CacheEntry> entries;
+
+    public AisConsentDataCache(ConsentDataMapper consentDataMapper,
+                               @Value("${xs2a.cms.consent-data.cache.max-size:10000}") int maxSize) {
+        this.consentDataMapper = consentDataMapper;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > AisConsentDataCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns decoded AIS consent data of the consent, decoding it if it is not cached yet
+     *
+     * @param consent consent entity
+     * @return decoded consent data or <code>null</code> if the data couldn't be decoded
+     */
+    public AisConsentData getAisConsentData(ConsentEntity consent) {
+        byte[] data = consent.getData();
+        if (maxSize <= 0 || consent.getId() == null || data == null) {
+            return consentDataMapper.mapToAisConsentData(data);
+        }
+
+        CacheKey key = new CacheKey(consent.getId(), Arrays.hashCode(data));
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && Arrays.equals(entry.data, data)) {
+                return entry.consentData;
+            }
+        }
+
+        AisConsentData consentData = consentDataMapper.mapToAisConsentData(data);
+        if (consentData != null) {
+            synchronized (entries) {
+                entries.put(key, new CacheEntry(data.clone(), consentData));
+            }
+        }
+        return consentData;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static final class CacheKey {
+        private final Long consentId;
+        private final int dataHash;
+
+        private CacheKey(Long consentId, int dataHash) {
+            this.consentId = consentId;
+            this.dataHash = dataHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) o;
+            return dataHash == cacheKey.dataHash && consentId.equals(cacheKey.consentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(consentId, dataHash);
+        }
+    }
+
+    private static final class CacheEntry {
+        private final byte[] data;
+        private final AisConsentData consentData;
+
+        private CacheEntry(byte[] data, AisConsentData consentData) {
+            this.data = data;
+            this.consentData = consentData;
+        }
+    }
+}
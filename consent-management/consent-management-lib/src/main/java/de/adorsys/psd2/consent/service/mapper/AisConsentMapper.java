@@ -26,7 +26,6 @@ import de.adorsys.psd2.consent.service.AisConsentUsageService;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
-import de.adorsys.psd2.core.mapper.ConsentDataMapper;
 import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
 import de.adorsys.psd2.xs2a.core.authorisation.ConsentAuthorization;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
@@ -48,9 +47,9 @@ public class AisConsentMapper {
     private final TppInfoMapper tppInfoMapper;
     private final AisConsentUsageService aisConsentUsageService;
     private final AuthorisationTemplateMapper authorisationTemplateMapper;
-    private final ConsentDataMapper consentDataMapper;
     private final ConsentTppInformationMapper consentTppInformationMapper;
     private final AccessMapper accessMapper;
+    private final AisConsentDataCache aisConsentDataCache;
 
     private AisAccountAccess getAvailableAccess(AisConsent aisConsent) {
         AisAccountAccess tppAccountAccess = mapToAisAccountAccess(aisConsent);
@@ -65,7 +64,20 @@ public class AisConsentMapper {
     }
 
     public CmsAisAccountConsent mapToCmsAisAccountConsent(ConsentEntity consent, List<AuthorisationEntity> authorisations) {
-        AisConsent aisConsent = mapToAisConsent(consent, authorisations);
+        return mapToCmsAisAccountConsent(consent, authorisations, aisConsentUsageService.getUsageCounterMap(consent));
+    }
+
+    /**
+     * Maps consent with already loaded usage counters, so that usages of several consents can be read at once
+     *
+     * @param consent         consent entity
+     * @param authorisations  authorisations of the consent
+     * @param usageCounterMap usage counters of the consent
+     * @return mapped consent
+     */
+    public CmsAisAccountConsent mapToCmsAisAccountConsent(ConsentEntity consent, List<AuthorisationEntity> authorisations,
+                                                          Map<String, Integer> usageCounterMap) {
+        AisConsent aisConsent = mapToAisConsent(consent, authorisations, usageCounterMap);
         AisAccountAccess chosenAccess = getAvailableAccess(aisConsent);
         ConsentTppInformationEntity tppInformation = consent.getTppInformation();
 
@@ -94,9 +106,11 @@ public class AisConsentMapper {
     }
 
     public AisConsent mapToAisConsent(ConsentEntity entity, List<AuthorisationEntity> authorisations) {
-        AisConsentData aisConsentData = consentDataMapper.mapToAisConsentData(entity.getData());
+        return mapToAisConsent(entity, authorisations, aisConsentUsageService.getUsageCounterMap(entity));
+    }
 
-        Map<String, Integer> usageCounterMap = aisConsentUsageService.getUsageCounterMap(entity);
+    private AisConsent mapToAisConsent(ConsentEntity entity, List<AuthorisationEntity> authorisations, Map<String, Integer> usageCounterMap) {
+        AisConsentData aisConsentData = aisConsentDataCache.getAisConsentData(entity);
 
         return AisConsent.builder()
                    .consentData(aisConsentData)
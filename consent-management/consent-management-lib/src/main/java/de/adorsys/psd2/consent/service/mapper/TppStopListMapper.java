@@ -20,7 +20,9 @@ import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Component
 public class TppStopListMapper {
@@ -37,4 +39,10 @@ public class TppStopListMapper {
                    })
                    .orElse(null);
     }
+
+    public List<TppStopListRecord> mapToTppStopListRecords(List<TppStopListEntity> tppStopListEntities) {
+        return tppStopListEntities.stream()
+                   .map(this::mapToTppStopListRecord)
+                   .collect(Collectors.toList());
+    }
 }
@@ -36,10 +36,11 @@ public class AisConsentLazyMigrationService {
     private final ObsoleteAisConsentJpaRepository obsoleteAisConsentJpaRepository;
     private final ConsentJpaRepository consentJpaRepository;
     private final ConsentDataMapper consentDataMapper;
+    private final ConsentDataMigrationStatusService consentDataMigrationStatusService;
 
 
     public ConsentEntity migrateIfNeeded(ConsentEntity consentEntity) {
-        if (consentEntity.getData() == null) {
+        if (consentEntity.getData() == null && !consentDataMigrationStatusService.isMigrationCompleted()) {
             Optional<AisConsent> obsoleteAisConsentOptional = obsoleteAisConsentJpaRepository.findByExternalId(consentEntity.getExternalId());
             if (obsoleteAisConsentOptional.isPresent()) {
                 byte[] consentData = getConsentData(obsoleteAisConsentOptional.get());
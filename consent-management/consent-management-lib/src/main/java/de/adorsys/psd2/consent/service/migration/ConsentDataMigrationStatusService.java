@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.migration;
+
+import de.adorsys.psd2.consent.domain.SchedulerJobProgressEntity;
+import de.adorsys.psd2.consent.repository.SchedulerJobProgressRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+
+/**
+ * Provides the state of the background migration of consent data from obsolete AIS and PIIS consent tables.
+ * <p>
+ * Once the migration is completed, lazy migration on reading of consents is no longer needed. Completion is checked in
+ * the database at most once per configured interval and is remembered afterwards, as it can't be reverted.
+ */
+@Slf4j
+@Service
+public class ConsentDataMigrationStatusService {
+    public static final String JOB_NAME = "consent-data-migration";
+
+    private final SchedulerJobProgressRepository schedulerJobProgressRepository;
+    private final long checkIntervalMs;
+    private final Clock clock;
+
+    private volatile boolean completed;
+    private volatile long nextCheck;
+
+    public ConsentDataMigrationStatusService(SchedulerJobProgressRepository schedulerJobProgressRepository,
+                                             @Value("${xs2a.cms.consent-data-migration.status-check-interval.ms:60000}") long checkIntervalMs) {
+        this(schedulerJobProgressRepository, checkIntervalMs, Clock.systemUTC());
+    }
+
+    ConsentDataMigrationStatusService(SchedulerJobProgressRepository schedulerJobProgressRepository, long checkIntervalMs, Clock clock) {
+        this.schedulerJobProgressRepository = schedulerJobProgressRepository;
+        this.checkIntervalMs = checkIntervalMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether all consents have been migrated by the background migration job
+     *
+     * @return <code>true</code> if the migration is completed, <code>false</code> otherwise
+     */
+    public boolean isMigrationCompleted() {
+        if (completed) {
+            return true;
+        }
+
+        long now = clock.millis();
+        if (now >= nextCheck) {
+            nextCheck = now + checkIntervalMs;
+            completed = schedulerJobProgressRepository.findById(JOB_NAME)
+                            .map(SchedulerJobProgressEntity::isCompleted)
+                            .orElse(false);
+            if (completed) {
+                log.info("Migration of consent data is completed, lazy migration of consents is disabled");
+            }
+        }
+        return completed;
+    }
+}
@@ -36,9 +36,10 @@ public class PiisConsentLazyMigrationService {
     private final ObsoletePiisConsentJpaRepository obsoletePiisConsentJpaRepository;
     private final ConsentJpaRepository consentJpaRepository;
     private final ConsentDataMapper consentDataMapper;
+    private final ConsentDataMigrationStatusService consentDataMigrationStatusService;
 
     public ConsentEntity migrateIfNeeded(ConsentEntity consentEntity) {
-        if (consentEntity.getData() == null) {
+        if (consentEntity.getData() == null && !consentDataMigrationStatusService.isMigrationCompleted()) {
             Optional<PiisConsentEntity> obsoletePiisConsentOptional = obsoletePiisConsentJpaRepository.findByExternalId(consentEntity.getExternalId());
             if (obsoletePiisConsentOptional.isPresent()) {
                 byte[] consentData = getConsentData(obsoletePiisConsentOptional.get());
@@ -16,35 +16,54 @@
 
 package de.adorsys.psd2.consent.service.security.provider;
 
-import lombok.AllArgsConstructor;
-
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.NoSuchAlgorithmException;
-import java.security.spec.InvalidKeySpecException;
+import java.security.GeneralSecurityException;
 
-@AllArgsConstructor
 public abstract class AbstractCryptoProvider {
+    private static final int DEFAULT_KEY_CACHE_SIZE = 1000;
+
     private final int keyLength;
     private final int hashIterations;
     private final String skfAlgorithm;
     private final String cryptoProviderId;
+    private volatile SecretKeyCache secretKeyCache = new SecretKeyCache(DEFAULT_KEY_CACHE_SIZE, false);
+
+    protected AbstractCryptoProvider(int keyLength, int hashIterations, String skfAlgorithm, String cryptoProviderId) {
+        this.keyLength = keyLength;
+        this.hashIterations = hashIterations;
+        this.skfAlgorithm = skfAlgorithm;
+        this.cryptoProviderId = cryptoProviderId;
+    }
+
+    protected SecretKey getSecretKey(String password) throws GeneralSecurityException {
+        return secretKeyCache.getSecretKey(password, this::deriveKeyMaterial);
+    }
+
+    /**
+     * Replaces the cache of derived secret keys of this provider
+     *
+     * @param secretKeyCache new cache of derived keys
+     */
+    public void setSecretKeyCache(SecretKeyCache secretKeyCache) {
+        SecretKeyCache previousCache = this.secretKeyCache;
+        this.secretKeyCache = secretKeyCache;
+        previousCache.clear();
+    }
 
-    protected SecretKey getSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+    public String getCryptoProviderId() {
+        return cryptoProviderId;
+    }
+
+    private byte[] deriveKeyMaterial(String password) throws GeneralSecurityException {
         byte[] salt = new byte[16];
         PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, hashIterations, keyLength);
         try {
             SecretKeyFactory factory = SecretKeyFactory.getInstance(skfAlgorithm);
-            SecretKey secretKey = factory.generateSecret(keySpec);
-            return new SecretKeySpec(secretKey.getEncoded(), "AES");
+            return factory.generateSecret(keySpec).getEncoded();
         } finally {
             keySpec.clearPassword();
         }
     }
-
-    public String getCryptoProviderId() {
-        return cryptoProviderId;
-    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of secret keys, derived from passwords. Derivation of the key is performed outside of the lock,
+ * so concurrent callers may derive the same key twice, but never block each other on key stretching.
+ * <p>
+ * Raw key material is owned by the cache and is only copied into new {@link SecretKeySpec} instances under the lock,
+ * so it can be safely overwritten with zeros on eviction.
+ */
+public class SecretKeyCache {
+    private static final String KEY_ALGORITHM = "AES";
+
+    private final int maxSize;
+    private final boolean zeroingOnEviction;
+    private final Map<String, byte[]> keys;
+
+    public SecretKeyCache(int maxSize, boolean zeroingOnEviction) {
+        this.maxSize = maxSize;
+        this.zeroingOnEviction = zeroingOnEviction;
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                if (size() > SecretKeyCache.this.maxSize) {
+                    evict(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns secret key for the given password, deriving it with given generator if it is not cached yet
+     *
+     * @param password     password to derive the key from
+     * @param keyGenerator function deriving raw key material from the password
+     * @return secret key
+     * @throws GeneralSecurityException if the key couldn't be derived
+     */
+    public SecretKey getSecretKey(String password, KeyMaterialGenerator keyGenerator) throws GeneralSecurityException {
+        if (maxSize <= 0) {
+            return createSecretKey(keyGenerator.generate(password));
+        }
+
+        synchronized (keys) {
+            byte[] keyMaterial = keys.get(password);
+            if (keyMaterial != null) {
+                return new SecretKeySpec(keyMaterial, KEY_ALGORITHM);
+            }
+        }
+
+        byte[] keyMaterial = keyGenerator.generate(password);
+        synchronized (keys) {
+            byte[] existingKeyMaterial = keys.putIfAbsent(password, keyMaterial);
+            if (existingKeyMaterial != null) {
+                evict(keyMaterial);
+                return new SecretKeySpec(existingKeyMaterial, KEY_ALGORITHM);
+            }
+            return new SecretKeySpec(keyMaterial, KEY_ALGORITHM);
+        }
+    }
+
+    /**
+     * Removes all keys from the cache
+     */
+    public void clear() {
+        synchronized (keys) {
+            keys.values().forEach(this::evict);
+            keys.clear();
+        }
+    }
+
+    int size() {
+        synchronized (keys) {
+            return keys.size();
+        }
+    }
+
+    private SecretKey createSecretKey(byte[] keyMaterial) {
+        try {
+            return new SecretKeySpec(keyMaterial, KEY_ALGORITHM);
+        } finally {
+            evict(keyMaterial);
+        }
+    }
+
+    private void evict(byte[] keyMaterial) {
+        if (zeroingOnEviction) {
+            Arrays.fill(keyMaterial, (byte) 0);
+        }
+    }
+
+    @FunctionalInterface
+    public interface KeyMaterialGenerator {
+        byte[] generate(String password) throws GeneralSecurityException;
+    }
+}
@@ -20,6 +20,7 @@ package de.adorsys.psd2.consent.service.sha;
 import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV3;
 import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV4;
 import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV5;
+import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV6;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +45,8 @@ public class ChecksumCalculatingFactory {
     @Autowired
     private AisChecksumCalculatingServiceV5 aisV5;
     @Autowired
+    private AisChecksumCalculatingServiceV6 aisV6;
+    @Autowired
     private NoProcessingChecksumService noProcessingService;
 
     @PostConstruct
@@ -55,6 +58,7 @@ public class ChecksumCalculatingFactory {
         services.put(new MultiKey<>(aisV3.getVersion(), ConsentType.AIS.getName()), aisV3);
         services.put(new MultiKey<>(aisV4.getVersion(), ConsentType.AIS.getName()), aisV4);
         services.put(new MultiKey<>(aisV5.getVersion(), ConsentType.AIS.getName()), aisV5);
+        services.put(new MultiKey<>(aisV6.getVersion(), ConsentType.AIS.getName()), aisV6);
     }
 
     /**
@@ -84,7 +88,7 @@ public class ChecksumCalculatingFactory {
 
     private Optional<ChecksumCalculatingService> getDefaultService(ConsentType consentType) {
         if (ConsentType.AIS == consentType) {
-            return Optional.of(aisV5);
+            return Optional.of(aisV6);
         }
         log.info("Given consent type `[{}]` is not supported.", consentType);
         return Optional.empty();
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.sha.impl;
+
+import de.adorsys.psd2.consent.service.sha.ChecksumCalculatingService;
+import de.adorsys.psd2.consent.service.sha.ChecksumConstant;
+import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.core.data.Consent;
+import de.adorsys.psd2.core.data.ais.AisConsent;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import de.adorsys.psd2.xs2a.core.profile.AccountReference;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import de.adorsys.psd2.xs2a.core.profile.AdditionalInformationAccess;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Calculates checksum of AIS consent by feeding its fields directly into SHA-512 digest, without serializing the
+ * consent into JSON.
+ * <p>
+ * Checksum has the following format: <code>006_%_&lt;consent hash&gt;[_%_&lt;type&gt;:&lt;ASPSP accesses hash&gt;,...]</code>,
+ * where hashes are encoded with Base64 and ASPSP accesses are hashed separately for every account reference type.
+ */
+@Slf4j
+@Service
+public class AisChecksumCalculatingServiceV6 implements ChecksumCalculatingService {
+    private static final String VERSION = "006";
+    private static final String HASHING_ALGORITHM = "SHA-512";
+    private static final char TYPE_SEPARATOR = ':';
+    private static final char ENTRY_SEPARATOR = ',';
+    private static final AccountReferenceType[] TYPES_BY_ORDER = Arrays.stream(AccountReferenceType.values())
+                                                                     .sorted(Comparator.comparingInt(AccountReferenceType::getOrder))
+                                                                     .toArray(AccountReferenceType[]::new);
+    private static final Comparator<AccountReference> ASPSP_ACCESS_COMPARATOR =
+        Comparator.comparing(AccountReference::getResourceId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AccountReference::getAspspAccountId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(acc -> acc.getCurrency() == null ? StringUtils.EMPTY : acc.getCurrency().getCurrencyCode());
+
+    private static final ThreadLocal<DigestSink> DIGEST_SINK = ThreadLocal.withInitial(DigestSink::new);
+
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] calculateChecksumForConsent(Consent<?> consent) {
+        if (consent == null || ConsentType.AIS != consent.getConsentType()) {
+            return new byte[0];
+        }
+
+        AisConsent aisConsent = (AisConsent) consent;
+        DigestSink sink = resetDigestSink();
+        Base64.Encoder encoder = Base64.getEncoder();
+
+        StringBuilder sb = new StringBuilder(VERSION)
+                               .append(ChecksumConstant.DELIMITER)
+                               .append(encoder.encodeToString(hashConsentCommon(aisConsent, sink)));
+
+        AccountAccess aspspAccountAccess = aisConsent.getAspspAccountAccesses();
+        if (aspspAccountAccess != null && aspspAccountAccess.isNotEmpty(aisConsent.getConsentData())) {
+            Map<AccountReferenceType, byte[]> hashesByType = hashAspspAccessesByType(aspspAccountAccess, sink);
+
+            if (!hashesByType.isEmpty()) {
+                sb.append(ChecksumConstant.DELIMITER);
+                boolean first = true;
+                for (Map.Entry<AccountReferenceType, byte[]> entry : hashesByType.entrySet()) {
+                    if (!first) {
+                        sb.append(ENTRY_SEPARATOR);
+                    }
+                    sb.append(entry.getKey().name())
+                        .append(TYPE_SEPARATOR)
+                        .append(encoder.encodeToString(entry.getValue()));
+                    first = false;
+                }
+            }
+        }
+
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public boolean verifyConsentWithChecksum(Consent<?> consent, byte[] checksum) {
+        if (consent == null || checksum == null || ConsentType.AIS != consent.getConsentType()) {
+            return false;
+        }
+
+        AisConsent aisConsent = (AisConsent) consent;
+        String checksumStr = new String(checksum, StandardCharsets.US_ASCII);
+
+        int consentStart = checksumStr.indexOf(ChecksumConstant.DELIMITER);
+        if (consentStart < 0) {
+            return false;
+        }
+        consentStart += ChecksumConstant.DELIMITER.length();
+
+        int aspspStart = checksumStr.indexOf(ChecksumConstant.DELIMITER, consentStart);
+        String consentChecksumFromDb = aspspStart < 0
+                                           ? checksumStr.substring(consentStart)
+                                           : checksumStr.substring(consentStart, aspspStart);
+
+        DigestSink sink = resetDigestSink();
+        if (!isHashEqual(consentChecksumFromDb, hashConsentCommon(aisConsent, sink))) {
+            return false;
+        }
+
+        if (aspspStart < 0) {
+            return true;
+        }
+
+        String aspspAccessFromDb = checksumStr.substring(aspspStart + ChecksumConstant.DELIMITER.length());
+        return isAspspAccessesChecksumValid(aspspAccessFromDb, aisConsent.getAspspAccountAccesses(), sink);
+    }
+
+    /**
+     * Returns digest sink of the current thread without any input, that could be left over by a calculation that failed
+     * with an exception.
+     */
+    private DigestSink resetDigestSink() {
+        DigestSink sink = DIGEST_SINK.get();
+        sink.reset();
+        return sink;
+    }
+
+    private boolean isAspspAccessesChecksumValid(String aspspAccessFromDb, AccountAccess aspspAccess, DigestSink sink) {
+        if (aspspAccess == null) {
+            return false;
+        }
+
+        Map<AccountReferenceType, byte[]> currentHashesByType = hashAspspAccessesByType(aspspAccess, sink);
+
+        for (String entry : StringUtils.split(aspspAccessFromDb, ENTRY_SEPARATOR)) {
+            int separatorIndex = entry.indexOf(TYPE_SEPARATOR);
+            if (separatorIndex < 0) {
+                return false;
+            }
+
+            AccountReferenceType type = EnumUtils.getEnum(AccountReferenceType.class, entry.substring(0, separatorIndex));
+            byte[] currentHash = type == null ? null : currentHashesByType.get(type);
+            if (currentHash == null || !isHashEqual(entry.substring(separatorIndex + 1), currentHash)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isHashEqual(String encodedHashFromDb, byte[] currentHash) {
+        try {
+            return MessageDigest.isEqual(Base64.getDecoder().decode(encodedHashFromDb), currentHash);
+        } catch (IllegalArgumentException e) {
+            log.debug("Checksum from DB is not a valid Base64 string");
+            return false;
+        }
+    }
+
+    private byte[] hashConsentCommon(AisConsent aisConsent, DigestSink sink) {
+        sink.putBoolean(aisConsent.isRecurringIndicator());
+        sink.putBoolean(aisConsent.getConsentData() != null && aisConsent.getConsentData().isCombinedServiceIndicator());
+        putDate(sink, aisConsent.getValidUntil());
+        putInteger(sink, aisConsent.getFrequencyPerDay());
+        putAccountAccess(sink, aisConsent.getTppAccountAccesses());
+        return sink.digest();
+    }
+
+    private Map<AccountReferenceType, byte[]> hashAspspAccessesByType(AccountAccess aspspAccess, DigestSink sink) {
+        Set<AccountReference> references = new HashSet<>();
+        addAll(references, aspspAccess.getAccounts());
+        addAll(references, aspspAccess.getBalances());
+        addAll(references, aspspAccess.getTransactions());
+
+        Map<AccountReferenceType, List<AccountReference>> referencesByType = new EnumMap<>(AccountReferenceType.class);
+        for (AccountReference reference : references) {
+            AccountReferenceType type = getUsedAccountReferenceType(reference);
+            if (type != null && (StringUtils.isNotBlank(reference.getResourceId()) || StringUtils.isNotBlank(reference.getAspspAccountId()))) {
+                referencesByType.computeIfAbsent(type, t -> new ArrayList<>()).add(reference);
+            }
+        }
+
+        Map<AccountReferenceType, byte[]> hashesByType = new EnumMap<>(AccountReferenceType.class);
+        for (Map.Entry<AccountReferenceType, List<AccountReference>> entry : referencesByType.entrySet()) {
+            List<AccountReference> typeReferences = entry.getValue();
+            typeReferences.sort(ASPSP_ACCESS_COMPARATOR);
+            putReferences(sink, typeReferences);
+            hashesByType.put(entry.getKey(), sink.digest());
+        }
+
+        return hashesByType;
+    }
+
+    private void addAll(Set<AccountReference> target, List<AccountReference> source) {
+        if (source != null) {
+            target.addAll(source);
+        }
+    }
+
+    private AccountReferenceType getUsedAccountReferenceType(AccountReference reference) {
+        for (AccountReferenceType type : TYPES_BY_ORDER) {
+            if (StringUtils.isNotBlank(type.getFieldValue(reference))) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private void putAccountAccess(DigestSink sink, AccountAccess accountAccess) {
+        if (accountAccess == null) {
+            sink.putNull();
+            return;
+        }
+
+        sink.putNotNull();
+        putReferences(sink, accountAccess.getAccounts());
+        putReferences(sink, accountAccess.getBalances());
+        putReferences(sink, accountAccess.getTransactions());
+
+        AdditionalInformationAccess additionalInformationAccess = accountAccess.getAdditionalInformationAccess();
+        if (additionalInformationAccess == null) {
+            sink.putNull();
+        } else {
+            sink.putNotNull();
+            putReferences(sink, additionalInformationAccess.getOwnerName());
+            putReferences(sink, additionalInformationAccess.getTrustedBeneficiaries());
+        }
+    }
+
+    private void putReferences(DigestSink sink, List<AccountReference> references) {
+        if (references == null) {
+            sink.putNull();
+            return;
+        }
+
+        sink.putNotNull();
+        sink.putInt(references.size());
+        for (AccountReference reference : references) {
+            putReference(sink, reference);
+        }
+    }
+
+    private void putReference(DigestSink sink, AccountReference reference) {
+        if (reference == null) {
+            sink.putNull();
+            return;
+        }
+
+        sink.putNotNull();
+        sink.putString(reference.getAspspAccountId());
+        sink.putString(reference.getResourceId());
+        sink.putString(reference.getIban());
+        sink.putString(reference.getBban());
+        sink.putString(reference.getPan());
+        sink.putString(reference.getMaskedPan());
+        sink.putString(reference.getMsisdn());
+        sink.putString(reference.getCurrency() == null ? null : reference.getCurrency().getCurrencyCode());
+        sink.putString(reference.getOtherAccountIdentification());
+    }
+
+    private void putDate(DigestSink sink, LocalDate date) {
+        if (date == null) {
+            sink.putNull();
+        } else {
+            sink.putNotNull();
+            sink.putLong(date.toEpochDay());
+        }
+    }
+
+    private void putInteger(DigestSink sink, Integer value) {
+        if (value == null) {
+            sink.putNull();
+        } else {
+            sink.putNotNull();
+            sink.putInt(value);
+        }
+    }
+
+    /**
+     * Reusable SHA-512 digest, that collects primitive values in a small buffer before passing them to the digest.
+     * Every value is written in a length-prefixed or null-marked form, so that different field sequences can't produce
+     * the same input.
+     */
+    private static final class DigestSink {
+        private static final byte NULL_MARKER = 0;
+        private static final byte NOT_NULL_MARKER = 1;
+
+        private final MessageDigest messageDigest;
+        private final byte[] buffer = new byte[512];
+        private int position;
+
+        private DigestSink() {
+            try {
+                messageDigest = MessageDigest.getInstance(HASHING_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalArgumentException("No such hashing algorithm: " + HASHING_ALGORITHM);
+            }
+        }
+
+        private void putNull() {
+            putByte(NULL_MARKER);
+        }
+
+        private void putNotNull() {
+            putByte(NOT_NULL_MARKER);
+        }
+
+        private void putBoolean(boolean value) {
+            putByte(value ? (byte) 1 : (byte) 0);
+        }
+
+        private void putInt(int value) {
+            ensureCapacity(Integer.BYTES);
+            buffer[position++] = (byte) (value >>> 24);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+        }
+
+        private void putLong(long value) {
+            putInt((int) (value >>> 32));
+            putInt((int) value);
+        }
+
+        private void putString(String value) {
+            if (value == null) {
+                putNull();
+                return;
+            }
+
+            putNotNull();
+            int length = value.length();
+            putInt(length);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                ensureCapacity(Character.BYTES);
+                buffer[position++] = (byte) (c >>> 8);
+                buffer[position++] = (byte) c;
+            }
+        }
+
+        private void putByte(byte value) {
+            ensureCapacity(1);
+            buffer[position++] = value;
+        }
+
+        private byte[] digest() {
+            flush();
+            return messageDigest.digest();
+        }
+
+        private void reset() {
+            position = 0;
+            messageDigest.reset();
+        }
+
+        private void ensureCapacity(int bytes) {
+            if (position + bytes > buffer.length) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (position > 0) {
+                messageDigest.update(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
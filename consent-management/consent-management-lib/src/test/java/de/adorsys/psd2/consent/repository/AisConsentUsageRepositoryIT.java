@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.integration.test.BaseTest;
+import de.adorsys.psd2.integration.test.TestDBConfiguration;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(classes = TestDBConfiguration.class,
+    initializers = {AisConsentUsageRepositoryIT.Initializer.class})
+class AisConsentUsageRepositoryIT extends BaseTest {
+    private static final String REQUEST_URI = "/v1/accounts/account-id/transactions";
+    private static final int THREADS = 8;
+    private static final int USAGES_PER_THREAD = 50;
+    private static final int FREQUENCY_PER_DAY = 100;
+
+    @Autowired
+    private AisConsentUsageRepository aisConsentUsageRepository;
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private TppInfoRepository tppInfoRepository;
+
+    private ConsentEntity consent;
+
+    @BeforeEach
+    void setUp() {
+        clearData();
+
+        TppInfoEntity tppInfo = tppInfoRepository.save(
+            jsonReader.getObjectFromFile("json/specification/tpp-info-entity.json", TppInfoEntity.class));
+
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/specification/consent-entity.json", ConsentEntity.class);
+        consentEntity.setConsentType(ConsentType.AIS.getName());
+        consentEntity.getTppInformation().setTppInfo(tppInfo);
+        consent = consentJpaRepository.save(consentEntity);
+    }
+
+    @Test
+    void incrementUsage_noUsageRow() {
+        // When
+        int updatedRows = aisConsentUsageRepository.incrementUsage(consent.getId(), LocalDate.now(), REQUEST_URI, 1, FREQUENCY_PER_DAY, null, null);
+
+        // Then
+        assertEquals(0, updatedRows);
+        assertEquals(0, aisConsentUsageRepository.findUsageAmountsByConsentAndUsageDate(consent, LocalDate.now()).size());
+    }
+
+    @Test
+    void incrementUsage_concurrentRequests() throws Exception {
+        // Given
+        createUsageRow();
+
+        // When
+        int updatedRows = incrementUsageConcurrently(THREADS * USAGES_PER_THREAD);
+
+        // Then
+        assertEquals(THREADS * USAGES_PER_THREAD, updatedRows);
+        assertStoredUsage(THREADS * USAGES_PER_THREAD);
+    }
+
+    @Test
+    void incrementUsage_concurrentRequests_frequencyPerDayNotExceeded() throws Exception {
+        // Given
+        createUsageRow();
+
+        // When
+        int updatedRows = incrementUsageConcurrently(FREQUENCY_PER_DAY);
+
+        // Then
+        assertEquals(FREQUENCY_PER_DAY, updatedRows);
+        assertStoredUsage(FREQUENCY_PER_DAY);
+    }
+
+    private void createUsageRow() {
+        consent.addUsage(new AisConsentUsage(consent, REQUEST_URI));
+        consent = consentJpaRepository.save(consent);
+    }
+
+    private int incrementUsageConcurrently(int frequencyPerDay) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> futures = new ArrayList<>();
+        Callable<Integer> incrementUsages = () -> {
+            int updatedRows = 0;
+            for (int i = 0; i < USAGES_PER_THREAD; i++) {
+                updatedRows += aisConsentUsageRepository.incrementUsage(consent.getId(), LocalDate.now(), REQUEST_URI, 1,
+                                                                        frequencyPerDay, "resource-" + i, null);
+            }
+            return updatedRows;
+        };
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executorService.submit(incrementUsages));
+        }
+        int updatedRows = 0;
+        for (Future<Integer> future : futures) {
+            updatedRows += future.get(1, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+        return updatedRows;
+    }
+
+    private void assertStoredUsage(int expectedUsage) {
+        List<AisConsentUsageAmount> usageAmounts = aisConsentUsageRepository.findUsageAmountsByConsentAndUsageDate(consent, LocalDate.now());
+        assertEquals(1, usageAmounts.size());
+        assertEquals(REQUEST_URI, usageAmounts.get(0).getRequestUri());
+        assertEquals(expectedUsage, usageAmounts.get(0).getUsage());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.account.AspspAccountAccess;
+import de.adorsys.psd2.consent.domain.account.TppAccountAccess;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.integration.test.BaseTest;
+import de.adorsys.psd2.integration.test.HibernateQueryCounter;
+import de.adorsys.psd2.integration.test.TestDBConfiguration;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures insertion of AIS consents with 200 accounts and checks that account accesses are inserted in JDBC batches
+ * instead of one statement per row.
+ */
+@Slf4j
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(classes = TestDBConfiguration.class,
+    initializers = {ConsentBatchInsertBenchmarkIT.Initializer.class})
+class ConsentBatchInsertBenchmarkIT extends BaseTest {
+    private static final int ACCOUNTS_COUNT = 200;
+    private static final int WARMUP_CONSENTS_COUNT = 5;
+    private static final int MEASURED_CONSENTS_COUNT = 20;
+    private static final long MAX_STATEMENTS_PER_CONSENT = 40;
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private TppInfoRepository tppInfoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private HibernateQueryCounter queryCounter;
+    private TppInfoEntity tppInfo;
+
+    @BeforeEach
+    void setUp() {
+        clearData();
+        queryCounter = new HibernateQueryCounter(entityManagerFactory);
+        tppInfo = tppInfoRepository.save(
+            jsonReader.getObjectFromFile("json/specification/tpp-info-entity.json", TppInfoEntity.class));
+    }
+
+    @Test
+    void saveConsentsWithAccounts() {
+        // Given
+        for (int i = 0; i < WARMUP_CONSENTS_COUNT; i++) {
+            consentJpaRepository.save(buildConsentWithAccounts());
+        }
+        queryCounter.reset();
+
+        // When
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURED_CONSENTS_COUNT; i++) {
+            consentJpaRepository.save(buildConsentWithAccounts());
+        }
+        long elapsedTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        // Then
+        long statementsPerConsent = queryCounter.getQueryCount() / MEASURED_CONSENTS_COUNT;
+        log.info("Saved {} consents with {} accounts in {} ms, {} ms and {} statements per consent",
+                 MEASURED_CONSENTS_COUNT, ACCOUNTS_COUNT, elapsedTimeMs, elapsedTimeMs / MEASURED_CONSENTS_COUNT, statementsPerConsent);
+
+        assertEquals(WARMUP_CONSENTS_COUNT + MEASURED_CONSENTS_COUNT, consentJpaRepository.count());
+        assertTrue(statementsPerConsent <= MAX_STATEMENTS_PER_CONSENT,
+                   "Expected batched inserts, but got " + statementsPerConsent + " statements per consent");
+    }
+
+    private ConsentEntity buildConsentWithAccounts() {
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/specification/consent-entity.json", ConsentEntity.class);
+        consentEntity.setId(null);
+        consentEntity.setExternalId(UUID.randomUUID().toString());
+        consentEntity.setConsentType(ConsentType.AIS.getName());
+        consentEntity.getTppInformation().setTppInfo(tppInfo);
+
+        List<TppAccountAccess> tppAccountAccesses = new ArrayList<>();
+        List<AspspAccountAccess> aspspAccountAccesses = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS_COUNT; i++) {
+            String iban = String.format("DE15500105172295%06d", i);
+            tppAccountAccesses.add(new TppAccountAccess(iban, TypeAccess.ACCOUNT, AccountReferenceType.IBAN, EUR));
+            aspspAccountAccesses.add(new AspspAccountAccess(iban, TypeAccess.ACCOUNT, AccountReferenceType.IBAN, EUR,
+                                                            "resource-" + i, "aspsp-account-" + i));
+        }
+        consentEntity.setTppAccountAccesses(tppAccountAccesses);
+        consentEntity.setAspspAccountAccesses(aspspAccountAccesses);
+        return consentEntity;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.api.ais.CmsAisAccountConsent;
+import de.adorsys.psd2.consent.aspsp.api.PageData;
+import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.impl.KeysetChunkReader;
+import de.adorsys.psd2.consent.service.AisConsentUsageBuffer;
+import de.adorsys.psd2.consent.service.AisConsentUsageService;
+import de.adorsys.psd2.consent.service.aspsp.CmsAspspAisExportServiceInternal;
+import de.adorsys.psd2.consent.service.mapper.AccessMapper;
+import de.adorsys.psd2.consent.service.mapper.AisConsentDataCache;
+import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
+import de.adorsys.psd2.consent.service.mapper.AuthorisationTemplateMapper;
+import de.adorsys.psd2.consent.service.mapper.ConsentTppInformationMapper;
+import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
+import de.adorsys.psd2.consent.service.mapper.TppInfoMapper;
+import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationStatusService;
+import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
+import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.core.mapper.ConsentDataMapper;
+import de.adorsys.psd2.integration.test.BaseTest;
+import de.adorsys.psd2.integration.test.HibernateQueryCounter;
+import de.adorsys.psd2.integration.test.TestDBConfiguration;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import de.adorsys.psd2.xs2a.core.pagination.data.PageRequestParameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(classes = {TestDBConfiguration.class, ConsentExportQueryCountIT.ExportServiceConfiguration.class},
+    initializers = {ConsentExportQueryCountIT.Initializer.class})
+class ConsentExportQueryCountIT extends BaseTest {
+    private static final String INSTANCE_ID = "UNDEFINED";
+    private static final String REQUEST_URI = "/v1/accounts/account-id/transactions";
+    private static final int SMALL_CONSENTS_COUNT = 2;
+    private static final int LARGE_CONSENTS_COUNT = 10;
+    private static final PageRequestParameters PAGE_REQUEST_PARAMETERS = new PageRequestParameters(0, LARGE_CONSENTS_COUNT);
+
+    @Autowired
+    private CmsAspspAisExportServiceInternal cmsAspspAisExportServiceInternal;
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private AuthorisationRepository authorisationRepository;
+    @Autowired
+    private TppInfoRepository tppInfoRepository;
+    @Autowired
+    private ConsentDataMapper consentDataMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private HibernateQueryCounter queryCounter;
+    private TppInfoEntity tppInfo;
+
+    @BeforeEach
+    void setUp() {
+        clearData();
+        queryCounter = new HibernateQueryCounter(entityManagerFactory);
+    }
+
+    @Test
+    @Transactional
+    void exportConsentsByTpp_queryCountDoesNotDependOnConsentsCount() {
+        // Given
+        tppInfo = tppInfoRepository.save(
+            jsonReader.getObjectFromFile("json/specification/tpp-info-entity.json", TppInfoEntity.class));
+        createConsentsWithAuthorisation(SMALL_CONSENTS_COUNT);
+        long smallExportQueryCount = countExportQueries(SMALL_CONSENTS_COUNT);
+
+        // When
+        createConsentsWithAuthorisation(LARGE_CONSENTS_COUNT - SMALL_CONSENTS_COUNT);
+        long largeExportQueryCount = countExportQueries(LARGE_CONSENTS_COUNT);
+
+        // Then
+        assertEquals(smallExportQueryCount, largeExportQueryCount);
+    }
+
+    private long countExportQueries(int expectedConsentsCount) {
+        entityManager.flush();
+        entityManager.clear();
+        queryCounter.reset();
+
+        PageData<Collection<CmsAisAccountConsent>> pageData =
+            cmsAspspAisExportServiceInternal.exportConsentsByTpp(tppInfo.getAuthorisationNumber(), null, null, null,
+                                                                 INSTANCE_ID, PAGE_REQUEST_PARAMETERS, null);
+        long queryCount = queryCounter.getQueryCount();
+
+        Collection<CmsAisAccountConsent> consents = pageData.getData();
+        assertEquals(expectedConsentsCount, consents.size());
+        consents.forEach(consent -> {
+            assertEquals(1, consent.getAccountConsentAuthorizations().size());
+            assertEquals(1, consent.getPsuIdDataList().size());
+            assertEquals(1, consent.getUsageCounterMap().size());
+        });
+
+        return queryCount;
+    }
+
+    private void createConsentsWithAuthorisation(int count) {
+        for (int i = 0; i < count; i++) {
+            createConsentWithAuthorisation();
+        }
+    }
+
+    private void createConsentWithAuthorisation() {
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/specification/consent-entity.json", ConsentEntity.class);
+        consentEntity.setId(null);
+        consentEntity.setExternalId(UUID.randomUUID().toString());
+        consentEntity.setConsentType(ConsentType.AIS.getName());
+        consentEntity.setData(consentDataMapper.getBytesFromConsentData(AisConsentData.buildDefaultAisConsentData()));
+        consentEntity.getTppInformation().setTppInfo(tppInfo);
+        consentEntity.addUsage(new AisConsentUsage(consentEntity, REQUEST_URI));
+        ConsentEntity consent = consentJpaRepository.save(consentEntity);
+
+        AuthorisationEntity authorisationEntity = jsonReader.getObjectFromFile("json/specification/authorisation-entity.json", AuthorisationEntity.class);
+        authorisationEntity.setId(null);
+        authorisationEntity.setExternalId(UUID.randomUUID().toString());
+        authorisationEntity.setParentExternalId(consent.getExternalId());
+        authorisationRepository.save(authorisationEntity);
+    }
+
+    @Configuration
+    @ComponentScan(basePackages = "de.adorsys.psd2.consent", useDefaultFilters = false,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {
+            CmsAspspAisExportServiceInternal.class, AisConsentMapper.class, PsuDataMapper.class, TppInfoMapper.class,
+            AuthorisationTemplateMapper.class, ConsentTppInformationMapper.class, AccessMapper.class,
+            AisConsentDataCache.class, AisConsentUsageService.class, AisConsentUsageBuffer.class,
+            AisConsentLazyMigrationService.class, ConsentDataMigrationStatusService.class, PageRequestBuilder.class,
+            KeysetChunkReader.class
+        }))
+    static class ExportServiceConfiguration {
+        @Bean
+        public ConsentDataMapper consentDataMapper() {
+            return new ConsentDataMapper();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.SchedulerLockEntity;
+import de.adorsys.psd2.integration.test.BaseTest;
+import de.adorsys.psd2.integration.test.TestDBConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(classes = TestDBConfiguration.class,
+    initializers = {SchedulerLockRepositoryIT.Initializer.class})
+class SchedulerLockRepositoryIT extends BaseTest {
+    private static final String LOCK_NAME = "test-job";
+    private static final String OWNER = "node-1";
+    private static final String ANOTHER_OWNER = "node-2";
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @BeforeEach
+    void setUp() {
+        schedulerLockRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional
+    void acquireLock_heldByAnotherOwner() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        schedulerLockRepository.save(new SchedulerLockEntity(LOCK_NAME, ANOTHER_OWNER, now.plusMinutes(10)));
+
+        // When
+        int updated = schedulerLockRepository.acquireLock(LOCK_NAME, OWNER, now, now.plusMinutes(10));
+
+        // Then
+        assertEquals(0, updated);
+    }
+
+    @Test
+    @Transactional
+    void acquireLock_expiredLease() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        schedulerLockRepository.save(new SchedulerLockEntity(LOCK_NAME, ANOTHER_OWNER, now.minusMinutes(1)));
+
+        // When
+        int updated = schedulerLockRepository.acquireLock(LOCK_NAME, OWNER, now, now.plusMinutes(10));
+
+        // Then
+        assertEquals(1, updated);
+    }
+
+    @Test
+    @Transactional
+    void acquireLock_extendOwnLease() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        schedulerLockRepository.save(new SchedulerLockEntity(LOCK_NAME, OWNER, now.plusMinutes(1)));
+
+        // When
+        int updated = schedulerLockRepository.acquireLock(LOCK_NAME, OWNER, now, now.plusMinutes(10));
+
+        // Then
+        assertEquals(1, updated);
+    }
+
+    @Test
+    @Transactional
+    void releaseLock_onlyByOwner() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        schedulerLockRepository.save(new SchedulerLockEntity(LOCK_NAME, OWNER, now.plusMinutes(10)));
+
+        // When
+        int releasedByAnotherOwner = schedulerLockRepository.releaseLock(LOCK_NAME, ANOTHER_OWNER, now);
+        int releasedByOwner = schedulerLockRepository.releaseLock(LOCK_NAME, OWNER, now);
+
+        // Then
+        assertEquals(0, releasedByAnotherOwner);
+        assertEquals(1, releasedByOwner);
+        assertEquals(1, schedulerLockRepository.acquireLock(LOCK_NAME, ANOTHER_OWNER, now, now.plusMinutes(10)));
+    }
+}
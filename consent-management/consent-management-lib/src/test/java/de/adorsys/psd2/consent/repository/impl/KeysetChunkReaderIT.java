@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository.impl;
+
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.TppInfoRepository;
+import de.adorsys.psd2.integration.test.BaseTest;
+import de.adorsys.psd2.integration.test.TestDBConfiguration;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(classes = TestDBConfiguration.class,
+    initializers = {KeysetChunkReaderIT.Initializer.class})
+class KeysetChunkReaderIT extends BaseTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final int CONSENTS_COUNT = 5;
+
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private TppInfoRepository tppInfoRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private KeysetChunkReader keysetChunkReader;
+
+    @BeforeEach
+    void setUp() {
+        clearData();
+
+        keysetChunkReader = new KeysetChunkReader();
+        ReflectionTestUtils.setField(keysetChunkReader, "chunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(keysetChunkReader, "entityManager", entityManager);
+    }
+
+    @Test
+    @Transactional
+    void readInChunks() {
+        // Given
+        TppInfoEntity tppInfo = tppInfoRepository.save(
+            jsonReader.getObjectFromFile("json/specification/tpp-info-entity.json", TppInfoEntity.class));
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < CONSENTS_COUNT; i++) {
+            expectedIds.add(createConsent(tppInfo).getId());
+        }
+        entityManager.flush();
+        List<List<Long>> chunks = new ArrayList<>();
+
+        // When
+        keysetChunkReader.readInChunks(ConsentEntity.class, null, ConsentEntity::getId,
+                                       chunk -> chunks.add(chunk.stream().map(ConsentEntity::getId).collect(Collectors.toList())));
+
+        // Then
+        assertEquals(3, chunks.size());
+        assertEquals(expectedIds, chunks.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    @Test
+    @Transactional
+    void readInChunks_withSpecification() {
+        // Given
+        TppInfoEntity tppInfo = tppInfoRepository.save(
+            jsonReader.getObjectFromFile("json/specification/tpp-info-entity.json", TppInfoEntity.class));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CONSENTS_COUNT; i++) {
+            ids.add(createConsent(tppInfo).getId());
+        }
+        entityManager.flush();
+        Long lastId = ids.get(ids.size() - 1);
+        Specification<ConsentEntity> specification = (root, query, cb) -> cb.notEqual(root.get("id"), lastId);
+        List<Long> actualIds = new ArrayList<>();
+
+        // When
+        keysetChunkReader.readInChunks(ConsentEntity.class, specification, ConsentEntity::getId,
+                                       chunk -> chunk.forEach(consent -> actualIds.add(consent.getId())));
+
+        // Then
+        assertEquals(ids.subList(0, ids.size() - 1), actualIds);
+    }
+
+    private ConsentEntity createConsent(TppInfoEntity tppInfo) {
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/specification/consent-entity.json", ConsentEntity.class);
+        consentEntity.setId(null);
+        consentEntity.setExternalId(UUID.randomUUID().toString());
+        consentEntity.setConsentType(ConsentType.AIS.getName());
+        consentEntity.getTppInformation().setTppInfo(tppInfo);
+        return consentJpaRepository.save(consentEntity);
+    }
+}
@@ -85,6 +85,7 @@ class AisConsentServiceInternalTest {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
         ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest)).thenReturn(true);
         ArgumentCaptor<AisConsentAction> aisConsentActionCaptor = ArgumentCaptor.forClass(AisConsentAction.class);
 
         CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
@@ -116,6 +117,7 @@ class AisConsentServiceInternalTest {
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
         ConsentEntity expiredConsent = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity-past-validUntil-expired.json", ConsentEntity.class);
         when(aisConsentConfirmationExpirationService.expireConsent(consentEntity)).thenReturn(expiredConsent);
+        when(aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest)).thenReturn(true);
 
         CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
 
@@ -128,6 +130,7 @@ class AisConsentServiceInternalTest {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
         ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest)).thenReturn(true);
 
         CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
 
@@ -135,6 +138,21 @@ class AisConsentServiceInternalTest {
         verify(aisConsentUsageService).incrementUsage(consentEntity, aisConsentActionRequest);
     }
 
+    @Test
+    void checkConsentAndSaveActionLog_frequencyPerDayReached_shouldReturnLogicalError() throws WrongChecksumException {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest)).thenReturn(false);
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.LOGICAL_ERROR, response.getError());
+        verify(aisConsentActionRepository).save(any());
+        verify(aisConsentRepository, never()).verifyAndSave(any());
+    }
+
     @Test
     void checkConsentAndSaveActionLog_noUpdateUsageInRequest_shouldIgnoreUsage() throws WrongChecksumException {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, false, null, null);
@@ -152,6 +170,7 @@ class AisConsentServiceInternalTest {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
         ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity-one-off.json", ConsentEntity.class);
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest)).thenReturn(true);
         CmsConsent cmsConsent = jsonReader.getObjectFromFile("json/service/ais-consent-service/cms-consent-one-off.json", CmsConsent.class);
         when(cmsConsentMapper.mapToCmsConsent(eq(consentEntity), anyList(), anyMap())).thenReturn(cmsConsent);
         when(oneOffConsentExpirationService.isConsentExpired(cmsConsent, 1L)).thenReturn(true);
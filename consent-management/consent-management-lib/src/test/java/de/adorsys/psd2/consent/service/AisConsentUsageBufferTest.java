@@ -0,0 +1,282 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AisConsentUsageBufferTest {
+    private static final Long CONSENT_ID = 1L;
+    private static final String REQUEST_URI = "/v1/accounts/account-id/balances";
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final int FREQUENCY_PER_DAY = 10;
+
+    @InjectMocks
+    private AisConsentUsageBuffer aisConsentUsageBuffer;
+    @Mock
+    private AisConsentUsageRepository aisConsentUsageRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(aisConsentUsageBuffer, "enabled", true);
+    }
+
+    @Test
+    void add_notRegistered() {
+        // When
+        AisConsentUsageBuffer.AddResult result = aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+
+        // Then
+        assertEquals(AisConsentUsageBuffer.AddResult.NOT_BUFFERED, result);
+        assertTrue(aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY).isEmpty());
+    }
+
+    @Test
+    void add_disabled() {
+        // Given
+        ReflectionTestUtils.setField(aisConsentUsageBuffer, "enabled", false);
+        aisConsentUsageBuffer.register(CONSENT_ID, TODAY, REQUEST_URI, FREQUENCY_PER_DAY);
+
+        // When
+        AisConsentUsageBuffer.AddResult result = aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+
+        // Then
+        assertEquals(AisConsentUsageBuffer.AddResult.NOT_BUFFERED, result);
+    }
+
+    @Test
+    void add_registered() {
+        // Given
+        registerUsage(TODAY, 1, FREQUENCY_PER_DAY);
+
+        // When
+        AisConsentUsageBuffer.AddResult firstResult = aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+        AisConsentUsageBuffer.AddResult secondResult = aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-2"));
+
+        // Then
+        assertEquals(AisConsentUsageBuffer.AddResult.BUFFERED, firstResult);
+        assertEquals(AisConsentUsageBuffer.AddResult.BUFFERED, secondResult);
+        assertEquals(Map.of(REQUEST_URI, 2), aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY));
+        assertTrue(aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    void add_frequencyPerDayReached() {
+        // Given
+        registerUsage(TODAY, 1, 3);
+
+        // When
+        AisConsentUsageBuffer.AddResult firstResult = aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+        AisConsentUsageBuffer.AddResult secondResult = aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-2"));
+        AisConsentUsageBuffer.AddResult thirdResult = aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-3"));
+
+        // Then
+        assertEquals(AisConsentUsageBuffer.AddResult.BUFFERED, firstResult);
+        assertEquals(AisConsentUsageBuffer.AddResult.BUFFERED, secondResult);
+        assertEquals(AisConsentUsageBuffer.AddResult.QUOTA_EXHAUSTED, thirdResult);
+        assertEquals(Map.of(REQUEST_URI, 2), aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY));
+    }
+
+    @Test
+    void flush() {
+        // Given
+        registerUsage(TODAY, 1, FREQUENCY_PER_DAY);
+        aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+        aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-2"));
+        when(aisConsentUsageRepository.incrementUsage(CONSENT_ID, TODAY, REQUEST_URI, 2, FREQUENCY_PER_DAY, "resource-2", null))
+            .thenReturn(1);
+
+        // When
+        aisConsentUsageBuffer.flush();
+
+        // Then
+        assertTrue(aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY).isEmpty());
+        assertEquals(AisConsentUsageBuffer.AddResult.BUFFERED, aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-3")));
+    }
+
+    @Test
+    void flush_nothingBuffered() {
+        // Given
+        registerUsage(TODAY, 1, FREQUENCY_PER_DAY);
+
+        // When
+        aisConsentUsageBuffer.flush();
+
+        // Then
+        verify(aisConsentUsageRepository, never()).incrementUsage(any(), any(), any(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void flush_failure() {
+        // Given
+        registerUsage(TODAY, 1, FREQUENCY_PER_DAY);
+        aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+        when(aisConsentUsageRepository.incrementUsage(CONSENT_ID, TODAY, REQUEST_URI, 1, FREQUENCY_PER_DAY, "resource-1", null))
+            .thenThrow(new IllegalStateException("Database is not available"));
+
+        // When
+        aisConsentUsageBuffer.flush();
+
+        // Then
+        assertEquals(Map.of(REQUEST_URI, 1), aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY));
+    }
+
+    @Test
+    void flush_usageNotFound() {
+        // Given
+        registerUsage(TODAY, 1, FREQUENCY_PER_DAY);
+        aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+        when(aisConsentUsageRepository.incrementUsage(CONSENT_ID, TODAY, REQUEST_URI, 1, FREQUENCY_PER_DAY, "resource-1", null))
+            .thenReturn(0);
+
+        // When
+        aisConsentUsageBuffer.flush();
+
+        // Then
+        assertTrue(aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY).isEmpty());
+        assertEquals(AisConsentUsageBuffer.AddResult.NOT_BUFFERED, aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-2")));
+    }
+
+    @Test
+    void flush_previousDayRemoved() {
+        // Given
+        LocalDate yesterday = TODAY.minusDays(1);
+        registerUsage(yesterday, 1, FREQUENCY_PER_DAY);
+        aisConsentUsageBuffer.add(CONSENT_ID, yesterday, buildRequest("resource-1"));
+        when(aisConsentUsageRepository.incrementUsage(CONSENT_ID, yesterday, REQUEST_URI, 1, FREQUENCY_PER_DAY, "resource-1", null))
+            .thenReturn(1);
+
+        // When
+        aisConsentUsageBuffer.flush();
+
+        // Then
+        assertEquals(AisConsentUsageBuffer.AddResult.NOT_BUFFERED, aisConsentUsageBuffer.add(CONSENT_ID, yesterday, buildRequest("resource-2")));
+    }
+
+    @Test
+    void discard() {
+        // Given
+        registerUsage(TODAY, 1, FREQUENCY_PER_DAY);
+        aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-1"));
+
+        // When
+        aisConsentUsageBuffer.discard(CONSENT_ID);
+
+        // Then
+        assertTrue(aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY).isEmpty());
+        assertEquals(AisConsentUsageBuffer.AddResult.NOT_BUFFERED, aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-2")));
+        aisConsentUsageBuffer.flush();
+        verify(aisConsentUsageRepository, never()).incrementUsage(any(), any(), any(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void concurrentUsagesAndFlushes_exactCount() throws Exception {
+        // Given
+        int threads = 16;
+        int usagesPerThread = 2_000;
+        AtomicInteger flushedUsages = new AtomicInteger();
+        when(aisConsentUsageRepository.incrementUsage(eq(CONSENT_ID), eq(TODAY), eq(REQUEST_URI), anyInt(), eq(Integer.MAX_VALUE), any(), any()))
+            .thenAnswer(invocation -> {
+                flushedUsages.addAndGet(invocation.getArgument(3));
+                return 1;
+            });
+        registerUsage(TODAY, 0, Integer.MAX_VALUE);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicBoolean usagesFinished = new AtomicBoolean();
+        AtomicInteger undercounts = new AtomicInteger();
+        List<Future<?>> usageFutures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < threads; i++) {
+            usageFutures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < usagesPerThread; j++) {
+                    assertEquals(AisConsentUsageBuffer.AddResult.BUFFERED, aisConsentUsageBuffer.add(CONSENT_ID, TODAY, buildRequest("resource-" + j)));
+                }
+                return null;
+            }));
+        }
+        Future<?> flushFuture = executorService.submit(() -> {
+            startLatch.await();
+            int lastCount = 0;
+            while (!usagesFinished.get()) {
+                aisConsentUsageBuffer.flush();
+                int count = flushedUsages.get() + aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY).getOrDefault(REQUEST_URI, 0);
+                if (count < lastCount) {
+                    undercounts.incrementAndGet();
+                }
+                lastCount = count;
+            }
+            return null;
+        });
+        startLatch.countDown();
+        for (Future<?> usageFuture : usageFutures) {
+            usageFuture.get(1, TimeUnit.MINUTES);
+        }
+        usagesFinished.set(true);
+        flushFuture.get(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+        aisConsentUsageBuffer.flush();
+
+        // Then
+        assertEquals(threads * usagesPerThread, flushedUsages.get());
+        assertTrue(aisConsentUsageBuffer.getPendingAmounts(CONSENT_ID, TODAY).isEmpty());
+        assertEquals(0, undercounts.get());
+    }
+
+    private void registerUsage(LocalDate usageDate, int storedUsage, int frequencyPerDay) {
+        when(aisConsentUsageRepository.findUsageAmount(CONSENT_ID, usageDate, REQUEST_URI)).thenReturn(Optional.of(storedUsage));
+        aisConsentUsageBuffer.register(CONSENT_ID, usageDate, REQUEST_URI, frequencyPerDay);
+    }
+
+    private AisConsentActionRequest buildRequest(String resourceId) {
+        return new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, REQUEST_URI, true, resourceId, null);
+    }
+}
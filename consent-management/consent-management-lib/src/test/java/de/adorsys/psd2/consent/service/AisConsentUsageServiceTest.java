@@ -20,68 +20,156 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.AisConsentUsageAmount;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AisConsentUsageServiceTest {
+    private static final long CONSENT_ID = 1L;
+    private static final long ANOTHER_CONSENT_ID = 2L;
+    private static final long UNUSED_CONSENT_ID = 3L;
+    private static final int FREQUENCY_PER_DAY = 4;
+
     @InjectMocks
     private AisConsentUsageService aisConsentUsageService;
     @Mock
     private AisConsentUsageRepository aisConsentUsageRepository;
+    @Mock
+    private AisConsentUsageBuffer aisConsentUsageBuffer;
+    @Mock
+    private ConsentJpaRepository consentJpaRepository;
 
     @Test
-    void incrementUsage_getUsageFromRepository() {
+    void incrementUsage_existingUsage() {
         //Given
-        ConsentEntity consentEntity = new ConsentEntity();
-        int initialUsage = 5;
-        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
-        ArgumentCaptor<AisConsentUsage> argumentCaptor = ArgumentCaptor.forClass(AisConsentUsage.class);
-        AisConsentUsage aisConsentUsage = new AisConsentUsage();
-        aisConsentUsage.setUsage(initialUsage);
-        when(aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()))).thenReturn(Optional.of(aisConsentUsage));
+        ConsentEntity consentEntity = buildConsentEntity();
+        AisConsentActionRequest aisConsentActionRequest = buildActionRequest();
+        when(aisConsentUsageRepository.incrementUsage(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()), eq(1), eq(FREQUENCY_PER_DAY),
+                                                      eq(aisConsentActionRequest.getResourceId()), eq(aisConsentActionRequest.getTransactionId()))).thenReturn(1);
         //When
-        aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        boolean counted = aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
         //Then
-        verify(aisConsentUsageRepository).save(argumentCaptor.capture());
-        AisConsentUsage aisConsentUsageCaptured = argumentCaptor.getValue();
-        assertEquals(++initialUsage, aisConsentUsageCaptured.getUsage());
-        assertEquals(aisConsentActionRequest.getResourceId(), aisConsentUsageCaptured.getResourceId());
-        assertEquals(aisConsentActionRequest.getTransactionId(), aisConsentUsageCaptured.getTransactionId());
+        assertTrue(counted);
+        verify(aisConsentUsageRepository, never()).save(any());
+        verify(consentJpaRepository, never()).findAndLockById(any());
+        verify(aisConsentUsageBuffer).register(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()), eq(FREQUENCY_PER_DAY));
     }
 
     @Test
     void incrementUsage_noUsageInRepository() {
         //Given
-        ConsentEntity consentEntity = new ConsentEntity();
-        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
+        ConsentEntity consentEntity = buildConsentEntity();
+        AisConsentActionRequest aisConsentActionRequest = buildActionRequest();
         ArgumentCaptor<AisConsentUsage> argumentCaptor = ArgumentCaptor.forClass(AisConsentUsage.class);
-        when(aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()))).thenReturn(Optional.empty());
+        when(aisConsentUsageRepository.incrementUsage(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()), eq(1), eq(FREQUENCY_PER_DAY),
+                                                      eq(aisConsentActionRequest.getResourceId()), eq(aisConsentActionRequest.getTransactionId()))).thenReturn(0);
+        when(aisConsentUsageRepository.findAndLockUsage(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri())))
+            .thenReturn(Optional.empty());
         //When
-        aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        boolean counted = aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
         //Then
+        assertTrue(counted);
+        verify(consentJpaRepository).findAndLockById(CONSENT_ID);
         verify(aisConsentUsageRepository).save(argumentCaptor.capture());
         AisConsentUsage aisConsentUsageCaptured = argumentCaptor.getValue();
         assertEquals(1, aisConsentUsageCaptured.getUsage());
+        assertEquals(aisConsentActionRequest.getRequestUri(), aisConsentUsageCaptured.getRequestUri());
         assertEquals(aisConsentActionRequest.getResourceId(), aisConsentUsageCaptured.getResourceId());
         assertEquals(aisConsentActionRequest.getTransactionId(), aisConsentUsageCaptured.getTransactionId());
+        assertSame(aisConsentUsageCaptured, consentEntity.getUsages().get(0));
+        verify(aisConsentUsageBuffer, never()).register(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void incrementUsage_usageCreatedConcurrently_shouldRetryUpdate() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        AisConsentActionRequest aisConsentActionRequest = buildActionRequest();
+        when(aisConsentUsageRepository.incrementUsage(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()), eq(1), eq(FREQUENCY_PER_DAY),
+                                                      eq(aisConsentActionRequest.getResourceId()), eq(aisConsentActionRequest.getTransactionId())))
+            .thenReturn(0, 1);
+        //When
+        boolean counted = aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        //Then
+        assertTrue(counted);
+        InOrder inOrder = inOrder(aisConsentUsageRepository, consentJpaRepository);
+        inOrder.verify(aisConsentUsageRepository).incrementUsage(any(), any(), any(), anyInt(), anyInt(), any(), any());
+        inOrder.verify(consentJpaRepository).findAndLockById(CONSENT_ID);
+        inOrder.verify(aisConsentUsageRepository).incrementUsage(any(), any(), any(), anyInt(), anyInt(), any(), any());
+        verify(aisConsentUsageRepository, never()).save(any());
+    }
+
+    @Test
+    void incrementUsage_frequencyPerDayReached() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        AisConsentActionRequest aisConsentActionRequest = buildActionRequest();
+        when(aisConsentUsageRepository.incrementUsage(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()), eq(1), eq(FREQUENCY_PER_DAY),
+                                                      eq(aisConsentActionRequest.getResourceId()), eq(aisConsentActionRequest.getTransactionId()))).thenReturn(0);
+        when(aisConsentUsageRepository.findAndLockUsage(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri())))
+            .thenReturn(Optional.of(buildAisConsentUsage(FREQUENCY_PER_DAY)));
+        //When
+        boolean counted = aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        //Then
+        assertFalse(counted);
+        verify(aisConsentUsageRepository, never()).save(any());
+        verify(aisConsentUsageBuffer, never()).register(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void incrementUsage_buffered() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        AisConsentActionRequest aisConsentActionRequest = buildActionRequest();
+        when(aisConsentUsageBuffer.add(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest)))
+            .thenReturn(AisConsentUsageBuffer.AddResult.BUFFERED);
+        //When
+        boolean counted = aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        //Then
+        assertTrue(counted);
+        verifyNoInteractions(aisConsentUsageRepository);
+    }
+
+    @Test
+    void incrementUsage_bufferedQuotaExhausted() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        AisConsentActionRequest aisConsentActionRequest = buildActionRequest();
+        when(aisConsentUsageBuffer.add(eq(CONSENT_ID), any(LocalDate.class), eq(aisConsentActionRequest)))
+            .thenReturn(AisConsentUsageBuffer.AddResult.QUOTA_EXHAUSTED);
+        //When
+        boolean counted = aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        //Then
+        assertFalse(counted);
+        verifyNoInteractions(aisConsentUsageRepository, consentJpaRepository);
     }
 
     @Test
@@ -106,13 +194,71 @@ class AisConsentUsageServiceTest {
         //Given
         int frequencyPerDay = 30;
         ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(CONSENT_ID);
         consentEntity.setFrequencyPerDay(frequencyPerDay);
-        List<AisConsentUsage> aisConsentUsageList = Arrays.asList(buildAisConsentUsage(5, "uri_1"), buildAisConsentUsage(8, "uri_2"), buildAisConsentUsage(10, "uri_3"));
-        when(aisConsentUsageRepository.findReadByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class))).thenReturn(aisConsentUsageList);
+        List<AisConsentUsageAmount> usageAmounts = Arrays.asList(buildUsageAmount("uri_1", 5), buildUsageAmount("uri_2", 8), buildUsageAmount("uri_3", 10));
+        when(aisConsentUsageRepository.findUsageAmountsByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class))).thenReturn(usageAmounts);
         //When
         Map<String, Integer> usageCounterMap = aisConsentUsageService.getUsageCounterMap(consentEntity);
         //Then
-        aisConsentUsageList.forEach(aisConsentUsage -> assertEquals(frequencyPerDay - aisConsentUsage.getUsage(), usageCounterMap.get(aisConsentUsage.getRequestUri())));
+        usageAmounts.forEach(usageAmount -> assertEquals(frequencyPerDay - usageAmount.getUsage(), usageCounterMap.get(usageAmount.getRequestUri())));
+    }
+
+    @Test
+    void getUsageCounterMap_withBufferedUsages() {
+        //Given
+        int frequencyPerDay = 10;
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(CONSENT_ID);
+        consentEntity.setFrequencyPerDay(frequencyPerDay);
+        when(aisConsentUsageRepository.findUsageAmountsByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class)))
+            .thenReturn(Arrays.asList(buildUsageAmount("uri_1", 5), buildUsageAmount("uri_2", 8)));
+        when(aisConsentUsageBuffer.getPendingAmounts(eq(CONSENT_ID), any(LocalDate.class)))
+            .thenReturn(Map.of("uri_1", 2, "uri_2", 4));
+        //When
+        Map<String, Integer> usageCounterMap = aisConsentUsageService.getUsageCounterMap(consentEntity);
+        //Then
+        assertEquals(Map.of("uri_1", 3, "uri_2", 0), usageCounterMap);
+    }
+
+    @Test
+    void getUsageCounterMaps_oneQueryForAllConsents() {
+        //Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(CONSENT_ID);
+        consentEntity.setFrequencyPerDay(10);
+        ConsentEntity anotherConsentEntity = new ConsentEntity();
+        anotherConsentEntity.setId(ANOTHER_CONSENT_ID);
+        anotherConsentEntity.setFrequencyPerDay(4);
+        ConsentEntity unusedConsentEntity = new ConsentEntity();
+        unusedConsentEntity.setId(UNUSED_CONSENT_ID);
+        unusedConsentEntity.setFrequencyPerDay(4);
+        when(aisConsentUsageRepository.findUsageAmountsByConsentIdsAndUsageDate(eq(Arrays.asList(CONSENT_ID, ANOTHER_CONSENT_ID, UNUSED_CONSENT_ID)), any(LocalDate.class)))
+            .thenReturn(Arrays.asList(buildUsageAmount(CONSENT_ID, "uri_1", 5), buildUsageAmount(ANOTHER_CONSENT_ID, "uri_1", 1),
+                                      buildUsageAmount(ANOTHER_CONSENT_ID, "uri_2", 6)));
+        when(aisConsentUsageBuffer.getPendingAmounts(eq(CONSENT_ID), any(LocalDate.class)))
+            .thenReturn(Map.of("uri_1", 2));
+        //When
+        Map<Long, Map<String, Integer>> usageCounterMaps =
+            aisConsentUsageService.getUsageCounterMaps(Arrays.asList(consentEntity, anotherConsentEntity, unusedConsentEntity));
+        //Then
+        assertEquals(Map.of(CONSENT_ID, Map.of("uri_1", 3),
+                            ANOTHER_CONSENT_ID, Map.of("uri_1", 3, "uri_2", 0),
+                            UNUSED_CONSENT_ID, Collections.emptyMap()),
+                     usageCounterMaps);
+        verify(aisConsentUsageRepository, never()).findUsageAmountsByConsentAndUsageDate(any(), any());
+    }
+
+    @Test
+    void resetUsage_discardsBufferedUsages() {
+        //Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(CONSENT_ID);
+        when(aisConsentUsageRepository.findReadByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class))).thenReturn(Collections.emptyList());
+        //When
+        aisConsentUsageService.resetUsage(consentEntity);
+        //Then
+        verify(aisConsentUsageBuffer).discard(CONSENT_ID);
     }
 
     private AisConsentUsage buildAisConsentUsage(int usage) {
@@ -127,4 +273,38 @@ class AisConsentUsageServiceTest {
         aisConsentUsage.setRequestUri(requestUri);
         return aisConsentUsage;
     }
+
+    private AisConsentUsageAmount buildUsageAmount(String requestUri, int usage) {
+        return buildUsageAmount(CONSENT_ID, requestUri, usage);
+    }
+
+    private AisConsentUsageAmount buildUsageAmount(Long consentId, String requestUri, int usage) {
+        return new AisConsentUsageAmount() {
+            @Override
+            public Long getConsentId() {
+                return consentId;
+            }
+
+            @Override
+            public String getRequestUri() {
+                return requestUri;
+            }
+
+            @Override
+            public int getUsage() {
+                return usage;
+            }
+        };
+    }
+
+    private ConsentEntity buildConsentEntity() {
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(CONSENT_ID);
+        consentEntity.setFrequencyPerDay(FREQUENCY_PER_DAY);
+        return consentEntity;
+    }
+
+    private AisConsentActionRequest buildActionRequest() {
+        return new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
+    }
 }
@@ -16,13 +16,17 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
 import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.consent.TerminateOldConsentsRequest;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -45,11 +49,14 @@ class ConsentServiceInternalEncryptedTest {
     private static final String ENCRYPTED_CONSENT_ID = "encrypted consent id";
     private static final String MALFORMED_ENCRYPTED_CONSENT_ID = "malformed encrypted consent id";
     private static final String CONSENT_ID = "consent id";
+    private static final byte[] ASPSP_CONSENT_DATA = "some ASPSP consent data".getBytes();
 
     @Mock
     private SecurityDataService securityDataService;
     @Mock
     private ConsentService consentService;
+    @Mock
+    private AspspDataService aspspDataService;
 
     @InjectMocks
     private ConsentServiceInternalEncrypted consentServiceInternalEncrypted;
@@ -293,4 +300,46 @@ class ConsentServiceInternalEncryptedTest {
         assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
         verify(consentService, never()).updateMultilevelScaRequired(any(), anyBoolean());
     }
+
+    @Test
+    void completeConsentCreation() throws WrongChecksumException {
+        CmsCompleteConsentCreationRequest request = new CmsCompleteConsentCreationRequest(ASPSP_CONSENT_DATA, true, null);
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(CONSENT_ID));
+        when(consentService.completeConsentCreation(CONSENT_ID, request))
+            .thenReturn(CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                            .payload(new CmsCompleteConsentCreationResponse(null))
+                            .build());
+
+        CmsResponse<CmsCompleteConsentCreationResponse> response = consentServiceInternalEncrypted.completeConsentCreation(ENCRYPTED_CONSENT_ID, request);
+
+        assertTrue(response.isSuccessful());
+        verify(aspspDataService).updateAspspConsentData(new AspspConsentData(ASPSP_CONSENT_DATA, ENCRYPTED_CONSENT_ID));
+    }
+
+    @Test
+    void completeConsentCreation_serviceError() throws WrongChecksumException {
+        CmsCompleteConsentCreationRequest request = new CmsCompleteConsentCreationRequest(ASPSP_CONSENT_DATA, true, null);
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(CONSENT_ID));
+        when(consentService.completeConsentCreation(CONSENT_ID, request))
+            .thenReturn(CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                            .error(CmsError.LOGICAL_ERROR)
+                            .build());
+
+        CmsResponse<CmsCompleteConsentCreationResponse> response = consentServiceInternalEncrypted.completeConsentCreation(ENCRYPTED_CONSENT_ID, request);
+
+        assertTrue(response.hasError());
+        verify(aspspDataService, never()).updateAspspConsentData(any());
+    }
+
+    @Test
+    void completeConsentCreation_malformedEncryptedId() throws WrongChecksumException {
+        when(securityDataService.decryptId(MALFORMED_ENCRYPTED_CONSENT_ID)).thenReturn(Optional.empty());
+
+        CmsResponse<CmsCompleteConsentCreationResponse> response =
+            consentServiceInternalEncrypted.completeConsentCreation(MALFORMED_ENCRYPTED_CONSENT_ID, new CmsCompleteConsentCreationRequest());
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+        verify(consentService, never()).completeConsentCreation(any(), any());
+    }
 }
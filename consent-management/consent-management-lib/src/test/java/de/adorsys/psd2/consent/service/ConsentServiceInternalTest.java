@@ -25,7 +25,13 @@ import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.authorisation.AisAuthorisationParentHolder;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.AuthorisationTemplateEntity;
 import de.adorsys.psd2.consent.domain.PsuData;
@@ -44,6 +50,7 @@ import de.adorsys.psd2.consent.service.psu.CmsPsuService;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.consent.TerminateOldConsentsRequest;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.xs2a.reader.JsonReader;
@@ -113,6 +120,8 @@ class ConsentServiceInternalTest {
     private AuthorisationRepository authorisationRepository;
     @Mock
     private AspspProfileService aspspProfileService;
+    @Mock
+    private AuthorisationService authorisationService;
 
     @BeforeEach
     void setUp() {
@@ -397,6 +406,63 @@ class ConsentServiceInternalTest {
         assertFalse(actual.getPayload());
     }
 
+    @Test
+    void completeConsentCreation_withMultilevelScaAndAuthorisation() throws WrongChecksumException {
+        // Given
+        when(consentJpaRepository.findByExternalId(EXTERNAL_CONSENT_ID))
+            .thenReturn(Optional.ofNullable(consentEntity));
+        CreateAuthorisationRequest authorisationRequest = buildCreateAuthorisationRequest();
+        CreateAuthorisationResponse authorisationResponse = new CreateAuthorisationResponse(AUTHORISATION_ID, ScaStatus.RECEIVED, null, PSU_ID_DATA, ScaApproach.EMBEDDED);
+        when(authorisationService.createAuthorisation(new AisAuthorisationParentHolder(EXTERNAL_CONSENT_ID), authorisationRequest))
+            .thenReturn(CmsResponse.<CreateAuthorisationResponse>builder()
+                            .payload(authorisationResponse)
+                            .build());
+
+        // When
+        CmsResponse<CmsCompleteConsentCreationResponse> actual =
+            consentServiceInternal.completeConsentCreation(EXTERNAL_CONSENT_ID, new CmsCompleteConsentCreationRequest(null, true, authorisationRequest));
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(authorisationResponse, actual.getPayload().getAuthorisation());
+        assertTrue(consentEntity.isMultilevelScaRequired());
+        verify(aisConsentVerifyingRepository).verifyAndSave(consentEntity);
+    }
+
+    @Test
+    void completeConsentCreation_withoutMultilevelSca_shouldNotUpdateConsent() throws WrongChecksumException {
+        // Given
+        CreateAuthorisationRequest authorisationRequest = buildCreateAuthorisationRequest();
+        when(authorisationService.createAuthorisation(new AisAuthorisationParentHolder(EXTERNAL_CONSENT_ID), authorisationRequest))
+            .thenReturn(CmsResponse.<CreateAuthorisationResponse>builder()
+                            .error(CmsError.LOGICAL_ERROR)
+                            .build());
+
+        // When
+        CmsResponse<CmsCompleteConsentCreationResponse> actual =
+            consentServiceInternal.completeConsentCreation(EXTERNAL_CONSENT_ID, new CmsCompleteConsentCreationRequest(null, false, authorisationRequest));
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertNull(actual.getPayload().getAuthorisation());
+        verifyNoInteractions(consentJpaRepository, aisConsentVerifyingRepository);
+    }
+
+    @Test
+    void completeConsentCreation_noEntity_shouldReturnLogicalError() throws WrongChecksumException {
+        // Given
+        when(consentJpaRepository.findByExternalId(EXTERNAL_CONSENT_ID))
+            .thenReturn(Optional.empty());
+
+        // When
+        CmsResponse<CmsCompleteConsentCreationResponse> actual =
+            consentServiceInternal.completeConsentCreation(EXTERNAL_CONSENT_ID, new CmsCompleteConsentCreationRequest(null, true, buildCreateAuthorisationRequest()));
+
+        // Then
+        assertLogicalError(actual);
+        verifyNoInteractions(authorisationService);
+    }
+
     @Test
     void updateConsentStatusById_UpdateFinalisedStatus_Fail() throws WrongChecksumException {
         // Given
@@ -717,6 +783,15 @@ class ConsentServiceInternalTest {
         return consent;
     }
 
+    private CreateAuthorisationRequest buildCreateAuthorisationRequest() {
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest();
+        authorisationRequest.setAuthorisationId(AUTHORISATION_ID);
+        authorisationRequest.setScaStatus(ScaStatus.STARTED);
+        authorisationRequest.setPsuData(PSU_ID_DATA);
+        authorisationRequest.setScaApproach(ScaApproach.EMBEDDED);
+        return authorisationRequest;
+    }
+
     private AuthorisationEntity buildConsentAuthorisation() {
         AuthorisationEntity authorisationEntity = new AuthorisationEntity();
         authorisationEntity.setExternalId(AUTHORISATION_ID);
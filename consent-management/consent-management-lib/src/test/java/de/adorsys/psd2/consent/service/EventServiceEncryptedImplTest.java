@@ -28,10 +28,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -131,6 +133,21 @@ class EventServiceEncryptedImplTest {
         assertEquals(decryptedEvent, argumentCaptor.getValue());
     }
 
+    @Test
+    void recordEvents_success() {
+        // Given
+        when(securityDataService.decryptId(ENCRYPTED_PAYMENT_ID)).thenReturn(Optional.of(DECRYPTED_PAYMENT_ID));
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+        when(eventService.recordEvents(Arrays.asList(decryptedEvent, decryptedEvent))).thenReturn(true);
+
+        // When
+        boolean actual = eventServiceEncryptedImpl.recordEvents(Arrays.asList(event, event));
+
+        // Then
+        assertTrue(actual);
+        verify(eventService, never()).recordEvent(any(EventBO.class));
+    }
+
     private EventBO buildEvent() {
         return buildEvent(null, null);
     }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures latency distribution (including p99) of PIIS consent lookups on the funds confirmation path with and without
+ * {@link PiisConsentIndex}. The database search is simulated by a fixed delay, a small share of lookups is preceded by
+ * invalidation of the account, as it happens on changes of consents.
+ * <p>
+ * Run with <code>main</code> method from IDE or with <code>java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main PiisConsentIndexBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class PiisConsentIndexBenchmark {
+    private static final Currency CURRENCY = Currency.getInstance("EUR");
+    private static final int ACCOUNTS = 1000;
+
+    @Param({"false", "true"})
+    private boolean indexEnabled;
+
+    @Param({"500"})
+    private long databaseLatencyMicros;
+
+    @Param({"10"})
+    private int invalidationsPerThousand;
+
+    private PiisConsentIndex piisConsentIndex;
+    private AccountReferenceSelector[] selectors;
+
+    @Setup
+    public void setUp() {
+        piisConsentIndex = new PiisConsentIndex(indexEnabled, 10000, ACCOUNTS * 2);
+        selectors = new AccountReferenceSelector[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            selectors[i] = new AccountReferenceSelector(AccountReferenceType.IBAN, String.format("DE%020d", i));
+        }
+    }
+
+    @Benchmark
+    public List<CmsConsent> getConsents() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AccountReferenceSelector selector = selectors[random.nextInt(ACCOUNTS)];
+        if (random.nextInt(1000) < invalidationsPerThousand) {
+            piisConsentIndex.invalidate(Collections.singleton(selector.getAccountValue()));
+        }
+        return piisConsentIndex.getConsents(CURRENCY, selector, this::searchConsents);
+    }
+
+    private List<CmsConsent> searchConsents() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(databaseLatencyMicros));
+        return Collections.singletonList(new CmsConsent());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(PiisConsentIndexBenchmark.class.getSimpleName())
+                       .build())
+            .run();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.account.AspspAccountAccess;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.Currency;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PiisConsentIndexListenerTest {
+    private static final String IBAN = "DE62500105179972514662";
+
+    @InjectMocks
+    private PiisConsentIndexListener piisConsentIndexListener;
+    @Mock
+    private PiisConsentIndex piisConsentIndex;
+
+    @Test
+    void onPostInsert_piisConsent() {
+        // When
+        piisConsentIndexListener.onPostInsert(new PostInsertEvent(buildConsentEntity(ConsentType.PIIS_ASPSP), 1L, null, null, null));
+
+        // Then
+        verify(piisConsentIndex).invalidate(Collections.singleton(IBAN));
+    }
+
+    @Test
+    void onPostUpdate_piisConsent() {
+        // When
+        piisConsentIndexListener.onPostUpdate(new PostUpdateEvent(buildConsentEntity(ConsentType.PIIS_ASPSP), 1L, null, null, null, null, null));
+
+        // Then
+        verify(piisConsentIndex).invalidate(Collections.singleton(IBAN));
+    }
+
+    @Test
+    void onPostDelete_piisConsent() {
+        // When
+        piisConsentIndexListener.onPostDelete(new PostDeleteEvent(buildConsentEntity(ConsentType.PIIS_ASPSP), 1L, null, null, null));
+
+        // Then
+        verify(piisConsentIndex).invalidate(Collections.singleton(IBAN));
+    }
+
+    @Test
+    void onPostUpdate_aisConsent_shouldBeIgnored() {
+        // When
+        piisConsentIndexListener.onPostUpdate(new PostUpdateEvent(buildConsentEntity(ConsentType.AIS), 1L, null, null, null, null, null));
+
+        // Then
+        verify(piisConsentIndex, never()).invalidate(any());
+    }
+
+    @Test
+    void onPostInsert_otherEntity_shouldBeIgnored() {
+        // When
+        piisConsentIndexListener.onPostInsert(new PostInsertEvent(new TppInfoEntity(), 1L, null, null, null));
+
+        // Then
+        verify(piisConsentIndex, never()).invalidate(any());
+    }
+
+    private ConsentEntity buildConsentEntity(ConsentType consentType) {
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setConsentType(consentType.getName());
+        consentEntity.setAspspAccountAccesses(Collections.singletonList(
+            new AspspAccountAccess(IBAN, TypeAccess.ACCOUNT, AccountReferenceType.IBAN, Currency.getInstance("EUR"), null, null)));
+        return consentEntity;
+    }
+}
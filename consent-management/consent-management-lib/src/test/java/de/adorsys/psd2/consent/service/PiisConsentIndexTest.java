@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PiisConsentIndexTest {
+    private static final Currency CURRENCY = Currency.getInstance("EUR");
+    private static final String IBAN = "DE62500105179972514662";
+    private static final String OTHER_IBAN = "FR7030066926176517166656113";
+    private static final AccountReferenceSelector SELECTOR = new AccountReferenceSelector(AccountReferenceType.IBAN, IBAN);
+    private static final AccountReferenceSelector OTHER_SELECTOR = new AccountReferenceSelector(AccountReferenceType.IBAN, OTHER_IBAN);
+    private static final long TTL_MS = 1000;
+
+    @Mock
+    private Clock clock;
+
+    private PiisConsentIndex piisConsentIndex;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        piisConsentIndex = new PiisConsentIndex(true, TTL_MS, 2, clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getConsents_shouldLoadConsentsOnlyOnce() {
+        // Given
+        when(clock.millis()).thenReturn(0L, 999L);
+
+        // When
+        List<CmsConsent> first = piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+        List<CmsConsent> second = piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getConsents_differentCurrency_shouldLoadConsentsAgain() {
+        // Given
+        when(clock.millis()).thenReturn(0L);
+
+        // When
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+        piisConsentIndex.getConsents(null, SELECTOR, this::loadConsents);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getConsents_expiredEntry_shouldLoadConsentsAgain() {
+        // Given
+        when(clock.millis()).thenReturn(0L, TTL_MS);
+
+        // When
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getConsents_afterInvalidation_shouldLoadConsentsAgain() {
+        // Given
+        when(clock.millis()).thenReturn(0L);
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+        piisConsentIndex.getConsents(CURRENCY, OTHER_SELECTOR, this::loadConsents);
+
+        // When
+        piisConsentIndex.invalidate(Collections.singleton(IBAN));
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+        piisConsentIndex.getConsents(CURRENCY, OTHER_SELECTOR, this::loadConsents);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void getConsents_invalidatedDuringLoad_shouldNotStoreConsents() {
+        // Given
+        when(clock.millis()).thenReturn(0L);
+
+        // When
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, () -> {
+            piisConsentIndex.invalidate(Collections.singleton(IBAN));
+            return loadConsents();
+        });
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getConsents_maxSizeReached_shouldClearIndex() {
+        // Given
+        piisConsentIndex = new PiisConsentIndex(true, TTL_MS, 1, clock);
+        when(clock.millis()).thenReturn(0L);
+
+        // When
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+        piisConsentIndex.getConsents(CURRENCY, OTHER_SELECTOR, this::loadConsents);
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void getConsents_disabled_shouldAlwaysLoadConsents() {
+        // Given
+        piisConsentIndex = new PiisConsentIndex(false, TTL_MS, 2, clock);
+
+        // When
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+        piisConsentIndex.getConsents(CURRENCY, SELECTOR, this::loadConsents);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    private List<CmsConsent> loadConsents() {
+        loads.incrementAndGet();
+        return Collections.singletonList(new CmsConsent());
+    }
+}
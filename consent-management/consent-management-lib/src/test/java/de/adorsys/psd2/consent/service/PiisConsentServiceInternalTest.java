@@ -28,12 +28,13 @@ import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
 import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -42,7 +43,7 @@ import java.util.Currency;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PiisConsentServiceInternalTest {
@@ -58,7 +59,6 @@ class PiisConsentServiceInternalTest {
     private static final AccountReferenceSelector SELECTOR_IBAN = new AccountReferenceSelector(AccountReferenceType.IBAN, IBAN);
     private static final Specification<ConsentEntity> SPECIFICATION_IBAN = (root, cq, cb) -> null;
 
-    @InjectMocks
     private PiisConsentServiceInternal piisConsentServiceInternal;
 
     @Mock
@@ -69,6 +69,13 @@ class PiisConsentServiceInternalTest {
     private PiisConsentEntitySpecification piisConsentEntitySpecification;
     @Mock
     private PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        piisConsentServiceInternal = buildService(new PiisConsentIndex(false, 10000, 100));
+    }
 
     @Test
     void getPiisConsentListByAccountIdentifier() {
@@ -131,6 +138,36 @@ class PiisConsentServiceInternalTest {
         assertTrue(piisConsentsResponse.getPayload().isEmpty());
     }
 
+    @Test
+    void getPiisConsentListByAccountIdentifier_indexEnabled_shouldLoadConsentsOnce() {
+        // Given
+        piisConsentServiceInternal = buildService(new PiisConsentIndex(true, 10000, 100));
+        when(piisConsentEntitySpecification.byCurrencyAndAccountReferenceSelector(CURRENCY, SELECTOR_IBAN))
+            .thenReturn(SPECIFICATION_IBAN);
+        ConsentEntity validConsentEntity = buildConsentEntity();
+        when(consentJpaRepository.findAll(SPECIFICATION_IBAN))
+            .thenReturn(Collections.singletonList(validConsentEntity));
+        when(cmsConsentMapper.mapToCmsConsent(validConsentEntity, Collections.emptyList(), Collections.emptyMap()))
+            .thenReturn(buildCmsConsent());
+        when(piisConsentLazyMigrationService.migrateIfNeeded(validConsentEntity))
+            .thenReturn(validConsentEntity);
+
+        // When
+        piisConsentServiceInternal.getPiisConsentListByAccountIdentifier(CURRENCY, SELECTOR_IBAN);
+        CmsResponse<List<CmsConsent>> piisConsentsResponse = piisConsentServiceInternal.getPiisConsentListByAccountIdentifier(CURRENCY,
+                                                                                                                              new AccountReferenceSelector(AccountReferenceType.IBAN, IBAN));
+
+        // Then
+        assertEquals(Collections.singletonList(buildCmsConsent()), piisConsentsResponse.getPayload());
+        verify(consentJpaRepository, times(1)).findAll(SPECIFICATION_IBAN);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    private PiisConsentServiceInternal buildService(PiisConsentIndex piisConsentIndex) {
+        return new PiisConsentServiceInternal(consentJpaRepository, cmsConsentMapper, piisConsentEntitySpecification,
+                                              piisConsentLazyMigrationService, piisConsentIndex, transactionManager);
+    }
+
     private ConsentEntity buildConsentEntity() {
         ConsentEntity piisConsentEntity = new ConsentEntity();
         piisConsentEntity.setConsentStatus(ConsentStatus.VALID);
@@ -16,14 +16,18 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import org.junit.jupiter.api.Test;
@@ -46,6 +50,7 @@ class PisCommonPaymentServiceInternalEncryptedTest {
     private static final String ENCRYPTED_PAYMENT_ID = "encrypted payment id";
     private static final String DECRYPTED_PAYMENT_ID = "1856e4fa-8af8-427b-85ec-4caf515ce074";
     private static final PsuIdData PSU_DATA = new PsuIdData(null, null, null, null, null);
+    private static final byte[] ASPSP_CONSENT_DATA = "some ASPSP consent data".getBytes();
 
     @InjectMocks
     private PisCommonPaymentServiceInternalEncrypted pisCommonPaymentServiceInternalEncrypted;
@@ -53,6 +58,8 @@ class PisCommonPaymentServiceInternalEncryptedTest {
     private PisCommonPaymentService pisCommonPaymentService;
     @Mock
     private SecurityDataService securityDataService;
+    @Mock
+    private AspspDataService aspspDataService;
 
     @Test
     void createCommonPayment_success() {
@@ -91,6 +98,47 @@ class PisCommonPaymentServiceInternalEncryptedTest {
         assertEquals(CmsError.TECHNICAL_ERROR, actual.getError());
     }
 
+    @Test
+    void createCommonPaymentWithAuthorisation_success() {
+        // Given
+        CreatePisCommonPaymentWithAuthorisationRequest request =
+            new CreatePisCommonPaymentWithAuthorisationRequest(buildPisPaymentInfoRequest(), ASPSP_CONSENT_DATA, null);
+        when(pisCommonPaymentService.createCommonPaymentWithAuthorisation(request))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                            .payload(new CreatePisCommonPaymentWithAuthorisationResponse(buildCreatePisCommonPaymentResponse(DECRYPTED_PAYMENT_ID), null))
+                            .build());
+        when(securityDataService.encryptId(DECRYPTED_PAYMENT_ID))
+            .thenReturn(Optional.of(ENCRYPTED_PAYMENT_ID));
+
+        // When
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentServiceInternalEncrypted.createCommonPaymentWithAuthorisation(request);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(buildCreatePisCommonPaymentResponse(ENCRYPTED_PAYMENT_ID), actual.getPayload().getPayment());
+        verify(aspspDataService).updateAspspConsentData(new AspspConsentData(ASPSP_CONSENT_DATA, ENCRYPTED_PAYMENT_ID));
+    }
+
+    @Test
+    void createCommonPaymentWithAuthorisation_technicalError() {
+        // Given
+        CreatePisCommonPaymentWithAuthorisationRequest request =
+            new CreatePisCommonPaymentWithAuthorisationRequest(buildPisPaymentInfoRequest(), ASPSP_CONSENT_DATA, null);
+        when(pisCommonPaymentService.createCommonPaymentWithAuthorisation(request))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                            .payload(new CreatePisCommonPaymentWithAuthorisationResponse(buildCreatePisCommonPaymentResponse(DECRYPTED_PAYMENT_ID), null))
+                            .build());
+        when(securityDataService.encryptId(DECRYPTED_PAYMENT_ID)).thenReturn(Optional.empty());
+
+        // When
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentServiceInternalEncrypted.createCommonPaymentWithAuthorisation(request);
+
+        // Then
+        assertTrue(actual.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, actual.getError());
+        verifyNoInteractions(aspspDataService);
+    }
+
     @Test
     void getPisCommonPaymentStatusById_success() {
         when(securityDataService.decryptId(ENCRYPTED_PAYMENT_ID)).thenReturn(Optional.of(DECRYPTED_PAYMENT_ID));
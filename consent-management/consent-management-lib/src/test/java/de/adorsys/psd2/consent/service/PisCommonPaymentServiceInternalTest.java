@@ -18,9 +18,15 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.authorisation.PisAuthorisationParentHolder;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisPayment;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.AuthorisationTemplateEntity;
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
@@ -34,7 +40,9 @@ import de.adorsys.psd2.consent.service.mapper.PisCommonPaymentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
 import de.adorsys.xs2a.reader.JsonReader;
@@ -72,9 +80,12 @@ class PisCommonPaymentServiceInternalTest {
     private CorePaymentsConvertService corePaymentsConvertService;
     @Mock
     private AuthorisationRepository authorisationRepository;
+    @Mock
+    private AuthorisationService authorisationService;
 
     private PisCommonPaymentData pisCommonPaymentData;
     private static final String PAYMENT_ID = "5bbde955ca10e8e4035a10c2";
+    private static final String AUTHORISATION_ID = "a01562ea-19ff-4b5a-8188-c45d85bfa20a";
     private static final JsonReader jsonReader = new JsonReader();
 
     @BeforeEach
@@ -111,6 +122,85 @@ class PisCommonPaymentServiceInternalTest {
         assertEquals(roles, argument.getValue().getTppInfo().getTppRoles());
     }
 
+    @Test
+    void createCommonPaymentWithAuthorisation_success() {
+        // Given
+        CreatePisCommonPaymentWithAuthorisationRequest request = buildCreatePisCommonPaymentWithAuthorisationRequest();
+        PisCommonPaymentData savedPaymentData = buildSavedPisCommonPaymentData();
+        when(pisCommonPaymentMapper.mapToPisCommonPaymentData(request.getPaymentInfo())).thenReturn(savedPaymentData);
+        when(pisCommonPaymentDataRepository.save(savedPaymentData)).thenReturn(savedPaymentData);
+        CreateAuthorisationResponse authorisationResponse = new CreateAuthorisationResponse(AUTHORISATION_ID, ScaStatus.RECEIVED, null, null, ScaApproach.REDIRECT);
+        when(authorisationService.createAuthorisation(new PisAuthorisationParentHolder(PAYMENT_ID), request.getAuthorisationRequest()))
+            .thenReturn(CmsResponse.<CreateAuthorisationResponse>builder()
+                            .payload(authorisationResponse)
+                            .build());
+
+        // When
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentService.createCommonPaymentWithAuthorisation(request);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(PAYMENT_ID, actual.getPayload().getPayment().getPaymentId());
+        assertEquals(authorisationResponse, actual.getPayload().getAuthorisation());
+    }
+
+    @Test
+    void createCommonPaymentWithAuthorisation_withoutAuthorisationRequest() {
+        // Given
+        CreatePisCommonPaymentWithAuthorisationRequest request = buildCreatePisCommonPaymentWithAuthorisationRequest();
+        request.setAuthorisationRequest(null);
+        PisCommonPaymentData savedPaymentData = buildSavedPisCommonPaymentData();
+        when(pisCommonPaymentMapper.mapToPisCommonPaymentData(request.getPaymentInfo())).thenReturn(savedPaymentData);
+        when(pisCommonPaymentDataRepository.save(savedPaymentData)).thenReturn(savedPaymentData);
+
+        // When
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentService.createCommonPaymentWithAuthorisation(request);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(PAYMENT_ID, actual.getPayload().getPayment().getPaymentId());
+        assertNull(actual.getPayload().getAuthorisation());
+        verifyNoInteractions(authorisationService);
+    }
+
+    @Test
+    void createCommonPaymentWithAuthorisation_authorisationCreationFailed() {
+        // Given
+        CreatePisCommonPaymentWithAuthorisationRequest request = buildCreatePisCommonPaymentWithAuthorisationRequest();
+        PisCommonPaymentData savedPaymentData = buildSavedPisCommonPaymentData();
+        when(pisCommonPaymentMapper.mapToPisCommonPaymentData(request.getPaymentInfo())).thenReturn(savedPaymentData);
+        when(pisCommonPaymentDataRepository.save(savedPaymentData)).thenReturn(savedPaymentData);
+        when(authorisationService.createAuthorisation(new PisAuthorisationParentHolder(PAYMENT_ID), request.getAuthorisationRequest()))
+            .thenReturn(CmsResponse.<CreateAuthorisationResponse>builder()
+                            .error(CmsError.LOGICAL_ERROR)
+                            .build());
+
+        // When
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentService.createCommonPaymentWithAuthorisation(request);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(PAYMENT_ID, actual.getPayload().getPayment().getPaymentId());
+        assertNull(actual.getPayload().getAuthorisation());
+    }
+
+    @Test
+    void createCommonPaymentWithAuthorisation_paymentCreationFailed() {
+        // Given
+        CreatePisCommonPaymentWithAuthorisationRequest request = buildCreatePisCommonPaymentWithAuthorisationRequest();
+        PisCommonPaymentData paymentData = new PisCommonPaymentData();
+        when(pisCommonPaymentMapper.mapToPisCommonPaymentData(request.getPaymentInfo())).thenReturn(paymentData);
+        when(pisCommonPaymentDataRepository.save(paymentData)).thenReturn(paymentData);
+
+        // When
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentService.createCommonPaymentWithAuthorisation(request);
+
+        // Then
+        assertTrue(actual.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, actual.getError());
+        verifyNoInteractions(authorisationService);
+    }
+
     @Test
     void updateMultilevelSca_ShouldReturnTrue() {
         // Given
@@ -296,6 +386,28 @@ class PisCommonPaymentServiceInternalTest {
         verify(corePaymentsConvertService, times(1)).buildPaymentData(Collections.singletonList(pisPayment), pisCommonPaymentData.getPaymentType());
     }
 
+    private CreatePisCommonPaymentWithAuthorisationRequest buildCreatePisCommonPaymentWithAuthorisationRequest() {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber("tpp-id-1");
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setPaymentId(PAYMENT_ID);
+        pisPaymentInfo.setTppInfo(tppInfo);
+
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest();
+        authorisationRequest.setAuthorisationId(AUTHORISATION_ID);
+        authorisationRequest.setScaStatus(ScaStatus.STARTED);
+        authorisationRequest.setScaApproach(ScaApproach.REDIRECT);
+
+        return new CreatePisCommonPaymentWithAuthorisationRequest(pisPaymentInfo, null, authorisationRequest);
+    }
+
+    private PisCommonPaymentData buildSavedPisCommonPaymentData() {
+        PisCommonPaymentData paymentData = new PisCommonPaymentData();
+        paymentData.setId(1L);
+        paymentData.setPaymentId(PAYMENT_ID);
+        return paymentData;
+    }
+
     private PisCommonPaymentData buildPisCommonPaymentData() {
         PisCommonPaymentData pisCommonPaymentData = jsonReader.getObjectFromFile("json/service/mapper/pis-common-payment-data.json", PisCommonPaymentData.class);
         pisCommonPaymentData.setAuthorisationTemplate(new AuthorisationTemplateEntity());
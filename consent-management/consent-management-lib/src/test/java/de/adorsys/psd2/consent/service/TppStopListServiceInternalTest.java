@@ -19,23 +19,35 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.mapper.TppStopListMapper;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TppStopListServiceInternalTest {
     private final String AUTHORISATION_NUMBER = "Authorisation number";
     private final String AUTHORISATION_NUMBER_NOT_EXISTING = "Not existing Authorisation number";
     private final String INSTANCE_ID = null;
+    private static final String SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final long VERSION = 1634567890123L;
+    private static final long CHANGES_OVERLAP_MS = 5000L;
 
     @InjectMocks
     private TppStopListServiceInternal tppStopListService;
@@ -45,6 +57,8 @@ class TppStopListServiceInternalTest {
 
     @Mock
     private TppStopListEntity tppStopListEntity;
+    @Mock
+    private TppStopListMapper tppStopListMapper;
 
     @Test
     void checkIfTppBlocked_Fail_EmptyStopList() {
@@ -87,5 +101,42 @@ class TppStopListServiceInternalTest {
 
         assertTrue(isTppBlocked.getPayload());
     }
-}
 
+    @Test
+    void getTppStopListChanges_noVersion_allBlockedTppsReturned() {
+        // Given
+        ReflectionTestUtils.setField(tppStopListService, "serviceInstanceId", SERVICE_INSTANCE_ID);
+        List<TppStopListEntity> entities = Collections.singletonList(tppStopListEntity);
+        List<TppStopListRecord> records = Collections.singletonList(new TppStopListRecord());
+        when(tppStopListRepository.findAllByInstanceIdAndStatus(SERVICE_INSTANCE_ID, TppStatus.BLOCKED)).thenReturn(entities);
+        when(tppStopListMapper.mapToTppStopListRecords(entities)).thenReturn(records);
+        long startTime = System.currentTimeMillis();
+
+        // When
+        CmsResponse<TppStopListChanges> actual = tppStopListService.getTppStopListChanges(INSTANCE_ID, null);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(records, actual.getPayload().getRecords());
+        assertTrue(actual.getPayload().getVersion() >= startTime);
+        verify(tppStopListRepository, never()).findAllByInstanceIdAndLastChangeTimestampAfter(any(), any());
+    }
+
+    @Test
+    void getTppStopListChanges_withVersion_changesSinceVersionReturned() {
+        // Given
+        ReflectionTestUtils.setField(tppStopListService, "changesOverlapMs", CHANGES_OVERLAP_MS);
+        OffsetDateTime expectedTimestamp = OffsetDateTime.ofInstant(Instant.ofEpochMilli(VERSION - CHANGES_OVERLAP_MS), ZoneOffset.UTC);
+        List<TppStopListEntity> entities = Collections.singletonList(tppStopListEntity);
+        when(tppStopListRepository.findAllByInstanceIdAndLastChangeTimestampAfter("bank1", expectedTimestamp)).thenReturn(entities);
+        when(tppStopListMapper.mapToTppStopListRecords(entities)).thenReturn(Collections.emptyList());
+
+        // When
+        CmsResponse<TppStopListChanges> actual = tppStopListService.getTppStopListChanges("bank1", VERSION);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertTrue(actual.getPayload().getRecords().isEmpty());
+        verify(tppStopListRepository, never()).findAllByInstanceIdAndStatus(any(), any());
+    }
+}
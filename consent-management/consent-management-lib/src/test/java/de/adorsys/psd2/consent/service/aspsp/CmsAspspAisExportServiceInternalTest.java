@@ -23,7 +23,9 @@ import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.impl.KeysetChunkReader;
 import de.adorsys.psd2.consent.repository.specification.AisConsentSpecification;
+import de.adorsys.psd2.consent.service.AisConsentUsageService;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
@@ -48,9 +50,12 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -68,6 +73,7 @@ class CmsAspspAisExportServiceInternalTest {
     private static final String PSU_ID = "anton.brueckner";
     private static final String WRONG_PSU_ID = "max.musterman";
     private static final String EXTERNAL_CONSENT_ID = "4b112130-6a96-4941-a220-2da8a4af2c65";
+    private static final String ANOTHER_EXTERNAL_CONSENT_ID = "8fa5a5e9-6e2e-4e83-b2b6-1e4a2c0a8b1d";
     private static final String ASPSP_ACCOUNT_ID = "3278921mxl-n2131-13nw";
     private static final String WRONG_ASPSP_ACCOUNT_ID = "00000000aa-n2131-13nw";
     private static final OffsetDateTime CREATION_DATE_TIME = OffsetDateTime.now();
@@ -90,8 +96,12 @@ class CmsAspspAisExportServiceInternalTest {
     private AuthorisationRepository authorisationRepository;
     @Mock
     private AisConsentLazyMigrationService aisConsentLazyMigrationService;
+    @Mock
+    private AisConsentUsageService aisConsentUsageService;
     @Spy
     private PageRequestBuilder pageRequestBuilder = new PageRequestBuilder();
+    @Mock
+    private KeysetChunkReader keysetChunkReader;
 
     @BeforeEach
     void setUp() {
@@ -117,12 +127,12 @@ class CmsAspspAisExportServiceInternalTest {
             .thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), PageRequest.of(PAGE_PARAMETERS.getPageIndex(), PAGE_PARAMETERS.getItemsPerPage()), 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity(EXTERNAL_CONSENT_ID));
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singletonList(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
-        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations, Collections.emptyMap()))
             .thenReturn(buildAisAccountConsent());
 
         // When
@@ -159,12 +169,12 @@ class CmsAspspAisExportServiceInternalTest {
             .thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), pageRequest, 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity(EXTERNAL_CONSENT_ID));
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singletonList(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
-        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations, Collections.emptyMap()))
             .thenReturn(buildAisAccountConsent());
 
         // When
@@ -240,10 +250,10 @@ class CmsAspspAisExportServiceInternalTest {
                                                                                                   PageRequest.of(0, 20), 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity(EXTERNAL_CONSENT_ID));
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singletonList(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
-        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations, Collections.emptyMap()))
             .thenReturn(buildAisAccountConsent());
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
@@ -279,10 +289,10 @@ class CmsAspspAisExportServiceInternalTest {
         when(consentJpaRepository.findAll(any(Specification.class), eq(pageRequest))).thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), pageRequest, 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity(EXTERNAL_CONSENT_ID));
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singletonList(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
-        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations, Collections.emptyMap()))
             .thenReturn(buildAisAccountConsent());
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
@@ -368,13 +378,13 @@ class CmsAspspAisExportServiceInternalTest {
                                                                   OffsetDateTime.of(CREATION_DATE_TO, LocalTime.MAX, currentOffset),
                                                                   DEFAULT_SERVICE_INSTANCE_ID, Pageable.unpaged(), AdditionalTppInfo.NONE))
             .thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), PageRequest.of(PAGE_INDEX, ITEMS_PER_PAGE), 1));
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity(EXTERNAL_CONSENT_ID));
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singletonList(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
 
-        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations, Collections.emptyMap()))
             .thenReturn(buildAisAccountConsent());
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
@@ -389,6 +399,41 @@ class CmsAspspAisExportServiceInternalTest {
         assertTrue(aisConsents.getData().contains(expectedConsent));
     }
 
+    @Test
+    void exportConsentsByAccountId_success_authorisationsLoadedOncePerPage() {
+        // Given
+        ZoneOffset currentOffset = OffsetDateTime.now().getOffset();
+        ConsentEntity consentEntity = buildConsentEntity();
+        ConsentEntity anotherConsentEntity = buildConsentEntity();
+        anotherConsentEntity.setExternalId(ANOTHER_EXTERNAL_CONSENT_ID);
+        when(consentJpaRepository.findAllWithPaginationAndTppInfo(Collections.singleton(ConsentType.AIS.getName()), ASPSP_ACCOUNT_ID,
+                                                                  OffsetDateTime.of(CREATION_DATE_FROM, LocalTime.MIN, currentOffset),
+                                                                  OffsetDateTime.of(CREATION_DATE_TO, LocalTime.MAX, currentOffset),
+                                                                  DEFAULT_SERVICE_INSTANCE_ID, Pageable.unpaged(), AdditionalTppInfo.NONE))
+            .thenReturn(new PageImpl<>(Arrays.asList(consentEntity, anotherConsentEntity), PageRequest.of(PAGE_INDEX, ITEMS_PER_PAGE), 2));
+        AuthorisationEntity authorisation = buildAuthorisationEntity(EXTERNAL_CONSENT_ID);
+        AuthorisationEntity anotherAuthorisation = buildAuthorisationEntity(ANOTHER_EXTERNAL_CONSENT_ID);
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Arrays.asList(EXTERNAL_CONSENT_ID, ANOTHER_EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
+            .thenReturn(Arrays.asList(authorisation, anotherAuthorisation));
+        when(aisConsentLazyMigrationService.migrateIfNeeded(any(ConsentEntity.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, Collections.singletonList(authorisation), Collections.emptyMap()))
+            .thenReturn(buildAisAccountConsent());
+        when(aisConsentMapper.mapToCmsAisAccountConsent(anotherConsentEntity, Collections.singletonList(anotherAuthorisation), Collections.emptyMap()))
+            .thenReturn(buildAisAccountConsent());
+
+        // When
+        PageData<Collection<CmsAisAccountConsent>> aisConsents =
+            cmsAspspAisExportServiceInternal.exportConsentsByAccountIdAndAdditionalTppInfo(ASPSP_ACCOUNT_ID, CREATION_DATE_FROM,
+                                                                                           CREATION_DATE_TO, DEFAULT_SERVICE_INSTANCE_ID, null, null,
+                                                                                           AdditionalTppInfo.NONE);
+
+        // Then
+        assertEquals(2, aisConsents.getData().size());
+        verify(authorisationRepository, times(1)).findAllByParentExternalIdInAndType(anyList(), eq(AuthorisationType.CONSENT));
+        verify(authorisationRepository, never()).findAllByParentExternalIdAndType(anyString(), any(AuthorisationType.class));
+    }
+
     @Test
     void exportConsentsByAccountId_success_withNoInstanceId() {
         PageData<Collection<CmsAisAccountConsent>> cmsAisAccountConsents =
@@ -420,6 +465,50 @@ class CmsAspspAisExportServiceInternalTest {
         assertTrue(aisConsents.getData().isEmpty());
     }
 
+    @Test
+    void streamConsentsByTpp_success() {
+        // Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        Specification<ConsentEntity> specification = (root, criteriaQuery, criteriaBuilder) -> null;
+        when(aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                                                     psuIdData, DEFAULT_SERVICE_INSTANCE_ID, AdditionalTppInfo.NONE))
+            .thenReturn(specification);
+        doAnswer(invocation -> {
+            Consumer<List<ConsentEntity>> chunkConsumer = invocation.getArgument(3);
+            chunkConsumer.accept(Collections.singletonList(consentEntity));
+            return null;
+        }).when(keysetChunkReader).readInChunks(eq(ConsentEntity.class), eq(specification), any(), any());
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity(EXTERNAL_CONSENT_ID));
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singletonList(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
+            .thenReturn(authorisations);
+        when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
+            .thenReturn(consentEntity);
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations, Collections.emptyMap()))
+            .thenReturn(buildAisAccountConsent());
+        List<CmsAisAccountConsent> actual = new ArrayList<>();
+
+        // When
+        cmsAspspAisExportServiceInternal.streamConsentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO, psuIdData,
+                                                             DEFAULT_SERVICE_INSTANCE_ID, AdditionalTppInfo.NONE, actual::add);
+
+        // Then
+        assertEquals(Collections.singletonList(buildAisAccountConsent()), actual);
+    }
+
+    @Test
+    void streamConsentsByTpp_failure_nullTppAuthorisationNumber() {
+        // Given
+        List<CmsAisAccountConsent> actual = new ArrayList<>();
+
+        // When
+        cmsAspspAisExportServiceInternal.streamConsentsByTpp(null, CREATION_DATE_FROM, CREATION_DATE_TO, psuIdData,
+                                                             DEFAULT_SERVICE_INSTANCE_ID, AdditionalTppInfo.NONE, actual::add);
+
+        // Then
+        assertTrue(actual.isEmpty());
+        verify(keysetChunkReader, never()).readInChunks(any(), any(), any(), any());
+    }
+
     private PsuIdData buildPsuIdData(String psuId) {
         return new PsuIdData(psuId, null, null, null, null);
     }
@@ -433,6 +522,12 @@ class CmsAspspAisExportServiceInternalTest {
                                         AdditionalTppInfo.NONE);
     }
 
+    private AuthorisationEntity buildAuthorisationEntity(String parentExternalId) {
+        AuthorisationEntity authorisationEntity = new AuthorisationEntity();
+        authorisationEntity.setParentExternalId(parentExternalId);
+        return authorisationEntity;
+    }
+
     private ConsentEntity buildConsentEntity() {
         return jsonReader.getObjectFromFile("json/consent-entity.json", ConsentEntity.class);
     }
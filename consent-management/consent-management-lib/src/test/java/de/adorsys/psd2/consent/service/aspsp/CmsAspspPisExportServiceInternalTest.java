@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.repository.impl.KeysetChunkReader;
 import de.adorsys.psd2.consent.repository.specification.PisCommonPaymentDataSpecification;
 import de.adorsys.psd2.consent.service.mapper.CmsPsuPisMapper;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
@@ -45,11 +46,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -85,6 +89,8 @@ class CmsAspspPisExportServiceInternalTest {
     private CmsPsuPisMapper cmsPsuPisMapper;
     @Spy
     private PageRequestBuilder pageRequestBuilder = new PageRequestBuilder();
+    @Mock
+    private KeysetChunkReader keysetChunkReader;
 
     @BeforeEach
     void setUp() {
@@ -383,6 +389,46 @@ class CmsAspspPisExportServiceInternalTest {
             .byPsuIdDataAndCreationPeriodAndInstanceId(any(), any(), any(), any());
     }
 
+    @Test
+    void streamPaymentsByTpp_success() {
+        // Given
+        Specification<PisCommonPaymentData> specification = (root, criteriaQuery, criteriaBuilder) -> null;
+        when(pisCommonPaymentDataSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(TPP_AUTHORISATION_NUMBER,
+                                                                                                 CREATION_DATE_FROM,
+                                                                                                 CREATION_DATE_TO,
+                                                                                                 psuIdData,
+                                                                                                 DEFAULT_SERVICE_INSTANCE_ID)).thenReturn(specification);
+        doAnswer(invocation -> {
+            Consumer<List<PisCommonPaymentData>> chunkConsumer = invocation.getArgument(3);
+            chunkConsumer.accept(Collections.singletonList(buildPisCommonPaymentData()));
+            return null;
+        }).when(keysetChunkReader).readInChunks(eq(PisCommonPaymentData.class), eq(specification), any(), any());
+        when(cmsPsuPisMapper.mapPaymentDataToCmsPayment(buildPisCommonPaymentData()))
+            .thenReturn(buildCmsBasePaymentResponse());
+        List<CmsBasePaymentResponse> actual = new ArrayList<>();
+
+        // When
+        cmsAspspPisExportServiceInternal.streamPaymentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                             psuIdData, DEFAULT_SERVICE_INSTANCE_ID, actual::add);
+
+        // Then
+        assertEquals(Collections.singletonList(buildCmsBasePaymentResponse()), actual);
+    }
+
+    @Test
+    void streamPaymentsByTpp_failure_nullInstanceId() {
+        // Given
+        List<CmsBasePaymentResponse> actual = new ArrayList<>();
+
+        // When
+        cmsAspspPisExportServiceInternal.streamPaymentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                             psuIdData, null, actual::add);
+
+        // Then
+        assertTrue(actual.isEmpty());
+        verify(keysetChunkReader, never()).readInChunks(any(), any(), any(), any());
+    }
+
     private PsuIdData buildPsuIdData(String psuId) {
         return new PsuIdData(psuId, null, null, null, null);
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.mapper;
+
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.core.mapper.ConsentDataMapper;
+import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AisConsentDataCacheTest {
+    private static final AisConsentData CONSENT_DATA = new AisConsentData(AccountAccessType.ALL_ACCOUNTS, null, null, false);
+    private static final AisConsentData OTHER_CONSENT_DATA = new AisConsentData(null, AccountAccessType.ALL_ACCOUNTS, null, true);
+
+    @Spy
+    private ConsentDataMapper consentDataMapper = new ConsentDataMapper();
+
+    private AisConsentDataCache aisConsentDataCache;
+
+    @BeforeEach
+    void setUp() {
+        aisConsentDataCache = new AisConsentDataCache(consentDataMapper, 2);
+    }
+
+    @Test
+    void getAisConsentData_shouldDecodeDataOnlyOnce() {
+        // Given
+        ConsentEntity consent = buildConsentEntity(1L, CONSENT_DATA);
+
+        // When
+        AisConsentData first = aisConsentDataCache.getAisConsentData(consent);
+        AisConsentData second = aisConsentDataCache.getAisConsentData(buildConsentEntity(1L, CONSENT_DATA));
+
+        // Then
+        assertEquals(CONSENT_DATA, first);
+        assertSame(first, second);
+        verify(consentDataMapper, times(1)).mapToAisConsentData(any());
+    }
+
+    @Test
+    void getAisConsentData_changedData() {
+        // Given
+        aisConsentDataCache.getAisConsentData(buildConsentEntity(1L, CONSENT_DATA));
+
+        // When
+        AisConsentData actual = aisConsentDataCache.getAisConsentData(buildConsentEntity(1L, OTHER_CONSENT_DATA));
+
+        // Then
+        assertEquals(OTHER_CONSENT_DATA, actual);
+        verify(consentDataMapper, times(2)).mapToAisConsentData(any());
+    }
+
+    @Test
+    void getAisConsentData_newConsent_shouldNotBeCached() {
+        // When
+        aisConsentDataCache.getAisConsentData(buildConsentEntity(null, CONSENT_DATA));
+
+        // Then
+        assertEquals(0, aisConsentDataCache.size());
+    }
+
+    @Test
+    void getAisConsentData_noData() {
+        // Given
+        ConsentEntity consent = new ConsentEntity();
+        consent.setId(1L);
+
+        // When
+        AisConsentData actual = aisConsentDataCache.getAisConsentData(consent);
+
+        // Then
+        assertEquals(AisConsentData.buildDefaultAisConsentData(), actual);
+        assertEquals(0, aisConsentDataCache.size());
+    }
+
+    @Test
+    void getAisConsentData_maxSizeReached_shouldEvictLeastRecentlyUsed() {
+        // When
+        aisConsentDataCache.getAisConsentData(buildConsentEntity(1L, CONSENT_DATA));
+        aisConsentDataCache.getAisConsentData(buildConsentEntity(2L, CONSENT_DATA));
+        aisConsentDataCache.getAisConsentData(buildConsentEntity(3L, CONSENT_DATA));
+
+        // Then
+        assertEquals(2, aisConsentDataCache.size());
+    }
+
+    @Test
+    void getAisConsentData_disabled() {
+        // Given
+        aisConsentDataCache = new AisConsentDataCache(consentDataMapper, 0);
+
+        // When
+        aisConsentDataCache.getAisConsentData(buildConsentEntity(1L, CONSENT_DATA));
+        aisConsentDataCache.getAisConsentData(buildConsentEntity(1L, CONSENT_DATA));
+
+        // Then
+        assertEquals(0, aisConsentDataCache.size());
+        verify(consentDataMapper, times(2)).mapToAisConsentData(any());
+    }
+
+    private ConsentEntity buildConsentEntity(Long id, AisConsentData consentData) {
+        ConsentEntity consent = new ConsentEntity();
+        consent.setId(id);
+        consent.setData(new ConsentDataMapper().getBytesFromConsentData(consentData));
+        return consent;
+    }
+}
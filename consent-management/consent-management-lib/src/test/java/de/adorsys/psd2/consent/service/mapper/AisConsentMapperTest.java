@@ -106,9 +106,9 @@ class AisConsentMapperTest {
                                                 tppInfoMapper,
                                                 aisConsentUsageService,
                                                 authorisationTemplateMapper,
-                                                consentDataMapper,
                                                 consentTppInformationMapper,
-                                                accessMapper);
+                                                accessMapper,
+                                                new AisConsentDataCache(consentDataMapper, 100));
     }
 
     @Test
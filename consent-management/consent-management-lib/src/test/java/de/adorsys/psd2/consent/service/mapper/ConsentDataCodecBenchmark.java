@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.mapper;
+
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.core.mapper.ConsentDataMapper;
+import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of encoding and decoding of AIS consent data with JSON and binary codecs, and of reading the data
+ * through {@link AisConsentDataCache}. Cache size <code>0</code> corresponds to decoding of the data on every read.
+ * <p>
+ * Run with <code>main</code> method from IDE or with <code>java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main ConsentDataCodecBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConsentDataCodecBenchmark {
+    private static final AisConsentData CONSENT_DATA = new AisConsentData(AccountAccessType.ALL_ACCOUNTS, null,
+                                                                          AccountAccessType.ALL_ACCOUNTS_WITH_OWNER_NAME, true);
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    @Param({"0", "1000"})
+    private int cacheMaxSize;
+
+    private ConsentDataMapper consentDataMapper;
+    private AisConsentDataCache aisConsentDataCache;
+    private ConsentEntity consent;
+
+    @Setup
+    public void setUp() {
+        consentDataMapper = new ConsentDataMapper(codec);
+        aisConsentDataCache = new AisConsentDataCache(consentDataMapper, cacheMaxSize);
+        consent = new ConsentEntity();
+        consent.setId(1L);
+        consent.setData(consentDataMapper.getBytesFromConsentData(CONSENT_DATA));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return consentDataMapper.getBytesFromConsentData(CONSENT_DATA);
+    }
+
+    @Benchmark
+    public AisConsentData decode() {
+        return aisConsentDataCache.getAisConsentData(consent);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(ConsentDataCodecBenchmark.class.getSimpleName())
+                       .build())
+            .run();
+    }
+}
@@ -49,6 +49,8 @@ class AisConsentLazyMigrationServiceTest {
     private ObsoleteAisConsentJpaRepository obsoleteAisConsentJpaRepository;
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private ConsentDataMigrationStatusService consentDataMigrationStatusService;
 
     @Spy
     private ConsentDataMapper consentDataMapper = new ConsentDataMapper();
@@ -94,4 +96,19 @@ class AisConsentLazyMigrationServiceTest {
         verify(obsoleteAisConsentJpaRepository, never()).findByExternalId(any());
         verify(consentJpaRepository, never()).save(any());
     }
+
+    @Test
+    void migrateIfNeeded_migrationCompleted() {
+        // Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentDataMigrationStatusService.isMigrationCompleted()).thenReturn(true);
+
+        // When
+        aisConsentLazyMigrationService.migrateIfNeeded(consentEntity);
+
+        // Then
+        verify(obsoleteAisConsentJpaRepository, never()).findByExternalId(any());
+        verify(consentJpaRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.migration;
+
+import de.adorsys.psd2.consent.domain.SchedulerJobProgressEntity;
+import de.adorsys.psd2.consent.repository.SchedulerJobProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsentDataMigrationStatusServiceTest {
+    private static final long CHECK_INTERVAL_MS = 1000;
+
+    @Mock
+    private SchedulerJobProgressRepository schedulerJobProgressRepository;
+    @Mock
+    private Clock clock;
+
+    private ConsentDataMigrationStatusService consentDataMigrationStatusService;
+
+    @BeforeEach
+    void setUp() {
+        consentDataMigrationStatusService = new ConsentDataMigrationStatusService(schedulerJobProgressRepository, CHECK_INTERVAL_MS, clock);
+    }
+
+    @Test
+    void isMigrationCompleted_notStarted() {
+        // Given
+        when(clock.millis()).thenReturn(0L);
+        when(schedulerJobProgressRepository.findById(ConsentDataMigrationStatusService.JOB_NAME)).thenReturn(Optional.empty());
+
+        // When
+        boolean actual = consentDataMigrationStatusService.isMigrationCompleted();
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @Test
+    void isMigrationCompleted_shouldCheckDatabaseOncePerInterval() {
+        // Given
+        when(clock.millis()).thenReturn(0L, CHECK_INTERVAL_MS - 1, CHECK_INTERVAL_MS);
+        when(schedulerJobProgressRepository.findById(ConsentDataMigrationStatusService.JOB_NAME))
+            .thenReturn(Optional.of(buildProgress(false)), Optional.of(buildProgress(true)));
+
+        // When
+        boolean first = consentDataMigrationStatusService.isMigrationCompleted();
+        boolean second = consentDataMigrationStatusService.isMigrationCompleted();
+        boolean third = consentDataMigrationStatusService.isMigrationCompleted();
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        assertTrue(third);
+        verify(schedulerJobProgressRepository, times(2)).findById(ConsentDataMigrationStatusService.JOB_NAME);
+    }
+
+    @Test
+    void isMigrationCompleted_shouldRememberCompletion() {
+        // Given
+        when(clock.millis()).thenReturn(0L);
+        when(schedulerJobProgressRepository.findById(ConsentDataMigrationStatusService.JOB_NAME))
+            .thenReturn(Optional.of(buildProgress(true)));
+
+        // When
+        consentDataMigrationStatusService.isMigrationCompleted();
+        boolean actual = consentDataMigrationStatusService.isMigrationCompleted();
+
+        // Then
+        assertTrue(actual);
+        verify(schedulerJobProgressRepository, times(1)).findById(ConsentDataMigrationStatusService.JOB_NAME);
+        verify(clock, times(1)).millis();
+    }
+
+    private SchedulerJobProgressEntity buildProgress(boolean completed) {
+        return new SchedulerJobProgressEntity(ConsentDataMigrationStatusService.JOB_NAME, 10, completed, null);
+    }
+}
@@ -48,6 +48,8 @@ class PiisConsentLazyMigrationServiceTest {
     private ObsoletePiisConsentJpaRepository obsoletePiisConsentJpaRepository;
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private ConsentDataMigrationStatusService consentDataMigrationStatusService;
 
     @Spy
     private ConsentDataMapper consentDataMapper = new ConsentDataMapper();
@@ -91,4 +93,19 @@ class PiisConsentLazyMigrationServiceTest {
         verify(obsoletePiisConsentJpaRepository, never()).findByExternalId(any());
         verify(consentJpaRepository, never()).save(any());
     }
+
+    @Test
+    void migrateIfNeeded_migrationCompleted() {
+        // Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentDataMigrationStatusService.isMigrationCompleted()).thenReturn(true);
+
+        // When
+        piisConsentLazyMigrationService.migrateIfNeeded(consentEntity);
+
+        // Then
+        verify(obsoletePiisConsentJpaRepository, never()).findByExternalId(any());
+        verify(consentJpaRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import de.adorsys.psd2.consent.service.security.provider.AbstractCryptoProvider;
+import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
+import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
+import de.adorsys.psd2.consent.service.security.provider.SecretKeyCache;
+import de.adorsys.psd2.consent.service.security.provider.aes.AesEcbInstanceFactoryImpl;
+import de.adorsys.psd2.consent.service.security.provider.jwe.JweGsmInstanceFactoryImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of ID and ASPSP consent data encryption with and without cache of derived secret keys.
+ * Key cache size <code>0</code> corresponds to derivation of the key on every call.
+ * <p>
+ * Run with <code>main</code> method from IDE or with <code>java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main SecurityDataServiceBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SecurityDataServiceBenchmark {
+    private static final String ID_PROVIDER_ID = "psGLvQpt9Q";
+    private static final String DATA_PROVIDER_ID = "JcHZwvJMuc";
+    private static final String ID_PROVIDER_PARAMS = "AES/ECB/PKCS5Padding_#_5_#_256_#_1024_#_PBKDF2WithHmacSHA256";
+    private static final String DATA_PROVIDER_PARAMS = "JWE/GCM/256_#_6_#_256_#_1024_#_PBKDF2WithHmacSHA256";
+    private static final byte[] ASPSP_CONSENT_DATA = "{\"accessToken\": \"a0b1c2d3e4f5\"}".getBytes();
+
+    @Param({"0", "1000"})
+    private int keyCacheMaxSize;
+
+    private SecurityDataService securityDataService;
+    private String encryptedId;
+
+    @Setup
+    public void setUp() {
+        CryptoProvider idProvider = new AesEcbInstanceFactoryImpl().initProvider(ID_PROVIDER_ID, ID_PROVIDER_PARAMS);
+        CryptoProvider dataProvider = new JweGsmInstanceFactoryImpl().initProvider(DATA_PROVIDER_ID, DATA_PROVIDER_PARAMS);
+        ((AbstractCryptoProvider) idProvider).setSecretKeyCache(new SecretKeyCache(keyCacheMaxSize, false));
+        ((AbstractCryptoProvider) dataProvider).setSecretKeyCache(new SecretKeyCache(keyCacheMaxSize, false));
+
+        CryptoProviderHolder cryptoProviderHolder = new CryptoProviderHolder(Map.of(ID_PROVIDER_ID, idProvider, DATA_PROVIDER_ID, dataProvider),
+                                                                             DATA_PROVIDER_ID, ID_PROVIDER_ID);
+        MockEnvironment environment = new MockEnvironment().withProperty("server_key", "my_strong_server_key");
+        securityDataService = new SecurityDataService(environment, cryptoProviderHolder);
+        encryptedId = securityDataService.encryptId(UUID.randomUUID().toString())
+                          .orElseThrow(() -> new IllegalStateException("ID couldn't be encrypted"));
+    }
+
+    @Benchmark
+    public Optional<String> encryptId() {
+        return securityDataService.encryptId(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public Optional<String> decryptId() {
+        return securityDataService.decryptId(encryptedId);
+    }
+
+    @Benchmark
+    public Optional<EncryptedData> encryptConsentData() {
+        return securityDataService.encryptConsentData(encryptedId, ASPSP_CONSENT_DATA);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(SecurityDataServiceBenchmark.class.getSimpleName())
+                       .build())
+            .run();
+    }
+}
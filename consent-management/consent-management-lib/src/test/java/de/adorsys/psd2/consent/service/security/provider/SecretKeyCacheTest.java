@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretKeyCacheTest {
+    private static final String PASSWORD = "password";
+    private static final String ANOTHER_PASSWORD = "another password";
+
+    private final AtomicInteger generationCount = new AtomicInteger();
+
+    @Test
+    void getSecretKey_derivedOnlyOnce() throws GeneralSecurityException {
+        // Given
+        SecretKeyCache secretKeyCache = new SecretKeyCache(10, false);
+
+        // When
+        SecretKey first = secretKeyCache.getSecretKey(PASSWORD, this::generate);
+        SecretKey second = secretKeyCache.getSecretKey(PASSWORD, this::generate);
+
+        // Then
+        assertArrayEquals(first.getEncoded(), second.getEncoded());
+        assertEquals(1, generationCount.get());
+    }
+
+    @Test
+    void getSecretKey_eldestEvicted() throws GeneralSecurityException {
+        // Given
+        SecretKeyCache secretKeyCache = new SecretKeyCache(1, true);
+        secretKeyCache.getSecretKey(PASSWORD, this::generate);
+
+        // When
+        secretKeyCache.getSecretKey(ANOTHER_PASSWORD, this::generate);
+        SecretKey secretKey = secretKeyCache.getSecretKey(PASSWORD, this::generate);
+
+        // Then
+        assertEquals(1, secretKeyCache.size());
+        assertEquals(3, generationCount.get());
+        assertArrayEquals(generate(PASSWORD), secretKey.getEncoded());
+    }
+
+    @Test
+    void getSecretKey_cacheDisabled() throws GeneralSecurityException {
+        // Given
+        SecretKeyCache secretKeyCache = new SecretKeyCache(0, true);
+
+        // When
+        SecretKey first = secretKeyCache.getSecretKey(PASSWORD, this::generate);
+        SecretKey second = secretKeyCache.getSecretKey(PASSWORD, this::generate);
+
+        // Then
+        assertArrayEquals(first.getEncoded(), second.getEncoded());
+        assertEquals(0, secretKeyCache.size());
+        assertEquals(2, generationCount.get());
+    }
+
+    @Test
+    void clear() throws GeneralSecurityException {
+        // Given
+        SecretKeyCache secretKeyCache = new SecretKeyCache(10, true);
+        SecretKey secretKey = secretKeyCache.getSecretKey(PASSWORD, this::generate);
+
+        // When
+        secretKeyCache.clear();
+
+        // Then
+        assertEquals(0, secretKeyCache.size());
+        assertArrayEquals(generate(PASSWORD), secretKey.getEncoded());
+    }
+
+    private byte[] generate(String password) {
+        generationCount.incrementAndGet();
+        byte[] key = new byte[32];
+        byte[] passwordBytes = password.getBytes();
+        System.arraycopy(passwordBytes, 0, key, 0, Math.min(passwordBytes.length, key.length));
+        return key;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.sha;
+
+import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV5;
+import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV6;
+import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.core.data.ais.AisConsent;
+import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.xs2a.core.profile.AccountReference;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import de.adorsys.psd2.xs2a.core.profile.AdditionalInformationAccess;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares throughput of AIS consent checksum calculation and verification between JSON-based checksum version
+ * <code>005</code> and streaming checksum version <code>006</code> for consents with different number of accounts.
+ * <p>
+ * Run with <code>main</code> method from IDE or with <code>java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main AisChecksumCalculatingServiceBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AisChecksumCalculatingServiceBenchmark {
+    private static final Currency EUR_CURRENCY = Currency.getInstance("EUR");
+
+    @Param({"005", "006"})
+    private String checksumVersion;
+
+    @Param({"1", "10", "100"})
+    private int accountsCount;
+
+    private ChecksumCalculatingService checksumCalculatingService;
+    private AisConsent aisConsent;
+    private byte[] checksum;
+
+    @Setup
+    public void setUp() {
+        checksumCalculatingService = "005".equals(checksumVersion)
+                                         ? new AisChecksumCalculatingServiceV5()
+                                         : new AisChecksumCalculatingServiceV6();
+        aisConsent = buildAisConsent(accountsCount);
+        checksum = checksumCalculatingService.calculateChecksumForConsent(aisConsent);
+    }
+
+    @Benchmark
+    public byte[] calculateChecksum() {
+        return checksumCalculatingService.calculateChecksumForConsent(aisConsent);
+    }
+
+    @Benchmark
+    public boolean verifyChecksum() {
+        return checksumCalculatingService.verifyConsentWithChecksum(aisConsent, checksum);
+    }
+
+    private static AisConsent buildAisConsent(int accountsCount) {
+        List<AccountReference> tppReferences = new ArrayList<>();
+        List<AccountReference> aspspReferences = new ArrayList<>();
+        for (int i = 0; i < accountsCount; i++) {
+            String iban = String.format("DE%020d", i);
+            tppReferences.add(new AccountReference(AccountReferenceType.IBAN, iban, EUR_CURRENCY));
+            aspspReferences.add(new AccountReference(AccountReferenceType.IBAN, iban, EUR_CURRENCY, "resource-" + i, "aspsp-" + i));
+        }
+        AdditionalInformationAccess additionalInformationAccess = new AdditionalInformationAccess(Collections.emptyList(), Collections.emptyList());
+
+        AisConsent consent = new AisConsent();
+        consent.setConsentData(AisConsentData.buildDefaultAisConsentData());
+        consent.setRecurringIndicator(true);
+        consent.setFrequencyPerDay(4);
+        consent.setValidUntil(LocalDate.now().plusDays(90));
+        consent.setTppAccountAccesses(new AccountAccess(tppReferences, tppReferences, tppReferences, additionalInformationAccess));
+        consent.setAspspAccountAccesses(new AccountAccess(aspspReferences, aspspReferences, aspspReferences, additionalInformationAccess));
+        return consent;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(AisChecksumCalculatingServiceBenchmark.class.getSimpleName())
+                       .build())
+            .run();
+    }
+}
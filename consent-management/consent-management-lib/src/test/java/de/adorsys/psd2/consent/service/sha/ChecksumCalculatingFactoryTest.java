@@ -20,6 +20,7 @@ package de.adorsys.psd2.consent.service.sha;
 import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV3;
 import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV4;
 import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV5;
+import de.adorsys.psd2.consent.service.sha.impl.AisChecksumCalculatingServiceV6;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,7 +34,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {ChecksumCalculatingFactory.class, AisChecksumCalculatingServiceV3.class,
-    AisChecksumCalculatingServiceV4.class, AisChecksumCalculatingServiceV5.class, NoProcessingChecksumService.class})
+    AisChecksumCalculatingServiceV4.class, AisChecksumCalculatingServiceV5.class, AisChecksumCalculatingServiceV6.class,
+    NoProcessingChecksumService.class})
 class ChecksumCalculatingFactoryTest {
     private static final byte[] WRONG_CHECKSUM = "wrong checksum in consent".getBytes();
     private static final ConsentType AIS_TYPE = ConsentType.AIS;
@@ -48,6 +50,8 @@ class ChecksumCalculatingFactoryTest {
     @Autowired
     private AisChecksumCalculatingServiceV5 aisV5;
     @Autowired
+    private AisChecksumCalculatingServiceV6 aisV6;
+    @Autowired
     private NoProcessingChecksumService noProcessingChecksumService;
 
     @Test
@@ -81,10 +85,20 @@ class ChecksumCalculatingFactoryTest {
     }
 
     @Test
-    void getServiceByChecksum_ais_nextVersion_success() {
+    void getServiceByChecksum_ais_v6_success() {
         // When
         Optional<ChecksumCalculatingService> actualResult = factory.getServiceByChecksum(getCorrectChecksum("006"), AIS_TYPE);
 
+        // Then
+        assertTrue(actualResult.isPresent());
+        assertEquals(aisV6, actualResult.get());
+    }
+
+    @Test
+    void getServiceByChecksum_ais_nextVersion_success() {
+        // When
+        Optional<ChecksumCalculatingService> actualResult = factory.getServiceByChecksum(getCorrectChecksum("007"), AIS_TYPE);
+
         // Then
         assertFalse(actualResult.isPresent());
     }
@@ -143,7 +157,7 @@ class ChecksumCalculatingFactoryTest {
 
         // Then
         assertTrue(actualResult.isPresent());
-        assertEquals(aisV5.getVersion(), actualResult.get().getVersion());
+        assertEquals(aisV6.getVersion(), actualResult.get().getVersion());
     }
 
     private static byte[] getCorrectChecksum(String version) {
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.sha.impl;
+
+import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.core.data.ais.AisConsent;
+import de.adorsys.psd2.core.data.piis.v1.PiisConsent;
+import de.adorsys.psd2.xs2a.core.profile.AccountReference;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AisChecksumCalculatingServiceV6Test {
+    private final AisChecksumCalculatingServiceV6 aisChecksumCalculatingServiceV6 = new AisChecksumCalculatingServiceV6();
+
+    private final JsonReader jsonReader = new JsonReader();
+
+    @Test
+    void calculateChecksumForConsent_multipleAccounts() {
+        // given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+
+        // when
+        byte[] actualResult = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(aisConsent);
+
+        // then
+        String checksum = new String(actualResult, StandardCharsets.US_ASCII);
+        assertTrue(checksum.startsWith("006_%_"));
+        assertEquals(3, checksum.split("_%_").length);
+        assertTrue(checksum.split("_%_")[2].startsWith("IBAN:"));
+    }
+
+    @Test
+    void calculateChecksumForConsent_nullConsent() {
+        // when
+        byte[] actualResult = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(null);
+
+        // then
+        assertArrayEquals(new byte[0], actualResult);
+    }
+
+    @Test
+    void calculateChecksumForConsent_notAisConsent() {
+        // when
+        byte[] actualResult = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(new PiisConsent());
+
+        // then
+        assertArrayEquals(new byte[0], actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_multipleAccounts() {
+        // given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        byte[] checksum = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(aisConsent);
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(buildConsentTppIbanMultiple(), checksum);
+
+        // then
+        assertTrue(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_multipleAccounts_differentOrder() {
+        // given
+        byte[] checksum = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(buildConsentTppIbanMultiple());
+        AisConsent aisConsent = buildConsentTppIbanMultipleMixed();
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // then
+        assertTrue(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_changedConsentData() {
+        // given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        byte[] checksum = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(aisConsent);
+        aisConsent.setValidUntil(LocalDate.of(2099, 12, 31));
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // then
+        assertFalse(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_changedAspspAccess() {
+        // given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        byte[] checksum = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(aisConsent);
+        AccountAccess aspspAccess = aisConsent.getAspspAccountAccesses();
+        List<AccountReference> accounts = new ArrayList<>(aspspAccess.getAccounts());
+        accounts.remove(0);
+        aisConsent.setAspspAccountAccesses(new AccountAccess(accounts, accounts, accounts, aspspAccess.getAdditionalInformationAccess()));
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // then
+        assertFalse(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_previousVersionChecksum() {
+        // given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        byte[] checksum = new AisChecksumCalculatingServiceV5().calculateChecksumForConsent(aisConsent);
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // then
+        assertFalse(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_nullChecksum() {
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(buildConsentTppIbanMultiple(), null);
+
+        // then
+        assertFalse(actualResult);
+    }
+
+    @Test
+    void calculateChecksumForConsent_afterFailedCalculation() {
+        // given
+        byte[] expectedResult = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(buildConsentTppIbanMultiple());
+        AisConsent failingConsent = buildConsentWithFailingTppAccess();
+        assertThrows(IllegalStateException.class, () -> aisChecksumCalculatingServiceV6.calculateChecksumForConsent(failingConsent));
+
+        // when
+        byte[] actualResult = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(buildConsentTppIbanMultiple());
+
+        // then
+        assertArrayEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_afterFailedCalculation() {
+        // given
+        byte[] checksum = aisChecksumCalculatingServiceV6.calculateChecksumForConsent(buildConsentTppIbanMultiple());
+        AisConsent failingConsent = buildConsentWithFailingTppAccess();
+        assertThrows(IllegalStateException.class, () -> aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(failingConsent, checksum));
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV6.verifyConsentWithChecksum(buildConsentTppIbanMultiple(), checksum);
+
+        // then
+        assertTrue(actualResult);
+    }
+
+    private AisConsent buildConsentWithFailingTppAccess() {
+        AccountReference failingReference = new AccountReference() {
+            @Override
+            public String getIban() {
+                throw new IllegalStateException("Reference can't be read");
+            }
+        };
+        failingReference.setResourceId("resource id");
+        List<AccountReference> accounts = List.of(failingReference);
+
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        aisConsent.setTppAccountAccesses(new AccountAccess(accounts, accounts, accounts, null));
+        return aisConsent;
+    }
+
+    private AisConsent buildConsentTppIbanMultiple() {
+        return jsonReader.getObjectFromFile("json/dedicated-ais-consent-multiple-accounts.json", AisConsent.class);
+    }
+
+    private AisConsent buildConsentTppIbanMultipleMixed() {
+        return jsonReader.getObjectFromFile("json/dedicated-ais-consent-multiple-accounts-mixed.json", AisConsent.class);
+    }
+}
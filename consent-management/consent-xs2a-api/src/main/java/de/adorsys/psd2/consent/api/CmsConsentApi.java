@@ -19,6 +19,8 @@ package de.adorsys.psd2.consent.api;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.ConsentStatusResponse;
 import de.adorsys.psd2.consent.api.config.InternalCmsXs2aApiTagName;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.xs2a.core.consent.TerminateOldConsentsRequest;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import io.swagger.annotations.*;
@@ -110,4 +112,15 @@ public interface CmsConsentApi {
         @PathVariable("encrypted-consent-id") String encryptedConsentId,
         @ApiParam(name = "multilevel-sca", value = "Multilevel SCA.", example = "false")
         @RequestParam(value = "multilevel-sca", defaultValue = "false") boolean multilevelSca);
+
+    @PutMapping(path = "/{encrypted-consent-id}/completion")
+    @ApiOperation(value = "Store ASPSP consent data, multilevel SCA requirement and first authorisation of newly created consent")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK", response = CmsCompleteConsentCreationResponse.class),
+        @ApiResponse(code = 400, message = "Checksum verification failed"),
+        @ApiResponse(code = 404, message = "Not Found")})
+    ResponseEntity<Object> completeConsentCreation(
+        @ApiParam(name = "encrypted-consent-id", value = "Encrypted consent ID", example = "bf489af6-a2cb-4b75-b71d-d66d58b934d7", required = true)
+        @PathVariable("encrypted-consent-id") String encryptedConsentId,
+        @RequestBody CmsCompleteConsentCreationRequest request);
 }
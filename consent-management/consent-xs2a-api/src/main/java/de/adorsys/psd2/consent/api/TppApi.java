@@ -18,6 +18,7 @@ package de.adorsys.psd2.consent.api;
 
 import de.adorsys.psd2.consent.api.config.InternalCmsXs2aApiTagName;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -42,4 +43,13 @@ public interface TppApi {
         @RequestHeader(value = "tpp-authorisation-number") String tppAuthorisationNumber,
         @ApiParam(value = "ID of the particular service instance")
         @RequestHeader(value = "instance-id", required = false, defaultValue = "") String instanceId);
+
+    @GetMapping(path = "/stop-list/changes")
+    @ApiOperation(value = "Returns changes of TPP stop list since the given version")
+    @ApiResponse(code = 200, message = "OK")
+    ResponseEntity<TppStopListChanges> getTppStopListChanges(
+        @ApiParam(value = "ID of the particular service instance")
+        @RequestHeader(value = "instance-id", required = false, defaultValue = "") String instanceId,
+        @ApiParam(value = "Version of the stop list returned by the previous call. If omitted, all blocked TPPs are returned", example = "1634567890123")
+        @RequestParam(value = "since", required = false) Long version);
 }
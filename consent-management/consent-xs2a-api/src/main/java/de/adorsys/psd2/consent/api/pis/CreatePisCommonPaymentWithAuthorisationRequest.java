@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.api.pis;
+
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePisCommonPaymentWithAuthorisationRequest {
+    private PisPaymentInfo paymentInfo;
+    /**
+     * ASPSP consent data provided by the SPI during payment initiation, will be stored only if not empty
+     */
+    @Nullable
+    private byte[] aspspConsentData;
+    /**
+     * Request for the first authorisation of the payment, no authorisation will be created if absent
+     */
+    @Nullable
+    private CreateAuthorisationRequest authorisationRequest;
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.api.pis;
+
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePisCommonPaymentWithAuthorisationResponse {
+    private CreatePisCommonPaymentResponse payment;
+    /**
+     * Created authorisation or <code>null</code> if no authorisation was requested or it couldn't be created
+     */
+    @Nullable
+    private CreateAuthorisationResponse authorisation;
+}
@@ -19,6 +19,8 @@ package de.adorsys.psd2.consent.api.service;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
 import de.adorsys.psd2.xs2a.core.consent.TerminateOldConsentsRequest;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
@@ -100,4 +102,18 @@ interface ConsentServiceBase {
      * @throws WrongChecksumException in case of any attempt to change definite consent fields after its status became valid.
      */
     CmsResponse<Boolean> updateMultilevelScaRequired(String consentId, boolean multilevelScaRequired) throws WrongChecksumException;
+
+    /**
+     * Stores the outcome of consent initiation at ASPSP in one transaction: ASPSP consent data, multilevel SCA required
+     * field and first authorisation of the consent
+     * <p>
+     * Failure to create the authorisation doesn't roll back the other changes, in this case the response won't contain
+     * any authorisation.
+     *
+     * @param consentId String representation of the consent identifier
+     * @param request   ASPSP consent data, multilevel SCA required indicator and first authorisation
+     * @return response containing created authorisation
+     * @throws WrongChecksumException in case of any attempt to change definite consent fields after its status became valid.
+     */
+    CmsResponse<CmsCompleteConsentCreationResponse> completeConsentCreation(String consentId, CmsCompleteConsentCreationRequest request) throws WrongChecksumException;
 }
@@ -18,6 +18,8 @@ package de.adorsys.psd2.consent.api.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
@@ -36,6 +38,17 @@ interface PisCommonPaymentServiceBase {
 
     CmsResponse<CreatePisCommonPaymentResponse> createCommonPayment(PisPaymentInfo request);
 
+    /**
+     * Creates new pis common payment together with its ASPSP consent data and its first authorisation in one transaction
+     * <p>
+     * Failure to create the authorisation doesn't roll back the creation of the payment, in this case the response
+     * won't contain any authorisation.
+     *
+     * @param request information about the payment, ASPSP consent data and first authorisation
+     * @return Response containing identifier of common payment and created authorisation
+     */
+    CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> createCommonPaymentWithAuthorisation(CreatePisCommonPaymentWithAuthorisationRequest request);
+
     /**
      * Retrieves common payment status from pis payment by payment identifier
      *
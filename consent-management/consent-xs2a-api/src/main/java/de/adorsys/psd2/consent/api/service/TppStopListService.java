@@ -17,6 +17,8 @@
 package de.adorsys.psd2.consent.api.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
+import org.jetbrains.annotations.Nullable;
 
 public interface TppStopListService {
 
@@ -28,4 +30,15 @@ public interface TppStopListService {
      * @return <code>true</code> if TPP is found and has status BLOCKED, <code>false</code> if TPP is not found or its status is not BLOCKED
      */
     CmsResponse<Boolean> checkIfTppBlocked(String tppAuthorisationNumber, String instanceId);
+
+    /**
+     * Returns changes of the stop list since the given version.
+     * Changes include blocking and unblocking of TPPs as well as unblocking of TPPs with expired blocking period.
+     *
+     * @param instanceId instance ID
+     * @param version    version of the stop list, returned by the previous call of this method.
+     *                   If <code>null</code>, all currently blocked TPPs will be returned.
+     * @return changed stop list records and current version of the stop list
+     */
+    CmsResponse<TppStopListChanges> getTppStopListChanges(String instanceId, @Nullable Long version);
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Memoizes successful responses of GET requests to CMS within one incoming XS2A request, so that the same consent,
+ * payment or authorisation is loaded from CMS over HTTP only once per TPP request.
+ * <p>
+ * Memoized responses are dropped as soon as any other request (POST, PUT, DELETE etc.) is sent to CMS within the same
+ * incoming request. Requests sent outside of incoming requests (e.g. by background threads) are never memoized.
+ * Number of executed and memoized CMS calls is recorded per incoming request as metric and, optionally, returned to
+ * the TPP in response headers for debugging purposes.
+ */
+public class CmsResponseMemoizingInterceptor implements ClientHttpRequestInterceptor {
+    static final String CALLS_HEADER = "X-CMS-Calls";
+    static final String MEMOIZED_CALLS_HEADER = "X-CMS-Memoized-Calls";
+
+    private static final String MEMO_ATTRIBUTE = CmsResponseMemoizingInterceptor.class.getName() + ".MEMO";
+    private static final String CALLS_METRIC = "xs2a.cms.calls";
+    private static final String CALLS_METRIC_TYPE_TAG = "type";
+    private static final int MAX_MEMOIZED_BODY_SIZE = 256 * 1024;
+
+    private final boolean memoizationEnabled;
+    private final boolean callsHeaderEnabled;
+    private final DistributionSummary executedCallsSummary;
+    private final DistributionSummary memoizedCallsSummary;
+
+    public CmsResponseMemoizingInterceptor(MeterRegistry meterRegistry, boolean memoizationEnabled, boolean callsHeaderEnabled) {
+        this.memoizationEnabled = memoizationEnabled;
+        this.callsHeaderEnabled = callsHeaderEnabled;
+        this.executedCallsSummary = DistributionSummary.builder(CALLS_METRIC)
+                                        .description("Number of CMS calls per XS2A request")
+                                        .tag(CALLS_METRIC_TYPE_TAG, "executed")
+                                        .register(meterRegistry);
+        this.memoizedCallsSummary = DistributionSummary.builder(CALLS_METRIC)
+                                        .description("Number of CMS calls per XS2A request")
+                                        .tag(CALLS_METRIC_TYPE_TAG, "memoized")
+                                        .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return execution.execute(request, body);
+        }
+
+        RequestMemo memo = getMemo(requestAttributes);
+
+        if (request.getMethod() != HttpMethod.GET) {
+            memo.invalidate();
+        } else if (memoizationEnabled) {
+            String key = request.getURI().toString() + request.getHeaders();
+            MemoizedResponse memoizedResponse = memo.getResponse(key);
+            if (memoizedResponse != null) {
+                memo.memoizedCalls.incrementAndGet();
+                writeCallsHeaders(requestAttributes, memo);
+                return memoizedResponse;
+            }
+
+            memo.executedCalls.incrementAndGet();
+            writeCallsHeaders(requestAttributes, memo);
+            return memoize(memo, key, execution.execute(request, body));
+        }
+
+        memo.executedCalls.incrementAndGet();
+        writeCallsHeaders(requestAttributes, memo);
+        return execution.execute(request, body);
+    }
+
+    private RequestMemo getMemo(RequestAttributes requestAttributes) {
+        RequestMemo memo = (RequestMemo) requestAttributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            RequestMemo newMemo = new RequestMemo();
+            requestAttributes.setAttribute(MEMO_ATTRIBUTE, newMemo, RequestAttributes.SCOPE_REQUEST);
+            requestAttributes.registerDestructionCallback(MEMO_ATTRIBUTE, () -> recordCalls(newMemo), RequestAttributes.SCOPE_REQUEST);
+            memo = newMemo;
+        }
+        return memo;
+    }
+
+    private ClientHttpResponse memoize(RequestMemo memo, String key, ClientHttpResponse response) throws IOException {
+        if (HttpStatus.Series.resolve(response.getRawStatusCode()) != HttpStatus.Series.SUCCESSFUL) {
+            return response;
+        }
+
+        MemoizedResponse memoizedResponse;
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            memoizedResponse = new MemoizedResponse(response.getRawStatusCode(), response.getStatusText(),
+                                                    HttpHeaders.readOnlyHttpHeaders(headers),
+                                                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+
+        if (memoizedResponse.body.length <= MAX_MEMOIZED_BODY_SIZE) {
+            memo.putResponse(key, memoizedResponse);
+        }
+        return memoizedResponse;
+    }
+
+    private void writeCallsHeaders(RequestAttributes requestAttributes, RequestMemo memo) {
+        if (!callsHeaderEnabled || !(requestAttributes instanceof ServletRequestAttributes)) {
+            return;
+        }
+
+        HttpServletResponse response = ((ServletRequestAttributes) requestAttributes).getResponse();
+        if (response != null && !response.isCommitted()) {
+            response.setHeader(CALLS_HEADER, String.valueOf(memo.executedCalls.get()));
+            response.setHeader(MEMOIZED_CALLS_HEADER, String.valueOf(memo.memoizedCalls.get()));
+        }
+    }
+
+    private void recordCalls(RequestMemo memo) {
+        executedCallsSummary.record(memo.executedCalls.get());
+        memoizedCallsSummary.record(memo.memoizedCalls.get());
+    }
+
+    private static final class RequestMemo {
+        private final Map<String, MemoizedResponse> responses = new ConcurrentHashMap<>();
+        private final AtomicInteger executedCalls = new AtomicInteger();
+        private final AtomicInteger memoizedCalls = new AtomicInteger();
+
+        private MemoizedResponse getResponse(String key) {
+            return responses.get(key);
+        }
+
+        private void putResponse(String key, MemoizedResponse response) {
+            responses.put(key, response);
+        }
+
+        private void invalidate() {
+            responses.clear();
+        }
+    }
+
+    private static final class MemoizedResponse implements ClientHttpResponse {
+        private final int rawStatusCode;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private MemoizedResponse(int rawStatusCode, String statusText, HttpHeaders headers, byte[] body) {
+            this.rawStatusCode = rawStatusCode;
+            this.statusText = statusText;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(rawStatusCode);
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return rawStatusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            // nothing to release, body is kept in memory
+        }
+    }
+}
@@ -55,4 +55,8 @@ public class ConsentRemoteUrls {
     public String updateMultilevelScaRequired() {
         return consentServiceBaseUrl + "/consent/{encrypted-consent-id}/multilevel-sca?multilevel-sca={multilevel-sca}";
     }
+
+    public String completeConsentCreation() {
+        return consentServiceBaseUrl + "/consent/{encrypted-consent-id}/completion";
+    }
 }
@@ -16,39 +16,52 @@
 
 package de.adorsys.psd2.consent.config;
 
+import de.adorsys.psd2.http.client.PooledHttpClientFactory;
+import de.adorsys.psd2.http.client.PooledHttpClientProperties;
 import de.adorsys.psd2.logger.web.LoggingContextInterceptor;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 @RequiredArgsConstructor
 public class ConsentRestConfig {
+    private static final String PROPERTY_PREFIX = "xs2a.rest-consent-config";
+    private static final String POOL_METRIC_CLIENT_NAME = "consent";
+
     private final LoggingContextInterceptor loggingContextInterceptor;
+    private final Environment environment;
 
-    @Value("${xs2a.rest-consent-config.read-timeout.ms:10000}")
-    private int readTimeout;
-    @Value("${xs2a.rest-consent-config.connection-timeout.ms:10000}")
-    private int connectionTimeout;
+    @Value("${xs2a.rest-consent-config.memoization.enabled:true}")
+    private boolean memoizationEnabled;
+    @Value("${xs2a.rest-consent-config.memoization.calls-header.enabled:false}")
+    private boolean callsHeaderEnabled;
 
     @Bean
     public RestTemplate consentRestTemplate() {
-        RestTemplate rest = new RestTemplate(clientHttpRequestFactory());
+        RestTemplate rest = new RestTemplate(consentClientHttpRequestFactory());
         rest.getMessageConverters().removeIf(m -> m.getClass().isAssignableFrom(MappingJackson2XmlHttpMessageConverter.class));
         rest.setErrorHandler(new ConsentRestErrorHandler());
         rest.getInterceptors().add(loggingContextInterceptor);
+        rest.getInterceptors().add(new CmsResponseMemoizingInterceptor(Metrics.globalRegistry, memoizationEnabled, callsHeaderEnabled));
         return rest;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setReadTimeout(readTimeout);
-        factory.setConnectTimeout(connectionTimeout);
-        return factory;
+    /**
+     * Creates request factory, which is backed by the pool of persistent connections to CMS. Factory is exposed as a bean
+     * in order to close the pool on shutdown of the application context.
+     *
+     * @return pooled request factory
+     */
+    @Bean
+    public ClientHttpRequestFactory consentClientHttpRequestFactory() {
+        PooledHttpClientProperties properties = new PooledHttpClientProperties().bind(environment, PROPERTY_PREFIX);
+        return new PooledHttpClientFactory(Metrics.globalRegistry).createRequestFactory(POOL_METRIC_CLIENT_NAME, properties);
     }
 }
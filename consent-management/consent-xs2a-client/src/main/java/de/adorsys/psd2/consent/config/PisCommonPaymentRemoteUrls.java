@@ -33,6 +33,15 @@ public class PisCommonPaymentRemoteUrls {
         return commonPaymentServiceBaseUrl + "/pis/common-payments/";
     }
 
+    /**
+     * Returns URL-string to CMS endpoint that creates pis common payment with its first authorisation
+     *
+     * @return String
+     */
+    public String createPisCommonPaymentWithAuthorisation() {
+        return commonPaymentServiceBaseUrl + "/pis/common-payments/with-authorisation";
+    }
+
     /**
      * Returns URL-string to CMS endpoint that updates pis common payment status
      *
@@ -32,4 +32,13 @@ public class TppStopListRemoteUrls {
     public String checkIfTppBlocked() {
         return consentServiceBaseUrl + "/tpp/stop-list";
     }
+
+    /**
+     * Returns URL-string to CMS endpoint that returns changes of TPP stop list since the given version
+     *
+     * @return String
+     */
+    public String getTppStopListChanges() {
+        return consentServiceBaseUrl + "/tpp/stop-list/changes?since={since}";
+    }
 }
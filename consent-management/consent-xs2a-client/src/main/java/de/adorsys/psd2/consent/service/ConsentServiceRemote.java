@@ -19,6 +19,8 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.ConsentStatusResponse;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.consent.config.CmsRestException;
@@ -30,6 +32,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -193,4 +196,23 @@ public class ConsentServiceRemote implements ConsentServiceEncrypted {
                    .payload(false)
                    .build();
     }
+
+    @Override
+    public CmsResponse<CmsCompleteConsentCreationResponse> completeConsentCreation(String encryptedConsentId, CmsCompleteConsentCreationRequest request) {
+        try {
+            CmsCompleteConsentCreationResponse response = consentRestTemplate.exchange(consentRemoteUrls.completeConsentCreation(),
+                                                                                       HttpMethod.PUT, new HttpEntity<>(request), CmsCompleteConsentCreationResponse.class, encryptedConsentId)
+                                                              .getBody();
+            return CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                       .payload(response)
+                       .build();
+        } catch (CmsRestException cmsRestException) {
+            log.info("Couldn't complete creation of consent with ID {}, HTTP response status: {}",
+                     encryptedConsentId, cmsRestException.getHttpStatus());
+        }
+
+        return CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                   .error(TECHNICAL_ERROR)
+                   .build();
+    }
 }
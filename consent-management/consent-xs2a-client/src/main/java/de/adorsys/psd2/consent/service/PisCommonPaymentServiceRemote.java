@@ -18,6 +18,8 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
@@ -62,6 +64,22 @@ public class PisCommonPaymentServiceRemote implements PisCommonPaymentServiceEnc
                    .build();
     }
 
+    @Override
+    public CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> createCommonPaymentWithAuthorisation(CreatePisCommonPaymentWithAuthorisationRequest request) {
+        try {
+            CreatePisCommonPaymentWithAuthorisationResponse body = consentRestTemplate.postForEntity(remotePisCommonPaymentUrls.createPisCommonPaymentWithAuthorisation(), request, CreatePisCommonPaymentWithAuthorisationResponse.class).getBody();
+            return CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                       .payload(body)
+                       .build();
+        } catch (CmsRestException cmsRestException) {
+            log.warn("Remote common payment with authorisation creation failed");
+        }
+
+        return CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder()
+                   .error(TECHNICAL_ERROR)
+                   .build();
+    }
+
     @Override
     public CmsResponse<TransactionStatus> getPisCommonPaymentStatusById(String paymentId) {
         return CmsResponse.<TransactionStatus>builder()
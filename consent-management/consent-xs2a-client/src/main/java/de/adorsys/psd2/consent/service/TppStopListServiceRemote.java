@@ -19,7 +19,9 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.consent.config.TppStopListRemoteUrls;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
 import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -55,4 +57,19 @@ public class TppStopListServiceRemote implements TppStopListService {
                    .payload(body)
                    .build();
     }
+
+    @Override
+    public CmsResponse<TppStopListChanges> getTppStopListChanges(String instanceId, @Nullable Long version) {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        headers.add(INSTANCE, instanceId);
+
+        TppStopListChanges body = consentRestTemplate.exchange(tppStopListRemoteUrls.getTppStopListChanges(), HttpMethod.GET, new HttpEntity<>(headers),
+                                                               TppStopListChanges.class, version)
+                                      .getBody();
+
+        return CmsResponse.<TppStopListChanges>builder()
+                   .payload(body)
+                   .build();
+    }
 }
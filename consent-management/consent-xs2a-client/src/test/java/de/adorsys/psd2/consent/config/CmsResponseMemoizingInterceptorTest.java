@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CmsResponseMemoizingInterceptorTest {
+    private static final URI CONSENT_URI = URI.create("http://cms.url/api/v1/ais/consent/encrypted-consent-id");
+    private static final URI CONSENT_STATUS_URI = URI.create("http://cms.url/api/v1/ais/consent/encrypted-consent-id/status/VALID");
+    private static final String CONSENT_BODY = "{\"id\":\"encrypted-consent-id\"}";
+    private static final String CALLS_METRIC = "xs2a.cms.calls";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletResponse servletResponse;
+    private ServletRequestAttributes requestAttributes;
+    private AtomicInteger executedRequests;
+    private HttpStatus responseStatus;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        servletResponse = new MockHttpServletResponse();
+        requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest(), servletResponse);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+
+        executedRequests = new AtomicInteger();
+        responseStatus = HttpStatus.OK;
+        execution = (request, body) -> {
+            executedRequests.incrementAndGet();
+            return new MockClientHttpResponse(CONSENT_BODY.getBytes(StandardCharsets.UTF_8), responseStatus);
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void intercept_repeatedGet_memoized() throws IOException {
+        // Given
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, true, false);
+
+        // When
+        ClientHttpResponse firstResponse = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        ClientHttpResponse secondResponse = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+
+        // Then
+        assertEquals(1, executedRequests.get());
+        assertEquals(HttpStatus.OK, secondResponse.getStatusCode());
+        assertEquals(CONSENT_BODY, readBody(firstResponse));
+        assertEquals(CONSENT_BODY, readBody(secondResponse));
+    }
+
+    @Test
+    void intercept_writeBetweenGets_invalidatesMemoizedResponses() throws IOException {
+        // Given
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, true, false);
+
+        // When
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.PUT, CONSENT_STATUS_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+
+        // Then
+        assertEquals(3, executedRequests.get());
+    }
+
+    @Test
+    void intercept_errorResponse_notMemoized() throws IOException {
+        // Given
+        responseStatus = HttpStatus.NOT_FOUND;
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, true, false);
+
+        // When
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+
+        // Then
+        assertEquals(2, executedRequests.get());
+    }
+
+    @Test
+    void intercept_noRequestContext_notMemoized() throws IOException {
+        // Given
+        RequestContextHolder.resetRequestAttributes();
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, true, true);
+
+        // When
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+
+        // Then
+        assertEquals(2, executedRequests.get());
+        assertNull(servletResponse.getHeader(CmsResponseMemoizingInterceptor.CALLS_HEADER));
+    }
+
+    @Test
+    void intercept_memoizationDisabled_notMemoized() throws IOException {
+        // Given
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, false, false);
+
+        // When
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+
+        // Then
+        assertEquals(2, executedRequests.get());
+    }
+
+    @Test
+    void intercept_callsHeaderEnabled_writesHeaders() throws IOException {
+        // Given
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, true, true);
+
+        // When
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+
+        // Then
+        assertEquals("1", servletResponse.getHeader(CmsResponseMemoizingInterceptor.CALLS_HEADER));
+        assertEquals("2", servletResponse.getHeader(CmsResponseMemoizingInterceptor.MEMOIZED_CALLS_HEADER));
+    }
+
+    @Test
+    void intercept_callsHeaderDisabled_noHeaders() throws IOException {
+        // Given
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, true, false);
+
+        // When
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+
+        // Then
+        assertNull(servletResponse.getHeader(CmsResponseMemoizingInterceptor.CALLS_HEADER));
+        assertNull(servletResponse.getHeader(CmsResponseMemoizingInterceptor.MEMOIZED_CALLS_HEADER));
+    }
+
+    @Test
+    void requestCompleted_recordsCallsPerRequest() throws IOException {
+        // Given
+        CmsResponseMemoizingInterceptor interceptor = new CmsResponseMemoizingInterceptor(meterRegistry, true, false);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CONSENT_URI), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.PUT, CONSENT_STATUS_URI), new byte[0], execution);
+
+        // When
+        requestAttributes.requestCompleted();
+
+        // Then
+        DistributionSummary executedCalls = meterRegistry.get(CALLS_METRIC).tag("type", "executed").summary();
+        DistributionSummary memoizedCalls = meterRegistry.get(CALLS_METRIC).tag("type", "memoized").summary();
+        assertEquals(1, executedCalls.count());
+        assertEquals(2, executedCalls.totalAmount());
+        assertEquals(1, memoizedCalls.count());
+        assertEquals(1, memoizedCalls.totalAmount());
+    }
+
+    private String readBody(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -79,4 +79,10 @@ class ConsentRemoteUrlsTest {
         String expected = "http://base.url/consent/{encrypted-consent-id}/multilevel-sca?multilevel-sca={multilevel-sca}";
         assertEquals(expected, consentRemoteUrls.updateMultilevelScaRequired());
     }
+
+    @Test
+    void completeConsentCreation() {
+        String expected = "http://base.url/consent/{encrypted-consent-id}/completion";
+        assertEquals(expected, consentRemoteUrls.completeConsentCreation());
+    }
 }
@@ -39,6 +39,12 @@ class PisCommonPaymentRemoteUrlsTest {
                      pisCommonPaymentRemoteUrls.createPisCommonPayment());
     }
 
+    @Test
+    void createPisCommonPaymentWithAuthorisation() {
+        assertEquals("http://base.url/pis/common-payments/with-authorisation",
+                     pisCommonPaymentRemoteUrls.createPisCommonPaymentWithAuthorisation());
+    }
+
     @Test
     void updatePisCommonPaymentStatus() {
         assertEquals("http://base.url/pis/common-payments/{paymentId}/status/{status}",
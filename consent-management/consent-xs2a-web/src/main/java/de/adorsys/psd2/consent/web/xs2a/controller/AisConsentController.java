@@ -37,13 +37,18 @@ public class AisConsentController implements AisConsentApi {
 
     @Override
     public ResponseEntity<Object> saveConsentActionLog(AisConsentActionRequest request) {
+        CmsResponse<CmsResponse.VoidResponse> response;
 
         try {
-            aisConsentService.checkConsentAndSaveActionLog(request);
+            response = aisConsentService.checkConsentAndSaveActionLog(request);
         } catch (WrongChecksumException e) {
             return new ResponseEntity<>(CmsError.CHECKSUM_ERROR, HttpStatus.BAD_REQUEST);
         }
 
+        if (response.hasError()) {
+            return new ResponseEntity<>(response.getError(), HttpStatus.BAD_REQUEST);
+        }
+
         return ResponseEntity.ok().build();
     }
 
@@ -19,6 +19,8 @@ package de.adorsys.psd2.consent.web.xs2a.controller;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.PisCommonPaymentApi;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentDataStatusResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
@@ -48,6 +50,17 @@ public class PisCommonPaymentController implements PisCommonPaymentApi {
         return new ResponseEntity<>(response.getPayload(), HttpStatus.CREATED);
     }
 
+    @Override
+    public ResponseEntity<CreatePisCommonPaymentWithAuthorisationResponse> createCommonPaymentWithAuthorisation(CreatePisCommonPaymentWithAuthorisationRequest request) {
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> response = pisCommonPaymentServiceEncrypted.createCommonPaymentWithAuthorisation(request);
+
+        if (response.hasError()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(response.getPayload(), HttpStatus.CREATED);
+    }
+
     @Override
     public ResponseEntity<PisCommonPaymentDataStatusResponse> getPisCommonPaymentStatusById(String paymentId) {
         CmsResponse<TransactionStatus> response = pisCommonPaymentServiceEncrypted.getPisCommonPaymentStatusById(paymentId);
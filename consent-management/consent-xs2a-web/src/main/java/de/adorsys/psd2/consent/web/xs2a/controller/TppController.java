@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.api.TppApi;
 import de.adorsys.psd2.consent.api.service.TppService;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,4 +44,10 @@ public class TppController implements TppApi {
         CmsResponse<Boolean> response = tppStopListService.checkIfTppBlocked(tppAuthorisationNumber, instanceId);
         return new ResponseEntity<>(response.isSuccessful() && response.getPayload(), HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<TppStopListChanges> getTppStopListChanges(String instanceId, Long version) {
+        CmsResponse<TppStopListChanges> response = tppStopListService.getTppStopListChanges(instanceId, version);
+        return new ResponseEntity<>(response.getPayload(), HttpStatus.OK);
+    }
 }
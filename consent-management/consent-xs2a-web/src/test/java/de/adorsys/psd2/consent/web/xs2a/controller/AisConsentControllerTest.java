@@ -82,6 +82,21 @@ class AisConsentControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    void saveConsentActionLog_Error() throws Exception {
+        //Given
+        when(aisConsentServiceEncrypted.checkConsentAndSaveActionLog(AIS_CONSENT_ACTION_REQUEST))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().error(CmsError.LOGICAL_ERROR).build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.post(ACTION_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(JSON_READER.writeValueAsString(AIS_CONSENT_ACTION_REQUEST)))
+            //Then
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().json(JSON_READER.writeValueAsString(CmsError.LOGICAL_ERROR)));
+    }
+
     @Test
     void saveConsentActionLog_WrongChecksumException() throws Exception {
         //Given
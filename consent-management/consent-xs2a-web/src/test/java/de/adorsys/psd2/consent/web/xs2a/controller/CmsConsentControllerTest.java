@@ -4,6 +4,8 @@ import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.consent.web.xs2a.config.ObjectMapperTestConfig;
@@ -26,6 +28,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -268,4 +271,44 @@ class CmsConsentControllerTest {
                             .param("multilevel-sca", "true"))
             .andExpect(status().is(HttpStatus.NOT_FOUND.value()));
     }
+
+    @Test
+    void completeConsentCreation_Success() throws Exception {
+        when(consentServiceEncrypted.completeConsentCreation(eq(EXTERNAL_ID), any(CmsCompleteConsentCreationRequest.class)))
+            .thenReturn(CmsResponse.<CmsCompleteConsentCreationResponse>builder().payload(new CmsCompleteConsentCreationResponse(null)).build());
+
+        mockMvc.perform(MockMvcRequestBuilders.put(UriComponentsBuilder.fromPath("/api/v1/consent/{encrypted-consent-id}/completion")
+                                                       .buildAndExpand(EXTERNAL_ID)
+                                                       .toUriString())
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("{\"multilevelScaRequired\": true}"))
+            .andExpect(status().is(HttpStatus.OK.value()));
+    }
+
+    @Test
+    void completeConsentCreation_throwsChecksumError() throws Exception {
+        when(consentServiceEncrypted.completeConsentCreation(eq(EXTERNAL_ID), any(CmsCompleteConsentCreationRequest.class)))
+            .thenThrow(WrongChecksumException.class);
+
+        mockMvc.perform(MockMvcRequestBuilders.put(UriComponentsBuilder.fromPath("/api/v1/consent/{encrypted-consent-id}/completion")
+                                                       .buildAndExpand(EXTERNAL_ID)
+                                                       .toUriString())
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("{\"multilevelScaRequired\": true}"))
+            .andExpect(status().is(HttpStatus.BAD_REQUEST.value()))
+            .andExpect(content().string('"' + CmsError.CHECKSUM_ERROR.toString() + '"'));
+    }
+
+    @Test
+    void completeConsentCreation_returnsNotFoundResponse_withError() throws Exception {
+        when(consentServiceEncrypted.completeConsentCreation(eq(EXTERNAL_ID), any(CmsCompleteConsentCreationRequest.class)))
+            .thenReturn(CmsResponse.<CmsCompleteConsentCreationResponse>builder().error(CmsError.LOGICAL_ERROR).build());
+
+        mockMvc.perform(MockMvcRequestBuilders.put(UriComponentsBuilder.fromPath("/api/v1/consent/{encrypted-consent-id}/completion")
+                                                       .buildAndExpand(EXTERNAL_ID)
+                                                       .toUriString())
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("{\"multilevelScaRequired\": true}"))
+            .andExpect(status().is(HttpStatus.NOT_FOUND.value()));
+    }
 }
@@ -20,6 +20,8 @@ package de.adorsys.psd2.consent.web.xs2a.controller;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentDataStatusResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
@@ -76,6 +78,35 @@ class PisCommonPaymentControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void createCommonPaymentWithAuthorisation_Success() {
+        //Given
+        CreatePisCommonPaymentWithAuthorisationRequest request = new CreatePisCommonPaymentWithAuthorisationRequest(getPisPaymentInfo(), null, null);
+        CreatePisCommonPaymentWithAuthorisationResponse response = new CreatePisCommonPaymentWithAuthorisationResponse(getCreatePisCommonPaymentResponse(), null);
+        when(pisCommonPaymentService.createCommonPaymentWithAuthorisation(request))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder().payload(response).build());
+
+        //When
+        ResponseEntity<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentController.createCommonPaymentWithAuthorisation(request);
+
+        //Then
+        assertEquals(new ResponseEntity<>(response, HttpStatus.CREATED), actual);
+    }
+
+    @Test
+    void createCommonPaymentWithAuthorisation_Failure() {
+        //Given
+        CreatePisCommonPaymentWithAuthorisationRequest request = new CreatePisCommonPaymentWithAuthorisationRequest(getPisPaymentInfo(), null, null);
+        when(pisCommonPaymentService.createCommonPaymentWithAuthorisation(request))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder().error(CmsError.TECHNICAL_ERROR).build());
+
+        //When
+        ResponseEntity<CreatePisCommonPaymentWithAuthorisationResponse> actual = pisCommonPaymentController.createCommonPaymentWithAuthorisation(request);
+
+        //Then
+        assertEquals(new ResponseEntity<>(HttpStatus.BAD_REQUEST), actual);
+    }
+
     @Test
     void getConsentStatusById_Success() {
         //Given
@@ -19,9 +19,11 @@ package de.adorsys.psd2.event.service;
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventCount;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -89,4 +91,15 @@ public interface AspspEventService {
      */
     List<AspspEvent> getEventsForPeriodAndEventOrigin(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @NotNull EventOrigin eventOrigin, @Nullable String instanceId,
                                                       @Nullable Integer pageIndex, @Nullable Integer itemsPerPage);
+
+    /**
+     * Returns daily counts of the events, recorded in given period.
+     * Counts remain available after the events themselves were removed by the retention job.
+     *
+     * @param start      First day of the period
+     * @param end        Last day of the period
+     * @param instanceId The id of particular service instance
+     * @return List of daily event counts, grouped by TPP, event type and event origin
+     */
+    List<AspspEventCount> getEventCountsForPeriod(@NotNull LocalDate start, @NotNull LocalDate end, @Nullable String instanceId);
 }
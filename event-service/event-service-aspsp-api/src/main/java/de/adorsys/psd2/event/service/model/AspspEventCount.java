@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.service.model;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Contains the number of events, recorded on one day.
+ */
+@Setter
+@Getter
+@Builder
+@EqualsAndHashCode
+public class AspspEventCount {
+    /**
+     * Day when the events have occurred.
+     */
+    private LocalDate date;
+
+    /**
+     * The id of particular service instance.
+     */
+    private String instanceId;
+
+    /**
+     * Authorization number of the TPP.
+     * Can be null if the events aren't connected with the specific TPP.
+     */
+    private String tppAuthorisationNumber;
+
+    /**
+     * Indicates what happened in the events.
+     */
+    private EventType eventType;
+
+    /**
+     * Indicates the origin of the events.
+     */
+    private EventOrigin eventOrigin;
+
+    /**
+     * Number of the events.
+     */
+    private long count;
+}
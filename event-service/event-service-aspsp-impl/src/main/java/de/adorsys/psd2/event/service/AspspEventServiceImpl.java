@@ -20,13 +20,16 @@ import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.EventReportRepository;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
 import de.adorsys.psd2.event.service.mapper.AspspEventMapper;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventCount;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -70,4 +73,10 @@ public class AspspEventServiceImpl implements AspspEventService {
         List<ReportEvent> result = eventReportRepository.getEventsForPeriodAndEventOrigin(start, end, eventOrigin, instanceId, pageIndex, itemsPerPage);
         return eventBOMapper.toAspspEventList(result);
     }
+
+    @Override
+    public List<AspspEventCount> getEventCountsForPeriod(@NotNull LocalDate start, @NotNull LocalDate end, @Nullable String instanceId) {
+        List<ReportEventCount> result = eventReportRepository.getEventCountsForPeriod(start, end, instanceId);
+        return eventBOMapper.toAspspEventCountList(result);
+    }
 }
@@ -18,7 +18,9 @@ package de.adorsys.psd2.event.service.mapper;
 
 import de.adorsys.psd2.event.persist.model.PsuIdDataPO;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventCount;
 import de.adorsys.psd2.event.service.model.AspspPsuIdData;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +48,11 @@ public abstract class AspspEventMapper {
     @IterableMapping(nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
     public abstract List<AspspEvent> toAspspEventList(List<ReportEvent> events);
 
+    public abstract AspspEventCount toAspspEventCount(ReportEventCount eventCount);
+
+    @IterableMapping(nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
+    public abstract List<AspspEventCount> toAspspEventCountList(List<ReportEventCount> eventCounts);
+
     @Named("mapToPsuIdDataList")
     protected abstract List<AspspPsuIdData> mapToPsuIdDataList(Set<PsuIdDataPO> psuIdData);
 
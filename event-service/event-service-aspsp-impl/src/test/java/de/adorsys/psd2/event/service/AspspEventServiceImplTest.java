@@ -28,6 +28,7 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 
@@ -93,4 +94,15 @@ class AspspEventServiceImplTest {
 
         verify(eventReportRepository, times(1)).getEventsForPeriodAndEventType(START, END, EventType.CREATE_AIS_CONSENT_REQUEST_RECEIVED, INSTANCE_ID, null, null);
     }
+
+    @Test
+    void getEventCountsForPeriod() {
+        LocalDate start = START.toLocalDate();
+        LocalDate end = END.toLocalDate();
+        when(eventReportRepository.getEventCountsForPeriod(start, end, INSTANCE_ID)).thenReturn(Collections.emptyList());
+
+        aspspEventService.getEventCountsForPeriod(start, end, INSTANCE_ID);
+
+        verify(eventReportRepository, times(1)).getEventCountsForPeriod(start, end, INSTANCE_ID);
+    }
 }
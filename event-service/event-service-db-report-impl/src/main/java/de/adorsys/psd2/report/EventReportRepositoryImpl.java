@@ -20,7 +20,10 @@ import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.EventReportRepository;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
+import de.adorsys.psd2.report.entity.EventDailyRollupReportEntity;
 import de.adorsys.psd2.report.entity.EventReportEntity;
+import de.adorsys.psd2.report.jpa.EventDailyRollupReportJPARepository;
 import de.adorsys.psd2.report.jpa.EventReportJPARepository;
 import de.adorsys.psd2.report.mapper.EventReportDBMapper;
 import de.adorsys.psd2.report.specification.EventSpecification;
@@ -32,6 +35,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -44,6 +48,7 @@ public class EventReportRepositoryImpl implements EventReportRepository {
     private final EventReportJPARepository eventJpaRepository;
     private final EventSpecification eventSpecification;
     private final EventPageRequestBuilder pageRequestBuilder;
+    private final EventDailyRollupReportJPARepository eventDailyRollupRepository;
 
     @Override
     public List<ReportEvent> getEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId,
@@ -94,4 +99,12 @@ public class EventReportRepositoryImpl implements EventReportRepository {
                                             .collect(Collectors.toList());
         return eventReportDBMapper.mapToAspspReportEvents(events);
     }
+
+    @Override
+    public List<ReportEventCount> getEventCountsForPeriod(@NotNull LocalDate start, @NotNull LocalDate end, @Nullable String instanceId) {
+        List<EventDailyRollupReportEntity> rollups = instanceId == null
+                                                         ? eventDailyRollupRepository.findAllByIdEventDateBetweenOrderByIdEventDate(start, end)
+                                                         : eventDailyRollupRepository.findAllByIdEventDateBetweenAndIdInstanceIdOrderByIdEventDate(start, end, instanceId);
+        return eventReportDBMapper.mapToReportEventCounts(rollups);
+    }
 }
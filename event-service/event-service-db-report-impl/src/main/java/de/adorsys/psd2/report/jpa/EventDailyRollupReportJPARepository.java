@@ -0,0 +1,32 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.report.jpa;
+
+import de.adorsys.psd2.report.entity.EventDailyRollupReportEntity;
+import de.adorsys.psd2.report.entity.EventDailyRollupReportId;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EventDailyRollupReportJPARepository extends CrudRepository<EventDailyRollupReportEntity, EventDailyRollupReportId> {
+    List<EventDailyRollupReportEntity> findAllByIdEventDateBetweenOrderByIdEventDate(LocalDate start, LocalDate end);
+
+    List<EventDailyRollupReportEntity> findAllByIdEventDateBetweenAndIdInstanceIdOrderByIdEventDate(LocalDate start, LocalDate end, String instanceId);
+}
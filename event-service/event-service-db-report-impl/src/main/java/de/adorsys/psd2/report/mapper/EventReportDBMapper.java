@@ -19,6 +19,8 @@ package de.adorsys.psd2.report.mapper;
 import de.adorsys.psd2.consent.domain.PsuDataEmbeddable;
 import de.adorsys.psd2.event.persist.model.PsuIdDataPO;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
+import de.adorsys.psd2.report.entity.EventDailyRollupReportEntity;
 import de.adorsys.psd2.report.entity.EventPsuDataList;
 import de.adorsys.psd2.report.entity.EventReportEntity;
 import org.apache.commons.collections4.CollectionUtils;
@@ -83,4 +85,20 @@ public interface EventReportDBMapper {
                                                       .values();
         return new ArrayList<>(eventCollection);
     }
+
+    default ReportEventCount mapToReportEventCount(EventDailyRollupReportEntity rollup) {
+        String tppAuthorisationNumber = rollup.getId().getTppAuthorisationNumber();
+        return new ReportEventCount(rollup.getId().getEventDate(),
+                                    rollup.getId().getInstanceId(),
+                                    ReportEventCount.NO_TPP_AUTHORISATION_NUMBER.equals(tppAuthorisationNumber) ? null : tppAuthorisationNumber,
+                                    rollup.getId().getEventType(),
+                                    rollup.getId().getEventOrigin(),
+                                    rollup.getEventCount());
+    }
+
+    default List<ReportEventCount> mapToReportEventCounts(List<EventDailyRollupReportEntity> rollups) {
+        return rollups.stream()
+                   .map(this::mapToReportEventCount)
+                   .collect(Collectors.toList());
+    }
 }
@@ -16,7 +16,12 @@
 
 package de.adorsys.psd2.report.mapper;
 
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
+import de.adorsys.psd2.report.entity.EventDailyRollupReportEntity;
+import de.adorsys.psd2.report.entity.EventDailyRollupReportId;
 import de.adorsys.psd2.report.entity.EventReportEntity;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.Test;
@@ -25,6 +30,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDate;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -64,4 +71,36 @@ class EventReportDBMapperTest {
         ReportEvent actualReportEvent = mapper.mapToReportEvent(null);
         assertNull(actualReportEvent);
     }
+
+    @Test
+    void mapToReportEventCount() {
+        EventDailyRollupReportEntity rollup = buildRollup("PSDDE-FAKENCA-87B2AC");
+
+        ReportEventCount actual = mapper.mapToReportEventCount(rollup);
+
+        assertEquals(new ReportEventCount(LocalDate.of(2021, 10, 18), "instance id", "PSDDE-FAKENCA-87B2AC",
+                                          EventType.PAYMENT_INITIATION_REQUEST_RECEIVED, EventOrigin.TPP, 5), actual);
+    }
+
+    @Test
+    void mapToReportEventCount_noTpp() {
+        EventDailyRollupReportEntity rollup = buildRollup(ReportEventCount.NO_TPP_AUTHORISATION_NUMBER);
+
+        ReportEventCount actual = mapper.mapToReportEventCount(rollup);
+
+        assertNull(actual.getTppAuthorisationNumber());
+    }
+
+    private EventDailyRollupReportEntity buildRollup(String tppAuthorisationNumber) {
+        EventDailyRollupReportId id = new EventDailyRollupReportId();
+        id.setEventDate(LocalDate.of(2021, 10, 18));
+        id.setInstanceId("instance id");
+        id.setTppAuthorisationNumber(tppAuthorisationNumber);
+        id.setEventType(EventType.PAYMENT_INITIATION_REQUEST_RECEIVED);
+        id.setEventOrigin(EventOrigin.TPP);
+        EventDailyRollupReportEntity rollup = new EventDailyRollupReportEntity();
+        rollup.setId(id);
+        rollup.setEventCount(5);
+        return rollup;
+    }
 }
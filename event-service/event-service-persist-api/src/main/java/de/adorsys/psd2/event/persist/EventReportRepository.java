@@ -19,9 +19,11 @@ package de.adorsys.psd2.event.persist;
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -85,4 +87,15 @@ public interface EventReportRepository {
      */
     List<ReportEvent> getEventsForPeriodAndEventOrigin(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @NotNull EventOrigin eventOrigin, @Nullable String instanceId,
                                                        @Nullable Integer pageIndex, @Nullable Integer itemsPerPage);
+
+    /**
+     * Returns daily counts of the events, recorded in given period. Counts are read from the daily rollups and remain
+     * available after the events themselves were removed by the retention job.
+     *
+     * @param start      First day of the period
+     * @param end        Last day of the period
+     * @param instanceId The id of particular service instance
+     * @return List of daily event counts, grouped by TPP, event type and event origin
+     */
+    List<ReportEventCount> getEventCountsForPeriod(@NotNull LocalDate start, @NotNull LocalDate end, @Nullable String instanceId);
 }
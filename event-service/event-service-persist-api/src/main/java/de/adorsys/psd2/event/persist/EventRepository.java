@@ -18,6 +18,8 @@ package de.adorsys.psd2.event.persist;
 
 import de.adorsys.psd2.event.persist.model.EventPO;
 
+import java.util.List;
+
 public interface EventRepository {
 
     /**
@@ -25,4 +27,10 @@ public interface EventRepository {
      * @return identifier of saved event
      */
     Long save(EventPO eventPO);
+
+    /**
+     * @param eventPOs list of {@link EventPO} objects for saving
+     * @return identifiers of saved events
+     */
+    List<Long> saveAll(List<EventPO> eventPOs);
 }
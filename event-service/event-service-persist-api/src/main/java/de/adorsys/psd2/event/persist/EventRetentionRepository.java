@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface EventRetentionRepository {
+
+    /**
+     * Returns IDs of the events, recorded before the given date, in ascending order
+     *
+     * @param before Date, before which the events were recorded
+     * @param lastId The biggest ID of the previous chunk, <code>0</code> for the first chunk
+     * @param limit  Maximum number of returned IDs
+     * @return IDs of the events, greater than <code>lastId</code>
+     */
+    List<Long> findIdsRecordedBefore(@NotNull OffsetDateTime before, long lastId, int limit);
+
+    /**
+     * Deletes events with the given IDs. Daily counts of the events are kept in the rollups.
+     *
+     * @param ids IDs of the events to be deleted
+     * @return number of deleted events
+     */
+    int deleteByIds(@NotNull List<Long> ids);
+}
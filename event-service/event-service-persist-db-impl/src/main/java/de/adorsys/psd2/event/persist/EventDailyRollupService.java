@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist;
+
+import de.adorsys.psd2.event.persist.entity.EventDailyRollupId;
+import de.adorsys.psd2.event.persist.entity.EventEntity;
+import de.adorsys.psd2.event.persist.jpa.EventDailyRollupJPARepository;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains daily counts of the recorded events, so that event statistics don't require scanning of the event table
+ * and are kept after the events themselves were removed by the retention job.
+ */
+@Slf4j
+@Service
+public class EventDailyRollupService {
+    private final EventDailyRollupJPARepository rollupRepository;
+    private final TransactionTemplate newTransactionTemplate;
+
+    @Value("${xs2a.cms.event.rollup.enabled:true}")
+    private boolean rollupEnabled;
+
+    public EventDailyRollupService(EventDailyRollupJPARepository rollupRepository, PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds saved events to the daily counts. Must be called within the transaction, that saved the events.
+     *
+     * @param events saved events
+     */
+    public void addEvents(Collection<EventEntity> events) {
+        if (!rollupEnabled || events.isEmpty()) {
+            return;
+        }
+
+        // Rows are always updated in the same order to prevent deadlocks between concurrent transactions
+        Map<EventDailyRollupId, Long> increments = new TreeMap<>();
+        for (EventEntity event : events) {
+            increments.merge(toRollupId(event), 1L, Long::sum);
+        }
+
+        increments.forEach(this::increment);
+    }
+
+    private void increment(EventDailyRollupId id, long increment) {
+        if (updateEventCount(id, increment) > 0) {
+            return;
+        }
+
+        createRollup(id);
+        updateEventCount(id, increment);
+    }
+
+    private int updateEventCount(EventDailyRollupId id, long increment) {
+        return rollupRepository.incrementEventCount(id.getEventDate(), id.getInstanceId(), id.getTppAuthorisationNumber(),
+                                                    id.getEventType(), id.getEventOrigin(), increment);
+    }
+
+    private void createRollup(EventDailyRollupId id) {
+        // Empty row is committed separately, so that concurrent transactions inserting the same key don't roll back
+        // each other's events: the losing transaction gets a constraint violation here and just updates the row
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> rollupRepository.insertEmptyRollup(id.getEventDate(), id.getInstanceId(),
+                                                                                                     id.getTppAuthorisationNumber(),
+                                                                                                     id.getEventType().name(),
+                                                                                                     id.getEventOrigin().name()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Daily event rollup [{}] has already been created by another transaction", id);
+        }
+    }
+
+    private EventDailyRollupId toRollupId(EventEntity event) {
+        String tppAuthorisationNumber = event.getTppAuthorisationNumber() != null
+                                            ? event.getTppAuthorisationNumber()
+                                            : ReportEventCount.NO_TPP_AUTHORISATION_NUMBER;
+        return new EventDailyRollupId(event.getTimestamp().atZoneSameInstant(ZoneId.systemDefault()).toLocalDate(),
+                                      event.getInstanceId(),
+                                      tppAuthorisationNumber,
+                                      event.getEventType(),
+                                      event.getEventOrigin());
+    }
+}
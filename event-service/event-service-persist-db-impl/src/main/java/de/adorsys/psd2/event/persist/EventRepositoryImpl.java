@@ -24,18 +24,37 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class EventRepositoryImpl implements EventRepository {
     private final EventJPARepository eventRepository;
     private final EventDBMapper eventDBMapper;
+    private final EventDailyRollupService eventDailyRollupService;
 
     @Override
     @Transactional
     public Long save(EventPO eventPO) {
         EventEntity entity = eventDBMapper.toEventEntity(eventPO);
         eventRepository.save(entity);
+        eventDailyRollupService.addEvents(Collections.singletonList(entity));
         return entity.getId();
     }
+
+    @Override
+    @Transactional
+    public List<Long> saveAll(List<EventPO> eventPOs) {
+        List<EventEntity> entities = eventPOs.stream()
+                                         .map(eventDBMapper::toEventEntity)
+                                         .collect(Collectors.toList());
+        eventRepository.saveAll(entities);
+        eventDailyRollupService.addEvents(entities);
+        return entities.stream()
+                   .map(EventEntity::getId)
+                   .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist;
+
+import de.adorsys.psd2.event.persist.jpa.EventJPARepository;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EventRetentionRepositoryImpl implements EventRetentionRepository {
+    private final EventJPARepository eventRepository;
+
+    @Override
+    public List<Long> findIdsRecordedBefore(@NotNull OffsetDateTime before, long lastId, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        return eventRepository.findIdsByTimestampBeforeAndIdGreaterThan(before, lastId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIds(@NotNull List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return eventRepository.deleteByIdIn(ids);
+    }
+}
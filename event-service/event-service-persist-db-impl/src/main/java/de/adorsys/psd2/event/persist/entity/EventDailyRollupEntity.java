@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist.entity;
+
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+
+/**
+ * Number of events, recorded on one day for the combination of service instance, TPP, event type and event origin
+ */
+@Data
+@Entity(name = "event_daily_rollup")
+public class EventDailyRollupEntity {
+    @EmbeddedId
+    private EventDailyRollupId id;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist.entity;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventDailyRollupId implements Serializable, Comparable<EventDailyRollupId> {
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<EventDailyRollupId> COMPARATOR = Comparator.comparing(EventDailyRollupId::getEventDate)
+                                                                         .thenComparing(EventDailyRollupId::getInstanceId)
+                                                                         .thenComparing(EventDailyRollupId::getTppAuthorisationNumber)
+                                                                         .thenComparing(EventDailyRollupId::getEventType)
+                                                                         .thenComparing(EventDailyRollupId::getEventOrigin);
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDate eventDate;
+
+    @Column(name = "instance_id", nullable = false)
+    private String instanceId;
+
+    @Column(name = "tpp_authorisation_number", nullable = false)
+    private String tppAuthorisationNumber;
+
+    @Column(name = "event_type", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private EventType eventType;
+
+    @Column(name = "event_origin", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private EventOrigin eventOrigin;
+
+    @Override
+    public int compareTo(@NotNull EventDailyRollupId other) {
+        return COMPARATOR.compare(this, other);
+    }
+}
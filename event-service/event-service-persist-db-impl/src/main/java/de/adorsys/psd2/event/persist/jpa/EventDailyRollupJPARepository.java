@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist.jpa;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.event.persist.entity.EventDailyRollupEntity;
+import de.adorsys.psd2.event.persist.entity.EventDailyRollupId;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface EventDailyRollupJPARepository extends CrudRepository<EventDailyRollupEntity, EventDailyRollupId> {
+
+    @Modifying
+    @Query("UPDATE event_daily_rollup r SET r.eventCount = r.eventCount + :increment " +
+               "WHERE r.id.eventDate = :eventDate AND r.id.instanceId = :instanceId " +
+               "AND r.id.tppAuthorisationNumber = :tppAuthorisationNumber " +
+               "AND r.id.eventType = :eventType AND r.id.eventOrigin = :eventOrigin")
+    int incrementEventCount(@Param("eventDate") LocalDate eventDate,
+                            @Param("instanceId") String instanceId,
+                            @Param("tppAuthorisationNumber") String tppAuthorisationNumber,
+                            @Param("eventType") EventType eventType,
+                            @Param("eventOrigin") EventOrigin eventOrigin,
+                            @Param("increment") long increment);
+
+    @Modifying
+    @Query(value = "INSERT INTO event_daily_rollup (event_date, instance_id, tpp_authorisation_number, event_type, event_origin, event_count) " +
+                       "VALUES (:eventDate, :instanceId, :tppAuthorisationNumber, :eventType, :eventOrigin, 0)",
+        nativeQuery = true)
+    void insertEmptyRollup(@Param("eventDate") LocalDate eventDate,
+                           @Param("instanceId") String instanceId,
+                           @Param("tppAuthorisationNumber") String tppAuthorisationNumber,
+                           @Param("eventType") String eventType,
+                           @Param("eventOrigin") String eventOrigin);
+}
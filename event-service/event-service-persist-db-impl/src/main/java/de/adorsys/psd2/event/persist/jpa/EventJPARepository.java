@@ -17,10 +17,26 @@
 package de.adorsys.psd2.event.persist.jpa;
 
 import de.adorsys.psd2.event.persist.entity.EventEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Repository
 public interface EventJPARepository extends CrudRepository<EventEntity, Long>, JpaSpecificationExecutor<EventEntity> {
+
+    @Query("SELECT e.id FROM event e WHERE e.timestamp < :before AND e.id > :lastId ORDER BY e.id")
+    List<Long> findIdsByTimestampBeforeAndIdGreaterThan(@Param("before") OffsetDateTime before,
+                                                        @Param("lastId") long lastId,
+                                                        Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM event e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
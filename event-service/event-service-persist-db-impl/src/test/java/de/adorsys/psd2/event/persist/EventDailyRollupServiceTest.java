@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.event.persist.entity.EventEntity;
+import de.adorsys.psd2.event.persist.jpa.EventDailyRollupJPARepository;
+import de.adorsys.psd2.event.persist.model.ReportEventCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventDailyRollupServiceTest {
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.now();
+    private static final LocalDate EVENT_DATE = TIMESTAMP.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    private static final String INSTANCE_ID = "3de76f19-1df7-44d8-b760-ca972d2f945c";
+    private static final String TPP_AUTHORISATION_NUMBER = "PSDDE-FAKENCA-87B2AC";
+
+    @Mock
+    private EventDailyRollupJPARepository rollupRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EventDailyRollupService eventDailyRollupService;
+
+    @BeforeEach
+    void setUp() {
+        eventDailyRollupService = new EventDailyRollupService(rollupRepository, transactionManager);
+        ReflectionTestUtils.setField(eventDailyRollupService, "rollupEnabled", true);
+    }
+
+    @Test
+    void addEvents_existingRollup_incrementedOncePerKey() {
+        // Given
+        when(rollupRepository.incrementEventCount(any(), any(), any(), any(), any(), anyLong())).thenReturn(1);
+        EventEntity first = buildEvent(TPP_AUTHORISATION_NUMBER, EventType.PAYMENT_INITIATION_REQUEST_RECEIVED);
+        EventEntity second = buildEvent(TPP_AUTHORISATION_NUMBER, EventType.PAYMENT_INITIATION_REQUEST_RECEIVED);
+        EventEntity third = buildEvent(null, EventType.CREATE_AIS_CONSENT_REQUEST_RECEIVED);
+
+        // When
+        eventDailyRollupService.addEvents(Arrays.asList(first, second, third));
+
+        // Then
+        verify(rollupRepository).incrementEventCount(EVENT_DATE, INSTANCE_ID, TPP_AUTHORISATION_NUMBER,
+                                                     EventType.PAYMENT_INITIATION_REQUEST_RECEIVED, EventOrigin.TPP, 2);
+        verify(rollupRepository).incrementEventCount(EVENT_DATE, INSTANCE_ID, ReportEventCount.NO_TPP_AUTHORISATION_NUMBER,
+                                                     EventType.CREATE_AIS_CONSENT_REQUEST_RECEIVED, EventOrigin.TPP, 1);
+        verify(rollupRepository, never()).insertEmptyRollup(any(), any(), any(), any(), any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void addEvents_missingRollup_createdInNewTransaction() {
+        // Given
+        when(rollupRepository.incrementEventCount(any(), any(), any(), any(), any(), anyLong())).thenReturn(0, 1);
+        EventEntity event = buildEvent(TPP_AUTHORISATION_NUMBER, EventType.PAYMENT_INITIATION_REQUEST_RECEIVED);
+
+        // When
+        eventDailyRollupService.addEvents(Collections.singletonList(event));
+
+        // Then
+        InOrder inOrder = inOrder(rollupRepository, transactionManager);
+        inOrder.verify(rollupRepository).incrementEventCount(EVENT_DATE, INSTANCE_ID, TPP_AUTHORISATION_NUMBER,
+                                                             EventType.PAYMENT_INITIATION_REQUEST_RECEIVED, EventOrigin.TPP, 1);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(rollupRepository).insertEmptyRollup(EVENT_DATE, INSTANCE_ID, TPP_AUTHORISATION_NUMBER,
+                                                           "PAYMENT_INITIATION_REQUEST_RECEIVED", "TPP");
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(rollupRepository).incrementEventCount(EVENT_DATE, INSTANCE_ID, TPP_AUTHORISATION_NUMBER,
+                                                             EventType.PAYMENT_INITIATION_REQUEST_RECEIVED, EventOrigin.TPP, 1);
+    }
+
+    @Test
+    void addEvents_rollupCreatedConcurrently_incremented() {
+        // Given
+        when(rollupRepository.incrementEventCount(any(), any(), any(), any(), any(), anyLong())).thenReturn(0, 1);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+            .when(rollupRepository).insertEmptyRollup(any(), any(), any(), any(), any());
+        EventEntity event = buildEvent(TPP_AUTHORISATION_NUMBER, EventType.PAYMENT_INITIATION_REQUEST_RECEIVED);
+
+        // When
+        eventDailyRollupService.addEvents(Collections.singletonList(event));
+
+        // Then
+        verify(transactionManager).rollback(any());
+        verify(rollupRepository, times(2)).incrementEventCount(EVENT_DATE, INSTANCE_ID, TPP_AUTHORISATION_NUMBER,
+                                                               EventType.PAYMENT_INITIATION_REQUEST_RECEIVED, EventOrigin.TPP, 1);
+    }
+
+    @Test
+    void addEvents_rollupDisabled() {
+        // Given
+        ReflectionTestUtils.setField(eventDailyRollupService, "rollupEnabled", false);
+
+        // When
+        eventDailyRollupService.addEvents(Collections.singletonList(buildEvent(TPP_AUTHORISATION_NUMBER, EventType.PAYMENT_INITIATION_REQUEST_RECEIVED)));
+
+        // Then
+        verifyNoInteractions(rollupRepository, transactionManager);
+    }
+
+    private EventEntity buildEvent(String tppAuthorisationNumber, EventType eventType) {
+        EventEntity event = new EventEntity();
+        event.setTimestamp(TIMESTAMP);
+        event.setInstanceId(INSTANCE_ID);
+        event.setTppAuthorisationNumber(tppAuthorisationNumber);
+        event.setEventType(eventType);
+        event.setEventOrigin(EventOrigin.TPP);
+        return event;
+    }
+}
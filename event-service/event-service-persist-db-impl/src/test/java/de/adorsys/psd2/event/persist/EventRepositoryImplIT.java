@@ -16,6 +16,11 @@
 
 package de.adorsys.psd2.event.persist;
 
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.event.persist.entity.EventDailyRollupEntity;
+import de.adorsys.psd2.event.persist.entity.EventDailyRollupId;
+import de.adorsys.psd2.event.persist.jpa.EventDailyRollupJPARepository;
 import de.adorsys.psd2.event.persist.model.EventPO;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,8 +32,13 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -36,9 +46,18 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 class EventRepositoryImplIT {
     private static final byte[] PAYLOAD = "payload".getBytes();
     private static final OffsetDateTime CREATED_DATETIME = OffsetDateTime.now();
+    private static final EventDailyRollupId ROLLUP_ID = new EventDailyRollupId(CREATED_DATETIME.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate(),
+                                                                               "3de76f19-1df7-44d8-b760-ca972d2f945c",
+                                                                               "PSDDE-FAKENCA-87B2AC",
+                                                                               EventType.PAYMENT_INITIATION_REQUEST_RECEIVED,
+                                                                               EventOrigin.TPP);
 
     @Autowired
     private EventRepositoryImpl repository;
+    @Autowired
+    private EventRetentionRepositoryImpl retentionRepository;
+    @Autowired
+    private EventDailyRollupJPARepository rollupRepository;
     private JsonReader jsonReader = new JsonReader();
     private Long savedId;
 
@@ -57,4 +76,46 @@ class EventRepositoryImplIT {
     void save() {
         assertNotNull(savedId);
     }
+
+    @Test
+    void saveAll() {
+        EventPO firstEventPO = jsonReader.getObjectFromFile("json/event.json", EventPO.class);
+        firstEventPO.setTimestamp(CREATED_DATETIME);
+        firstEventPO.setPayload(PAYLOAD);
+        EventPO secondEventPO = jsonReader.getObjectFromFile("json/event.json", EventPO.class);
+        secondEventPO.setTimestamp(CREATED_DATETIME);
+        secondEventPO.setPayload(PAYLOAD);
+
+        List<Long> savedIds = repository.saveAll(Arrays.asList(firstEventPO, secondEventPO));
+
+        assertEquals(2, savedIds.size());
+        assertTrue(savedIds.stream().allMatch(Objects::nonNull));
+        assertEquals(3, getRollupEventCount());
+    }
+
+    @Test
+    void save_rollupUpdated() {
+        assertEquals(1, getRollupEventCount());
+    }
+
+    @Test
+    void findIdsRecordedBefore() {
+        assertEquals(Collections.singletonList(savedId), retentionRepository.findIdsRecordedBefore(CREATED_DATETIME.plusSeconds(1), 0, 10));
+        assertTrue(retentionRepository.findIdsRecordedBefore(CREATED_DATETIME.minusSeconds(1), 0, 10).isEmpty());
+        assertTrue(retentionRepository.findIdsRecordedBefore(CREATED_DATETIME.plusSeconds(1), savedId, 10).isEmpty());
+    }
+
+    @Test
+    void deleteByIds_rollupKept() {
+        assertEquals(1, retentionRepository.deleteByIds(Collections.singletonList(savedId)));
+
+        assertTrue(retentionRepository.findIdsRecordedBefore(CREATED_DATETIME.plusSeconds(1), 0, 10).isEmpty());
+        assertEquals(1, getRollupEventCount());
+    }
+
+    private long getRollupEventCount() {
+        return rollupRepository.findById(ROLLUP_ID)
+                   .map(EventDailyRollupEntity::getEventCount)
+                   .orElse(0L);
+    }
 }
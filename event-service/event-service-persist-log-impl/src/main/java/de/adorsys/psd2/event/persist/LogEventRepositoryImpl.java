@@ -22,6 +22,9 @@ import de.adorsys.psd2.event.persist.model.EventPO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Implementation of {@link EventRepository} that logs events via {@link EventLogger} instead of saving them
  */
@@ -49,4 +52,11 @@ public class LogEventRepositoryImpl implements EventRepository {
 
         return 0L;
     }
+
+    @Override
+    public List<Long> saveAll(List<EventPO> eventPOs) {
+        return eventPOs.stream()
+                   .map(this::save)
+                   .collect(Collectors.toList());
+    }
 }
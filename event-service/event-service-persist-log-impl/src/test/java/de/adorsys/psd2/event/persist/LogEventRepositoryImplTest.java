@@ -26,7 +26,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,4 +69,17 @@ class LogEventRepositoryImplTest {
         assertNotNull(savedEventId);
         verify(eventLogger).logMessage(logMessage);
     }
+
+    @Test
+    void saveAll_shouldLogAllEvents() {
+        // Given
+        EventPO eventPO = jsonReader.getObjectFromFile("json/logger/event.json", EventPO.class);
+
+        // When
+        List<Long> savedEventIds = logEventRepositoryImpl.saveAll(Arrays.asList(eventPO, eventPO));
+
+        // Then
+        assertEquals(2, savedEventIds.size());
+        verify(eventLogger, times(2)).logMessage(any(EventLogMessage.class));
+    }
 }
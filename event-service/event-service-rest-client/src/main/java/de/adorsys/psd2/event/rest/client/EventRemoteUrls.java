@@ -32,4 +32,13 @@ public class EventRemoteUrls {
     public String createEvent() {
         return consentServiceBaseUrl + "/events/";
     }
+
+    /**
+     * Returns URL-string to CMS endpoint that creates batch of new events
+     *
+     * @return String
+     */
+    public String createEvents() {
+        return consentServiceBaseUrl + "/events/batch";
+    }
 }
@@ -51,17 +51,51 @@ public class CertificateExtractorUtil {
     }
 
     public static TppCertificateData extract(String encodedCert) throws CertificateValidationException {
-        X509Certificate cert = X509CertUtils.parse(encodedCert);
+        X509Certificate cert = parse(encodedCert);
+
         if (cert == null) {
-            byte[] encodedCertData = encodedCert.getBytes();
-            cert = X509CertUtils.parse(URLDecodingUtil.decode(encodedCertData));
+            log.debug("Error reading certificate ");
+            throw new CertificateValidationException(CertificateErrorMsgCode.CERTIFICATE_INVALID.toString());
         }
 
-        if (cert == null) {
+        return extract(cert);
+    }
+
+    /**
+     * Extracts TPP data from the certificate, reusing already parsed certificate from the given cache
+     *
+     * @param encodedCert      encoded certificate, optionally URL-encoded
+     * @param certificateCache cache of parsed certificates
+     * @return extracted TPP data
+     * @throws CertificateValidationException if the certificate can't be parsed or doesn't contain valid PSD2 data
+     */
+    public static TppCertificateData extract(String encodedCert, ParsedCertificateCache certificateCache) throws CertificateValidationException {
+        ParsedCertificate parsedCertificate = certificateCache.get(encodedCert, CertificateExtractorUtil::parse);
+
+        if (parsedCertificate == null) {
             log.debug("Error reading certificate ");
             throw new CertificateValidationException(CertificateErrorMsgCode.CERTIFICATE_INVALID.toString());
         }
 
+        return parsedCertificate.getTppCertificateData();
+    }
+
+    /**
+     * Parses encoded certificate, that can be optionally URL-encoded
+     *
+     * @param encodedCert encoded certificate
+     * @return parsed certificate or <code>null</code> if the certificate can't be parsed
+     */
+    public static X509Certificate parse(String encodedCert) {
+        X509Certificate cert = X509CertUtils.parse(encodedCert);
+        if (cert == null) {
+            byte[] encodedCertData = encodedCert.getBytes();
+            cert = X509CertUtils.parse(URLDecodingUtil.decode(encodedCertData));
+        }
+        return cert;
+    }
+
+    public static TppCertificateData extract(X509Certificate cert) throws CertificateValidationException {
         List<String> roles = new ArrayList<>();
 
         TppCertificateData tppCertData = new TppCertificateData();
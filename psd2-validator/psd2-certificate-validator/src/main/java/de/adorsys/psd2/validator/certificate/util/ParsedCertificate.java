@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import no.difi.certvalidator.api.CertificateValidationException;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Parsed TPP certificate together with the data derived from it. The derived data is calculated lazily on the first
+ * access and is shared by all users of the same cached certificate.
+ */
+public class ParsedCertificate {
+    private final X509Certificate certificate;
+    private volatile TppCertificateData tppCertificateData;
+    private volatile String keyId;
+
+    public ParsedCertificate(X509Certificate certificate) {
+        this.certificate = certificate;
+    }
+
+    public X509Certificate getCertificate() {
+        return certificate;
+    }
+
+    /**
+     * Returns TPP data extracted from the certificate
+     *
+     * @return copy of the extracted data, that can be safely modified by the caller
+     * @throws CertificateValidationException if the certificate doesn't contain valid PSD2 data
+     */
+    public TppCertificateData getTppCertificateData() throws CertificateValidationException {
+        TppCertificateData data = tppCertificateData;
+        if (data == null) {
+            data = CertificateExtractorUtil.extract(certificate);
+            tppCertificateData = data;
+        }
+        return copy(data);
+    }
+
+    /**
+     * Returns key ID of the certificate, calculating it with given function on the first call
+     *
+     * @param keyIdCalculator function that calculates key ID from the certificate
+     * @return key ID of the certificate
+     */
+    public String getKeyId(Function<X509Certificate, String> keyIdCalculator) {
+        String id = keyId;
+        if (id == null) {
+            id = keyIdCalculator.apply(certificate);
+            keyId = id;
+        }
+        return id;
+    }
+
+    boolean isExpired(long now) {
+        return certificate.getNotAfter() != null && certificate.getNotAfter().getTime() < now;
+    }
+
+    private TppCertificateData copy(TppCertificateData data) {
+        TppCertificateData copy = new TppCertificateData();
+        copy.setPspAuthorisationNumber(data.getPspAuthorisationNumber());
+        copy.setPspRoles(data.getPspRoles() == null ? null : new ArrayList<>(data.getPspRoles()));
+        copy.setName(data.getName());
+        copy.setPspAuthorityName(data.getPspAuthorityName());
+        copy.setPspAuthorityId(data.getPspAuthorityId());
+        copy.setCountry(data.getCountry());
+        copy.setOrganisation(data.getOrganisation());
+        copy.setOrganisationUnit(data.getOrganisationUnit());
+        copy.setCity(data.getCity());
+        copy.setState(data.getState());
+        copy.setIssuerCN(data.getIssuerCN());
+        copy.setNotAfter(data.getNotAfter() == null ? null : new Date(data.getNotAfter().getTime()));
+        copy.setDnsList(data.getDnsList() == null ? null : new ArrayList<>(data.getDnsList()));
+        return copy;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.security.cert.X509Certificate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of parsed TPP certificates, keyed by SHA-256 hash of the encoded certificate.
+ * <p>
+ * Certificates are parsed outside of the lock, expired certificates (according to their <code>notAfter</code> date)
+ * are never returned from the cache and are not put into it. Cache with maximum size <code>0</code> parses the
+ * certificate on every call.
+ */
+public class ParsedCertificateCache {
+    private final int maxSize;
+    private final Map<String, ParsedCertificate> certificates;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ParsedCertificateCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.certificates = new LinkedHashMap<String, ParsedCertificate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedCertificate> eldest) {
+                return size() > ParsedCertificateCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns parsed certificate from the cache or parses it with given parser
+     *
+     * @param encodedCertificate encoded certificate
+     * @param parser             function that parses encoded certificate, returns <code>null</code> if the certificate can't be parsed
+     * @return parsed certificate or <code>null</code> if the certificate can't be parsed
+     */
+    public ParsedCertificate get(String encodedCertificate, Function<String, X509Certificate> parser) {
+        if (maxSize <= 0) {
+            missCount.increment();
+            return parse(encodedCertificate, parser);
+        }
+
+        String key = DigestUtils.sha256Hex(encodedCertificate);
+        long now = System.currentTimeMillis();
+        synchronized (certificates) {
+            ParsedCertificate cached = certificates.get(key);
+            if (cached != null && !cached.isExpired(now)) {
+                hitCount.increment();
+                return cached;
+            }
+            certificates.remove(key);
+        }
+
+        missCount.increment();
+        ParsedCertificate parsed = parse(encodedCertificate, parser);
+        if (parsed != null && !parsed.isExpired(now)) {
+            synchronized (certificates) {
+                certificates.put(key, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int size() {
+        synchronized (certificates) {
+            return certificates.size();
+        }
+    }
+
+    private ParsedCertificate parse(String encodedCertificate, Function<String, X509Certificate> parser) {
+        X509Certificate certificate = parser.apply(encodedCertificate);
+        return certificate == null ? null : new ParsedCertificate(certificate);
+    }
+}
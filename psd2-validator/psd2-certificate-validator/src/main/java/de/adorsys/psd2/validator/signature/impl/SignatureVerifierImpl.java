@@ -19,6 +19,8 @@ package de.adorsys.psd2.validator.signature.impl;
 
 import com.nimbusds.jose.util.X509CertUtils;
 import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificate;
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificateCache;
 import de.adorsys.psd2.validator.signature.SignatureVerifier;
 import de.adorsys.psd2.validator.signature.service.CertificateConstants;
 import de.adorsys.psd2.validator.signature.service.RequestHeaders;
@@ -32,20 +34,31 @@ import java.util.Map;
 
 @Slf4j
 public class SignatureVerifierImpl implements SignatureVerifier {
+    private final ParsedCertificateCache certificateCache;
+
+    public SignatureVerifierImpl() {
+        this(new ParsedCertificateCache(0));
+    }
+
+    public SignatureVerifierImpl(ParsedCertificateCache certificateCache) {
+        this.certificateCache = certificateCache;
+    }
 
     @Override
     public boolean verify(String signature, String tppEncodedCert, Map<String, String> headers, String method, String url) {
-        X509Certificate certificate = X509CertUtils.parse(
-            CertificateUtils.normalizeCertificate(tppEncodedCert)
-        );
+        String normalizedCertificate = CertificateUtils.normalizeCertificate(tppEncodedCert);
+        ParsedCertificate parsedCertificate = normalizedCertificate == null
+                                                  ? null
+                                                  : certificateCache.get(normalizedCertificate, X509CertUtils::parse);
 
-        if (certificate == null) {
+        if (parsedCertificate == null) {
             log.warn("TPP Certificate couldn't be parsed!");
             return false;
         }
 
+        X509Certificate certificate = parsedCertificate.getCertificate();
         Signature signatureData = Signature.fromString(signature);
-        if (!isKeyIdValid(certificate, signatureData.getKeyId())) {
+        if (!StringUtils.equals(signatureData.getKeyId(), parsedCertificate.getKeyId(this::getKeyIdFromCertificate))) {
             log.warn("Key ID is invalid!");
             return false;
         }
@@ -62,10 +75,6 @@ public class SignatureVerifierImpl implements SignatureVerifier {
         }
     }
 
-    private boolean isKeyIdValid(X509Certificate certificate, String keyId) {
-        return StringUtils.equals(keyId, getKeyIdFromCertificate(certificate));
-    }
-
     private String getKeyIdFromCertificate(X509Certificate certificate) {
         return CertificateConstants.CERTIFICATE_SERIAL_NUMBER_ATTRIBUTE
                    + CertificateConstants.EQUALS_SIGN_SEPARATOR
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.validator.certificate;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import de.adorsys.psd2.validator.certificate.util.CertificateExtractorUtil;
+import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificate;
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificateCache;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
+import no.difi.certvalidator.api.CertificateValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedCertificateCacheTest {
+    // valid until 2030-03-03
+    private static final String VALID_CERTIFICATE = "-----BEGIN CERTIFICATE-----MIIFNjCCAx6gAwIBAgIERd3y8TANBgkqhkiG9w0BAQsFADB4MQswCQYDVQQGEwJERTEQMA4GA1UECAwHQkFWQVJJQTESMBAGA1UEBwwJTnVyZW1iZXJnMSIwIAYDVQQKDBlUcnVzdCBTZXJ2aWNlIFByb3ZpZGVyIEFHMR8wHQYDVQQLDBZJbmZvcm1hdGlvbiBUZWNobm9sb2d5MB4XDTIwMDMwNTEzMzk1MFoXDTMwMDMwMzAwMDAwMFowgcExITAfBgNVBAoMGEZpY3Rpb25hbCBDb3Jwb3JhdGlvbiBBRzElMCMGCgmSJomT8ixkARkWFXB1YmxpYy5jb3Jwb3JhdGlvbi5kZTEfMB0GA1UECwwWSW5mb3JtYXRpb24gVGVjaG5vbG9neTEQMA4GA1UEBhMHR2VybWFueTEPMA0GA1UECAwGQmF5ZXJuMRIwEAYDVQQHDAlOdXJlbWJlcmcxHTAbBgNVBGEMFFBTRERFLUZBS0VOQ0EtODdCMkFDMIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAsHAdLWn7pEAlD5daEjKv7hE4FW+vMJRrA/Bw2M/Zsu8VFfW1ARmbTgTy7rGLFBK/Y2SToEj60+5GEkCgCvi+vI/Bdykk8XqjpVsJjTW67np1b2Av8F61zvCnn2UOxBtXBHCzR1j2yz2om1IMYieGu/cDTWLNkbuoGSnj0dq4CbHp2f8ch++goffqLRXr642j8cVlqZYsapB8y+Z8IydbtNBd/XAmRTAprmdRv9B4PC7P+lIYX8QbXw77f+9/2Kty7oVHtjle+GnTR8wH5nCiMQsA9V564/34lKwuEkzuryV1HzitQ/X7FSZoiSQRTxbxjVO+xdzI3hjF2FZjVvkqywIDAQABo34wfDB6BggrBgEFBQcBAwRuMGwGBgQAgZgnAjBiMDkwEQYHBACBmCcBAwwGUFNQX0FJMBEGBwQAgZgnAQIMBlBTUF9QSTARBgcEAIGYJwEEDAZQU1BfSUMMGVRydXN0IFNlcnZpY2UgUHJvdmlkZXIgQUcMCkRFLUZBS0VOQ0EwDQYJKoZIhvcNAQELBQADggIBACKUQc3O3TOFG8tWk4sQd3f9SGlOcBOMekSXCxRgskcYkjhWW4+EN1FYzlGuXPfq1yngKaM3ss9yCDVep0MFa4hDJ/hzSSD5upExzwWDkUa97AHCjZd39W6kLaCMAc5vTbR9r7zBvMKBcAmhZ9mWCvrvbHUOURv5yBfrrEk4AM1Vakf5l+fWP4JhA779+7JlwpQRpy5dgqROwKQ2L634d2osgXUV4CkqhSUQ5LcYI4uBFyKnM0pyGaNYdKhBC95J0y5GYa7NpKJNZXf+clTbe33gCt2SFSOMa7CV5NYpnohS201uNd/ffWLzGtFBnHLNpX8qTfFc16mtIcJo6Iiof2CYgfYAyJByBC1gZHf1wAtfQzAn6JcEaJzmehXKKl9x7X62aaGan7l+MblUT65Gd+Yed+rXLF6svefbrcIbZwt/W+v1fbfnip9QEFPV3VLjg0vk9Y30ftZCcFRSHLD3mdxcVEtmVxDDxyzDUwXF7J/mi4RQhZBb3OtwwEIWC2zUaycNMZWJRI+RqfLvanlDFFMoYeSZKTFf8jS/PPcfpKOAiTGu21iuuv+gYxh/rgjW419w26ya+Q3jabaz3E9Im/opSU5sQ9W92ALA14J9VZs6v8BVmqKTB5APKfeTYoXg9MjP9fjVM/hP26kIgQVs5Bz15ov8uQlQC+OTO+2y5ozs-----END CERTIFICATE-----";
+    private static final String EXPIRED_CERTIFICATE = CertificateUtils.getCertificateByName("certificateValid.crt");
+    private static final String INVALID_CERTIFICATE = "invalid certificate";
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+    private final Function<String, X509Certificate> parser = encodedCertificate -> {
+        parseCount.incrementAndGet();
+        return X509CertUtils.parse(encodedCertificate);
+    };
+
+    @Test
+    void get_cachedCertificateParsedOnce() {
+        ParsedCertificateCache cache = new ParsedCertificateCache(10);
+
+        ParsedCertificate first = cache.get(VALID_CERTIFICATE, parser);
+        ParsedCertificate second = cache.get(VALID_CERTIFICATE, parser);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, parseCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void get_invalidCertificate() {
+        ParsedCertificateCache cache = new ParsedCertificateCache(10);
+
+        assertNull(cache.get(INVALID_CERTIFICATE, parser));
+        assertNull(cache.get(INVALID_CERTIFICATE, parser));
+
+        assertEquals(2, parseCount.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_expiredCertificateNotCached() {
+        ParsedCertificateCache cache = new ParsedCertificateCache(10);
+
+        assertNotNull(cache.get(EXPIRED_CERTIFICATE, parser));
+        assertNotNull(cache.get(EXPIRED_CERTIFICATE, parser));
+
+        assertEquals(2, parseCount.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_cacheDisabled() {
+        ParsedCertificateCache cache = new ParsedCertificateCache(0);
+
+        cache.get(VALID_CERTIFICATE, parser);
+        cache.get(VALID_CERTIFICATE, parser);
+
+        assertEquals(2, parseCount.get());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_leastRecentlyUsedEvicted() {
+        ParsedCertificateCache cache = new ParsedCertificateCache(1);
+        String anotherValidCertificate = CertificateUtils.normalizeCertificate(VALID_CERTIFICATE);
+
+        cache.get(VALID_CERTIFICATE, parser);
+        cache.get(anotherValidCertificate, parser);
+        cache.get(VALID_CERTIFICATE, parser);
+
+        assertEquals(3, parseCount.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void extract_withCache() throws CertificateValidationException {
+        ParsedCertificateCache cache = new ParsedCertificateCache(10);
+
+        TppCertificateData first = CertificateExtractorUtil.extract(VALID_CERTIFICATE, cache);
+        first.getPspRoles().clear();
+        TppCertificateData second = CertificateExtractorUtil.extract(VALID_CERTIFICATE, cache);
+
+        assertEquals(3, second.getPspRoles().size());
+        assertEquals("PSDDE-FAKENCA-87B2AC", second.getPspAuthorisationNumber());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void extract_withCache_invalidCertificate() {
+        ParsedCertificateCache cache = new ParsedCertificateCache(10);
+
+        assertThrows(CertificateValidationException.class, () -> CertificateExtractorUtil.extract(INVALID_CERTIFICATE, cache));
+    }
+}
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.validator.signature.impl;
 
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificateCache;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -57,6 +58,22 @@ class SignatureVerifierImplTest {
         assertThat(actualResult).isTrue();
     }
 
+    @Test
+    void verify_withCertificateCache_success_POST() {
+        // given
+        SignatureVerifierImpl cachingSignatureVerifier = new SignatureVerifierImpl(new ParsedCertificateCache(10));
+
+        // when
+        boolean firstResult = cachingSignatureVerifier.verify(signature(), certificate(), headerMap, POST_METHOD, URI);
+        boolean secondResult = cachingSignatureVerifier.verify(signature(), nonNormalizedCertificate(), headerMap, POST_METHOD, URI);
+        boolean wrongKeyIdResult = cachingSignatureVerifier.verify(signatureWrongKeyId(), certificate(), headerMap, POST_METHOD, URI);
+
+        // then
+        assertThat(firstResult).isTrue();
+        assertThat(secondResult).isTrue();
+        assertThat(wrongKeyIdResult).isFalse();
+    }
+
     @Test
     void verify_success_GET() {
         // when
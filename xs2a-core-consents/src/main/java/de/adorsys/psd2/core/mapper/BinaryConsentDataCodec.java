@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.core.mapper;
+
+import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.core.data.piis.PiisConsentData;
+import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
+
+import java.io.*;
+import java.time.LocalDate;
+
+/**
+ * Codec, storing AIS and PIIS consent data in compact binary form.
+ * <p>
+ * Encoded data starts with a format header byte, followed by the type of consent data. Header bytes never occur at the
+ * beginning of JSON documents, so that data stored by {@link JsonConsentDataCodec} is still recognised. Incompatible
+ * changes of the format must introduce a new header byte instead of changing the existing one.
+ */
+public class BinaryConsentDataCodec implements ConsentDataCodec {
+    public static final String NAME = "binary";
+
+    static final byte FORMAT_V1 = 0x01;
+    private static final byte AIS_CONSENT_DATA = 'A';
+    private static final byte PIIS_CONSENT_DATA = 'P';
+    private static final byte COMBINED_SERVICE_INDICATOR_FLAG = 0x01;
+
+    // Index in this array is the stored code of the access type, new values may only be appended
+    private static final AccountAccessType[] ACCOUNT_ACCESS_TYPES = {
+        null,
+        AccountAccessType.ALL_ACCOUNTS,
+        AccountAccessType.ALL_ACCOUNTS_WITH_OWNER_NAME
+    };
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return data.length > 0 && data[0] == FORMAT_V1;
+    }
+
+    @Override
+    public boolean canEncode(Class<?> type) {
+        return type == AisConsentData.class || type == PiisConsentData.class;
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        if (input.readByte() != FORMAT_V1) {
+            throw new IOException("Unsupported format of consent data");
+        }
+
+        byte dataType = input.readByte();
+        if (type == AisConsentData.class && dataType == AIS_CONSENT_DATA) {
+            return type.cast(readAisConsentData(input));
+        } else if (type == PiisConsentData.class && dataType == PIIS_CONSENT_DATA) {
+            return type.cast(readPiisConsentData(input));
+        }
+        throw new IOException("Consent data can't be decoded as " + type.getSimpleName());
+    }
+
+    @Override
+    public byte[] encode(Object consentData) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(FORMAT_V1);
+
+        if (consentData instanceof AisConsentData) {
+            output.writeByte(AIS_CONSENT_DATA);
+            writeAisConsentData(output, (AisConsentData) consentData);
+        } else if (consentData instanceof PiisConsentData) {
+            output.writeByte(PIIS_CONSENT_DATA);
+            writePiisConsentData(output, (PiisConsentData) consentData);
+        } else {
+            throw new IOException("Unsupported type of consent data: " + (consentData == null ? null : consentData.getClass().getSimpleName()));
+        }
+
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeAisConsentData(DataOutputStream output, AisConsentData consentData) throws IOException {
+        output.writeByte(consentData.isCombinedServiceIndicator() ? COMBINED_SERVICE_INDICATOR_FLAG : 0);
+        output.writeByte(getAccessTypeCode(consentData.getAvailableAccounts()));
+        output.writeByte(getAccessTypeCode(consentData.getAllPsd2()));
+        output.writeByte(getAccessTypeCode(consentData.getAvailableAccountsWithBalance()));
+    }
+
+    private AisConsentData readAisConsentData(DataInputStream input) throws IOException {
+        boolean combinedServiceIndicator = (input.readByte() & COMBINED_SERVICE_INDICATOR_FLAG) != 0;
+        AccountAccessType availableAccounts = getAccessType(input.readByte());
+        AccountAccessType allPsd2 = getAccessType(input.readByte());
+        AccountAccessType availableAccountsWithBalance = getAccessType(input.readByte());
+        return new AisConsentData(availableAccounts, allPsd2, availableAccountsWithBalance, combinedServiceIndicator);
+    }
+
+    private void writePiisConsentData(DataOutputStream output, PiisConsentData consentData) throws IOException {
+        writeString(output, consentData.getCardNumber());
+        output.writeBoolean(consentData.getCardExpiryDate() != null);
+        if (consentData.getCardExpiryDate() != null) {
+            output.writeLong(consentData.getCardExpiryDate().toEpochDay());
+        }
+        writeString(output, consentData.getCardInformation());
+        writeString(output, consentData.getRegistrationInformation());
+    }
+
+    private PiisConsentData readPiisConsentData(DataInputStream input) throws IOException {
+        String cardNumber = readString(input);
+        LocalDate cardExpiryDate = input.readBoolean() ? LocalDate.ofEpochDay(input.readLong()) : null;
+        String cardInformation = readString(input);
+        String registrationInformation = readString(input);
+        return new PiisConsentData(cardNumber, cardExpiryDate, cardInformation, registrationInformation);
+    }
+
+    private void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private int getAccessTypeCode(AccountAccessType accessType) throws IOException {
+        for (int code = 0; code < ACCOUNT_ACCESS_TYPES.length; code++) {
+            if (ACCOUNT_ACCESS_TYPES[code] == accessType) {
+                return code;
+            }
+        }
+        throw new IOException("Unknown account access type: " + accessType);
+    }
+
+    private AccountAccessType getAccessType(byte code) throws IOException {
+        if (code < 0 || code >= ACCOUNT_ACCESS_TYPES.length) {
+            throw new IOException("Unknown code of account access type: " + code);
+        }
+        return ACCOUNT_ACCESS_TYPES[code];
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.core.mapper;
+
+import java.io.IOException;
+
+/**
+ * Encoding of consent data objects (e.g. {@link de.adorsys.psd2.core.data.ais.AisConsentData}), stored in the consent
+ * as a byte array
+ */
+public interface ConsentDataCodec {
+    /**
+     * Returns the name of the codec, used for selecting the codec for encoding of consent data
+     *
+     * @return name of the codec
+     */
+    String getName();
+
+    /**
+     * Checks whether the given bytes were encoded by this codec
+     *
+     * @param data encoded consent data
+     * @return <code>true</code> if the data can be decoded by this codec, <code>false</code> otherwise
+     */
+    boolean canDecode(byte[] data);
+
+    /**
+     * Checks whether consent data of the given type can be encoded by this codec
+     *
+     * @param type type of consent data
+     * @return <code>true</code> if the data can be encoded by this codec, <code>false</code> otherwise
+     */
+    boolean canEncode(Class<?> type);
+
+    <T> T decode(byte[] data, Class<T> type) throws IOException;
+
+    byte[] encode(Object consentData) throws IOException;
+}
@@ -16,27 +16,62 @@
 
 package de.adorsys.psd2.core.mapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
 import de.adorsys.psd2.core.data.piis.PiisConsentData;
-import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Converts consent data to and from byte arrays, stored in the consent.
+ * <p>
+ * Data is always decoded by the codec, that recognises it, so that consents stored in any supported format can be read.
+ * New data is encoded by the configured codec, falling back to JSON if the codec doesn't support the type of the data.
+ */
 @Slf4j
 @Component
 public class ConsentDataMapper {
-    private final ObjectMapper objectMapper = buildObjectMapper();
+    private final List<ConsentDataCodec> codecs;
+    private final ConsentDataCodec encodingCodec;
+    private final ConsentDataCodec fallbackCodec;
+
+    public ConsentDataMapper() {
+        this(JsonConsentDataCodec.NAME);
+    }
+
+    @Autowired
+    public ConsentDataMapper(@Value("${xs2a.consent-data.codec:json}") String encodingCodecName) {
+        this(Arrays.asList(new BinaryConsentDataCodec(), new JsonConsentDataCodec()), encodingCodecName);
+    }
+
+    /**
+     * Creates mapper with given codecs
+     *
+     * @param codecs            codecs in the order of checking, whether they can decode the data. The last codec is
+     *                          used for decoding of all remaining data and for encoding of data, not supported by the
+     *                          selected codec
+     * @param encodingCodecName name of the codec for encoding of consent data
+     */
+    public ConsentDataMapper(List<ConsentDataCodec> codecs, String encodingCodecName) {
+        this.codecs = List.copyOf(codecs);
+        this.fallbackCodec = this.codecs.get(this.codecs.size() - 1);
+        this.encodingCodec = this.codecs.stream()
+                                 .filter(c -> c.getName().equals(encodingCodecName))
+                                 .findFirst()
+                                 .orElseThrow(() -> new IllegalArgumentException("Unknown consent data codec: " + encodingCodecName));
+    }
 
     public AisConsentData mapToAisConsentData(byte[] consentData) {
         if (consentData == null) {
             return AisConsentData.buildDefaultAisConsentData();
         }
         try {
-            return objectMapper.readValue(consentData, AisConsentData.class);
+            return getDecodingCodec(consentData).decode(consentData, AisConsentData.class);
         } catch (IOException e) {
             log.info("Can't convert byte[] to AisConsentData: {}", e.getMessage());
             return null;
@@ -48,7 +83,7 @@ public class ConsentDataMapper {
             return PiisConsentData.buildDefaultConsentData();
         }
         try {
-            return objectMapper.readValue(consentData, PiisConsentData.class);
+            return getDecodingCodec(consentData).decode(consentData, PiisConsentData.class);
         } catch (IOException e) {
             log.info("Can't convert byte[] to PiisConsentData: {}", e.getMessage());
             return null;
@@ -56,16 +91,25 @@ public class ConsentDataMapper {
     }
 
     public byte[] getBytesFromConsentData(Object consentData) {
+        if (consentData != null && encodingCodec != fallbackCodec && encodingCodec.canEncode(consentData.getClass())) {
+            try {
+                return encodingCodec.encode(consentData);
+            } catch (IOException e) {
+                log.info("Can't encode consentData with {} codec, falling back to {}: {}", encodingCodec.getName(), fallbackCodec.getName(), e.getMessage());
+            }
+        }
         try {
-            return objectMapper.writeValueAsBytes(consentData);
-        } catch (JsonProcessingException e) {
+            return fallbackCodec.encode(consentData);
+        } catch (IOException e) {
             log.info("Can't convert consentData to byte[]: {}", e.getMessage());
             return new byte[0];
         }
     }
 
-    private ObjectMapper buildObjectMapper() {
-        ObjectMapperConfig objectMapperConfig = new ObjectMapperConfig();
-        return objectMapperConfig.xs2aObjectMapper();
+    private ConsentDataCodec getDecodingCodec(byte[] consentData) {
+        return codecs.stream()
+                   .filter(c -> c.canDecode(consentData))
+                   .findFirst()
+                   .orElse(fallbackCodec);
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.core.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
+
+import java.io.IOException;
+
+/**
+ * Codec, storing consent data as JSON. Decodes all data, not recognised by other codecs.
+ */
+public class JsonConsentDataCodec implements ConsentDataCodec {
+    public static final String NAME = "json";
+
+    private final ObjectMapper objectMapper = new ObjectMapperConfig().xs2aObjectMapper();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return true;
+    }
+
+    @Override
+    public boolean canEncode(Class<?> type) {
+        return true;
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return objectMapper.readValue(data, type);
+    }
+
+    @Override
+    public byte[] encode(Object consentData) throws IOException {
+        return objectMapper.writeValueAsBytes(consentData);
+    }
+}
@@ -22,7 +22,9 @@ import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class ConsentDataMapperTest {
 
@@ -50,4 +52,56 @@ class ConsentDataMapperTest {
 
         assertEquals(consentData, consentDataMapper.mapToPiisConsentData(bytesFromConsentData));
     }
+
+    @Test
+    void mapToAisConsentData_binaryCodec() {
+        consentDataMapper = new ConsentDataMapper(BinaryConsentDataCodec.NAME);
+        AisConsentData consentData = jsonReader.getObjectFromFile("json/data/ais/ais-consent-data.json", AisConsentData.class);
+        byte[] bytesFromConsentData = consentDataMapper.getBytesFromConsentData(consentData);
+
+        assertEquals(BinaryConsentDataCodec.FORMAT_V1, bytesFromConsentData[0]);
+        assertEquals(consentData, consentDataMapper.mapToAisConsentData(bytesFromConsentData));
+    }
+
+    @Test
+    void mapToPiisConsentData_binaryCodec() {
+        consentDataMapper = new ConsentDataMapper(BinaryConsentDataCodec.NAME);
+        PiisConsentData consentData = jsonReader.getObjectFromFile("json/data/piis/piis-consent-data.json", PiisConsentData.class);
+        byte[] bytesFromConsentData = consentDataMapper.getBytesFromConsentData(consentData);
+
+        assertEquals(BinaryConsentDataCodec.FORMAT_V1, bytesFromConsentData[0]);
+        assertEquals(consentData, consentDataMapper.mapToPiisConsentData(bytesFromConsentData));
+    }
+
+    @Test
+    void mapToAisConsentData_jsonDataWithBinaryCodec() {
+        AisConsentData consentData = jsonReader.getObjectFromFile("json/data/ais/ais-consent-data.json", AisConsentData.class);
+        byte[] jsonBytes = consentDataMapper.getBytesFromConsentData(consentData);
+
+        ConsentDataMapper binaryConsentDataMapper = new ConsentDataMapper(BinaryConsentDataCodec.NAME);
+
+        assertEquals(consentData, binaryConsentDataMapper.mapToAisConsentData(jsonBytes));
+    }
+
+    @Test
+    void mapToPiisConsentData_binaryAisConsentData() {
+        consentDataMapper = new ConsentDataMapper(BinaryConsentDataCodec.NAME);
+        byte[] bytesFromConsentData = consentDataMapper.getBytesFromConsentData(AisConsentData.buildDefaultAisConsentData());
+
+        assertNull(consentDataMapper.mapToPiisConsentData(bytesFromConsentData));
+    }
+
+    @Test
+    void getBytesFromConsentData_unsupportedTypeWithBinaryCodec() {
+        consentDataMapper = new ConsentDataMapper(BinaryConsentDataCodec.NAME);
+
+        byte[] bytesFromConsentData = consentDataMapper.getBytesFromConsentData(Collections.singletonMap("key", "value"));
+
+        assertEquals('{', bytesFromConsentData[0]);
+    }
+
+    @Test
+    void constructor_unknownCodec() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsentDataMapper("unknown"));
+    }
 }
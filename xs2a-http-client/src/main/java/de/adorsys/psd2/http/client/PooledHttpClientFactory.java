@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Creates request factories for REST templates, which are backed by a pool of persistent connections.
+ * Returned factory closes the pool on {@link HttpComponentsClientHttpRequestFactory#destroy()}, so it should be exposed
+ * as a bean in order to release connections on shutdown of the application context.
+ */
+@RequiredArgsConstructor
+public class PooledHttpClientFactory {
+    private static final String POOL_METRIC_PREFIX = "xs2a.http-client.pool.";
+    private static final String POOL_METRIC_CLIENT_TAG = "client";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates pooled request factory and registers gauges of the pool usage
+     *
+     * @param clientName value of the {@code client} tag of pool metrics
+     * @param properties settings of the client
+     * @return pooled request factory
+     */
+    public HttpComponentsClientHttpRequestFactory createRequestFactory(String clientName, PooledHttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = createConnectionManager(properties);
+        registerPoolMetrics(clientName, connectionManager);
+
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+                                                  .setConnectionManager(connectionManager)
+                                                  .setKeepAliveStrategy(createKeepAliveStrategy(properties.getKeepAlive()))
+                                                  .evictExpiredConnections()
+                                                  .evictIdleConnections(properties.getMaxIdleTime(), TimeUnit.MILLISECONDS)
+                                                  .setDefaultRequestConfig(RequestConfig.custom()
+                                                                               .setConnectTimeout(properties.getConnectionTimeout())
+                                                                               .setSocketTimeout(properties.getReadTimeout())
+                                                                               .setConnectionRequestTimeout(properties.getConnectionRequestTimeout())
+                                                                               .build());
+        if (!properties.isCompressionEnabled()) {
+            httpClientBuilder.disableContentCompression();
+        }
+        return new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
+    }
+
+    PoolingHttpClientConnectionManager createConnectionManager(PooledHttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity(properties.getValidateAfterInactivity());
+        return connectionManager;
+    }
+
+    /**
+     * Keeps connection alive as long as the server allows in its {@code Keep-Alive} header, or for the given
+     * time if the server doesn't send the header
+     */
+    ConnectionKeepAliveStrategy createKeepAliveStrategy(long defaultKeepAlive) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : defaultKeepAlive;
+        };
+    }
+
+    private void registerPoolMetrics(String clientName, PoolingHttpClientConnectionManager connectionManager) {
+        registerPoolGauge("leased", clientName, connectionManager, PoolStats::getLeased);
+        registerPoolGauge("available", clientName, connectionManager, PoolStats::getAvailable);
+        registerPoolGauge("pending", clientName, connectionManager, PoolStats::getPending);
+        registerPoolGauge("max", clientName, connectionManager, PoolStats::getMax);
+    }
+
+    private void registerPoolGauge(String name, String clientName, PoolingHttpClientConnectionManager connectionManager,
+                                   ToDoubleFunction<PoolStats> statsValue) {
+        Gauge.builder(POOL_METRIC_PREFIX + name, connectionManager, cm -> statsValue.applyAsDouble(cm.getTotalStats()))
+            .tag(POOL_METRIC_CLIENT_TAG, clientName)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import lombok.Data;
+import org.springframework.core.env.PropertyResolver;
+
+/**
+ * Settings of the pooled HTTP client, used by REST clients of remote services.
+ * <p>
+ * All clients use the same naming scheme of properties below their own prefix:
+ * {@code <prefix>.read-timeout.ms}, {@code <prefix>.connection-timeout.ms}, {@code <prefix>.compression.enabled}
+ * and {@code <prefix>.pool.*} for the settings of the connection pool.
+ */
+@Data
+public class PooledHttpClientProperties {
+    private int readTimeout = 10000;
+    private int connectionTimeout = 10000;
+    private int connectionRequestTimeout = 10000;
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private long keepAlive = 30000;
+    private int validateAfterInactivity = 2000;
+    private long maxIdleTime = 60000;
+    private boolean compressionEnabled;
+
+    /**
+     * Overrides current values with the properties found below the given prefix
+     *
+     * @param propertyResolver resolver of configuration properties
+     * @param prefix           prefix of the client properties, e.g. {@code xs2a.rest-consent-config}
+     * @return this instance
+     */
+    public PooledHttpClientProperties bind(PropertyResolver propertyResolver, String prefix) {
+        readTimeout = propertyResolver.getProperty(prefix + ".read-timeout.ms", Integer.class, readTimeout);
+        connectionTimeout = propertyResolver.getProperty(prefix + ".connection-timeout.ms", Integer.class, connectionTimeout);
+        compressionEnabled = propertyResolver.getProperty(prefix + ".compression.enabled", Boolean.class, compressionEnabled);
+        connectionRequestTimeout = propertyResolver.getProperty(prefix + ".pool.connection-request-timeout.ms", Integer.class, connectionRequestTimeout);
+        maxTotal = propertyResolver.getProperty(prefix + ".pool.max-total", Integer.class, maxTotal);
+        maxPerRoute = propertyResolver.getProperty(prefix + ".pool.max-per-route", Integer.class, maxPerRoute);
+        keepAlive = propertyResolver.getProperty(prefix + ".pool.keep-alive.ms", Long.class, keepAlive);
+        validateAfterInactivity = propertyResolver.getProperty(prefix + ".pool.validate-after-inactivity.ms", Integer.class, validateAfterInactivity);
+        maxIdleTime = propertyResolver.getProperty(prefix + ".pool.max-idle-time.ms", Long.class, maxIdleTime);
+        return this;
+    }
+}
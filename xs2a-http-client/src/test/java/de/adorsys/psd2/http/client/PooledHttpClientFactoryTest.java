@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class PooledHttpClientFactoryTest {
+    private static final long DEFAULT_KEEP_ALIVE = 30000;
+    private static final String CLIENT_NAME = "consent";
+
+    private SimpleMeterRegistry meterRegistry;
+    private PooledHttpClientFactory pooledHttpClientFactory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pooledHttpClientFactory = new PooledHttpClientFactory(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        meterRegistry.close();
+    }
+
+    @Test
+    void keepAliveStrategy_serverKeepAliveHeader() {
+        // Given
+        ConnectionKeepAliveStrategy keepAliveStrategy = pooledHttpClientFactory.createKeepAliveStrategy(DEFAULT_KEEP_ALIVE);
+        HttpResponse response = buildResponse();
+        response.addHeader("Keep-Alive", "timeout=5, max=100");
+
+        // When
+        long actual = keepAliveStrategy.getKeepAliveDuration(response, new BasicHttpContext());
+
+        // Then
+        assertEquals(5000, actual);
+    }
+
+    @Test
+    void keepAliveStrategy_noKeepAliveHeader_fallsBackToDefault() {
+        // Given
+        ConnectionKeepAliveStrategy keepAliveStrategy = pooledHttpClientFactory.createKeepAliveStrategy(DEFAULT_KEEP_ALIVE);
+
+        // When
+        long actual = keepAliveStrategy.getKeepAliveDuration(buildResponse(), new BasicHttpContext());
+
+        // Then
+        assertEquals(DEFAULT_KEEP_ALIVE, actual);
+    }
+
+    @Test
+    void keepAliveStrategy_keepAliveHeaderWithoutTimeout_fallsBackToDefault() {
+        // Given
+        ConnectionKeepAliveStrategy keepAliveStrategy = pooledHttpClientFactory.createKeepAliveStrategy(DEFAULT_KEEP_ALIVE);
+        HttpResponse response = buildResponse();
+        response.addHeader("Keep-Alive", "max=100");
+
+        // When
+        long actual = keepAliveStrategy.getKeepAliveDuration(response, new BasicHttpContext());
+
+        // Then
+        assertEquals(DEFAULT_KEEP_ALIVE, actual);
+    }
+
+    @Test
+    void createConnectionManager_poolSizing() {
+        // Given
+        PooledHttpClientProperties properties = new PooledHttpClientProperties();
+        properties.setMaxTotal(50);
+        properties.setMaxPerRoute(20);
+        properties.setValidateAfterInactivity(500);
+
+        // When
+        PoolingHttpClientConnectionManager connectionManager = pooledHttpClientFactory.createConnectionManager(properties);
+
+        // Then
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(500, connectionManager.getValidateAfterInactivity());
+        connectionManager.close();
+    }
+
+    @Test
+    void createRequestFactory_registersPoolGauges() throws Exception {
+        // Given
+        PooledHttpClientProperties properties = new PooledHttpClientProperties();
+        properties.setMaxTotal(50);
+
+        // When
+        HttpComponentsClientHttpRequestFactory requestFactory = pooledHttpClientFactory.createRequestFactory(CLIENT_NAME, properties);
+
+        // Then
+        assertNotNull(requestFactory.getHttpClient());
+        assertEquals(50, meterRegistry.get("xs2a.http-client.pool.max").tag("client", CLIENT_NAME).gauge().value());
+        assertEquals(0, meterRegistry.get("xs2a.http-client.pool.leased").tag("client", CLIENT_NAME).gauge().value());
+        assertEquals(0, meterRegistry.get("xs2a.http-client.pool.available").tag("client", CLIENT_NAME).gauge().value());
+        assertEquals(0, meterRegistry.get("xs2a.http-client.pool.pending").tag("client", CLIENT_NAME).gauge().value());
+        requestFactory.destroy();
+    }
+
+    private HttpResponse buildResponse() {
+        return new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledHttpClientPropertiesTest {
+    private static final String PREFIX = "xs2a.rest-consent-config";
+
+    @Test
+    void bind_noProperties_keepsDefaults() {
+        // When
+        PooledHttpClientProperties actual = new PooledHttpClientProperties().bind(new MockEnvironment(), PREFIX);
+
+        // Then
+        assertEquals(new PooledHttpClientProperties(), actual);
+    }
+
+    @Test
+    void bind_propertiesBelowPrefix() {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                                          .withProperty(PREFIX + ".read-timeout.ms", "1000")
+                                          .withProperty(PREFIX + ".connection-timeout.ms", "2000")
+                                          .withProperty(PREFIX + ".compression.enabled", "true")
+                                          .withProperty(PREFIX + ".pool.connection-request-timeout.ms", "3000")
+                                          .withProperty(PREFIX + ".pool.max-total", "40")
+                                          .withProperty(PREFIX + ".pool.max-per-route", "20")
+                                          .withProperty(PREFIX + ".pool.keep-alive.ms", "4000")
+                                          .withProperty(PREFIX + ".pool.validate-after-inactivity.ms", "500")
+                                          .withProperty(PREFIX + ".pool.max-idle-time.ms", "5000")
+                                          .withProperty("xs2a.rest-profile-config.pool.max-total", "1");
+
+        // When
+        PooledHttpClientProperties actual = new PooledHttpClientProperties().bind(environment, PREFIX);
+
+        // Then
+        assertEquals(1000, actual.getReadTimeout());
+        assertEquals(2000, actual.getConnectionTimeout());
+        assertTrue(actual.isCompressionEnabled());
+        assertEquals(3000, actual.getConnectionRequestTimeout());
+        assertEquals(40, actual.getMaxTotal());
+        assertEquals(20, actual.getMaxPerRoute());
+        assertEquals(4000, actual.getKeepAlive());
+        assertEquals(500, actual.getValidateAfterInactivity());
+        assertEquals(5000, actual.getMaxIdleTime());
+    }
+}
@@ -16,6 +16,10 @@
 
 package de.adorsys.psd2.xs2a.component;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import org.apache.commons.io.IOUtils;
 
 import javax.servlet.ReadListener;
@@ -29,6 +33,7 @@ import java.io.*;
  */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
     private ByteArrayOutputStream cachedBytes;
+    private JsonNode cachedBodyTree;
 
     public MultiReadHttpServletRequest(HttpServletRequest request) {
         super(request);
@@ -48,6 +53,28 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream()));
     }
 
+    /**
+     * Returns the body of the request parsed into JSON tree. The body is parsed only once per request, all subsequent
+     * calls return the same tree, so it must not be modified by the callers.
+     * <p>
+     * Floating point numbers are kept as {@link java.math.BigDecimal} with their original scale, so that mapping of the tree
+     * gives the same values as parsing of the body directly (e.g. amount {@code 20.00} isn't turned into {@code 20.0}).
+     *
+     * @param objectMapper mapper used to parse the body on the first call
+     * @return parsed JSON tree of the body
+     * @throws IOException if the body couldn't be read or isn't a valid JSON
+     */
+    public JsonNode getBodyTree(ObjectMapper objectMapper) throws IOException {
+        if (cachedBodyTree == null) {
+            cachedBodyTree = objectMapper.reader()
+                                 .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                                 .with(JsonNodeFactory.withExactBigDecimals(true))
+                                 .readTree(getInputStream());
+        }
+
+        return cachedBodyTree;
+    }
+
     private void cacheInputStream() throws IOException {
         cachedBytes = new ByteArrayOutputStream();
         IOUtils.copy(super.getInputStream(), cachedBytes);
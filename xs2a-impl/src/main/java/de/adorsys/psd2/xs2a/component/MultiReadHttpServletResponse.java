@@ -16,29 +16,332 @@
 
 package de.adorsys.psd2.xs2a.component;
 
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.WebUtils;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * HttpServletResponse wrapper that allows response content to be stored and retrieved
+ * <p>
+ * Textual responses (JSON, XML, plain text) are cached in memory until the end of the request, as long as their size
+ * doesn't exceed the content cache limit. Binary responses and responses exceeding the limit are passed straight
+ * through to the original response, only their first bytes are kept for logging purposes.
  */
-public class MultiReadHttpServletResponse extends ContentCachingResponseWrapper {
+public class MultiReadHttpServletResponse extends HttpServletResponseWrapper {
+    public static final int DEFAULT_CONTENT_CACHE_LIMIT = 1024 * 1024;
+    public static final int DEFAULT_TRUNCATED_CONTENT_LIMIT = 1024;
+
+    private static final List<MediaType> CACHEABLE_MEDIA_TYPES = Arrays.asList(MediaType.APPLICATION_JSON,
+                                                                               MediaType.APPLICATION_XML,
+                                                                               MediaType.parseMediaType("application/*+json"),
+                                                                               MediaType.parseMediaType("application/*+xml"),
+                                                                               MediaType.parseMediaType("text/*"));
+
+    private final int contentCacheLimit;
+    private final int truncatedContentLimit;
+
+    private ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+    private long contentSize;
+    private boolean passThrough;
+    private Integer contentLength;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
     /**
-     * Create a new ContentCachingResponseWrapper for the given servlet response.
+     * Create a new MultiReadHttpServletResponse with default limits for the given servlet response.
      *
      * @param response the original servlet response
      */
     public MultiReadHttpServletResponse(HttpServletResponse response) {
+        this(response, DEFAULT_CONTENT_CACHE_LIMIT, DEFAULT_TRUNCATED_CONTENT_LIMIT);
+    }
+
+    /**
+     * Create a new MultiReadHttpServletResponse for the given servlet response.
+     *
+     * @param response              the original servlet response
+     * @param contentCacheLimit     maximum number of bytes to be cached in memory before passing the content through
+     *                              to the original response
+     * @param truncatedContentLimit number of first bytes to be kept for logging if the content was passed through
+     */
+    public MultiReadHttpServletResponse(HttpServletResponse response, int contentCacheLimit, int truncatedContentLimit) {
         super(response);
+        this.contentCacheLimit = contentCacheLimit;
+        this.truncatedContentLimit = truncatedContentLimit;
     }
 
     /**
      * Returns cached response content
+     * <p>
+     * If the content was passed through to the original response, only its first bytes are returned.
      *
      * @return cached response
      */
     public byte[] getCachedContent() {
-        return this.getContentAsByteArray();
+        return content.toByteArray();
+    }
+
+    /**
+     * Returns the number of bytes written into the response
+     *
+     * @return total size of the response content
+     */
+    public long getContentSize() {
+        return contentSize;
+    }
+
+    /**
+     * Checks whether the cached content contains only the beginning of the response
+     *
+     * @return <code>true</code> if some part of the response content wasn't cached, <code>false</code> otherwise
+     */
+    public boolean isContentTruncated() {
+        return contentSize > content.size();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new ResponseServletOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            String characterEncoding = getCharacterEncoding();
+            writer = new ResponsePrintWriter(characterEncoding != null
+                                                 ? characterEncoding
+                                                 : WebUtils.DEFAULT_CHARACTER_ENCODING);
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (passThrough) {
+            super.setContentLength(len);
+        } else {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (len > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Content-Length exceeds MultiReadHttpServletResponse's maximum (" +
+                                                   Integer.MAX_VALUE + "): " + len);
+        }
+        setContentLength((int) len);
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        if (passThrough) {
+            super.setBufferSize(size);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (passThrough) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (passThrough) {
+            super.resetBuffer();
+        }
+        resetContent();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetContent();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        copyBodyToResponse(false);
+        try {
+            super.sendError(sc);
+        } catch (IllegalStateException ex) {
+            // Possibly on Tomcat when called too late: fall back to silent setStatus
+            super.setStatus(sc);
+        }
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        copyBodyToResponse(false);
+        try {
+            super.sendError(sc, msg);
+        } catch (IllegalStateException ex) {
+            // Possibly on Tomcat when called too late: fall back to silent setStatus
+            super.setStatus(sc);
+        }
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        copyBodyToResponse(false);
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Copies the cached body content to the original response. Does nothing if the content has already been passed
+     * through to the original response.
+     *
+     * @throws IOException if writing to the original response fails
+     */
+    public void copyBodyToResponse() throws IOException {
+        copyBodyToResponse(true);
+    }
+
+    private void copyBodyToResponse(boolean complete) throws IOException {
+        if (passThrough) {
+            return;
+        }
+
+        if (content.size() > 0) {
+            HttpServletResponse rawResponse = (HttpServletResponse) getResponse();
+            if ((complete || contentLength != null) && !rawResponse.isCommitted()) {
+                rawResponse.setContentLength(complete ? content.size() : contentLength);
+                contentLength = null;
+            }
+            content.writeTo(rawResponse.getOutputStream());
+            resetContent();
+            if (complete) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private void writeContent(byte[] bytes, int offset, int length, ServletOutputStream originalStream) throws IOException {
+        if (!passThrough && (content.size() + length > contentCacheLimit || !isCacheableContentType())) {
+            switchToPassThrough(originalStream);
+        }
+
+        contentSize += length;
+
+        if (passThrough) {
+            originalStream.write(bytes, offset, length);
+            int prefixLength = Math.min(length, truncatedContentLimit - content.size());
+            if (prefixLength > 0) {
+                content.write(bytes, offset, prefixLength);
+            }
+        } else {
+            content.write(bytes, offset, length);
+        }
+    }
+
+    private void switchToPassThrough(ServletOutputStream originalStream) throws IOException {
+        passThrough = true;
+
+        if (contentLength != null) {
+            super.setContentLength(contentLength);
+            contentLength = null;
+        }
+
+        byte[] cachedBytes = content.toByteArray();
+        originalStream.write(cachedBytes);
+
+        content = new ByteArrayOutputStream(truncatedContentLimit);
+        content.write(cachedBytes, 0, Math.min(cachedBytes.length, truncatedContentLimit));
+    }
+
+    private boolean isCacheableContentType() {
+        String contentType = getContentType();
+        if (contentType == null) {
+            return true;
+        }
+
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return CACHEABLE_MEDIA_TYPES.stream()
+                       .anyMatch(t -> t.includes(mediaType));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+
+    private void resetContent() {
+        content.reset();
+        contentSize = 0;
+    }
+
+    private class ResponseServletOutputStream extends ServletOutputStream {
+        private final ServletOutputStream os;
+
+        public ResponseServletOutputStream(ServletOutputStream os) {
+            this.os = os;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writeContent(new byte[]{(byte) b}, 0, 1, os);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeContent(b, off, len, os);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passThrough) {
+                os.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return os.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            os.setWriteListener(writeListener);
+        }
+    }
+
+    private class ResponsePrintWriter extends PrintWriter {
+        public ResponsePrintWriter(String characterEncoding) throws IOException {
+            super(new OutputStreamWriter(getOutputStream(), characterEncoding));
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            super.write(buf, off, len);
+            super.flush();
+        }
+
+        @Override
+        public void write(String s, int off, int len) {
+            super.write(s, off, len);
+            super.flush();
+        }
+
+        @Override
+        public void write(int c) {
+            super.write(c);
+            super.flush();
+        }
     }
 }
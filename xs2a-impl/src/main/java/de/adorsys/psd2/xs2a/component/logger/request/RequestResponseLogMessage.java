@@ -61,6 +61,7 @@ public class RequestResponseLogMessage {
         private static final String MULTIPART_FORM_DATA = "multipart/form-data";
         private static final String MULTIPART_VALUES_SEPARATOR = "&";
         private static final String QUERY_SEPARATOR = "?";
+        private static final String TRUNCATED_BODY_FORMAT = "%s... [truncated, %d bytes in total]";
 
         private final Map<String, String> logParams = new LinkedHashMap<>();
         private final HttpServletRequest request;
@@ -216,7 +217,11 @@ public class RequestResponseLogMessage {
 
             if (wrapper != null) {
                 byte[] cachedContent = wrapper.getCachedContent();
-                return extractBody(cachedContent);
+                String body = extractBody(cachedContent);
+                if (wrapper.isContentTruncated()) {
+                    return String.format(TRUNCATED_BODY_FORMAT, body, wrapper.getContentSize());
+                }
+                return body;
             }
 
             return null;
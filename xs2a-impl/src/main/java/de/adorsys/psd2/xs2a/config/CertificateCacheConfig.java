@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.config;
+
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificateCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CertificateCacheConfig {
+    private static final String CACHE_METRIC_NAME = "xs2a.certificate.cache";
+    private static final String CACHE_TAG = "cache";
+    private static final String RESULT_TAG = "result";
+
+    @Value("${xs2a.certificate.cache.max-size:1000}")
+    private int maxSize;
+
+    /**
+     * Cache of parsed QWAC certificates from 'tpp-qwac-certificate' header
+     *
+     * @return cache of parsed certificates
+     */
+    @Bean
+    public ParsedCertificateCache qwacCertificateCache() {
+        return createCache("qwac");
+    }
+
+    /**
+     * Cache of parsed signature certificates from 'tpp-signature-certificate' header
+     *
+     * @return cache of parsed certificates
+     */
+    @Bean
+    public ParsedCertificateCache signatureCertificateCache() {
+        return createCache("signature");
+    }
+
+    private ParsedCertificateCache createCache(String cacheName) {
+        ParsedCertificateCache cache = new ParsedCertificateCache(maxSize);
+        FunctionCounter.builder(CACHE_METRIC_NAME, cache, ParsedCertificateCache::getHitCount)
+            .tags(CACHE_TAG, cacheName, RESULT_TAG, "hit")
+            .register(Metrics.globalRegistry);
+        FunctionCounter.builder(CACHE_METRIC_NAME, cache, ParsedCertificateCache::getMissCount)
+            .tags(CACHE_TAG, cacheName, RESULT_TAG, "miss")
+            .register(Metrics.globalRegistry);
+        Gauge.builder(CACHE_METRIC_NAME + ".size", cache, ParsedCertificateCache::size)
+            .tag(CACHE_TAG, cacheName)
+            .register(Metrics.globalRegistry);
+        return cache;
+    }
+}
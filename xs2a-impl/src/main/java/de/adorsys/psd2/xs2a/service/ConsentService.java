@@ -16,6 +16,10 @@
 
 package de.adorsys.psd2.xs2a.service;
 
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -43,16 +47,15 @@ import de.adorsys.psd2.xs2a.domain.authorisation.AuthorisationResponse;
 import de.adorsys.psd2.xs2a.domain.consent.*;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationChainResponsibilityService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.ConsentAuthorizationService;
 import de.adorsys.psd2.xs2a.service.authorization.Xs2aAuthorisationService;
 import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationServiceResolver;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AisAuthorisationProcessorRequest;
 import de.adorsys.psd2.xs2a.service.consent.AccountReferenceInConsentUpdater;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aAisConsentMapper;
+import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aConsentAuthorisationMapper;
 import de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers.SpiErrorMapper;
 import de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers.SpiToXs2aAccountAccessMapper;
 import de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers.SpiToXs2aLinksMapper;
@@ -85,7 +88,7 @@ public class ConsentService {
     private final Xs2aAisConsentMapper aisConsentMapper;
     private final SpiToXs2aAccountAccessMapper spiToXs2aAccountAccessMapper;
     private final Xs2aAisConsentService aisConsentService;
-    private final AisScaAuthorisationServiceResolver aisScaAuthorisationServiceResolver;
+    private final Xs2aConsentAuthorisationMapper xs2aConsentAuthorisationMapper;
     private final TppService tppService;
     private final SpiContextDataProvider spiContextDataProvider;
     private final AuthorisationMethodDecider authorisationMethodDecider;
@@ -163,9 +166,9 @@ public class ConsentService {
         SpiResponse<SpiInitiateAisConsentResponse> initiateAisConsentSpiResponse = aisConsentSpi.initiateAisConsent(contextData, aisConsentMapper.mapToSpiAccountConsent(aisConsent), aspspConsentDataProvider);
 
         String encryptedConsentId = createAisConsentResponse.getConsentId();
-        aspspConsentDataProvider.saveWith(encryptedConsentId);
 
         if (initiateAisConsentSpiResponse.hasError()) {
+            aspspConsentDataProvider.saveWith(encryptedConsentId);
             aisConsentService.updateConsentStatus(encryptedConsentId, ConsentStatus.REJECTED);
             ErrorHolder errorHolder = spiErrorMapper.mapToErrorHolder(initiateAisConsentSpiResponse, ServiceType.AIS);
             log.info("Consent-ID: [{}]. Create account consent  with response failed. Consent rejected. Couldn't initiate AIS consent at SPI level: {}",
@@ -179,7 +182,24 @@ public class ConsentService {
         boolean multilevelScaRequired = spiResponsePayload.isMultilevelScaRequired()
                                             && !aisScaAuthorisationService.isOneFactorAuthorisation(aisConsent);
 
-        updateMultilevelSca(encryptedConsentId, multilevelScaRequired);
+        boolean implicitMethod = authorisationMethodDecider.isImplicitMethod(explicitPreferred, multilevelScaRequired);
+        // TODO https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/-/issues/1629
+        ScaStatus scaStatus = ScaStatus.STARTED;
+        ScaApproach scaApproach = implicitMethod ? scaApproachResolver.resolveScaApproach() : null;
+        CreateAuthorisationRequest authorisationRequest = implicitMethod
+                                                              ? mapToAuthorisationRequest(UUID.randomUUID().toString(), scaStatus, checkedPsuIdData, scaApproach)
+                                                              : null;
+
+        CreateAuthorisationResponse authorisationResponse = completeConsentCreation(encryptedConsentId, aspspConsentDataProvider,
+                                                                                    multilevelScaRequired, authorisationRequest);
+        if (authorisationRequest != null && authorisationResponse == null) {
+            aisConsentService.updateConsentStatus(encryptedConsentId, ConsentStatus.REJECTED);
+            log.info("Consent-ID: [{}]. Create account consent with response failed. Consent rejected. Couldn't create implicit authorisation in CMS",
+                     encryptedConsentId);
+            return ResponseObject.<CreateConsentResponse>builder()
+                       .fail(ErrorType.AIS_500, of(MessageErrorCode.INTERNAL_SERVER_ERROR))
+                       .build();
+        }
 
         Optional<AccountAccess> xs2aAccountAccess = spiToXs2aAccountAccessMapper.mapToAccountAccess(spiResponsePayload.getAccountAccess());
         xs2aAccountAccess.ifPresent(accountAccess ->
@@ -197,8 +217,9 @@ public class ConsentService {
 
         ResponseObject<CreateConsentResponse> createConsentResponseObject = ResponseObject.<CreateConsentResponse>builder().body(createConsentResponse).build();
 
-        if (authorisationMethodDecider.isImplicitMethod(explicitPreferred, multilevelScaRequired)) {
-            proceedImplicitCaseForCreateConsent(createConsentResponse, checkedPsuIdData, encryptedConsentId);
+        if (implicitMethod && authorisationResponse != null) {
+            proceedImplicitCaseForCreateConsent(createConsentResponse, checkedPsuIdData, encryptedConsentId,
+                                                authorisationResponse, scaStatus, scaApproach);
         }
 
         loggingContextService.storeConsentStatus(consentStatus);
@@ -224,11 +245,49 @@ public class ConsentService {
                    .build();
     }
 
-    private void updateMultilevelSca(String consentId, boolean multilevelScaRequired) {
+    /**
+     * Stores ASPSP consent data, multilevel SCA flag and the first authorisation of the consent in CMS with one call.
+     * If CMS fails to store them, they are stored with separate calls, so that none of them is lost.
+     *
+     * @return created authorisation or <code>null</code> if no authorisation was requested or it couldn't be created
+     */
+    private CreateAuthorisationResponse completeConsentCreation(String consentId, InitialSpiAspspConsentDataProvider aspspConsentDataProvider,
+                                                                boolean multilevelScaRequired, CreateAuthorisationRequest authorisationRequest) {
+        CmsCompleteConsentCreationRequest request = new CmsCompleteConsentCreationRequest(aspspConsentDataProvider.loadAspspConsentData(),
+                                                                                          multilevelScaRequired, authorisationRequest);
+        Optional<CmsCompleteConsentCreationResponse> response = aisConsentService.completeConsentCreation(consentId, request);
+        if (response.isEmpty()) {
+            return completeConsentCreationSeparately(consentId, aspspConsentDataProvider, multilevelScaRequired, authorisationRequest);
+        }
+
+        aspspConsentDataProvider.linkWith(consentId);
+        return response.get().getAuthorisation();
+    }
+
+    private CreateAuthorisationResponse completeConsentCreationSeparately(String consentId, InitialSpiAspspConsentDataProvider aspspConsentDataProvider,
+                                                                          boolean multilevelScaRequired, CreateAuthorisationRequest authorisationRequest) {
+        aspspConsentDataProvider.saveWith(consentId);
+
         // default value is false, so we do the call only for non-default (true) case
         if (multilevelScaRequired) {
-            aisConsentService.updateMultilevelScaRequired(consentId, multilevelScaRequired);
+            aisConsentService.updateMultilevelScaRequired(consentId, true);
+        }
+
+        if (authorisationRequest == null) {
+            return null;
         }
+        return xs2aAuthorisationService.createAuthorisation(authorisationRequest, consentId, AuthorisationType.CONSENT)
+                   .orElse(null);
+    }
+
+    private CreateAuthorisationRequest mapToAuthorisationRequest(String authorisationId, ScaStatus scaStatus, PsuIdData psuIdData,
+                                                                 ScaApproach scaApproach) {
+        if (scaApproach == ScaApproach.REDIRECT) {
+            return xs2aConsentAuthorisationMapper.mapToAuthorisationRequest(authorisationId, scaStatus, psuIdData, scaApproach,
+                                                                            requestProviderService.getTppRedirectURI(),
+                                                                            requestProviderService.getTppNokRedirectURI());
+        }
+        return xs2aConsentAuthorisationMapper.mapToAuthorisationRequest(authorisationId, scaStatus, psuIdData, scaApproach);
     }
 
     /**
@@ -471,12 +530,9 @@ public class ConsentService {
         return aisConsentSpi.getConsentStatus(spiContextDataProvider.provide(), spiAccountConsent, aspspDataProvider);
     }
 
-    private void proceedImplicitCaseForCreateConsent(CreateConsentResponse createConsentResponse, PsuIdData psuIdData, String consentId) {
-        // TODO https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/-/issues/1629
-        ScaStatus scaStatus = ScaStatus.STARTED;
-        String authorisationId = UUID.randomUUID().toString();
-        ScaApproach scaApproach = scaApproachResolver.resolveScaApproach();
-
+    private void proceedImplicitCaseForCreateConsent(CreateConsentResponse createConsentResponse, PsuIdData psuIdData, String consentId,
+                                                     CreateAuthorisationResponse authorisationResponse, ScaStatus scaStatus, ScaApproach scaApproach) {
+        String authorisationId = authorisationResponse.getAuthorizationId();
         StartAuthorisationsParameters startAuthorisationsParameters = StartAuthorisationsParameters.builder()
                                                                           .psuData(psuIdData)
                                                                           .businessObjectId(consentId)
@@ -489,28 +545,28 @@ public class ConsentService {
         CreateConsentAuthorisationProcessorResponse processorResponse =
             (CreateConsentAuthorisationProcessorResponse) authorisationChainResponsibilityService.apply(processorRequest);
 
-        Xs2aCreateAuthorisationRequest createAuthorisationRequest = Xs2aCreateAuthorisationRequest.builder()
-                                                                        .psuData(psuIdData)
-                                                                        .consentId(consentId)
-                                                                        .authorisationId(authorisationId)
-                                                                        .scaStatus(processorResponse.getScaStatus())
-                                                                        .scaApproach(processorResponse.getScaApproach())
-                                                                        .build();
-
+        ScaApproach actualScaApproach = processorResponse.getScaApproach();
+        if (actualScaApproach != null && actualScaApproach != scaApproach) {
+            xs2aAuthorisationService.updateScaApproach(authorisationId, actualScaApproach);
+        } else {
+            actualScaApproach = authorisationResponse.getScaApproach();
+        }
 
-        ConsentAuthorizationService service = aisScaAuthorisationServiceResolver.getService();
+        // CMS is called only if the status differs from the one stored on authorisation creation
+        ScaStatus actualScaStatus = processorResponse.getScaStatus();
+        if (actualScaStatus == null || actualScaStatus == scaStatus || actualScaStatus == authorisationResponse.getScaStatus()) {
+            actualScaStatus = authorisationResponse.getScaStatus();
+        } else {
+            xs2aAuthorisationService.updateAuthorisationStatus(authorisationId, actualScaStatus);
+        }
 
-        Optional<CreateConsentAuthorizationResponse> consentAuthorizationResponse = service.createConsentAuthorization(createAuthorisationRequest);
-        if (consentAuthorizationResponse.isPresent()) {
-            CreateConsentAuthorizationResponse createConsentAuthorizationResponse = consentAuthorizationResponse.get();
-            createConsentResponse.setAuthorizationId(createConsentAuthorizationResponse.getAuthorisationId());
-            createConsentResponse.setScaStatus(createConsentAuthorizationResponse.getScaStatus());
-            createConsentResponse.setScaApproach(createConsentAuthorizationResponse.getScaApproach());
+        createConsentResponse.setAuthorizationId(authorisationId);
+        createConsentResponse.setScaStatus(actualScaStatus);
+        createConsentResponse.setScaApproach(actualScaApproach);
 
-            setPsuMessageAndTppMessages(createConsentResponse, processorResponse.getPsuMessage(), processorResponse.getTppMessages());
+        setPsuMessageAndTppMessages(createConsentResponse, processorResponse.getPsuMessage(), processorResponse.getTppMessages());
 
-            loggingContextService.storeScaStatus(createConsentAuthorizationResponse.getScaStatus());
-        }
+        loggingContextService.storeScaStatus(actualScaStatus);
     }
 
     private void setPsuMessageAndTppMessages(CreateConsentResponse response,
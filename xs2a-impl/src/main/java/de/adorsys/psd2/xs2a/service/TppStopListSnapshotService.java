@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps local snapshots of blocked TPPs per instance ID in order to take CMS off the hot path of TPP requests.
+ * <p>
+ * Snapshot is loaded completely on the first check for the instance ID and then synchronised at most once per
+ * configured interval by requesting the changes of the stop list since the last known version. If the snapshot
+ * couldn't be synchronised for longer than the allowed staleness period, TPPs are checked in CMS directly.
+ * <p>
+ * Instance IDs are normalised the same way as in ASPSP profile: lower-cased in multitenancy mode and ignored
+ * otherwise, so that the stop list of the default CMS instance is used. Number of snapshots is bounded, least
+ * recently used ones are evicted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TppStopListSnapshotService {
+    private final TppStopListService tppStopListService;
+    private final AspspProfileService aspspProfileService;
+
+    private final Map<String, TppStopListSnapshot> snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TppStopListSnapshot> eldest) {
+            return size() > maxSize;
+        }
+    });
+
+    @Value("${xs2a.tpp.stop-list.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${xs2a.tpp.stop-list.snapshot.sync-interval.ms:5000}")
+    private long syncIntervalMs;
+
+    @Value("${xs2a.tpp.stop-list.snapshot.max-staleness.ms:60000}")
+    private long maxStalenessMs;
+
+    @Value("${xs2a.tpp.stop-list.snapshot.max-size:100}")
+    private int maxSize;
+
+    /**
+     * Checks if TPP is blocked for the given instance ID
+     *
+     * @param tppAuthorisationNumber authorisation number of the TPP
+     * @param instanceId             instance ID, may be <code>null</code>
+     * @return <code>true</code> if TPP is blocked, <code>false</code> otherwise
+     */
+    public boolean isTppBlocked(String tppAuthorisationNumber, String instanceId) {
+        if (!snapshotEnabled) {
+            return checkInCms(tppAuthorisationNumber, instanceId);
+        }
+
+        String normalisedInstanceId = normaliseInstanceId(instanceId);
+        TppStopListSnapshot snapshot = getSnapshot(normalisedInstanceId);
+
+        if (snapshot == null || snapshot.isStale(System.currentTimeMillis(), maxStalenessMs)) {
+            return checkInCms(tppAuthorisationNumber, normalisedInstanceId);
+        }
+
+        return snapshot.isBlocked(tppAuthorisationNumber);
+    }
+
+    private String normaliseInstanceId(String instanceId) {
+        return aspspProfileService.isMultitenancyEnabled()
+                   ? StringUtils.lowerCase(instanceId)
+                   : null;
+    }
+
+    private TppStopListSnapshot getSnapshot(String instanceId) {
+        String key = StringUtils.defaultString(instanceId);
+        TppStopListSnapshot snapshot = snapshots.get(key);
+
+        if (snapshot == null) {
+            return loadSnapshot(key, instanceId);
+        }
+
+        if (snapshot.isSyncDue(System.currentTimeMillis(), syncIntervalMs) && snapshot.startSync()) {
+            synchronise(snapshot, instanceId);
+        }
+
+        return snapshot;
+    }
+
+    private TppStopListSnapshot loadSnapshot(String key, String instanceId) {
+        try {
+            TppStopListChanges changes = getChanges(instanceId, null);
+            TppStopListSnapshot loadedSnapshot = new TppStopListSnapshot();
+            loadedSnapshot.apply(changes, System.currentTimeMillis());
+
+            TppStopListSnapshot existingSnapshot = snapshots.putIfAbsent(key, loadedSnapshot);
+            return existingSnapshot == null ? loadedSnapshot : existingSnapshot;
+        } catch (RuntimeException e) {
+            log.warn("TPP stop list for instance [{}] couldn't be loaded: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void synchronise(TppStopListSnapshot snapshot, String instanceId) {
+        try {
+            TppStopListChanges changes = getChanges(instanceId, snapshot.getVersion());
+            snapshot.apply(changes, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("TPP stop list for instance [{}] couldn't be synchronised, previous snapshot will be used: {}",
+                     StringUtils.defaultString(instanceId), e.getMessage());
+            snapshot.finishSync(System.currentTimeMillis());
+        }
+    }
+
+    private TppStopListChanges getChanges(String instanceId, Long version) {
+        CmsResponse<TppStopListChanges> response = tppStopListService.getTppStopListChanges(instanceId, version);
+
+        if (response.hasError() || response.getPayload() == null) {
+            throw new IllegalStateException("No changes of the stop list were returned by CMS");
+        }
+
+        return response.getPayload();
+    }
+
+    private boolean checkInCms(String tppAuthorisationNumber, String instanceId) {
+        CmsResponse<Boolean> response = tppStopListService.checkIfTppBlocked(tppAuthorisationNumber, instanceId);
+        return response.isSuccessful() && BooleanUtils.isTrue(response.getPayload());
+    }
+
+    private static final class TppStopListSnapshot {
+        private final Set<String> blockedTpps = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean synchronising = new AtomicBoolean();
+        private volatile long version;
+        private volatile long syncedAt;
+        private volatile long syncAttemptedAt;
+
+        private long getVersion() {
+            return version;
+        }
+
+        private boolean isBlocked(String tppAuthorisationNumber) {
+            return tppAuthorisationNumber != null && blockedTpps.contains(tppAuthorisationNumber);
+        }
+
+        private boolean isSyncDue(long now, long syncIntervalMs) {
+            return now - syncAttemptedAt >= syncIntervalMs;
+        }
+
+        private boolean isStale(long now, long maxStalenessMs) {
+            return now - syncedAt > maxStalenessMs;
+        }
+
+        private boolean startSync() {
+            return synchronising.compareAndSet(false, true);
+        }
+
+        private void apply(TppStopListChanges changes, long now) {
+            for (TppStopListRecord record : changes.getRecords()) {
+                if (record.getStatus() == TppStatus.BLOCKED) {
+                    blockedTpps.add(record.getTppAuthorisationNumber());
+                } else {
+                    blockedTpps.remove(record.getTppAuthorisationNumber());
+                }
+            }
+            version = changes.getVersion();
+            syncedAt = now;
+            finishSync(now);
+        }
+
+        private void finishSync(long now) {
+            syncAttemptedAt = now;
+            synchronising.set(false);
+        }
+    }
+}
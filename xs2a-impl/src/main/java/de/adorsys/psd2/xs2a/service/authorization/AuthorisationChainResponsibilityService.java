@@ -19,43 +19,62 @@ package de.adorsys.psd2.xs2a.service.authorization;
 import de.adorsys.psd2.xs2a.service.authorization.processor.*;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorRequest;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorResponse;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+/**
+ * Applies SCA authorisation processors to the requests via transition table, which is compiled once all singletons
+ * are instantiated, as processor services can't be resolved earlier due to circular dependencies.
+ */
 @Slf4j
 @Service
-public class AuthorisationChainResponsibilityService {
+public class AuthorisationChainResponsibilityService implements SmartInitializingSingleton {
 
-    private AuthorisationProcessor receivedAuthorisationProcessor;
-    private AuthorisationProcessorServiceProvider provider;
+    private final AuthorisationProcessorServiceProvider provider;
+    private volatile AuthorisationTransitionTable transitionTable;
 
     @Autowired
     public AuthorisationChainResponsibilityService(AuthorisationProcessorServiceProvider provider) {
         this.provider = provider;
-        initAuthorisationChains();
     }
 
     public AuthorisationProcessorResponse apply(AuthorisationProcessorRequest request) {
-        return receivedAuthorisationProcessor.apply(request);
+        return getTransitionTable().apply(request);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        getTransitionTable();
+    }
+
+    private AuthorisationTransitionTable getTransitionTable() {
+        AuthorisationTransitionTable table = transitionTable;
+        if (table == null) {
+            synchronized (this) {
+                table = transitionTable;
+                if (table == null) {
+                    table = AuthorisationTransitionTable.compile(initAuthorisationProcessors(), provider, Metrics.globalRegistry);
+                    transitionTable = table;
+                    log.debug("Authorisation transition table has been compiled");
+                }
+            }
+        }
+        return table;
     }
 
-    private void initAuthorisationChains() {
-        receivedAuthorisationProcessor = new ReceivedAuthorisationProcessor(provider);
-        AuthorisationProcessor psuIdentifiedAuthorisationProcessor = new PsuIdentifiedAuthorisationProcessor(provider);
-        AuthorisationProcessor psuAuthenticatedAuthorisationProcessor = new PsuAuthenticatedAuthorisationProcessor(provider);
-        AuthorisationProcessor scaMethodSelectedAuthorisationProcessor = new ScaMethodSelectedAuthorisationProcessor(provider);
-        AuthorisationProcessor startedAuthorisationProcessor = new StartedAuthorisationProcessor(provider);
-        AuthorisationProcessor finalisedAuthorisationProcessor = new FinalisedAuthorisationProcessor(provider);
-        AuthorisationProcessor failedAuthorisationProcessor = new FailedAuthorisationProcessor(provider);
-        AuthorisationProcessor exemptedAuthorisationProcessor = new ExemptedAuthorisationProcessor(provider);
-
-        receivedAuthorisationProcessor.setNext(psuIdentifiedAuthorisationProcessor);
-        psuIdentifiedAuthorisationProcessor.setNext(psuAuthenticatedAuthorisationProcessor);
-        psuAuthenticatedAuthorisationProcessor.setNext(scaMethodSelectedAuthorisationProcessor);
-        scaMethodSelectedAuthorisationProcessor.setNext(startedAuthorisationProcessor);
-        startedAuthorisationProcessor.setNext(finalisedAuthorisationProcessor);
-        finalisedAuthorisationProcessor.setNext(failedAuthorisationProcessor);
-        failedAuthorisationProcessor.setNext(exemptedAuthorisationProcessor);
+    private List<AuthorisationProcessor> initAuthorisationProcessors() {
+        return List.of(new ReceivedAuthorisationProcessor(),
+                       new PsuIdentifiedAuthorisationProcessor(),
+                       new PsuAuthenticatedAuthorisationProcessor(),
+                       new ScaMethodSelectedAuthorisationProcessor(),
+                       new StartedAuthorisationProcessor(),
+                       new FinalisedAuthorisationProcessor(),
+                       new FailedAuthorisationProcessor(),
+                       new ExemptedAuthorisationProcessor());
     }
 }
@@ -21,48 +21,14 @@ import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationP
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorResponse;
 import de.adorsys.psd2.xs2a.service.authorization.processor.service.AuthorisationProcessorService;
 
+/**
+ * Processor of one SCA status of the authorisation. Processors are resolved by SCA status and applied together with
+ * the matching processor service in {@link AuthorisationTransitionTable}.
+ */
 public abstract class AuthorisationProcessor {
-    private AuthorisationProcessor nextProcessor;
-    private final AuthorisationProcessorServiceProvider provider;
-
-    protected AuthorisationProcessor(AuthorisationProcessorServiceProvider provider) {
-        this.provider = provider;
-    }
-
-    public void setNext(AuthorisationProcessor nextProcessor) {
-        this.nextProcessor = nextProcessor;
-    }
 
     public abstract ScaStatus getScaStatus();
 
     protected abstract AuthorisationProcessorResponse execute(AuthorisationProcessorRequest request,
                                                               AuthorisationProcessorService processorService);
-
-    public AuthorisationProcessorResponse apply(AuthorisationProcessorRequest request) {
-        AuthorisationProcessorResponse processorResponse = process(request);
-
-        //update authorisation
-        getProcessorService(request).updateAuthorisation(request, processorResponse);
-        return processorResponse;
-    }
-
-    AuthorisationProcessorResponse process(AuthorisationProcessorRequest request) {
-        if (getScaStatus() == request.getScaStatus()) {
-            AuthorisationProcessorService processorService = getProcessorService(request);
-            return execute(request, processorService);
-        } else {
-            if (hasNext()) {
-                return nextProcessor.process(request);
-            }
-        }
-        return null;
-    }
-
-    AuthorisationProcessorService getProcessorService(AuthorisationProcessorRequest request) {
-        return provider.getProcessorService(request);
-    }
-
-    private boolean hasNext() {
-        return nextProcessor != null;
-    }
 }
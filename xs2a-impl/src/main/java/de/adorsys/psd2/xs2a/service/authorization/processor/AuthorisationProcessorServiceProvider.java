@@ -32,17 +32,33 @@ public class AuthorisationProcessorServiceProvider {
     }
 
     public AuthorisationProcessorService getProcessorService(AuthorisationProcessorRequest request) {
-        if (request.getServiceType() == ServiceType.AIS) {
+        AuthorisationType authorisationType = request.getAuthorisation() == null
+                                                  ? null
+                                                  : request.getAuthorisation().getAuthorisationType();
+        AuthorisationProcessorService processorService = getProcessorService(request.getServiceType(), authorisationType);
+        if (processorService == null) {
+            throw new IllegalArgumentException("Authorisation processor service is unknown: " + request);
+        }
+        return processorService;
+    }
+
+    /**
+     * Resolves authorisation processor service for the given combination of service and authorisation types
+     *
+     * @param serviceType       type of the service
+     * @param authorisationType type of the authorisation, may be <code>null</code>
+     * @return processor service or <code>null</code> if the combination isn't supported
+     */
+    public AuthorisationProcessorService getProcessorService(ServiceType serviceType, AuthorisationType authorisationType) {
+        if (serviceType == ServiceType.AIS) {
             return applicationContext.getBean(AisAuthorisationProcessorServiceImpl.class);
-        } else if (request.getServiceType() == ServiceType.PIS &&
-                       request.getAuthorisation().getAuthorisationType() == AuthorisationType.PIS_CREATION) {
+        } else if (serviceType == ServiceType.PIS && authorisationType == AuthorisationType.PIS_CREATION) {
             return applicationContext.getBean(PisAuthorisationProcessorServiceImpl.class);
-        } else if (request.getServiceType() == ServiceType.PIS &&
-                       request.getAuthorisation().getAuthorisationType() == AuthorisationType.PIS_CANCELLATION) {
+        } else if (serviceType == ServiceType.PIS && authorisationType == AuthorisationType.PIS_CANCELLATION) {
             return applicationContext.getBean(PisCancellationAuthorisationProcessorServiceImpl.class);
-        } else if (request.getServiceType() == ServiceType.PIIS) {
+        } else if (serviceType == ServiceType.PIIS) {
             return applicationContext.getBean(PiisAuthorisationProcessorServiceImpl.class);
         }
-        throw new IllegalArgumentException("Authorisation processor service is unknown: " + request);
+        return null;
     }
 }
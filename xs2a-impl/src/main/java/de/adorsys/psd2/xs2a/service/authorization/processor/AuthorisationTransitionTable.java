@@ -0,0 +1,217 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.authorization.processor;
+
+import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
+import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorRequest;
+import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorResponse;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.AuthorisationProcessorService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transitions of the SCA authorisation, compiled into a flat table indexed by service type, authorisation type,
+ * SCA status and SCA approach of the request.
+ * <p>
+ * Each transition holds the processor service and the processor of the current SCA status resolved at compile time,
+ * so applying the transition doesn't look up either of them. Duration of every transition and of the subsequent update of the authorisation is recorded
+ * with Micrometer, meters are registered on first use of the transition.
+ */
+public class AuthorisationTransitionTable {
+    static final String TRANSITION_DURATION_METRIC = "xs2a.sca.transition.duration";
+    static final String TRANSITION_ERRORS_METRIC = "xs2a.sca.transition.errors";
+    static final String UPDATE_DURATION_METRIC = "xs2a.sca.authorisation.update.duration";
+    static final String SERVICE_TAG = "service";
+    static final String AUTHORISATION_TYPE_TAG = "authorisationType";
+    static final String SCA_STATUS_TAG = "scaStatus";
+    static final String SCA_APPROACH_TAG = "scaApproach";
+    private static final String NONE_TAG_VALUE = "none";
+
+    private static final ServiceType[] SERVICE_TYPES = ServiceType.values();
+    private static final AuthorisationType[] AUTHORISATION_TYPES = AuthorisationType.values();
+    private static final ScaStatus[] SCA_STATUSES = ScaStatus.values();
+    private static final ScaApproach[] SCA_APPROACHES = ScaApproach.values();
+
+    private final AuthorisationTransition[] transitions;
+
+    private AuthorisationTransitionTable(AuthorisationTransition[] transitions) {
+        this.transitions = transitions;
+    }
+
+    /**
+     * Compiles transitions for all supported combinations of service and authorisation types
+     *
+     * @param processors    processors of the SCA statuses
+     * @param provider      provider of the authorisation processor services
+     * @param meterRegistry registry for the metrics of the transitions
+     * @return compiled transition table
+     */
+    public static AuthorisationTransitionTable compile(List<AuthorisationProcessor> processors,
+                                                       AuthorisationProcessorServiceProvider provider,
+                                                       MeterRegistry meterRegistry) {
+        Map<ScaStatus, AuthorisationProcessor> processorsByStatus = new EnumMap<>(ScaStatus.class);
+        processors.forEach(p -> processorsByStatus.putIfAbsent(p.getScaStatus(), p));
+
+        AuthorisationTransition[] transitions = new AuthorisationTransition[size(SERVICE_TYPES) * size(AUTHORISATION_TYPES)
+                                                                                * size(SCA_STATUSES) * size(SCA_APPROACHES)];
+        for (ServiceType serviceType : SERVICE_TYPES) {
+            for (AuthorisationType authorisationType : withNull(AUTHORISATION_TYPES)) {
+                AuthorisationProcessorService processorService = provider.getProcessorService(serviceType, authorisationType);
+                if (processorService == null) {
+                    continue;
+                }
+                for (ScaStatus scaStatus : withNull(SCA_STATUSES)) {
+                    AuthorisationProcessor processor = scaStatus == null ? null : processorsByStatus.get(scaStatus);
+                    for (ScaApproach scaApproach : withNull(SCA_APPROACHES)) {
+                        Tags tags = Tags.of(SERVICE_TAG, serviceType.name(),
+                                            AUTHORISATION_TYPE_TAG, tagValue(authorisationType),
+                                            SCA_STATUS_TAG, scaStatus == null ? NONE_TAG_VALUE : scaStatus.getValue(),
+                                            SCA_APPROACH_TAG, tagValue(scaApproach));
+                        transitions[index(serviceType, authorisationType, scaStatus, scaApproach)] =
+                            new AuthorisationTransition(processorService, processor, meterRegistry, tags);
+                    }
+                }
+            }
+        }
+        return new AuthorisationTransitionTable(transitions);
+    }
+
+    /**
+     * Executes the processor of the current SCA status and updates the authorisation with its response
+     *
+     * @param request authorisation processor request
+     * @return response of the processor or <code>null</code> if there is no processor for the current SCA status
+     * @throws IllegalArgumentException if authorisation processor service is unknown for the request
+     */
+    public AuthorisationProcessorResponse apply(AuthorisationProcessorRequest request) {
+        AuthorisationType authorisationType = request.getAuthorisation() == null
+                                                  ? null
+                                                  : request.getAuthorisation().getAuthorisationType();
+        AuthorisationTransition transition = request.getServiceType() == null
+                                                 ? null
+                                                 : transitions[index(request.getServiceType(), authorisationType,
+                                                                     request.getScaStatus(), request.getScaApproach())];
+        if (transition == null) {
+            throw new IllegalArgumentException("Authorisation processor service is unknown: " + request);
+        }
+        return transition.apply(request);
+    }
+
+    private static int index(ServiceType serviceType, AuthorisationType authorisationType,
+                             ScaStatus scaStatus, ScaApproach scaApproach) {
+        int index = slot(serviceType);
+        index = index * size(AUTHORISATION_TYPES) + slot(authorisationType);
+        index = index * size(SCA_STATUSES) + slot(scaStatus);
+        return index * size(SCA_APPROACHES) + slot(scaApproach);
+    }
+
+    private static int size(Enum<?>[] values) {
+        // one additional slot is reserved for null
+        return values.length + 1;
+    }
+
+    private static int slot(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    private static <T> T[] withNull(T[] values) {
+        T[] result = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, 0, result, 1, values.length);
+        result[0] = null;
+        return result;
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value == null ? NONE_TAG_VALUE : value.name();
+    }
+
+    private static class AuthorisationTransition {
+        private final AuthorisationProcessorService processorService;
+        private final AuthorisationProcessor processor;
+        private final MeterRegistry meterRegistry;
+        private final Tags tags;
+
+        private volatile Timer transitionTimer;
+        private volatile Counter errorCounter;
+        private volatile Timer updateTimer;
+
+        AuthorisationTransition(AuthorisationProcessorService processorService, AuthorisationProcessor processor,
+                                MeterRegistry meterRegistry, Tags tags) {
+            this.processorService = processorService;
+            this.processor = processor;
+            this.meterRegistry = meterRegistry;
+            this.tags = tags;
+        }
+
+        AuthorisationProcessorResponse apply(AuthorisationProcessorRequest request) {
+            AuthorisationProcessorResponse response = processor == null ? null : execute(request);
+
+            long updateStart = System.nanoTime();
+            try {
+                processorService.updateAuthorisation(request, response);
+            } finally {
+                getUpdateTimer().record(System.nanoTime() - updateStart, TimeUnit.NANOSECONDS);
+            }
+            return response;
+        }
+
+        private AuthorisationProcessorResponse execute(AuthorisationProcessorRequest request) {
+            long start = System.nanoTime();
+            try {
+                AuthorisationProcessorResponse response = processor.execute(request, processorService);
+                if (response != null && response.hasError()) {
+                    getErrorCounter().increment();
+                }
+                return response;
+            } finally {
+                getTransitionTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer getTransitionTimer() {
+            if (transitionTimer == null) {
+                transitionTimer = Timer.builder(TRANSITION_DURATION_METRIC).tags(tags).register(meterRegistry);
+            }
+            return transitionTimer;
+        }
+
+        private Counter getErrorCounter() {
+            if (errorCounter == null) {
+                errorCounter = Counter.builder(TRANSITION_ERRORS_METRIC).tags(tags).register(meterRegistry);
+            }
+            return errorCounter;
+        }
+
+        private Timer getUpdateTimer() {
+            if (updateTimer == null) {
+                updateTimer = Timer.builder(UPDATE_DURATION_METRIC).tags(tags).register(meterRegistry);
+            }
+            return updateTimer;
+        }
+    }
+}
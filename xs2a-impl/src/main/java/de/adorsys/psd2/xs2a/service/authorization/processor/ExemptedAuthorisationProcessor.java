@@ -23,10 +23,6 @@ import de.adorsys.psd2.xs2a.service.authorization.processor.service.Authorisatio
 
 public class ExemptedAuthorisationProcessor extends AuthorisationProcessor {
 
-    public ExemptedAuthorisationProcessor(AuthorisationProcessorServiceProvider provider) {
-        super(provider);
-    }
-
     @Override
     public ScaStatus getScaStatus() {
         return ScaStatus.EXEMPTED;
@@ -23,10 +23,6 @@ import de.adorsys.psd2.xs2a.service.authorization.processor.service.Authorisatio
 
 public class FinalisedAuthorisationProcessor extends AuthorisationProcessor {
 
-    public FinalisedAuthorisationProcessor(AuthorisationProcessorServiceProvider applicationContext) {
-        super(applicationContext);
-    }
-
     @Override
     public ScaStatus getScaStatus() {
         return ScaStatus.FINALISED;
@@ -24,10 +24,6 @@ import de.adorsys.psd2.xs2a.service.authorization.processor.service.Authorisatio
 
 public class PsuIdentifiedAuthorisationProcessor extends AuthorisationProcessor {
 
-    public PsuIdentifiedAuthorisationProcessor(AuthorisationProcessorServiceProvider provider) {
-        super(provider);
-    }
-
     @Override
     public ScaStatus getScaStatus() {
         return ScaStatus.PSUIDENTIFIED;
@@ -23,6 +23,8 @@ import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.authorisation.UpdateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
@@ -220,4 +222,26 @@ public class Xs2aAisConsentService {
             log.info("updateMultilevelScaRequired cannot be executed, checksum verification failed");
         }
     }
+
+    /**
+     * Stores ASPSP consent data, multilevel SCA required indicator and the first authorisation of the newly created
+     * consent in CMS with a single call
+     *
+     * @param consentId String representation of the consent identifier
+     * @param request   data to be stored for the consent
+     * @return response containing created authorisation or empty value if the data couldn't be stored
+     */
+    public Optional<CmsCompleteConsentCreationResponse> completeConsentCreation(String consentId, CmsCompleteConsentCreationRequest request) {
+        try {
+            CmsResponse<CmsCompleteConsentCreationResponse> response = consentService.completeConsentCreation(consentId, request);
+            if (response.hasError()) {
+                log.info("Consent-ID: [{}]. Complete consent creation failed: {}", consentId, response.getError());
+                return Optional.empty();
+            }
+            return Optional.of(response.getPayload());
+        } catch (WrongChecksumException e) {
+            log.info("completeConsentCreation cannot be executed, checksum verification failed");
+            return Optional.empty();
+        }
+    }
 }
@@ -17,12 +17,16 @@
 package de.adorsys.psd2.xs2a.service.consent;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -45,6 +49,28 @@ public class Xs2aPisCommonPaymentService {
         return response.getPayload();
     }
 
+    /**
+     * Stores payment, its ASPSP consent data and its first authorisation in CMS with one request
+     *
+     * @param request              information about the payment
+     * @param aspspConsentData     ASPSP consent data provided by the SPI during payment initiation
+     * @param authorisationRequest first authorisation of the payment or <code>null</code> if no authorisation should be created
+     * @return response containing identifier of common payment and created authorisation or <code>null</code> if the payment couldn't be created
+     */
+    public CreatePisCommonPaymentWithAuthorisationResponse createCommonPaymentWithAuthorisation(PisPaymentInfo request, byte[] aspspConsentData,
+                                                                                              @Nullable CreateAuthorisationRequest authorisationRequest) {
+        CmsResponse<CreatePisCommonPaymentWithAuthorisationResponse> response =
+            pisCommonPaymentServiceEncrypted.createCommonPaymentWithAuthorisation(new CreatePisCommonPaymentWithAuthorisationRequest(request, aspspConsentData, authorisationRequest));
+
+        if (response.hasError()) {
+            log.info("Payment ID: [{}]. Pis common payment cannot be created, because can't save to cms DB",
+                     request.getPaymentId());
+            return null;
+        }
+
+        return response.getPayload();
+    }
+
     public Optional<PisCommonPaymentResponse> getPisCommonPaymentById(String paymentId) {
         CmsResponse<PisCommonPaymentResponse> response = pisCommonPaymentServiceEncrypted.getCommonPaymentById(paymentId);
 
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes recording of TPP events off the request thread: events are put into the bounded in-memory queue and are sent
+ * to the CMS in batches by the background dispatcher thread.
+ * <p>
+ * If the queue is full, the event is handled according to configured {@link EventOverflowPolicy}. Events remaining
+ * in the queue are flushed on shutdown.
+ */
+@Slf4j
+@Primary
+@Service
+@RequiredArgsConstructor
+public class AsyncEventServiceEncrypted implements Xs2aEventServiceEncrypted {
+    private static final String METRIC_NAME = "xs2a.event.async";
+    private static final String RESULT_TAG = "result";
+    private static final String DISPATCHER_THREAD_NAME = "xs2a-event-dispatcher";
+    private static final String SPILL_ENCRYPTION_ALGORITHM = "AES";
+    private static final Set<Integer> SPILL_ENCRYPTION_KEY_LENGTHS = Set.of(16, 24, 32);
+
+    private final Xs2aEventServiceEncrypted eventService;
+    private final Xs2aObjectMapper xs2aObjectMapper;
+
+    private final Counter sentCounter = Metrics.counter(METRIC_NAME, RESULT_TAG, "sent");
+    private final Counter droppedCounter = Metrics.counter(METRIC_NAME, RESULT_TAG, "dropped");
+    private final Counter spilledCounter = Metrics.counter(METRIC_NAME, RESULT_TAG, "spilled");
+    private final Counter failedCounter = Metrics.counter(METRIC_NAME, RESULT_TAG, "failed");
+
+    @Value("${xs2a.event.async.enabled:true}")
+    private boolean asyncEnabled;
+
+    @Value("${xs2a.event.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${xs2a.event.async.batch-size:100}")
+    private int batchSize;
+
+    @Value("${xs2a.event.async.poll-interval.ms:500}")
+    private long pollIntervalMs;
+
+    @Value("${xs2a.event.async.overflow-policy:BLOCK}")
+    private EventOverflowPolicy overflowPolicy;
+
+    @Value("${xs2a.event.async.block-timeout.ms:1000}")
+    private long blockTimeoutMs;
+
+    @Value("${xs2a.event.async.spill.directory:}")
+    private String spillDirectory;
+
+    @Value("${xs2a.event.async.spill.encryption-key:}")
+    private String spillEncryptionKey;
+
+    @Value("${xs2a.event.async.spill.max-file-size.bytes:104857600}")
+    private long spillMaxFileSize;
+
+    @Value("${xs2a.event.async.spill.replay-interval.ms:10000}")
+    private long spillReplayIntervalMs;
+
+    @Value("${xs2a.event.async.shutdown-timeout.ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<EventBO> queue;
+    private EventSpillStorage spillStorage;
+    private Thread dispatcherThread;
+    private volatile boolean running;
+    private long lastSpillReplay;
+
+    @PostConstruct
+    public void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        spillStorage = createSpillStorage();
+        Gauge.builder(METRIC_NAME + ".queue.size", queue, Collection::size)
+            .register(Metrics.globalRegistry);
+
+        running = true;
+        dispatcherThread = new Thread(this::dispatchEvents, DISPATCHER_THREAD_NAME);
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+
+    /**
+     * Spill storage is created only if its directory is configured explicitly. In this case the encryption key of the
+     * stored events is required as well.
+     */
+    private @Nullable EventSpillStorage createSpillStorage() {
+        if (StringUtils.isBlank(spillDirectory)) {
+            if (overflowPolicy == EventOverflowPolicy.SPILL_TO_DISK) {
+                throw new IllegalStateException("Property xs2a.event.async.spill.directory must be set for SPILL_TO_DISK overflow policy");
+            }
+            return null;
+        }
+
+        return new EventSpillStorage(Paths.get(spillDirectory), buildSpillEncryptionKey(), spillMaxFileSize, xs2aObjectMapper);
+    }
+
+    private SecretKey buildSpillEncryptionKey() {
+        byte[] key = StringUtils.isBlank(spillEncryptionKey)
+                         ? new byte[0]
+                         : Base64.getDecoder().decode(spillEncryptionKey);
+        if (!SPILL_ENCRYPTION_KEY_LENGTHS.contains(key.length)) {
+            throw new IllegalStateException("Property xs2a.event.async.spill.encryption-key must be Base64 encoded AES key of 16, 24 or 32 bytes");
+        }
+        return new SecretKeySpec(key, SPILL_ENCRYPTION_ALGORITHM);
+    }
+
+    /**
+     * Stops the dispatcher thread and flushes all events remaining in the queue
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            dispatcherThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (dispatcherThread.isAlive()) {
+            dispatcherThread.interrupt();
+        }
+
+        List<EventBO> remainingEvents = new ArrayList<>();
+        queue.drainTo(remainingEvents);
+        if (!remainingEvents.isEmpty()) {
+            log.info("Couldn't flush {} TPP events on shutdown in time", remainingEvents.size());
+            handleUnsentEvents(remainingEvents);
+        }
+    }
+
+    @Override
+    public boolean recordEvent(@NotNull EventBO event) {
+        if (!running) {
+            return eventService.recordEvent(event);
+        }
+
+        return queue.offer(event) || handleOverflow(event);
+    }
+
+    @Override
+    public boolean recordEvents(@NotNull List<EventBO> events) {
+        if (!running) {
+            return eventService.recordEvents(events);
+        }
+
+        boolean allRecorded = true;
+        for (EventBO event : events) {
+            allRecorded &= recordEvent(event);
+        }
+        return allRecorded;
+    }
+
+    private boolean handleOverflow(EventBO event) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                return dropOldestAndOffer(event);
+            case SPILL_TO_DISK:
+                return spill(Collections.singletonList(event));
+            case BLOCK:
+            default:
+                return blockAndOffer(event);
+        }
+    }
+
+    private boolean blockAndOffer(EventBO event) {
+        try {
+            if (queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.warn("TPP events queue is full, event from TPP request is dropped: {}", event.getXRequestId());
+        droppedCounter.increment();
+        return false;
+    }
+
+    private boolean dropOldestAndOffer(EventBO event) {
+        do {
+            EventBO droppedEvent = queue.poll();
+            if (droppedEvent != null) {
+                log.warn("TPP events queue is full, the oldest event is dropped: {}", droppedEvent.getXRequestId());
+                droppedCounter.increment();
+            }
+        } while (!queue.offer(event));
+
+        return true;
+    }
+
+    private boolean spill(List<EventBO> events) {
+        try {
+            spillStorage.write(events);
+            spilledCounter.increment(events.size());
+            return true;
+        } catch (IOException e) {
+            log.warn("Couldn't spill {} TPP events to disk, events are dropped: {}", events.size(), e.getMessage());
+            droppedCounter.increment(events.size());
+            return false;
+        }
+    }
+
+    private void dispatchEvents() {
+        while (running || !queue.isEmpty()) {
+            try {
+                EventBO event = queue.poll(pollIntervalMs, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    replaySpilledEvents();
+                    continue;
+                }
+
+                List<EventBO> batch = new ArrayList<>(batchSize);
+                batch.add(event);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in TPP events dispatcher", e);
+            }
+        }
+    }
+
+    private void replaySpilledEvents() {
+        long now = System.currentTimeMillis();
+        if (spillStorage == null || now - lastSpillReplay < spillReplayIntervalMs || spillStorage.isEmpty()) {
+            return;
+        }
+        lastSpillReplay = now;
+
+        List<EventBO> spilledEvents;
+        try {
+            spilledEvents = spillStorage.readAndClear();
+        } catch (IOException e) {
+            log.warn("Couldn't read spilled TPP events: {}", e.getMessage());
+            return;
+        }
+
+        log.info("Replaying {} spilled TPP events", spilledEvents.size());
+        for (int from = 0; from < spilledEvents.size(); from += batchSize) {
+            sendBatch(spilledEvents.subList(from, Math.min(from + batchSize, spilledEvents.size())));
+        }
+    }
+
+    private void sendBatch(List<EventBO> batch) {
+        try {
+            if (eventService.recordEvents(batch)) {
+                sentCounter.increment(batch.size());
+                return;
+            }
+            log.info("Couldn't record batch of {} TPP events", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Couldn't record batch of {} TPP events: {}", batch.size(), e.getMessage());
+        }
+
+        handleUnsentEvents(batch);
+    }
+
+    private void handleUnsentEvents(List<EventBO> events) {
+        if (overflowPolicy == EventOverflowPolicy.SPILL_TO_DISK) {
+            spill(events);
+        } else {
+            failedCounter.increment(events.size());
+        }
+    }
+}
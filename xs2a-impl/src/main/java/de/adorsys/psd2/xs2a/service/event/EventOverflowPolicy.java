@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.event;
+
+/**
+ * Defines what happens with TPP event, if the queue of asynchronous event recording is full
+ */
+public enum EventOverflowPolicy {
+    /**
+     * Request thread waits for free space in the queue up to configured timeout, the event is dropped afterwards
+     */
+    BLOCK,
+    /**
+     * The oldest event in the queue is dropped in favour of the new one
+     */
+    DROP_OLDEST,
+    /**
+     * The event is written to the local spill file and is recorded later, when the queue drains
+     */
+    SPILL_TO_DISK
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Local file with TPP events that couldn't be put into the queue or sent to the CMS.
+ * <p>
+ * Events contain PSU data and request payloads, so each event is stored encrypted with AES/GCM as one Base64 line,
+ * the file is accessible only by its owner and its size is limited.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EventSpillStorage {
+    private static final String SPILL_FILE_NAME = "xs2a-events.spill";
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String POSIX_FILE_ATTRIBUTE_VIEW = "posix";
+    private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY_DIRECTORY =
+        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"));
+    private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY_FILE =
+        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+
+    private final Path directory;
+    private final SecretKey secretKey;
+    private final long maxFileSize;
+    private final Xs2aObjectMapper xs2aObjectMapper;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Appends given events to the spill file
+     *
+     * @param events events to be stored
+     * @throws IOException if the file couldn't be written or the events would exceed maximum size of the file
+     */
+    public synchronized void write(List<EventBO> events) throws IOException {
+        List<String> lines = new ArrayList<>(events.size());
+        long linesSize = 0;
+        for (EventBO event : events) {
+            String line = encrypt(xs2aObjectMapper.writeValueAsBytes(event));
+            lines.add(line);
+            linesSize += line.length() + LINE_SEPARATOR.length();
+        }
+
+        Path spillFile = createSpillFile();
+        if (Files.size(spillFile) + linesSize > maxFileSize) {
+            throw new IOException("Maximum size of the spill file " + maxFileSize + " bytes is reached");
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.US_ASCII, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(LINE_SEPARATOR);
+            }
+        }
+    }
+
+    /**
+     * Reads all stored events and removes the spill file
+     *
+     * @return stored events or empty list if there are no such events
+     * @throws IOException if the file couldn't be read
+     */
+    public synchronized List<EventBO> readAndClear() throws IOException {
+        Path spillFile = getSpillFile();
+        if (Files.notExists(spillFile)) {
+            return Collections.emptyList();
+        }
+
+        List<EventBO> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(spillFile, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                readEvent(line, events);
+            }
+        }
+        Files.delete(spillFile);
+        return events;
+    }
+
+    public synchronized boolean isEmpty() {
+        return Files.notExists(getSpillFile());
+    }
+
+    private void readEvent(String line, List<EventBO> events) {
+        if (line.isEmpty()) {
+            return;
+        }
+
+        try {
+            events.add(xs2aObjectMapper.readValue(decrypt(line), EventBO.class));
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            log.warn("Couldn't read spilled TPP event, the event is skipped: {}", e.getMessage());
+        }
+    }
+
+    private Path createSpillFile() throws IOException {
+        Path spillFile = getSpillFile();
+        if (Files.exists(spillFile)) {
+            return spillFile;
+        }
+
+        if (directory.getFileSystem().supportedFileAttributeViews().contains(POSIX_FILE_ATTRIBUTE_VIEW)) {
+            Files.createDirectories(directory, OWNER_ONLY_DIRECTORY);
+            return Files.createFile(spillFile, OWNER_ONLY_FILE);
+        }
+
+        Files.createDirectories(directory);
+        Files.createFile(spillFile);
+        File file = spillFile.toFile();
+        boolean ownerOnly = file.setReadable(false, false) && file.setReadable(true, true)
+                                && file.setWritable(false, false) && file.setWritable(true, true);
+        if (!ownerOnly) {
+            Files.delete(spillFile);
+            throw new IOException("Couldn't restrict access to the spill file to its owner");
+        }
+        return spillFile;
+    }
+
+    private String encrypt(byte[] data) throws IOException {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] encrypted = cipher.doFinal(data);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                                                          .put(iv)
+                                                          .put(encrypted)
+                                                          .array());
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Couldn't encrypt TPP event", e);
+        }
+    }
+
+    private byte[] decrypt(String line) throws GeneralSecurityException {
+        byte[] data = Base64.getDecoder().decode(line);
+        Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH_BITS, data, 0, IV_LENGTH));
+        return cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH);
+    }
+
+    private Path getSpillFile() {
+        return directory.resolve(SPILL_FILE_NAME);
+    }
+}
@@ -16,7 +16,10 @@
 
 package de.adorsys.psd2.xs2a.service.payment.create;
 
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.logger.context.LoggingContextService;
 import de.adorsys.psd2.xs2a.core.authorisation.Authorisation;
@@ -36,10 +39,10 @@ import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.ScaApproachResolver;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationChainResponsibilityService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.Xs2aAuthorisationService;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.PisAuthorisationProcessorRequest;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
+import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aConsentAuthorisationMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aToCmsPisCommonPaymentRequestMapper;
 import de.adorsys.psd2.xs2a.service.payment.create.spi.PaymentInitiationService;
@@ -48,7 +51,6 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.OffsetDateTime;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -59,7 +61,8 @@ import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.PAYMENT_FAILED;
 @RequiredArgsConstructor
 public abstract class AbstractCreatePaymentService<P extends CommonPayment, S extends PaymentInitiationService<P>> implements CreatePaymentService {
     protected final Xs2aPisCommonPaymentService pisCommonPaymentService;
-    private final PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver;
+    private final Xs2aAuthorisationService xs2aAuthorisationService;
+    private final Xs2aConsentAuthorisationMapper xs2aConsentAuthorisationMapper;
     private final AuthorisationMethodDecider authorisationMethodDecider;
     private final Xs2aPisCommonPaymentMapper xs2aPisCommonPaymentMapper;
     private final Xs2aToCmsPisCommonPaymentRequestMapper xs2aToCmsPisCommonPaymentRequestMapper;
@@ -96,10 +99,31 @@ public abstract class AbstractCreatePaymentService<P extends CommonPayment, S ex
         PisPaymentInfo pisPaymentInfo = xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(new PisPaymentInfoCreationObject(paymentInitiationParameters, tppInfo, response, paymentRequest.getPaymentData(), internalRequestId, creationTimestamp, contentType));
         response.setInternalRequestId(internalRequestId);
         pisPaymentInfo.setInternalPaymentStatus(InternalPaymentStatus.INITIATED);
-        CreatePisCommonPaymentResponse cmsResponse = pisCommonPaymentService.createCommonPayment(pisPaymentInfo);
-        response.setTppNotificationContentPreferred(cmsResponse.getTppNotificationContentPreferred());
 
-        Xs2aPisCommonPayment pisCommonPayment = xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(cmsResponse, psuIdData);
+        boolean implicitMethod = authorisationMethodDecider.isImplicitMethod(paymentInitiationParameters.isTppExplicitAuthorisationPreferred(), response.isMultilevelScaRequired());
+        // TODO https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/-/issues/1629
+        ScaStatus scaStatus = ScaStatus.STARTED;
+        String authorisationId = UUID.randomUUID().toString();
+        ScaApproach scaApproach = implicitMethod ? scaApproachResolver.resolveScaApproach() : null;
+        CreateAuthorisationRequest authorisationRequest = implicitMethod
+                                                              ? xs2aConsentAuthorisationMapper.mapToAuthorisationRequest(authorisationId, scaStatus, psuIdData, scaApproach,
+                                                                                                                         requestProviderService.getTppRedirectURI(),
+                                                                                                                         requestProviderService.getTppNokRedirectURI())
+                                                              : null;
+
+        InitialSpiAspspConsentDataProvider aspspConsentDataProvider = response.getAspspConsentDataProvider();
+        CreatePisCommonPaymentWithAuthorisationResponse cmsResponse =
+            pisCommonPaymentService.createCommonPaymentWithAuthorisation(pisPaymentInfo, aspspConsentDataProvider.loadAspspConsentData(), authorisationRequest);
+        if (cmsResponse == null) {
+            return ResponseObject.<PaymentInitiationResponse>builder()
+                       .fail(PIS_400, of(PAYMENT_FAILED))
+                       .build();
+        }
+
+        CreatePisCommonPaymentResponse cmsPaymentResponse = cmsResponse.getPayment();
+        response.setTppNotificationContentPreferred(cmsPaymentResponse.getTppNotificationContentPreferred());
+
+        Xs2aPisCommonPayment pisCommonPayment = xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(cmsPaymentResponse, psuIdData);
 
         String externalPaymentId = pisCommonPayment.getPaymentId();
 
@@ -109,17 +133,19 @@ public abstract class AbstractCreatePaymentService<P extends CommonPayment, S ex
                        .build();
         }
 
-        InitialSpiAspspConsentDataProvider aspspConsentDataProvider = response.getAspspConsentDataProvider();
-        aspspConsentDataProvider.saveWith(externalPaymentId);
+        // ASPSP consent data has already been stored in CMS together with the payment
+        aspspConsentDataProvider.linkWith(externalPaymentId);
 
         response.setPaymentId(externalPaymentId);
 
-        boolean implicitMethod = authorisationMethodDecider.isImplicitMethod(paymentInitiationParameters.isTppExplicitAuthorisationPreferred(), response.isMultilevelScaRequired());
         if (implicitMethod) {
-            // TODO https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/-/issues/1629
-            ScaStatus scaStatus = ScaStatus.STARTED;
-            String authorisationId = UUID.randomUUID().toString();
-            ScaApproach scaApproach = scaApproachResolver.resolveScaApproach();
+            CreateAuthorisationResponse authorisationResponse = cmsResponse.getAuthorisation();
+            if (authorisationResponse == null) {
+                return ResponseObject.<PaymentInitiationResponse>builder()
+                           .fail(PIS_400, of(PAYMENT_FAILED))
+                           .build();
+            }
+
             StartAuthorisationsParameters startAuthorisationsParameters = StartAuthorisationsParameters.builder()
                                                                               .psuData(psuIdData)
                                                                               .businessObjectId(externalPaymentId)
@@ -132,30 +158,11 @@ public abstract class AbstractCreatePaymentService<P extends CommonPayment, S ex
             CreatePaymentAuthorisationProcessorResponse processorResponse =
                 (CreatePaymentAuthorisationProcessorResponse) authorisationChainResponsibilityService.apply(processorRequest);
 
+            ScaStatus authorisationScaStatus = updateAuthorisationAfterStart(authorisationResponse, scaStatus, scaApproach, processorResponse);
             loggingContextService.storeScaStatus(processorResponse.getScaStatus());
 
-            Xs2aCreateAuthorisationRequest createAuthorisationRequest = Xs2aCreateAuthorisationRequest.builder()
-                                                                            .psuData(psuIdData)
-                                                                            .paymentId(externalPaymentId)
-                                                                            .authorisationId(authorisationId)
-                                                                            .scaStatus(processorResponse.getScaStatus())
-                                                                            .scaApproach(processorResponse.getScaApproach())
-                                                                            .build();
-
-            PisScaAuthorisationService pisScaAuthorisationService = pisScaAuthorisationServiceResolver.getService();
-
-            Optional<Xs2aCreatePisAuthorisationResponse> consentAuthorisation =
-                pisScaAuthorisationService.createCommonPaymentAuthorisation(createAuthorisationRequest, paymentRequest.getPaymentType());
-
-            if (consentAuthorisation.isEmpty()) {
-                return ResponseObject.<PaymentInitiationResponse>builder()
-                           .fail(PIS_400, of(PAYMENT_FAILED))
-                           .build();
-            }
-
-            Xs2aCreatePisAuthorisationResponse authorisationResponse = consentAuthorisation.get();
-            response.setAuthorizationId(authorisationResponse.getAuthorisationId());
-            response.setScaStatus(authorisationResponse.getScaStatus());
+            response.setAuthorizationId(authorisationResponse.getAuthorizationId());
+            response.setScaStatus(authorisationScaStatus);
             setPsuMessageAndTppMessages(response, processorResponse.getPsuMessage(), processorResponse.getTppMessages());
         }
 
@@ -164,6 +171,30 @@ public abstract class AbstractCreatePaymentService<P extends CommonPayment, S ex
                    .build();
     }
 
+    /**
+     * Authorisation is stored in CMS together with the payment before being started at ASPSP side, so the outcome of
+     * the start has to be written to it afterwards. CMS is called only if the outcome differs from the stored values.
+     *
+     * @return actual SCA status of the authorisation
+     */
+    private ScaStatus updateAuthorisationAfterStart(CreateAuthorisationResponse authorisationResponse, ScaStatus initialScaStatus,
+                                                    ScaApproach initialScaApproach, CreatePaymentAuthorisationProcessorResponse processorResponse) {
+        String authorisationId = authorisationResponse.getAuthorizationId();
+        ScaApproach scaApproach = processorResponse.getScaApproach();
+        if (scaApproach != null && scaApproach != initialScaApproach) {
+            xs2aAuthorisationService.updateScaApproach(authorisationId, scaApproach);
+        }
+
+        ScaStatus scaStatus = processorResponse.getScaStatus();
+        ScaStatus storedScaStatus = authorisationResponse.getScaStatus();
+        if (scaStatus == null || scaStatus == initialScaStatus || scaStatus == storedScaStatus) {
+            return storedScaStatus;
+        }
+
+        xs2aAuthorisationService.updateAuthorisationStatus(authorisationId, scaStatus);
+        return scaStatus;
+    }
+
     private void setPsuMessageAndTppMessages(PaymentInitiationResponse response,
                                              String psuMessage, Set<TppMessageInformation> tppMessageInformationSet) {
         if (psuMessage != null) {
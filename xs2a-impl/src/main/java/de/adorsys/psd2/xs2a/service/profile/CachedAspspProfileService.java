@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.profile;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps local snapshots of ASPSP settings and SCA approaches per instance ID in order to take the ASPSP profile
+ * off the hot path of TPP requests.
+ * <p>
+ * Snapshots are revalidated at most once per configured interval by polling the settings version from the profile,
+ * full settings are loaded only if the version has changed. Snapshots are also invalidated immediately on
+ * {@link AspspProfileUpdatedEvent}, which is published by the embedded profile.
+ * <p>
+ * Snapshots are keyed by lower-cased instance ID in multitenancy mode and shared by all requests otherwise, as the
+ * profile doesn't distinguish instance IDs then. Number of snapshots is bounded, least recently used ones are evicted.
+ */
+@Slf4j
+@Primary
+@Service
+@RequiredArgsConstructor
+public class CachedAspspProfileService implements AspspProfileService {
+    private static final String CACHE_METRIC_NAME = "xs2a.aspsp-profile.cache";
+    private static final String RESULT_TAG = "result";
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final AspspProfileService aspspProfileService;
+
+    private final Map<String, AspspProfileSnapshot> snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AspspProfileSnapshot> eldest) {
+            return size() > maxSize;
+        }
+    });
+    private final Counter hitCounter = Metrics.counter(CACHE_METRIC_NAME, RESULT_TAG, "hit");
+    private final Counter missCounter = Metrics.counter(CACHE_METRIC_NAME, RESULT_TAG, "miss");
+    private final Counter refreshCounter = Metrics.counter(CACHE_METRIC_NAME, RESULT_TAG, "refresh");
+    private final Counter invalidationCounter = Metrics.counter(CACHE_METRIC_NAME, RESULT_TAG, "invalidation");
+
+    @Value("${xs2a.aspsp-profile.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${xs2a.aspsp-profile.cache.revalidation-interval.ms:5000}")
+    private long revalidationIntervalMs;
+
+    @Value("${xs2a.aspsp-profile.cache.max-size:100}")
+    private int maxSize;
+
+    private volatile Boolean multitenancyEnabled;
+
+    @Override
+    public AspspSettings getAspspSettings(String instanceId) {
+        if (!cacheEnabled) {
+            return aspspProfileService.getAspspSettings(instanceId);
+        }
+        return getSnapshot(instanceId).getAspspSettings();
+    }
+
+    @Override
+    public List<ScaApproach> getScaApproaches(String instanceId) {
+        if (!cacheEnabled) {
+            return aspspProfileService.getScaApproaches(instanceId);
+        }
+        return getSnapshot(instanceId).getScaApproaches();
+    }
+
+    @Override
+    public long getAspspSettingsVersion(String instanceId) {
+        return aspspProfileService.getAspspSettingsVersion(instanceId);
+    }
+
+    @Override
+    public boolean isMultitenancyEnabled() {
+        if (!cacheEnabled) {
+            return aspspProfileService.isMultitenancyEnabled();
+        }
+
+        Boolean enabled = multitenancyEnabled;
+        if (enabled == null) {
+            enabled = aspspProfileService.isMultitenancyEnabled();
+            multitenancyEnabled = enabled;
+        }
+        return enabled;
+    }
+
+    /**
+     * Drops all snapshots, as a change of settings in single tenant mode affects all instance IDs
+     *
+     * @param event event about changed settings
+     */
+    @EventListener
+    public void onAspspProfileUpdated(AspspProfileUpdatedEvent event) {
+        log.debug("ASPSP profile settings have been updated for instance: [{}], dropping cached snapshots", event.getInstanceId());
+        snapshots.clear();
+        multitenancyEnabled = null;
+        invalidationCounter.increment();
+    }
+
+    private AspspProfileSnapshot getSnapshot(String instanceId) {
+        String key = toKey(instanceId);
+        AspspProfileSnapshot snapshot = snapshots.get(key);
+
+        if (snapshot == null) {
+            missCounter.increment();
+            AspspProfileSnapshot loadedSnapshot = loadSnapshot(key, readVersion(key));
+            AspspProfileSnapshot existingSnapshot = snapshots.putIfAbsent(key, loadedSnapshot);
+            return existingSnapshot == null ? loadedSnapshot : existingSnapshot;
+        }
+
+        if (snapshot.isExpired(System.currentTimeMillis(), revalidationIntervalMs) && snapshot.startRevalidation()) {
+            return revalidate(key, snapshot);
+        }
+
+        hitCounter.increment();
+        return snapshot;
+    }
+
+    private AspspProfileSnapshot revalidate(String key, AspspProfileSnapshot snapshot) {
+        try {
+            long currentVersion = readVersion(key);
+            if (currentVersion != UNKNOWN_VERSION && currentVersion == snapshot.getVersion()) {
+                hitCounter.increment();
+                snapshot.finishRevalidation(System.currentTimeMillis());
+                return snapshot;
+            }
+
+            refreshCounter.increment();
+            multitenancyEnabled = null;
+            AspspProfileSnapshot refreshedSnapshot = loadSnapshot(key, currentVersion);
+            snapshots.put(key, refreshedSnapshot);
+            return refreshedSnapshot;
+        } catch (RuntimeException e) {
+            log.warn("ASPSP profile settings for instance [{}] couldn't be refreshed, previous snapshot will be used: {}", key, e.getMessage());
+            snapshot.finishRevalidation(System.currentTimeMillis());
+            return snapshot;
+        }
+    }
+
+    private String toKey(String instanceId) {
+        return isMultitenancyEnabled()
+                   ? StringUtils.lowerCase(StringUtils.defaultString(instanceId))
+                   : "";
+    }
+
+    private AspspProfileSnapshot loadSnapshot(String key, long version) {
+        return new AspspProfileSnapshot(version,
+                                        aspspProfileService.getAspspSettings(key),
+                                        aspspProfileService.getScaApproaches(key),
+                                        System.currentTimeMillis());
+    }
+
+    private long readVersion(String key) {
+        try {
+            return aspspProfileService.getAspspSettingsVersion(key);
+        } catch (RuntimeException e) {
+            log.warn("Version of ASPSP profile settings for instance [{}] couldn't be read: {}", key, e.getMessage());
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private static final class AspspProfileSnapshot {
+        private final long version;
+        private final AspspSettings aspspSettings;
+        private final List<ScaApproach> scaApproaches;
+        private final AtomicBoolean revalidating = new AtomicBoolean();
+        private volatile long validatedAt;
+
+        private AspspProfileSnapshot(long version, AspspSettings aspspSettings, List<ScaApproach> scaApproaches, long validatedAt) {
+            this.version = version;
+            this.aspspSettings = aspspSettings;
+            this.scaApproaches = scaApproaches;
+            this.validatedAt = validatedAt;
+        }
+
+        private long getVersion() {
+            return version;
+        }
+
+        private AspspSettings getAspspSettings() {
+            return aspspSettings;
+        }
+
+        private List<ScaApproach> getScaApproaches() {
+            return scaApproaches;
+        }
+
+        private boolean isExpired(long now, long revalidationIntervalMs) {
+            return now - validatedAt >= revalidationIntervalMs;
+        }
+
+        private boolean startRevalidation() {
+            return revalidating.compareAndSet(false, true);
+        }
+
+        private void finishRevalidation(long now) {
+            validatedAt = now;
+            revalidating.set(false);
+        }
+    }
+}
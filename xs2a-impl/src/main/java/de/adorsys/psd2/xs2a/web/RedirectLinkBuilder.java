@@ -18,29 +18,40 @@ package de.adorsys.psd2.xs2a.web;
 
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
+import de.adorsys.psd2.xs2a.web.link.LinkTemplate;
 import de.adorsys.psd2.xs2a.web.link.UrlHolder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class RedirectLinkBuilder {
-    private static final String REDIRECT_URL = "{redirect-id}";
-    private static final String ENCRYPTED_CONSENT_ID = "{encrypted-consent-id}";
-    private static final String ENCRYPTED_PAYMENT_ID = "{encrypted-payment-id}";
-    private static final String INTERNAL_REQUEST_ID = "{inr-id}";
-    private static final String PAYMENT_SERVICE = "{payment-service}";
-    private static final String PAYMENT_PRODUCT = "{payment-product}";
-    private static final String PAYMENT_ID = "{payment-id}";
-    private static final String CONSENT_ID = "{consentId}";
-    private static final String AUTHORISATION_ID = "{authorisation-id}";
-    private static final String INSTANCE_ID = "{instance-id}";
+    private static final String REDIRECT_URL = "redirect-id";
+    private static final String ENCRYPTED_CONSENT_ID = "encrypted-consent-id";
+    private static final String ENCRYPTED_PAYMENT_ID = "encrypted-payment-id";
+    private static final String INTERNAL_REQUEST_ID = "inr-id";
+    private static final String PAYMENT_SERVICE = "payment-service";
+    private static final String PAYMENT_PRODUCT = "payment-product";
+    private static final String PAYMENT_ID = "payment-id";
+    private static final String CONSENT_ID = "consentId";
+    private static final String AUTHORISATION_ID = "authorisation-id";
+    private static final String INSTANCE_ID = "instance-id";
     private static final String DEFAULT_INSTANCE_ID = "UNDEFINED";
+    private static final int MAX_CACHED_TEMPLATES = 100;
+
+    private static final LinkTemplate PIS_CONFIRMATION_TEMPLATE = LinkTemplate.compile(UrlHolder.PIS_AUTHORISATION_LINK_URL);
+    private static final LinkTemplate PIS_CANCELLATION_CONFIRMATION_TEMPLATE = LinkTemplate.compile(UrlHolder.PIS_CANCELLATION_AUTH_LINK_URL);
+    private static final LinkTemplate AIS_CONFIRMATION_TEMPLATE = LinkTemplate.compile(UrlHolder.AIS_AUTHORISATION_URL);
+    private static final LinkTemplate PIIS_CONFIRMATION_TEMPLATE = LinkTemplate.compile(UrlHolder.PIIS_AUTHORISATION_URL);
 
     private final AspspProfileServiceWrapper aspspProfileService;
 
+    private final Map<String, LinkTemplate> redirectTemplates = new ConcurrentHashMap<>();
+
     /**
      * Builds redirect links by template from AspspProfile.
      * Variables "{redirect-id}" and {encrypted-consent-id} may be used in template.
@@ -53,13 +64,11 @@ public class RedirectLinkBuilder {
      */
     public String buildConsentScaRedirectLink(String encryptedConsentId, String redirectId, String internalRequestId,
                                               String instanceId, ConsentType consentType) {
-        String redirectUrl = getRedirectUrlByConsentType(consentType);
-
-        String scaRedirectLink = redirectUrl
-                                     .replace(REDIRECT_URL, redirectId)
-                                     .replace(ENCRYPTED_CONSENT_ID, encryptedConsentId)
-                                     .replace(INTERNAL_REQUEST_ID, internalRequestId);
-        return enrichByInstanceId(scaRedirectLink, instanceId);
+        return getRedirectTemplate(getRedirectUrlByConsentType(consentType))
+                   .expand(Map.of(REDIRECT_URL, redirectId,
+                                  ENCRYPTED_CONSENT_ID, encryptedConsentId,
+                                  INTERNAL_REQUEST_ID, internalRequestId,
+                                  INSTANCE_ID, getInstanceId(instanceId)));
     }
 
     /**
@@ -72,10 +81,10 @@ public class RedirectLinkBuilder {
      * @return redirect link
      */
     public String buildConsentScaOauthRedirectLink(String encryptedConsentId, String redirectId, String internalRequestId) {
-        return aspspProfileService.getOauthConfigurationUrl()
-                   .replace(REDIRECT_URL, redirectId)
-                   .replace(ENCRYPTED_CONSENT_ID, encryptedConsentId)
-                   .replace(INTERNAL_REQUEST_ID, internalRequestId);
+        return getRedirectTemplate(aspspProfileService.getOauthConfigurationUrl())
+                   .expand(Map.of(REDIRECT_URL, redirectId,
+                                  ENCRYPTED_CONSENT_ID, encryptedConsentId,
+                                  INTERNAL_REQUEST_ID, internalRequestId));
     }
 
     /**
@@ -89,11 +98,11 @@ public class RedirectLinkBuilder {
      */
     public String buildPaymentScaRedirectLink(String encryptedPaymentId, String redirectId, String internalRequestId,
                                               String instanceId) {
-        String scaRedirectLink = aspspProfileService.getPisRedirectUrlToAspsp()
-                                     .replace(REDIRECT_URL, redirectId)
-                                     .replace(ENCRYPTED_PAYMENT_ID, encryptedPaymentId)
-                                     .replace(INTERNAL_REQUEST_ID, internalRequestId);
-        return enrichByInstanceId(scaRedirectLink, instanceId);
+        return getRedirectTemplate(aspspProfileService.getPisRedirectUrlToAspsp())
+                   .expand(Map.of(REDIRECT_URL, redirectId,
+                                  ENCRYPTED_PAYMENT_ID, encryptedPaymentId,
+                                  INTERNAL_REQUEST_ID, internalRequestId,
+                                  INSTANCE_ID, getInstanceId(instanceId)));
     }
 
     /**
@@ -106,10 +115,10 @@ public class RedirectLinkBuilder {
      * @return redirect link
      */
     public String buildPaymentScaOauthRedirectLink(String encryptedPaymentId, String redirectId, String internalRequestId) {
-        return aspspProfileService.getOauthConfigurationUrl()
-                   .replace(REDIRECT_URL, redirectId)
-                   .replace(ENCRYPTED_PAYMENT_ID, encryptedPaymentId)
-                   .replace(INTERNAL_REQUEST_ID, internalRequestId);
+        return getRedirectTemplate(aspspProfileService.getOauthConfigurationUrl())
+                   .expand(Map.of(REDIRECT_URL, redirectId,
+                                  ENCRYPTED_PAYMENT_ID, encryptedPaymentId,
+                                  INTERNAL_REQUEST_ID, internalRequestId));
     }
 
     /**
@@ -123,11 +132,11 @@ public class RedirectLinkBuilder {
      */
     public String buildPaymentCancellationScaRedirectLink(String encryptedPaymentId, String redirectId, String internalRequestId,
                                                           String instanceId) {
-        String scaRedirectLink = aspspProfileService.getPisPaymentCancellationRedirectUrlToAspsp()
-                                     .replace(REDIRECT_URL, redirectId)
-                                     .replace(ENCRYPTED_PAYMENT_ID, encryptedPaymentId)
-                                     .replace(INTERNAL_REQUEST_ID, internalRequestId);
-        return enrichByInstanceId(scaRedirectLink, instanceId);
+        return getRedirectTemplate(aspspProfileService.getPisPaymentCancellationRedirectUrlToAspsp())
+                   .expand(Map.of(REDIRECT_URL, redirectId,
+                                  ENCRYPTED_PAYMENT_ID, encryptedPaymentId,
+                                  INTERNAL_REQUEST_ID, internalRequestId,
+                                  INSTANCE_ID, getInstanceId(instanceId)));
     }
 
     /**
@@ -140,10 +149,10 @@ public class RedirectLinkBuilder {
      * @return redirect link
      */
     public String buildPaymentCancellationScaOauthRedirectLink(String encryptedPaymentId, String redirectId, String internalRequestId) {
-        return aspspProfileService.getOauthConfigurationUrl()
-                   .replace(REDIRECT_URL, redirectId)
-                   .replace(ENCRYPTED_PAYMENT_ID, encryptedPaymentId)
-                   .replace(INTERNAL_REQUEST_ID, internalRequestId);
+        return getRedirectTemplate(aspspProfileService.getOauthConfigurationUrl())
+                   .expand(Map.of(REDIRECT_URL, redirectId,
+                                  ENCRYPTED_PAYMENT_ID, encryptedPaymentId,
+                                  INTERNAL_REQUEST_ID, internalRequestId));
     }
 
     /**
@@ -156,11 +165,10 @@ public class RedirectLinkBuilder {
      * @return confirmation link
      */
     public String buildPisConfirmationLink(String paymentService, String paymentProduct, String encryptedPaymentId, String redirectId) {
-        return UrlHolder.PIS_AUTHORISATION_LINK_URL
-                   .replace(PAYMENT_SERVICE, paymentService)
-                   .replace(PAYMENT_PRODUCT, paymentProduct)
-                   .replace(PAYMENT_ID, encryptedPaymentId)
-                   .replace(AUTHORISATION_ID, redirectId);
+        return PIS_CONFIRMATION_TEMPLATE.expand(Map.of(PAYMENT_SERVICE, paymentService,
+                                                       PAYMENT_PRODUCT, paymentProduct,
+                                                       PAYMENT_ID, encryptedPaymentId,
+                                                       AUTHORISATION_ID, redirectId));
     }
 
     /**
@@ -173,11 +181,10 @@ public class RedirectLinkBuilder {
      * @return confirmation link
      */
     public String buildPisCancellationConfirmationLink(String paymentService, String paymentProduct, String encryptedPaymentId, String redirectId) {
-        return UrlHolder.PIS_CANCELLATION_AUTH_LINK_URL
-                   .replace(PAYMENT_SERVICE, paymentService)
-                   .replace(PAYMENT_PRODUCT, paymentProduct)
-                   .replace(PAYMENT_ID, encryptedPaymentId)
-                   .replace(AUTHORISATION_ID, redirectId);
+        return PIS_CANCELLATION_CONFIRMATION_TEMPLATE.expand(Map.of(PAYMENT_SERVICE, paymentService,
+                                                                    PAYMENT_PRODUCT, paymentProduct,
+                                                                    PAYMENT_ID, encryptedPaymentId,
+                                                                    AUTHORISATION_ID, redirectId));
     }
 
     /**
@@ -188,22 +195,36 @@ public class RedirectLinkBuilder {
      * @return confirmation link
      */
     public String buildConfirmationLink(String consentId, String redirectId, ConsentType consentType) {
-        String authorisationUrl = getAuthorisationUrlByConsentType(consentType);
-        return authorisationUrl
-                   .replace(CONSENT_ID, consentId)
-                   .replace(AUTHORISATION_ID, redirectId);
+        return getAuthorisationTemplateByConsentType(consentType)
+                   .expand(Map.of(CONSENT_ID, consentId,
+                                  AUTHORISATION_ID, redirectId));
     }
 
-    private String getAuthorisationUrlByConsentType(ConsentType consentType) {
+    private LinkTemplate getAuthorisationTemplateByConsentType(ConsentType consentType) {
         switch (consentType) {
-            case AIS: return UrlHolder.AIS_AUTHORISATION_URL;
-            case PIIS_TPP: return UrlHolder.PIIS_AUTHORISATION_URL;
+            case AIS: return AIS_CONFIRMATION_TEMPLATE;
+            case PIIS_TPP: return PIIS_CONFIRMATION_TEMPLATE;
             default: throw new UnsupportedOperationException("Can't find authorisation url by consent type " + consentType);
         }
     }
 
-    private String enrichByInstanceId(String link, String instanceId) {
-        return link.replace(INSTANCE_ID, Objects.requireNonNullElse(instanceId, DEFAULT_INSTANCE_ID));
+    private LinkTemplate getRedirectTemplate(String redirectUrl) {
+        LinkTemplate template = redirectTemplates.get(redirectUrl);
+        if (template != null) {
+            return template;
+        }
+
+        template = LinkTemplate.compile(redirectUrl);
+        if (redirectTemplates.size() >= MAX_CACHED_TEMPLATES) {
+            // templates from previous versions of ASPSP profile are no longer needed
+            redirectTemplates.clear();
+        }
+        redirectTemplates.put(redirectUrl, template);
+        return template;
+    }
+
+    private String getInstanceId(String instanceId) {
+        return Objects.requireNonNullElse(instanceId, DEFAULT_INSTANCE_ID);
     }
 
     private String getRedirectUrlByConsentType(ConsentType consentType) {
@@ -20,21 +20,38 @@ import de.adorsys.psd2.xs2a.config.Xs2aEndpointPathConstant;
 import de.adorsys.psd2.xs2a.web.request.RequestPathResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.util.AntPathMatcher;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class Xs2aEndpointChecker {
-    private static final AntPathMatcher matcher = new AntPathMatcher();
+    /**
+     * Name of the request attribute, which holds the result of the check for the current request. The result is reused
+     * by all XS2A filters and exception handlers, as long as the request is being processed within its original dispatch.
+     */
+    public static final String XS2A_ENDPOINT_ATTRIBUTE = Xs2aEndpointChecker.class.getName() + ".XS2A_ENDPOINT";
+
+    private static final Xs2aEndpointPathMatcher PATH_MATCHER = new Xs2aEndpointPathMatcher(Xs2aEndpointPathConstant.getAllXs2aEndpointPaths());
     private final RequestPathResolver requestPathResolver;
 
     public boolean isXs2aEndpoint(HttpServletRequest request) {
-        String requestPath = requestPathResolver.resolveRequestPath(request);
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return matchRequestPath(request);
+        }
+
+        Object cachedResult = request.getAttribute(XS2A_ENDPOINT_ATTRIBUTE);
+        if (cachedResult instanceof Boolean) {
+            return (Boolean) cachedResult;
+        }
+
+        boolean result = matchRequestPath(request);
+        request.setAttribute(XS2A_ENDPOINT_ATTRIBUTE, result);
+        return result;
+    }
 
-        return Stream.of(Xs2aEndpointPathConstant.getAllXs2aEndpointPaths())
-                   .anyMatch(en -> matcher.match(en, requestPath));
+    private boolean matchRequestPath(HttpServletRequest request) {
+        return PATH_MATCHER.matches(requestPathResolver.resolveRequestPath(request));
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matcher of request paths against the set of Ant-style patterns, compiled once into a trie of path segments.
+ * <p>
+ * Patterns consisting of literal segments, optionally followed by trailing <code>/**</code>, are matched by walking
+ * the trie segment by segment, with the same semantics as {@link AntPathMatcher} (empty segments are ignored, matching
+ * is case-sensitive). Any other patterns are matched with {@link AntPathMatcher}.
+ */
+public class Xs2aEndpointPathMatcher {
+    private static final String SEPARATOR = "/";
+    private static final String MATCH_ALL_SEGMENT = "**";
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Node root = new Node();
+    private final List<String> antPatterns = new ArrayList<>();
+
+    public Xs2aEndpointPathMatcher(String... patterns) {
+        for (String pattern : patterns) {
+            if (!compile(pattern)) {
+                antPatterns.add(pattern);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given path matches any of the patterns
+     *
+     * @param path request path
+     * @return <code>true</code> if at least one of the patterns matches the path, <code>false</code> otherwise
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        return matchesTrie(path) || antPatterns.stream().anyMatch(p -> ANT_PATH_MATCHER.match(p, path));
+    }
+
+    private boolean compile(String pattern) {
+        if (!pattern.startsWith(SEPARATOR)) {
+            return false;
+        }
+
+        String[] segments = pattern.substring(1).split(SEPARATOR, -1);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean last = i == segments.length - 1;
+            if (last && MATCH_ALL_SEGMENT.equals(segment)) {
+                node.matchesAll = true;
+                return true;
+            }
+            if (segment.isEmpty() || ANT_PATH_MATCHER.isPattern(segment)) {
+                return false;
+            }
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.terminal = true;
+        return true;
+    }
+
+    private boolean matchesTrie(String path) {
+        if (!path.startsWith(SEPARATOR)) {
+            return false;
+        }
+
+        Node node = root;
+        int length = path.length();
+        int start = 1;
+        while (start <= length) {
+            if (node.matchesAll) {
+                return true;
+            }
+            int end = path.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+            }
+            start = end + 1;
+        }
+        return node.matchesAll || node.terminal && !path.endsWith(SEPARATOR);
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean terminal;
+        private boolean matchesAll;
+    }
+}
@@ -139,12 +139,13 @@ public class AccountController implements AccountApi {
         String dataFileName = responseBody.getDataFileName();
 
         try (InputStream transactions = responseBody.getTransactionStream()) {
-            IOUtils.copy(transactions, response.getOutputStream(), 4096);
+            // Headers are set before writing the body, as large files are passed directly to the client
             response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
             response.addHeader("Content-Disposition", resolveContentDisposition(dataFileName));
             if (dataSizeBytes != null) {
                 response.setContentLength(dataSizeBytes);
             }
+            IOUtils.copy(transactions, response.getOutputStream(), 4096);
             response.flushBuffer();
         } catch (IOException e) {
             log.info("Consent-ID: [{}], Account-ID: [{}]. Download-ID [{}]. Download transactions failed: IOException occurred in downloadTransactions controller.",
@@ -20,6 +20,7 @@ import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletResponse;
 import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
 import de.adorsys.psd2.xs2a.web.error.TppErrorMessageWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Priority;
@@ -32,6 +33,11 @@ import java.io.IOException;
 @Priority(1)
 @Component
 public class ContentCachingWrappingFilter extends AbstractXs2aFilter {
+    @Value("${xs2a.response.content-cache.max-size:" + MultiReadHttpServletResponse.DEFAULT_CONTENT_CACHE_LIMIT + "}")
+    private int contentCacheLimit = MultiReadHttpServletResponse.DEFAULT_CONTENT_CACHE_LIMIT;
+
+    @Value("${xs2a.response.content-cache.truncated-size:" + MultiReadHttpServletResponse.DEFAULT_TRUNCATED_CONTENT_LIMIT + "}")
+    private int truncatedContentLimit = MultiReadHttpServletResponse.DEFAULT_TRUNCATED_CONTENT_LIMIT;
 
     public ContentCachingWrappingFilter(TppErrorMessageWriter tppErrorMessageWriter, Xs2aEndpointChecker xs2aEndpointChecker) {
         super(tppErrorMessageWriter, xs2aEndpointChecker);
@@ -40,7 +46,7 @@ public class ContentCachingWrappingFilter extends AbstractXs2aFilter {
     @Override
     protected void doFilterInternalCustom(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request);
-        MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response);
+        MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response, contentCacheLimit, truncatedContentLimit);
 
         doFilter(multiReadRequest, multiReadResponse, filterChain);
 
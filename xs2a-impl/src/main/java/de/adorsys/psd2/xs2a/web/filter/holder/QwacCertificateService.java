@@ -16,8 +16,10 @@
 
 package de.adorsys.psd2.xs2a.web.filter.holder;
 
+import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.service.TppService;
 import de.adorsys.psd2.validator.certificate.util.CertificateExtractorUtil;
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificateCache;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
 import de.adorsys.psd2.xs2a.core.error.MessageErrorCode;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
@@ -32,7 +34,9 @@ import de.adorsys.psd2.xs2a.web.mapper.Xs2aTppInfoMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import no.difi.certvalidator.api.CertificateValidationException;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import javax.servlet.http.HttpServletRequest;
@@ -60,6 +64,9 @@ public class QwacCertificateService {
     private final AspspProfileServiceWrapper aspspProfileService;
     private final Xs2aTppInfoMapper xs2aTppInfoMapper;
     private final TppErrorMessageWriter tppErrorMessageWriter;
+    private final TppInfoUpdateCache tppInfoUpdateCache;
+    @Qualifier("qwacCertificateCache")
+    private final ParsedCertificateCache qwacCertificateCache;
 
     /**
      * Checks if certificate is applicable
@@ -73,7 +80,7 @@ public class QwacCertificateService {
     public boolean isApplicable(HttpServletRequest request, HttpServletResponse response,
                                 String encodedTppQwacCert) throws IOException {
         try {
-            TppCertificateData tppCertificateData = CertificateExtractorUtil.extract(encodedTppQwacCert);
+            TppCertificateData tppCertificateData = CertificateExtractorUtil.extract(encodedTppQwacCert, qwacCertificateCache);
             if (isCertificateExpired(tppCertificateData.getNotAfter())) {
                 buildCertificateExpiredErrorResponse(response);
                 return false;
@@ -142,7 +149,19 @@ public class QwacCertificateService {
     private void setTppRolesAndUpdateTppInfo(TppInfo tppInfo, List<TppRole> roles) {
         if (!roles.isEmpty()) {
             tppInfo.setTppRoles(roles);
-            tppService.updateTppInfo(tppInfo);
+            updateTppInfo(tppInfo);
+        }
+    }
+
+    private void updateTppInfo(TppInfo tppInfo) {
+        String instanceId = requestProviderService.getInstanceId();
+        if (!tppInfoUpdateCache.isUpdateRequired(tppInfo, instanceId)) {
+            return;
+        }
+
+        CmsResponse<Boolean> updateResponse = tppService.updateTppInfo(tppInfo);
+        if (updateResponse.isSuccessful() && BooleanUtils.isTrue(updateResponse.getPayload())) {
+            tppInfoUpdateCache.markUpdated(tppInfo, instanceId);
         }
     }
 
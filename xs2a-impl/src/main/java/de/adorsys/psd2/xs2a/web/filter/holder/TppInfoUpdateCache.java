@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.filter.holder;
+
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers roles of TPPs, that were recently written to the CMS, in order to skip updates of TPP info with the same
+ * roles on every request. Remembered roles are kept per TPP authorisation number and instance ID and expire after
+ * configured TTL, so the TPP info in the CMS is refreshed periodically.
+ */
+@Component
+public class TppInfoUpdateCache {
+    private static final String METRIC_NAME = "xs2a.tpp-info.update";
+    private static final String RESULT_TAG = "result";
+
+    private final Map<TppKey, TppRolesFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final Counter skippedCounter = Metrics.counter(METRIC_NAME, RESULT_TAG, "skipped");
+    private final Counter performedCounter = Metrics.counter(METRIC_NAME, RESULT_TAG, "performed");
+
+    @Value("${xs2a.tpp-info.update-cache.ttl.ms:600000}")
+    private long ttlMs;
+
+    @Value("${xs2a.tpp-info.update-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * Checks whether TPP info should be written to the CMS
+     *
+     * @param tppInfo    TPP info with roles to be written
+     * @param instanceId ID of the particular service instance
+     * @return <code>false</code> if the same roles of the TPP were written recently, <code>true</code> otherwise
+     */
+    public boolean isUpdateRequired(TppInfo tppInfo, @Nullable String instanceId) {
+        TppRolesFingerprint fingerprint = fingerprints.get(new TppKey(tppInfo.getAuthorisationNumber(), instanceId));
+        if (fingerprint != null
+                && fingerprint.getExpiresAt() > System.currentTimeMillis()
+                && fingerprint.getRoles().equals(toRoleSet(tppInfo.getTppRoles()))) {
+            skippedCounter.increment();
+            return false;
+        }
+
+        performedCounter.increment();
+        return true;
+    }
+
+    /**
+     * Remembers roles of the TPP, that were successfully written to the CMS
+     *
+     * @param tppInfo    written TPP info
+     * @param instanceId ID of the particular service instance
+     */
+    public void markUpdated(TppInfo tppInfo, @Nullable String instanceId) {
+        if (ttlMs <= 0 || maxSize <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (fingerprints.size() >= maxSize) {
+            fingerprints.values().removeIf(f -> f.getExpiresAt() <= now);
+            if (fingerprints.size() >= maxSize) {
+                fingerprints.clear();
+            }
+        }
+
+        fingerprints.put(new TppKey(tppInfo.getAuthorisationNumber(), instanceId),
+                         new TppRolesFingerprint(toRoleSet(tppInfo.getTppRoles()), now + ttlMs));
+    }
+
+    private Set<TppRole> toRoleSet(@Nullable Collection<TppRole> roles) {
+        return roles == null || roles.isEmpty()
+                   ? EnumSet.noneOf(TppRole.class)
+                   : EnumSet.copyOf(roles);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class TppKey {
+        private final String authorisationNumber;
+        private final String instanceId;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class TppRolesFingerprint {
+        private final Set<TppRole> roles;
+        private final long expiresAt;
+    }
+}
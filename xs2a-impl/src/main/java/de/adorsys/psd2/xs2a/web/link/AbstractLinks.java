@@ -21,11 +21,6 @@ import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.domain.HrefType;
 import de.adorsys.psd2.xs2a.domain.Links;
 import lombok.EqualsAndHashCode;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.web.util.UriComponentsBuilder;
-
-import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
-import static org.springframework.web.util.UriComponentsBuilder.fromPath;
 
 @EqualsAndHashCode(callSuper = true)
 class AbstractLinks extends Links {
@@ -37,13 +32,7 @@ class AbstractLinks extends Links {
     }
 
     HrefType buildPath(String path, Object... params) {
-        UriComponentsBuilder uriComponentsBuilder = StringUtils.startsWith(httpUrl, "/")
-                                                        ? fromPath(httpUrl)
-                                                        : fromHttpUrl(httpUrl);
-        return new HrefType(uriComponentsBuilder
-                                .path(path)
-                                .buildAndExpand(params)
-                                .toUriString());
+        return new HrefType(LinkTemplateRegistry.buildLink(httpUrl, path, params));
     }
 
     protected boolean isScaStatusMethodSelected(AuthenticationObject chosenScaMethod, ScaStatus scaStatus) {
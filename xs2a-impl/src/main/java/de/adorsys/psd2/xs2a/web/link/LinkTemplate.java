@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.link;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Link template with <code>{variable}</code> placeholders, which is parsed only once into literal parts and variable
+ * names, so that expansion of the template is a single pass over these parts without any regular expressions.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+public final class LinkTemplate {
+    private final String template;
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalsLength;
+
+    private LinkTemplate(String template, List<String> literals, List<String> variables) {
+        this.template = template;
+        this.literals = literals.toArray(new String[0]);
+        this.variables = variables.toArray(new String[0]);
+        this.literalsLength = literals.stream()
+                                  .mapToInt(String::length)
+                                  .sum();
+    }
+
+    /**
+     * Parses the template into literal parts and variables. Variable names can't contain <code>/</code> character,
+     * as in URI templates of Spring.
+     *
+     * @param template link template, e.g. <code>/v1/consents/{consentId}/status</code>
+     * @return compiled link template
+     */
+    public static LinkTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int literalStart = 0;
+        int searchFrom = 0;
+
+        while (true) {
+            int variableStart = template.indexOf('{', searchFrom);
+            if (variableStart < 0) {
+                break;
+            }
+            int variableEnd = template.indexOf('}', variableStart + 1);
+            if (variableEnd < 0) {
+                break;
+            }
+
+            String variable = template.substring(variableStart + 1, variableEnd);
+            if (variable.isEmpty() || variable.indexOf('/') >= 0 || variable.indexOf('{') >= 0) {
+                searchFrom = variableStart + 1;
+                continue;
+            }
+
+            literals.add(template.substring(literalStart, variableStart));
+            variables.add(variable);
+            literalStart = variableEnd + 1;
+            searchFrom = literalStart;
+        }
+
+        literals.add(template.substring(literalStart));
+        return new LinkTemplate(template, literals, variables);
+    }
+
+    /**
+     * Expands the variables of the template with given values in the order of their appearance in the template.
+     * Values are inserted as they are, without encoding, as {@link org.springframework.web.util.UriComponents#expand}
+     * does it. <code>null</code> values are expanded as empty strings.
+     *
+     * @param values values of the variables
+     * @return expanded link
+     * @throws IllegalArgumentException if there are less values than variables in the template
+     */
+    public String expandInOrder(Object... values) {
+        if (values.length < variables.length) {
+            throw new IllegalArgumentException("Not enough variable values available to expand '" + variables[values.length] + "'");
+        }
+
+        StringBuilder link = new StringBuilder(literalsLength + 32 * variables.length);
+        for (int i = 0; i < variables.length; i++) {
+            link.append(literals[i]);
+            if (values[i] != null) {
+                link.append(values[i]);
+            }
+        }
+        return link.append(literals[variables.length]).toString();
+    }
+
+    /**
+     * Expands the variables of the template with given values by their names. Values are inserted as they are,
+     * variables without value are left in the link unchanged.
+     *
+     * @param values values of the variables by variable names
+     * @return expanded link
+     */
+    public String expand(Map<String, String> values) {
+        if (variables.length == 0) {
+            return template;
+        }
+
+        StringBuilder link = new StringBuilder(literalsLength + 32 * variables.length);
+        for (int i = 0; i < variables.length; i++) {
+            link.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value == null) {
+                link.append('{').append(variables[i]).append('}');
+            } else {
+                link.append(value);
+            }
+        }
+        return link.append(literals[variables.length]).toString();
+    }
+
+    /**
+     * Returns the original template
+     *
+     * @return link template
+     */
+    public String getTemplate() {
+        return template;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.link;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
+import static org.springframework.web.util.UriComponentsBuilder.fromPath;
+
+/**
+ * Registry of link templates, compiled once per base URL.
+ * <p>
+ * Base URL is parsed only on its first usage. Path templates are joined with the base URL the same way as
+ * {@link UriComponentsBuilder#path(String)} does it and compiled into {@link LinkTemplate}, so that building of a link
+ * requires only expansion of the template. Number of cached base URLs and templates is limited, as base URL may be
+ * derived from the request.
+ */
+final class LinkTemplateRegistry {
+    private static final int MAX_BASE_URLS = 100;
+    private static final int MAX_TEMPLATES_PER_BASE_URL = 100;
+    private static final Map<String, BaseUrl> BASE_URLS = new ConcurrentHashMap<>();
+
+    private LinkTemplateRegistry() {
+    }
+
+    /**
+     * Builds the link from the base URL and path template
+     *
+     * @param httpUrl base URL, absolute or starting with <code>/</code>
+     * @param path    path template
+     * @param params  values of the variables in the path template
+     * @return link
+     */
+    static String buildLink(String httpUrl, String path, Object... params) {
+        BaseUrl baseUrl = getBaseUrl(httpUrl);
+
+        if (StringUtils.indexOf(path, '{') < 0) {
+            return baseUrl.join(path);
+        }
+
+        return baseUrl.getTemplate(path).expandInOrder(params);
+    }
+
+    private static BaseUrl getBaseUrl(String httpUrl) {
+        String key = StringUtils.defaultString(httpUrl);
+        BaseUrl baseUrl = BASE_URLS.get(key);
+        if (baseUrl != null) {
+            return baseUrl;
+        }
+
+        baseUrl = BaseUrl.parse(httpUrl);
+        if (BASE_URLS.size() < MAX_BASE_URLS) {
+            BaseUrl existingBaseUrl = BASE_URLS.putIfAbsent(key, baseUrl);
+            return existingBaseUrl == null ? baseUrl : existingBaseUrl;
+        }
+        return baseUrl;
+    }
+
+    private static final class BaseUrl {
+        private final String prefix;
+        private final String basePath;
+        private final String suffix;
+        private final Map<String, LinkTemplate> templates = new ConcurrentHashMap<>();
+
+        private BaseUrl(String prefix, String basePath, String suffix) {
+            this.prefix = prefix;
+            this.basePath = basePath;
+            this.suffix = suffix;
+        }
+
+        private static BaseUrl parse(String httpUrl) {
+            UriComponentsBuilder builder = StringUtils.startsWith(httpUrl, "/")
+                                               ? fromPath(httpUrl)
+                                               : fromHttpUrl(httpUrl);
+            UriComponents components = builder.build();
+            String prefix = UriComponentsBuilder.newInstance()
+                                .uriComponents(components)
+                                .replacePath(null)
+                                .replaceQuery(null)
+                                .fragment(null)
+                                .build()
+                                .toUriString();
+
+            StringBuilder suffix = new StringBuilder();
+            if (components.getQuery() != null) {
+                suffix.append('?').append(components.getQuery());
+            }
+            if (components.getFragment() != null) {
+                suffix.append('#').append(components.getFragment());
+            }
+
+            return new BaseUrl(prefix, StringUtils.defaultString(components.getPath()), suffix.toString());
+        }
+
+        private LinkTemplate getTemplate(String path) {
+            LinkTemplate template = templates.get(path);
+            if (template != null) {
+                return template;
+            }
+
+            template = LinkTemplate.compile(join(path));
+            if (templates.size() < MAX_TEMPLATES_PER_BASE_URL) {
+                templates.putIfAbsent(path, template);
+            }
+            return template;
+        }
+
+        private String join(String path) {
+            String fullPath = sanitizePath(StringUtils.isBlank(path) ? basePath : basePath + path);
+            StringBuilder link = new StringBuilder(prefix.length() + fullPath.length() + suffix.length() + 1)
+                                     .append(prefix);
+            if (!fullPath.isEmpty()) {
+                if (link.length() != 0 && fullPath.charAt(0) != '/') {
+                    link.append('/');
+                }
+                link.append(fullPath);
+            }
+            return link.append(suffix).toString();
+        }
+
+        private static String sanitizePath(String path) {
+            int index = path.indexOf("//");
+            if (index < 0) {
+                return path;
+            }
+
+            StringBuilder sanitized = new StringBuilder(path);
+            while (index != -1) {
+                sanitized.deleteCharAt(index);
+                index = sanitized.indexOf("//", index);
+            }
+            return sanitized.toString();
+        }
+    }
+}
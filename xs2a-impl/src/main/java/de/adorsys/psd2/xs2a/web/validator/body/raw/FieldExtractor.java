@@ -16,13 +16,19 @@
 
 package de.adorsys.psd2.xs2a.web.validator.body.raw;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.core.error.MessageError;
 import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
@@ -33,9 +39,18 @@ import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.FORMAT_ERROR_DESERIALIZATION_FAIL;
 
+/**
+ * Extracts fields from the body of the request.
+ * <p>
+ * If the request is wrapped into {@link MultiReadHttpServletRequest}, its body is parsed into JSON tree only once and
+ * this tree is shared by all subsequent extractions within the same request. Otherwise the body is parsed on each call.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class FieldExtractor {
+    private static final TypeReference<String> STRING_TYPE_REFERENCE = new TypeReference<String>() {
+    };
 
     private final ErrorBuildingService errorBuildingService;
     private final Xs2aObjectMapper xs2aObjectMapper;
@@ -43,8 +58,7 @@ public class FieldExtractor {
     public Optional<String> extractField(HttpServletRequest request, String fieldName, MessageError messageError) {
         Optional<String> fieldOptional = Optional.empty();
         try {
-            fieldOptional = xs2aObjectMapper.toJsonField(request.getInputStream(), fieldName, new TypeReference<String>() {
-            });
+            fieldOptional = extractStringField(request, fieldName);
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         }
@@ -54,8 +68,7 @@ public class FieldExtractor {
 
     public Optional<String> extractOptionalField(HttpServletRequest request, String fieldName) {
         try {
-            return xs2aObjectMapper.toJsonField(request.getInputStream(), fieldName, new TypeReference<String>() {
-            });
+            return extractStringField(request, fieldName);
         } catch (IOException e) {
             return Optional.empty();
         }
@@ -64,7 +77,7 @@ public class FieldExtractor {
     public List<String> extractList(HttpServletRequest request, String fieldName, MessageError messageError) {
         List<String> fieldList = new ArrayList<>();
         try {
-            fieldList.addAll(xs2aObjectMapper.toJsonGetValuesForField(request.getInputStream(), fieldName));
+            fieldList.addAll(extractValuesForField(request, fieldName));
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         }
@@ -73,15 +86,39 @@ public class FieldExtractor {
 
     public List<String> extractOptionalList(HttpServletRequest request, String fieldName) {
         try {
-            return xs2aObjectMapper.toJsonGetValuesForField(request.getInputStream(), fieldName);
+            return extractValuesForField(request, fieldName);
 
         } catch (IOException e) {
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Extracts top-level field of the given type from the body of the request
+     *
+     * @param request       HTTP request
+     * @param fieldName     name of the field
+     * @param typeReference type of the field
+     * @param messageError  error to be enriched if the body couldn't be read
+     * @param <T>           type of the field
+     * @return value of the field, if it's present in the body
+     */
+    public <T> Optional<T> extractField(HttpServletRequest request, String fieldName, TypeReference<T> typeReference, MessageError messageError) {
+        try {
+            return extractTypedField(request, fieldName, typeReference);
+        } catch (IOException e) {
+            errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
+        }
+
+        return Optional.empty();
+    }
+
     public <T> Optional<T> mapBodyToInstance(HttpServletRequest request, MessageError messageError, Class<T> clazz) {
         try {
+            MultiReadHttpServletRequest multiReadRequest = getMultiReadRequest(request);
+            if (multiReadRequest != null) {
+                return Optional.ofNullable(xs2aObjectMapper.treeToValue(multiReadRequest.getBodyTree(xs2aObjectMapper), clazz));
+            }
             return Optional.of(xs2aObjectMapper.readValue(request.getInputStream(), clazz));
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
@@ -89,4 +126,46 @@ public class FieldExtractor {
 
         return Optional.empty();
     }
+
+    private Optional<String> extractStringField(HttpServletRequest request, String fieldName) throws IOException {
+        return extractTypedField(request, fieldName, STRING_TYPE_REFERENCE);
+    }
+
+    private <T> Optional<T> extractTypedField(HttpServletRequest request, String fieldName, TypeReference<T> typeReference) throws IOException {
+        MultiReadHttpServletRequest multiReadRequest = getMultiReadRequest(request);
+        if (multiReadRequest == null) {
+            return xs2aObjectMapper.toJsonField(request.getInputStream(), fieldName, typeReference);
+        }
+
+        Optional<JsonNode> bodyTree = readBodyTree(multiReadRequest, fieldName);
+        return bodyTree.isPresent()
+                   ? xs2aObjectMapper.toJsonField(bodyTree.get(), fieldName, typeReference)
+                   : Optional.empty();
+    }
+
+    private List<String> extractValuesForField(HttpServletRequest request, String fieldName) throws IOException {
+        MultiReadHttpServletRequest multiReadRequest = getMultiReadRequest(request);
+        if (multiReadRequest == null) {
+            return xs2aObjectMapper.toJsonGetValuesForField(request.getInputStream(), fieldName);
+        }
+
+        Optional<JsonNode> bodyTree = readBodyTree(multiReadRequest, fieldName);
+        return bodyTree.isPresent()
+                   ? xs2aObjectMapper.toJsonGetValuesForField(bodyTree.get(), fieldName)
+                   : new ArrayList<>();
+    }
+
+    private Optional<JsonNode> readBodyTree(MultiReadHttpServletRequest multiReadRequest, String fieldName) throws IOException {
+        try {
+            return Optional.ofNullable(multiReadRequest.getBodyTree(xs2aObjectMapper));
+        } catch (JsonProcessingException e) {
+            // Invalid JSON is reported by the deserialization of the whole body, field extraction just finds nothing
+            log.info("Couldn't extract field {} from json: {}", fieldName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private @Nullable MultiReadHttpServletRequest getMultiReadRequest(HttpServletRequest request) {
+        return WebUtils.getNativeRequest(request, MultiReadHttpServletRequest.class);
+    }
 }
@@ -20,11 +20,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 class MultiReadHttpServletResponseTest {
@@ -58,4 +62,57 @@ class MultiReadHttpServletResponseTest {
         // Then
         assertArrayEquals(CONTENT.getBytes(), cachedContent);
     }
+
+    @Test
+    void getOutputStream_contentExceedsCacheLimit_shouldPassContentThrough() throws IOException {
+        // Given
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        MultiReadHttpServletResponse multiReadHttpServletResponse = new MultiReadHttpServletResponse(mockResponse, 8, 4);
+
+        // When
+        multiReadHttpServletResponse.getOutputStream().write("some ".getBytes());
+        multiReadHttpServletResponse.getOutputStream().write("string".getBytes());
+
+        // Then
+        assertEquals(CONTENT, mockResponse.getContentAsString());
+        assertArrayEquals("some".getBytes(), multiReadHttpServletResponse.getCachedContent());
+        assertEquals(CONTENT.length(), multiReadHttpServletResponse.getContentSize());
+        assertTrue(multiReadHttpServletResponse.isContentTruncated());
+    }
+
+    @Test
+    void getOutputStream_binaryContent_shouldPassContentThrough() throws IOException {
+        // Given
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        MultiReadHttpServletResponse multiReadHttpServletResponse = new MultiReadHttpServletResponse(mockResponse, 1024, 4);
+        multiReadHttpServletResponse.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        multiReadHttpServletResponse.setContentLength(CONTENT.length());
+
+        // When
+        multiReadHttpServletResponse.getOutputStream().write(CONTENT.getBytes());
+
+        // Then
+        assertEquals(CONTENT, mockResponse.getContentAsString());
+        assertEquals(CONTENT.length(), mockResponse.getContentLength());
+        assertArrayEquals("some".getBytes(), multiReadHttpServletResponse.getCachedContent());
+        assertTrue(multiReadHttpServletResponse.isContentTruncated());
+    }
+
+    @Test
+    void copyBodyToResponse_jsonContentWithinCacheLimit_shouldCacheContentUntilCopied() throws IOException {
+        // Given
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        MultiReadHttpServletResponse multiReadHttpServletResponse = new MultiReadHttpServletResponse(mockResponse, 1024, 4);
+        multiReadHttpServletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        multiReadHttpServletResponse.getOutputStream().write(CONTENT.getBytes());
+
+        assertEquals(0, mockResponse.getContentAsByteArray().length);
+
+        // When
+        multiReadHttpServletResponse.copyBodyToResponse();
+
+        // Then
+        assertEquals(CONTENT, mockResponse.getContentAsString());
+        assertEquals(CONTENT.length(), mockResponse.getContentLength());
+    }
 }
@@ -285,4 +285,21 @@ class RequestResponseLogMessageTest {
         // Then
         assertEquals(expectedMessage, logMessage.getMessage());
     }
+
+    @Test
+    void withResponseBody_truncatedContent_shouldAddPrefixAndSize() throws IOException {
+        // Given
+        MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response, 4, 4);
+        multiReadResponse.getOutputStream().write("some string".getBytes());
+
+        String expectedMessage = String.format(RESPONSE_BODY_MESSAGE_FORMAT, "some... [truncated, 11 bytes in total]");
+
+        // When
+        RequestResponseLogMessage logMessage = RequestResponseLogMessage.builder(request, multiReadResponse)
+                                                   .withResponseBody()
+                                                   .build();
+
+        // Then
+        assertEquals(expectedMessage, logMessage.getMessage());
+    }
 }
@@ -17,6 +17,10 @@
 
 package de.adorsys.psd2.xs2a.service;
 
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
@@ -24,6 +28,7 @@ import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.logger.context.LoggingContextService;
 import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthenticationObject;
+import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.domain.ErrorHolder;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
@@ -46,13 +51,12 @@ import de.adorsys.psd2.xs2a.service.authorization.AuthorisationChainResponsibili
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
 import de.adorsys.psd2.xs2a.service.authorization.Xs2aAuthorisationService;
 import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationServiceResolver;
-import de.adorsys.psd2.xs2a.service.authorization.ais.RedirectAisAuthorizationService;
 import de.adorsys.psd2.xs2a.service.consent.AccountReferenceInConsentUpdater;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aAisConsentMapper;
+import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aConsentAuthorisationMapper;
 import de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers.SpiErrorMapper;
 import de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers.SpiToXs2aAccountAccessMapper;
 import de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers.SpiToXs2aAccountReferenceMapperImpl;
@@ -118,6 +122,8 @@ class ConsentServiceTest {
         new MessageError(ErrorType.AIS_400, TppMessageInformation.of(MessageErrorCode.SERVICE_INVALID_400));
     private static final ScaStatus SCA_STATUS = ScaStatus.STARTED;
     private static final ScaApproach SCA_APPROACH = ScaApproach.EMBEDDED;
+    private static final byte[] ASPSP_CONSENT_DATA = "some ASPSP consent data".getBytes();
+    private static final CreateAuthorisationResponse CREATE_AUTHORISATION_RESPONSE = new CreateAuthorisationResponse(AUTHORISATION_ID, ScaStatus.RECEIVED, null, PSU_ID_DATA, ScaApproach.EMBEDDED);
     private static final Set<TppMessageInformation> TEST_TPP_MESSAGES = Collections.singleton(TppMessageInformation.of(MessageErrorCode.FORMAT_ERROR));
 
     @InjectMocks
@@ -138,12 +144,10 @@ class ConsentServiceTest {
     @Mock
     private Xs2aEventService xs2aEventService;
     @Mock
-    private AisScaAuthorisationServiceResolver aisScaAuthorisationServiceResolver;
+    private Xs2aConsentAuthorisationMapper xs2aConsentAuthorisationMapper;
     @Mock
     private SpiContextDataProvider spiContextDataProvider;
     @Mock
-    private RedirectAisAuthorizationService redirectAisAuthorizationService;
-    @Mock
     private SpiErrorMapper spiErrorMapper;
     @Mock
     private ConsentValidationService consentValidationService;
@@ -648,6 +652,9 @@ class ConsentServiceTest {
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE, null, null))
                             .build());
         when(scaMethodsMapper.mapToAuthenticationObjectList(any())).thenReturn(Collections.singletonList(getAuthenticationObject()));
+        when(initialSpiAspspConsentDataProvider.loadAspspConsentData()).thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any()))
+            .thenReturn(Optional.of(new CmsCompleteConsentCreationResponse(null)));
 
         // When
         ResponseObject<CreateConsentResponse> response = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -655,10 +662,127 @@ class ConsentServiceTest {
         // Then
         assertResponseIsCorrect(response.getBody());
 
-        InOrder inOrder = inOrder(aspspConsentDataProviderFactory, initialSpiAspspConsentDataProvider, aisConsentSpi);
+        InOrder inOrder = inOrder(aspspConsentDataProviderFactory, initialSpiAspspConsentDataProvider, aisConsentSpi, aisConsentService);
         inOrder.verify(aisConsentSpi).initiateAisConsent(any(), eq(SPI_ACCOUNT_CONSENT), eq(initialSpiAspspConsentDataProvider));
-        inOrder.verify(initialSpiAspspConsentDataProvider).saveWith(CONSENT_ID);
+        inOrder.verify(aisConsentService).completeConsentCreation(CONSENT_ID, new CmsCompleteConsentCreationRequest(ASPSP_CONSENT_DATA, false, null));
+        inOrder.verify(initialSpiAspspConsentDataProvider).linkWith(CONSENT_ID);
         inOrder.verifyNoMoreInteractions();
+        verify(initialSpiAspspConsentDataProvider, never()).saveWith(any());
+    }
+
+    @Test
+    void createAccountConsentsWithResponse_completeConsentCreationFailed_shouldSaveAspspConsentDataSeparately() {
+        // Given
+        CreateConsentReq req = getCreateConsentRequest(
+            getAccess(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()), true, false
+        );
+
+        when(additionalInformationSupportedService.checkIfAdditionalInformationSupported(req)).thenReturn(req);
+        when(aisConsentService.createConsent(getCreateConsentRequest(getAccess(
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyList()), true, false), PSU_ID_DATA, tppInfo))
+            .thenReturn(Xs2aResponse.<Xs2aCreateAisConsentResponse>builder()
+                            .payload(xs2aCreateAisConsentResponse)
+                            .build());
+        when(tppService.getTppInfo())
+            .thenReturn(tppInfo);
+        when(aisConsentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(spiContextDataProvider.provide(PSU_ID_DATA, tppInfo))
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(aspspConsentDataProviderFactory.getInitialAspspConsentDataProvider())
+            .thenReturn(initialSpiAspspConsentDataProvider);
+        when(consentValidationService.validateConsentOnCreate(req, PSU_ID_DATA))
+            .thenReturn(createValidationResult(true, null));
+        when(aisConsentSpi.initiateAisConsent(any(SpiContextData.class), any(SpiAccountConsent.class), any(SpiAspspConsentDataProvider.class)))
+            .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
+                            .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE, null, null))
+                            .build());
+        when(scaMethodsMapper.mapToAuthenticationObjectList(any())).thenReturn(Collections.singletonList(getAuthenticationObject()));
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<CreateConsentResponse> response = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
+
+        // Then
+        assertResponseIsCorrect(response.getBody());
+        verify(initialSpiAspspConsentDataProvider).saveWith(CONSENT_ID);
+        verify(initialSpiAspspConsentDataProvider, never()).linkWith(any());
+    }
+
+    @Test
+    void createAccountConsentsWithResponse_completeConsentCreationFailed_shouldUpdateMultilevelScaSeparately() {
+        // Given
+        CreateConsentReq req = givenConsentInitiatedAtSpi(true);
+        when(aisScaAuthorisationService.isOneFactorAuthorisation(aisConsent))
+            .thenReturn(false);
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any()))
+            .thenReturn(Optional.empty());
+        when(scaMethodsMapper.mapToAuthenticationObjectList(any())).thenReturn(Collections.singletonList(getAuthenticationObject()));
+
+        // When
+        ResponseObject<CreateConsentResponse> response = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
+
+        // Then
+        assertFalse(response.hasError());
+        verify(initialSpiAspspConsentDataProvider).saveWith(CONSENT_ID);
+        verify(aisConsentService).updateMultilevelScaRequired(CONSENT_ID, true);
+        verify(xs2aAuthorisationService, never()).createAuthorisation(any(), any(), any());
+    }
+
+    @Test
+    void createAccountConsentsWithResponse_onImplicitApproach_completeConsentCreationFailed_shouldCreateAuthorisationSeparately() {
+        // Given
+        CreateConsentReq req = givenConsentInitiatedAtSpi(false);
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest(AUTHORISATION_ID, PSU_ID_DATA, ScaApproach.EMBEDDED, ScaStatus.STARTED, null);
+        when(authorisationMethodDecider.isImplicitMethod(true, false))
+            .thenReturn(true);
+        when(scaApproachResolver.resolveScaApproach()).thenReturn(ScaApproach.EMBEDDED);
+        when(xs2aConsentAuthorisationMapper.mapToAuthorisationRequest(any(), eq(ScaStatus.STARTED), eq(PSU_ID_DATA), eq(ScaApproach.EMBEDDED)))
+            .thenReturn(authorisationRequest);
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any()))
+            .thenReturn(Optional.empty());
+        when(xs2aAuthorisationService.createAuthorisation(authorisationRequest, CONSENT_ID, AuthorisationType.CONSENT))
+            .thenReturn(Optional.of(CREATE_AUTHORISATION_RESPONSE));
+        CreateConsentAuthorisationProcessorResponse processorResponse = new CreateConsentAuthorisationProcessorResponse(SCA_STATUS, SCA_APPROACH, TEST_PSU_MESSAGE, TEST_TPP_MESSAGES, CONSENT_ID, PSU_ID_DATA);
+        when(authorisationChainResponsibilityService.apply(any())).thenReturn(processorResponse);
+        when(scaMethodsMapper.mapToAuthenticationObjectList(any())).thenReturn(Collections.singletonList(getAuthenticationObject()));
+
+        // When
+        ResponseObject<CreateConsentResponse> response = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
+
+        // Then
+        assertFalse(response.hasError());
+        assertEquals(AUTHORISATION_ID, response.getBody().getAuthorizationId());
+        verify(initialSpiAspspConsentDataProvider).saveWith(CONSENT_ID);
+        verify(aisConsentService, never()).updateMultilevelScaRequired(any(), anyBoolean());
+    }
+
+    @Test
+    void createAccountConsentsWithResponse_onImplicitApproach_authorisationNotCreated_shouldRejectConsent() {
+        // Given
+        CreateConsentReq req = givenConsentInitiatedAtSpi(false);
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest(AUTHORISATION_ID, PSU_ID_DATA, ScaApproach.EMBEDDED, ScaStatus.STARTED, null);
+        when(authorisationMethodDecider.isImplicitMethod(true, false))
+            .thenReturn(true);
+        when(scaApproachResolver.resolveScaApproach()).thenReturn(ScaApproach.EMBEDDED);
+        when(xs2aConsentAuthorisationMapper.mapToAuthorisationRequest(any(), eq(ScaStatus.STARTED), eq(PSU_ID_DATA), eq(ScaApproach.EMBEDDED)))
+            .thenReturn(authorisationRequest);
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any()))
+            .thenReturn(Optional.empty());
+        when(xs2aAuthorisationService.createAuthorisation(authorisationRequest, CONSENT_ID, AuthorisationType.CONSENT))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<CreateConsentResponse> response = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
+
+        // Then
+        assertTrue(response.hasError());
+        assertEquals(ErrorType.AIS_500, response.getError().getErrorType());
+        assertEquals(MessageErrorCode.INTERNAL_SERVER_ERROR, response.getError().getTppMessage().getMessageErrorCode());
+        verify(initialSpiAspspConsentDataProvider).saveWith(CONSENT_ID);
+        verify(aisConsentService).updateConsentStatus(CONSENT_ID, ConsentStatus.REJECTED);
+        verify(authorisationChainResponsibilityService, never()).apply(any());
     }
 
     @Test
@@ -693,12 +817,8 @@ class ConsentServiceTest {
         CreateConsentAuthorisationProcessorResponse response = new CreateConsentAuthorisationProcessorResponse(SCA_STATUS, SCA_APPROACH, TEST_PSU_MESSAGE, TEST_TPP_MESSAGES, CONSENT_ID, PSU_ID_DATA);
         when(authorisationChainResponsibilityService.apply(any())).thenReturn(response);
         when(scaApproachResolver.resolveScaApproach()).thenReturn(ScaApproach.EMBEDDED);
-        when(aisScaAuthorisationServiceResolver.getService()).thenReturn(redirectAisAuthorizationService);
-        CreateConsentAuthorizationResponse authorisationResponse = new CreateConsentAuthorizationResponse();
-        authorisationResponse.setAuthorisationId(AUTHORISATION_ID);
-
-        when(redirectAisAuthorizationService.createConsentAuthorization(any()))
-            .thenReturn(Optional.of(authorisationResponse));
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any()))
+            .thenReturn(Optional.of(new CmsCompleteConsentCreationResponse(CREATE_AUTHORISATION_RESPONSE)));
         when(scaMethodsMapper.mapToAuthenticationObjectList(any())).thenReturn(Collections.singletonList(getAuthenticationObject()));
 
         // When
@@ -710,6 +830,9 @@ class ConsentServiceTest {
         CreateConsentResponse responseBody = actualResponse.getBody();
         assertEquals(CONSENT_ID, responseBody.getConsentId());
         assertEquals(AUTHORISATION_ID, responseBody.getAuthorizationId());
+        assertEquals(ScaStatus.RECEIVED, responseBody.getScaStatus());
+        verify(xs2aConsentAuthorisationMapper).mapToAuthorisationRequest(any(), eq(ScaStatus.STARTED), eq(PSU_ID_DATA), eq(ScaApproach.EMBEDDED));
+        verify(xs2aAuthorisationService, never()).updateAuthorisationStatus(any(), any());
     }
 
     @Test
@@ -780,13 +903,8 @@ class ConsentServiceTest {
         when(authorisationMethodDecider.isImplicitMethod(true, false))
             .thenReturn(true);
         when(scaApproachResolver.resolveScaApproach()).thenReturn(ScaApproach.EMBEDDED);
-        when(aisScaAuthorisationServiceResolver.getService())
-            .thenReturn(redirectAisAuthorizationService);
-        CreateConsentAuthorizationResponse authorisationResponse = new CreateConsentAuthorizationResponse();
-        authorisationResponse.setScaStatus(ScaStatus.RECEIVED);
-
-        when(redirectAisAuthorizationService.createConsentAuthorization(any()))
-            .thenReturn(Optional.of(authorisationResponse));
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any()))
+            .thenReturn(Optional.of(new CmsCompleteConsentCreationResponse(CREATE_AUTHORISATION_RESPONSE)));
         when(scaMethodsMapper.mapToAuthenticationObjectList(any())).thenReturn(Collections.singletonList(getAuthenticationObject()));
         CreateConsentAuthorisationProcessorResponse response = new CreateConsentAuthorisationProcessorResponse(SCA_STATUS, SCA_APPROACH, TEST_PSU_MESSAGE, TEST_TPP_MESSAGES, CONSENT_ID, PSU_ID_DATA);
         when(authorisationChainResponsibilityService.apply(any())).thenReturn(response);
@@ -1636,4 +1754,30 @@ class ConsentServiceTest {
 
         return authenticationObject;
     }
+
+    private CreateConsentReq givenConsentInitiatedAtSpi(boolean multilevelScaRequired) {
+        CreateConsentReq req = getCreateConsentRequest(
+            getAccess(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()), true, false
+        );
+        when(additionalInformationSupportedService.checkIfAdditionalInformationSupported(req)).thenReturn(req);
+        when(aisConsentService.createConsent(req, PSU_ID_DATA, tppInfo))
+            .thenReturn(Xs2aResponse.<Xs2aCreateAisConsentResponse>builder()
+                            .payload(xs2aCreateAisConsentResponse)
+                            .build());
+        when(tppService.getTppInfo())
+            .thenReturn(tppInfo);
+        when(aisConsentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(spiContextDataProvider.provide(PSU_ID_DATA, tppInfo))
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(aspspConsentDataProviderFactory.getInitialAspspConsentDataProvider())
+            .thenReturn(initialSpiAspspConsentDataProvider);
+        when(consentValidationService.validateConsentOnCreate(req, PSU_ID_DATA))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentSpi.initiateAisConsent(any(SpiContextData.class), any(SpiAccountConsent.class), any(SpiAspspConsentDataProvider.class)))
+            .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
+                            .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), multilevelScaRequired, TEST_PSU_MESSAGE, null, null))
+                            .build());
+        return req;
+    }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.CmsError;
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListChanges;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TppStopListSnapshotServiceTest {
+    private static final String INSTANCE_ID = "bank1";
+    private static final String ANOTHER_INSTANCE_ID = "bank2";
+    private static final String BLOCKED_TPP = "blocked TPP";
+    private static final String ENABLED_TPP = "enabled TPP";
+    private static final long VERSION = 1000L;
+    private static final long NEXT_VERSION = 2000L;
+
+    @Mock
+    private TppStopListService tppStopListService;
+    @Mock
+    private AspspProfileService aspspProfileService;
+
+    @InjectMocks
+    private TppStopListSnapshotService tppStopListSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "snapshotEnabled", true);
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "syncIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "maxStalenessMs", 120_000L);
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "maxSize", 100);
+    }
+
+    @Test
+    void isTppBlocked_snapshotLoadedOnlyOnce() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildChanges(VERSION, buildRecord(BLOCKED_TPP, TppStatus.BLOCKED)));
+
+        // When
+        boolean blocked = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+        boolean enabled = tppStopListSnapshotService.isTppBlocked(ENABLED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(blocked);
+        assertFalse(enabled);
+        verify(tppStopListService, times(1)).getTppStopListChanges(INSTANCE_ID, null);
+        verify(tppStopListService, never()).checkIfTppBlocked(any(), any());
+    }
+
+    @Test
+    void isTppBlocked_syncDue_changesApplied() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "syncIntervalMs", 0L);
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildChanges(VERSION, buildRecord(BLOCKED_TPP, TppStatus.BLOCKED)));
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, VERSION))
+            .thenReturn(buildChanges(NEXT_VERSION, buildRecord(BLOCKED_TPP, TppStatus.ENABLED), buildRecord(ENABLED_TPP, TppStatus.BLOCKED)));
+        tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // When
+        boolean unblocked = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+        boolean blocked = tppStopListSnapshotService.isTppBlocked(ENABLED_TPP, INSTANCE_ID);
+
+        // Then
+        assertFalse(unblocked);
+        assertTrue(blocked);
+        verify(tppStopListService).getTppStopListChanges(INSTANCE_ID, NEXT_VERSION);
+    }
+
+    @Test
+    void isTppBlocked_syncFailed_previousSnapshotUsed() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "syncIntervalMs", 0L);
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildChanges(VERSION, buildRecord(BLOCKED_TPP, TppStatus.BLOCKED)));
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, VERSION))
+            .thenThrow(new IllegalStateException("CMS is not available"));
+        tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // When
+        boolean blocked = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(blocked);
+        verify(tppStopListService, never()).checkIfTppBlocked(any(), any());
+    }
+
+    @Test
+    void isTppBlocked_snapshotStale_checkedInCms() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "maxStalenessMs", -1L);
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildChanges(VERSION));
+        when(tppStopListService.checkIfTppBlocked(BLOCKED_TPP, INSTANCE_ID))
+            .thenReturn(CmsResponse.<Boolean>builder().payload(true).build());
+
+        // When
+        boolean blocked = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(blocked);
+    }
+
+    @Test
+    void isTppBlocked_snapshotNotLoaded_checkedInCms() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, null))
+            .thenReturn(CmsResponse.<TppStopListChanges>builder().error(CmsError.TECHNICAL_ERROR).build());
+        when(tppStopListService.checkIfTppBlocked(BLOCKED_TPP, INSTANCE_ID))
+            .thenReturn(CmsResponse.<Boolean>builder().payload(true).build());
+
+        // When
+        boolean blocked = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(blocked);
+    }
+
+    @Test
+    void isTppBlocked_multitenancy_instanceIdCaseIgnored() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildChanges(VERSION, buildRecord(BLOCKED_TPP, TppStatus.BLOCKED)));
+
+        // When
+        boolean blockedUpperCase = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, "BANK1");
+        boolean blocked = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(blockedUpperCase);
+        assertTrue(blocked);
+        verify(tppStopListService, times(1)).getTppStopListChanges(any(), any());
+    }
+
+    @Test
+    void isTppBlocked_singleTenant_instanceIdIgnored() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(false);
+        when(tppStopListService.getTppStopListChanges(null, null))
+            .thenReturn(buildChanges(VERSION, buildRecord(BLOCKED_TPP, TppStatus.BLOCKED)));
+
+        // When
+        boolean first = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+        boolean second = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, ANOTHER_INSTANCE_ID);
+        boolean third = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, null);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertTrue(third);
+        verify(tppStopListService, times(1)).getTppStopListChanges(any(), any());
+    }
+
+    @Test
+    void isTppBlocked_maxSizeReached_leastRecentlyUsedEvicted() {
+        // Given
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "maxSize", 1);
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        when(tppStopListService.getTppStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildChanges(VERSION));
+        when(tppStopListService.getTppStopListChanges(ANOTHER_INSTANCE_ID, null))
+            .thenReturn(buildChanges(VERSION));
+
+        // When
+        tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+        tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, ANOTHER_INSTANCE_ID);
+        tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        verify(tppStopListService, times(2)).getTppStopListChanges(INSTANCE_ID, null);
+        verify(tppStopListService, times(1)).getTppStopListChanges(ANOTHER_INSTANCE_ID, null);
+    }
+
+    @Test
+    void isTppBlocked_snapshotDisabled() {
+        // Given
+        ReflectionTestUtils.setField(tppStopListSnapshotService, "snapshotEnabled", false);
+        when(tppStopListService.checkIfTppBlocked(BLOCKED_TPP, INSTANCE_ID))
+            .thenReturn(CmsResponse.<Boolean>builder().payload(false).build());
+
+        // When
+        boolean blocked = tppStopListSnapshotService.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertFalse(blocked);
+        verify(tppStopListService, never()).getTppStopListChanges(any(), any());
+    }
+
+    private CmsResponse<TppStopListChanges> buildChanges(long version, TppStopListRecord... records) {
+        return CmsResponse.<TppStopListChanges>builder()
+                   .payload(new TppStopListChanges(version, records.length == 0 ? Collections.emptyList() : Arrays.asList(records)))
+                   .build();
+    }
+
+    private TppStopListRecord buildRecord(String tppAuthorisationNumber, TppStatus status) {
+        TppStopListRecord record = new TppStopListRecord();
+        record.setTppAuthorisationNumber(tppAuthorisationNumber);
+        record.setStatus(status);
+        record.setInstanceId(INSTANCE_ID);
+        return record;
+    }
+}
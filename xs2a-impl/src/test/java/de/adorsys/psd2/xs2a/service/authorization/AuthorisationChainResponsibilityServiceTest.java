@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.authorization;
 
 import de.adorsys.psd2.xs2a.core.authorisation.Authorisation;
+import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.domain.consent.pis.PaymentAuthorisationParameters;
@@ -24,12 +25,15 @@ import de.adorsys.psd2.xs2a.service.authorization.processor.AuthorisationProcess
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AisAuthorisationProcessorRequest;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorResponse;
 import de.adorsys.psd2.xs2a.service.authorization.processor.service.AisAuthorisationProcessorServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +47,12 @@ class AuthorisationChainResponsibilityServiceTest {
     @Mock
     private AisAuthorisationProcessorServiceImpl aisAuthorisationProcessorServiceImpl;
 
+    @BeforeEach
+    void setUp() {
+        when(provider.getProcessorService(any(ServiceType.class), any()))
+            .thenAnswer(invocation -> invocation.getArgument(0) == ServiceType.AIS ? aisAuthorisationProcessorServiceImpl : null);
+    }
+
     @Test
     void apply() {
         Authorisation authorisation = new Authorisation();
@@ -50,15 +60,36 @@ class AuthorisationChainResponsibilityServiceTest {
                                                                                         ScaStatus.RECEIVED,
                                                                                         new PaymentAuthorisationParameters(),
                                                                                         authorisation);
-        when(provider.getProcessorService(request)).thenReturn(aisAuthorisationProcessorServiceImpl);
         AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
         when(aisAuthorisationProcessorServiceImpl.doScaReceived(request)).thenReturn(processorResponse);
         doNothing().when(aisAuthorisationProcessorServiceImpl).updateAuthorisation(request, processorResponse);
 
         service.apply(request);
 
-        verify(provider, times(2)).getProcessorService(request);
+        verify(provider, never()).getProcessorService(request);
         verify(aisAuthorisationProcessorServiceImpl, times(1)).doScaReceived(request);
         verify(aisAuthorisationProcessorServiceImpl, times(1)).updateAuthorisation(request, processorResponse);
     }
+
+    @Test
+    void apply_transitionTableIsCompiledOnce() {
+        // Given
+        AisAuthorisationProcessorRequest request = new AisAuthorisationProcessorRequest(ScaApproach.EMBEDDED,
+                                                                                        ScaStatus.PSUIDENTIFIED,
+                                                                                        new PaymentAuthorisationParameters(),
+                                                                                        new Authorisation());
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        when(aisAuthorisationProcessorServiceImpl.doScaPsuIdentified(request)).thenReturn(processorResponse);
+
+        // When
+        service.afterSingletonsInstantiated();
+        AuthorisationProcessorResponse first = service.apply(request);
+        AuthorisationProcessorResponse second = service.apply(request);
+
+        // Then
+        assertThat(first).isEqualTo(processorResponse);
+        assertThat(second).isEqualTo(processorResponse);
+        verify(provider, times(1)).getProcessorService(ServiceType.AIS, null);
+        verify(aisAuthorisationProcessorServiceImpl, times(2)).doScaPsuIdentified(request);
+    }
 }
@@ -128,4 +128,14 @@ class AuthorisationProcessorServiceProviderTest {
         // Then
         assertThat(actual).isEqualTo(pisCancellationAuthorisationProcessorServiceImpl);
     }
+
+    @Test
+    void getProcessorService_unsupportedCombination() {
+        // When
+        AuthorisationProcessorService actual = provider.getProcessorService(ServiceType.PIS, null);
+
+        // Then
+        assertThat(actual).isNull();
+        verifyNoInteractions(applicationContext);
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.authorization.processor;
+
+import de.adorsys.psd2.xs2a.core.authorisation.Authorisation;
+import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
+import de.adorsys.psd2.xs2a.core.domain.ErrorHolder;
+import de.adorsys.psd2.xs2a.core.error.ErrorType;
+import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import de.adorsys.psd2.xs2a.service.authorization.processor.model.AisAuthorisationProcessorRequest;
+import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorResponse;
+import de.adorsys.psd2.xs2a.service.authorization.processor.model.PiisAuthorisationProcessorRequest;
+import de.adorsys.psd2.xs2a.service.authorization.processor.model.PisAuthorisationProcessorRequest;
+import de.adorsys.psd2.xs2a.service.authorization.processor.model.PisCancellationAuthorisationProcessorRequest;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.AisAuthorisationProcessorServiceImpl;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.PiisAuthorisationProcessorServiceImpl;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.PisAuthorisationProcessorServiceImpl;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.PisCancellationAuthorisationProcessorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static de.adorsys.psd2.xs2a.service.authorization.processor.AuthorisationTransitionTable.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorisationTransitionTableTest {
+    @Mock
+    private AuthorisationProcessorServiceProvider provider;
+    @Mock
+    private AisAuthorisationProcessorServiceImpl aisAuthorisationProcessorService;
+    @Mock
+    private PisAuthorisationProcessorServiceImpl pisAuthorisationProcessorService;
+    @Mock
+    private PisCancellationAuthorisationProcessorServiceImpl pisCancellationAuthorisationProcessorService;
+    @Mock
+    private PiisAuthorisationProcessorServiceImpl piisAuthorisationProcessorService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthorisationTransitionTable transitionTable;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(provider.getProcessorService(any(ServiceType.class), any())).thenAnswer(invocation -> {
+            ServiceType serviceType = invocation.getArgument(0);
+            AuthorisationType authorisationType = invocation.getArgument(1);
+            if (serviceType == ServiceType.AIS) {
+                return aisAuthorisationProcessorService;
+            } else if (serviceType == ServiceType.PIS && authorisationType == AuthorisationType.PIS_CREATION) {
+                return pisAuthorisationProcessorService;
+            } else if (serviceType == ServiceType.PIS && authorisationType == AuthorisationType.PIS_CANCELLATION) {
+                return pisCancellationAuthorisationProcessorService;
+            } else if (serviceType == ServiceType.PIIS) {
+                return piisAuthorisationProcessorService;
+            }
+            return null;
+        });
+        transitionTable = AuthorisationTransitionTable.compile(List.of(new ReceivedAuthorisationProcessor(),
+                                                                       new StartedAuthorisationProcessor()),
+                                                               provider, meterRegistry);
+    }
+
+    @Test
+    void apply() {
+        // Given
+        AisAuthorisationProcessorRequest request = new AisAuthorisationProcessorRequest(ScaApproach.EMBEDDED, ScaStatus.RECEIVED,
+                                                                                        null, new Authorisation());
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        when(aisAuthorisationProcessorService.doScaReceived(request)).thenReturn(processorResponse);
+
+        // When
+        AuthorisationProcessorResponse actual = transitionTable.apply(request);
+
+        // Then
+        assertThat(actual).isEqualTo(processorResponse);
+        verify(aisAuthorisationProcessorService).updateAuthorisation(request, processorResponse);
+        verify(provider, never()).getProcessorService(request);
+        assertThat(meterRegistry.get(TRANSITION_DURATION_METRIC)
+                       .tag(SERVICE_TAG, "AIS")
+                       .tag(AUTHORISATION_TYPE_TAG, "none")
+                       .tag(SCA_STATUS_TAG, "received")
+                       .tag(SCA_APPROACH_TAG, "EMBEDDED")
+                       .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(UPDATE_DURATION_METRIC).tag(SCA_STATUS_TAG, "received").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(TRANSITION_ERRORS_METRIC).counter()).isNull();
+    }
+
+    @Test
+    void apply_processorOfOtherScaStatus() {
+        // Given
+        AisAuthorisationProcessorRequest request = new AisAuthorisationProcessorRequest(ScaApproach.EMBEDDED, ScaStatus.STARTED,
+                                                                                        null, new Authorisation());
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        when(aisAuthorisationProcessorService.doScaStarted(request)).thenReturn(processorResponse);
+
+        // When
+        AuthorisationProcessorResponse actual = transitionTable.apply(request);
+
+        // Then
+        assertThat(actual).isEqualTo(processorResponse);
+        verify(aisAuthorisationProcessorService, never()).doScaReceived(any());
+        verify(aisAuthorisationProcessorService).updateAuthorisation(request, processorResponse);
+    }
+
+    @Test
+    void apply_PIS_initiation() {
+        // Given
+        Authorisation authorisation = new Authorisation();
+        authorisation.setAuthorisationType(AuthorisationType.PIS_CREATION);
+        PisAuthorisationProcessorRequest request = new PisAuthorisationProcessorRequest(ScaApproach.EMBEDDED, ScaStatus.RECEIVED,
+                                                                                        null, authorisation);
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        when(pisAuthorisationProcessorService.doScaReceived(request)).thenReturn(processorResponse);
+
+        // When
+        AuthorisationProcessorResponse actual = transitionTable.apply(request);
+
+        // Then
+        assertThat(actual).isEqualTo(processorResponse);
+        verify(pisAuthorisationProcessorService).updateAuthorisation(request, processorResponse);
+        verifyNoInteractions(pisCancellationAuthorisationProcessorService);
+    }
+
+    @Test
+    void apply_PIIS() {
+        // Given
+        PiisAuthorisationProcessorRequest request = new PiisAuthorisationProcessorRequest(ScaApproach.EMBEDDED, ScaStatus.RECEIVED,
+                                                                                          null, new Authorisation());
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        when(piisAuthorisationProcessorService.doScaReceived(request)).thenReturn(processorResponse);
+
+        // When
+        AuthorisationProcessorResponse actual = transitionTable.apply(request);
+
+        // Then
+        assertThat(actual).isEqualTo(processorResponse);
+        verify(piisAuthorisationProcessorService).updateAuthorisation(request, processorResponse);
+        verifyNoInteractions(aisAuthorisationProcessorService);
+    }
+
+    @Test
+    void apply_errorResponse() {
+        // Given
+        Authorisation authorisation = new Authorisation();
+        authorisation.setAuthorisationType(AuthorisationType.PIS_CANCELLATION);
+        PisCancellationAuthorisationProcessorRequest request = new PisCancellationAuthorisationProcessorRequest(ScaApproach.DECOUPLED, ScaStatus.STARTED,
+                                                                                                                null, authorisation);
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        processorResponse.setErrorHolder(ErrorHolder.builder(ErrorType.PIS_400).build());
+        when(pisCancellationAuthorisationProcessorService.doScaStarted(request)).thenReturn(processorResponse);
+
+        // When
+        transitionTable.apply(request);
+
+        // Then
+        verify(pisCancellationAuthorisationProcessorService).updateAuthorisation(request, processorResponse);
+        assertThat(meterRegistry.get(TRANSITION_ERRORS_METRIC)
+                       .tag(SERVICE_TAG, "PIS")
+                       .tag(AUTHORISATION_TYPE_TAG, "PIS_CANCELLATION")
+                       .tag(SCA_STATUS_TAG, "started")
+                       .tag(SCA_APPROACH_TAG, "DECOUPLED")
+                       .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_noProcessorForScaStatus() {
+        // Given
+        AisAuthorisationProcessorRequest request = new AisAuthorisationProcessorRequest(ScaApproach.REDIRECT, ScaStatus.FINALISED,
+                                                                                        null, null);
+
+        // When
+        AuthorisationProcessorResponse actual = transitionTable.apply(request);
+
+        // Then
+        assertThat(actual).isNull();
+        verify(aisAuthorisationProcessorService).updateAuthorisation(request, null);
+        assertThat(meterRegistry.find(TRANSITION_DURATION_METRIC).timer()).isNull();
+    }
+
+    @Test
+    void apply_unknownProcessorService() {
+        // Given
+        Authorisation authorisation = new Authorisation();
+        authorisation.setAuthorisationType(AuthorisationType.PIS_CREATION);
+        PisCancellationAuthorisationProcessorRequest request = new PisCancellationAuthorisationProcessorRequest(ScaApproach.EMBEDDED, ScaStatus.RECEIVED,
+                                                                                                                null, authorisation);
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> transitionTable.apply(request));
+
+        // Then
+        verifyNoInteractions(aisAuthorisationProcessorService, pisCancellationAuthorisationProcessorService);
+    }
+
+    @Test
+    void apply_PIS_noPaymentAuthorisationType() {
+        // Given
+        PisAuthorisationProcessorRequest request = new PisAuthorisationProcessorRequest(ScaApproach.EMBEDDED, ScaStatus.RECEIVED,
+                                                                                        null, new Authorisation());
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> transitionTable.apply(request));
+
+        // Then
+        verifyNoInteractions(pisAuthorisationProcessorService, pisCancellationAuthorisationProcessorService);
+    }
+}
@@ -24,6 +24,8 @@ import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.authorisation.UpdateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CmsCompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
@@ -370,6 +372,53 @@ class Xs2aAisConsentServiceTest {
         verify(consentServiceEncrypted, times(1)).updateMultilevelScaRequired(CONSENT_ID, true);
     }
 
+    @Test
+    void completeConsentCreation() throws WrongChecksumException {
+        // Given
+        CmsCompleteConsentCreationRequest request = new CmsCompleteConsentCreationRequest(null, true, null);
+        CmsCompleteConsentCreationResponse response = new CmsCompleteConsentCreationResponse(null);
+        when(consentServiceEncrypted.completeConsentCreation(CONSENT_ID, request))
+            .thenReturn(CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                            .payload(response)
+                            .build());
+
+        // When
+        Optional<CmsCompleteConsentCreationResponse> actual = xs2aAisConsentService.completeConsentCreation(CONSENT_ID, request);
+
+        // Then
+        assertThat(actual).contains(response);
+    }
+
+    @Test
+    void completeConsentCreation_cmsError() throws WrongChecksumException {
+        // Given
+        CmsCompleteConsentCreationRequest request = new CmsCompleteConsentCreationRequest(null, true, null);
+        when(consentServiceEncrypted.completeConsentCreation(CONSENT_ID, request))
+            .thenReturn(CmsResponse.<CmsCompleteConsentCreationResponse>builder()
+                            .error(CmsError.LOGICAL_ERROR)
+                            .build());
+
+        // When
+        Optional<CmsCompleteConsentCreationResponse> actual = xs2aAisConsentService.completeConsentCreation(CONSENT_ID, request);
+
+        // Then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void completeConsentCreation_WrongChecksumException() throws WrongChecksumException {
+        // Given
+        CmsCompleteConsentCreationRequest request = new CmsCompleteConsentCreationRequest(null, true, null);
+        when(consentServiceEncrypted.completeConsentCreation(CONSENT_ID, request))
+            .thenThrow(new WrongChecksumException());
+
+        // When
+        Optional<CmsCompleteConsentCreationResponse> actual = xs2aAisConsentService.completeConsentCreation(CONSENT_ID, request);
+
+        // Then
+        assertThat(actual).isEmpty();
+    }
+
     @Test
     void getAuthorisationSubResources() {
         xs2aAisConsentService.getAuthorisationSubResources(CONSENT_ID);
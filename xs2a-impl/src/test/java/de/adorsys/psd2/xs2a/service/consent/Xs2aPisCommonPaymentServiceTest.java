@@ -19,6 +19,8 @@ package de.adorsys.psd2.xs2a.service.consent;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentWithAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
@@ -84,6 +86,33 @@ class Xs2aPisCommonPaymentServiceTest {
         assertThat(actualResponse).isNull();
     }
 
+    @Test
+    void createCommonPaymentWithAuthorisation_success() {
+        //Given
+        CreatePisCommonPaymentWithAuthorisationResponse expectedResponse = new CreatePisCommonPaymentWithAuthorisationResponse(CREATE_PIS_COMMON_PAYMENT_RESPONSE, null);
+        when(pisCommonPaymentServiceEncrypted.createCommonPaymentWithAuthorisation(new CreatePisCommonPaymentWithAuthorisationRequest(PIS_PAYMENT_INFO, PAYMENT_DATA, null)))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder().payload(expectedResponse).build());
+
+        //When
+        CreatePisCommonPaymentWithAuthorisationResponse actualResponse = xs2aPisCommonPaymentService.createCommonPaymentWithAuthorisation(PIS_PAYMENT_INFO, PAYMENT_DATA, null);
+
+        //Then
+        assertThat(actualResponse).isEqualTo(expectedResponse);
+    }
+
+    @Test
+    void createCommonPaymentWithAuthorisation_failed() {
+        //Given
+        when(pisCommonPaymentServiceEncrypted.createCommonPaymentWithAuthorisation(new CreatePisCommonPaymentWithAuthorisationRequest(PIS_PAYMENT_INFO, PAYMENT_DATA, null)))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentWithAuthorisationResponse>builder().error(CmsError.TECHNICAL_ERROR).build());
+
+        //When
+        CreatePisCommonPaymentWithAuthorisationResponse actualResponse = xs2aPisCommonPaymentService.createCommonPaymentWithAuthorisation(PIS_PAYMENT_INFO, PAYMENT_DATA, null);
+
+        //Then
+        assertThat(actualResponse).isNull();
+    }
+
     @Test
     void getPisCommonPaymentById_success() {
         //Given
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncEventServiceEncryptedTest {
+    private static final String CONSENT_ID = "c966f143-f6a2-41db-9036-8abaeeef3af7";
+    private static final byte[] SPILL_KEY = "0123456789abcdef".getBytes();
+    private static final long SPILL_MAX_FILE_SIZE = 1024 * 1024;
+
+    @Mock
+    private Xs2aEventServiceEncrypted eventService;
+
+    @TempDir
+    Path spillDirectory;
+
+    private AsyncEventServiceEncrypted asyncEventService;
+
+    @BeforeEach
+    void setUp() {
+        asyncEventService = new AsyncEventServiceEncrypted(eventService, new ObjectMapperConfig().xs2aObjectMapper());
+        ReflectionTestUtils.setField(asyncEventService, "asyncEnabled", true);
+        ReflectionTestUtils.setField(asyncEventService, "queueCapacity", 100);
+        ReflectionTestUtils.setField(asyncEventService, "batchSize", 10);
+        ReflectionTestUtils.setField(asyncEventService, "pollIntervalMs", 10L);
+        ReflectionTestUtils.setField(asyncEventService, "overflowPolicy", EventOverflowPolicy.BLOCK);
+        ReflectionTestUtils.setField(asyncEventService, "blockTimeoutMs", 10L);
+        ReflectionTestUtils.setField(asyncEventService, "spillDirectory", spillDirectory.toString());
+        ReflectionTestUtils.setField(asyncEventService, "spillEncryptionKey", Base64.getEncoder().encodeToString(SPILL_KEY));
+        ReflectionTestUtils.setField(asyncEventService, "spillMaxFileSize", SPILL_MAX_FILE_SIZE);
+        ReflectionTestUtils.setField(asyncEventService, "spillReplayIntervalMs", 0L);
+        ReflectionTestUtils.setField(asyncEventService, "shutdownTimeoutMs", 5000L);
+    }
+
+    @Test
+    void recordEvent_asyncDisabled_recordedSynchronously() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventService, "asyncEnabled", false);
+        asyncEventService.start();
+        EventBO event = buildEvent();
+        when(eventService.recordEvent(event)).thenReturn(true);
+
+        // When
+        boolean actual = asyncEventService.recordEvent(event);
+
+        // Then
+        assertTrue(actual);
+        verify(eventService, never()).recordEvents(anyList());
+    }
+
+    @Test
+    void recordEvent_eventsSentInBatchesAndFlushedOnStop() {
+        // Given
+        when(eventService.recordEvents(anyList())).thenReturn(true);
+        asyncEventService.start();
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            assertTrue(asyncEventService.recordEvent(buildEvent()));
+        }
+        asyncEventService.stop();
+
+        // Then
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, atLeastOnce()).recordEvents(batchCaptor.capture());
+        List<List<EventBO>> batches = batchCaptor.getAllValues();
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertEquals(25, batches.stream().mapToInt(List::size).sum());
+        verify(eventService, never()).recordEvent(any());
+    }
+
+    @Test
+    void recordEvent_afterStop_recordedSynchronously() {
+        // Given
+        asyncEventService.start();
+        asyncEventService.stop();
+        EventBO event = buildEvent();
+        when(eventService.recordEvent(event)).thenReturn(true);
+
+        // When
+        boolean actual = asyncEventService.recordEvent(event);
+
+        // Then
+        assertTrue(actual);
+        verify(eventService).recordEvent(event);
+    }
+
+    @Test
+    void recordEvent_spillToDisk_failedBatchesSpilled() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(asyncEventService, "overflowPolicy", EventOverflowPolicy.SPILL_TO_DISK);
+        ReflectionTestUtils.setField(asyncEventService, "spillReplayIntervalMs", Long.MAX_VALUE);
+        when(eventService.recordEvents(anyList())).thenReturn(false);
+        asyncEventService.start();
+        EventBO firstEvent = buildEvent();
+        EventBO secondEvent = buildEvent();
+
+        // When
+        asyncEventService.recordEvent(firstEvent);
+        asyncEventService.recordEvent(secondEvent);
+        asyncEventService.stop();
+
+        // Then
+        EventSpillStorage spillStorage = buildSpillStorage();
+        List<EventBO> spilledEvents = spillStorage.readAndClear();
+        assertEquals(Arrays.asList(firstEvent.getXRequestId(), secondEvent.getXRequestId()),
+                     Arrays.asList(spilledEvents.get(0).getXRequestId(), spilledEvents.get(1).getXRequestId()));
+        assertEquals(CONSENT_ID, spilledEvents.get(0).getConsentId());
+        assertTrue(spillStorage.isEmpty());
+    }
+
+    @Test
+    void recordEvent_spilledEventsReplayed() throws IOException {
+        // Given
+        EventBO spilledEvent = buildEvent();
+        buildSpillStorage()
+            .write(Arrays.asList(spilledEvent));
+        when(eventService.recordEvents(anyList())).thenReturn(true);
+
+        // When
+        asyncEventService.start();
+
+        // Then
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, timeout(5000)).recordEvents(batchCaptor.capture());
+        asyncEventService.stop();
+        assertEquals(spilledEvent.getXRequestId(), batchCaptor.getValue().get(0).getXRequestId());
+    }
+
+    @Test
+    void start_spillToDiskWithoutDirectory_exception() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventService, "overflowPolicy", EventOverflowPolicy.SPILL_TO_DISK);
+        ReflectionTestUtils.setField(asyncEventService, "spillDirectory", "");
+
+        // When
+        assertThrows(IllegalStateException.class, () -> asyncEventService.start());
+    }
+
+    @Test
+    void start_spillDirectoryWithoutEncryptionKey_exception() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventService, "spillEncryptionKey", "");
+
+        // When
+        assertThrows(IllegalStateException.class, () -> asyncEventService.start());
+    }
+
+    @Test
+    void start_blockPolicyWithoutSpillDirectory_started() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventService, "spillDirectory", "");
+        ReflectionTestUtils.setField(asyncEventService, "spillEncryptionKey", "");
+        when(eventService.recordEvents(anyList())).thenReturn(true);
+
+        // When
+        asyncEventService.start();
+        boolean actual = asyncEventService.recordEvent(buildEvent());
+        asyncEventService.stop();
+
+        // Then
+        assertTrue(actual);
+        verify(eventService, atLeastOnce()).recordEvents(anyList());
+    }
+
+    private EventSpillStorage buildSpillStorage() {
+        return new EventSpillStorage(spillDirectory, new SecretKeySpec(SPILL_KEY, "AES"), SPILL_MAX_FILE_SIZE,
+                                     new ObjectMapperConfig().xs2aObjectMapper());
+    }
+
+    private EventBO buildEvent() {
+        return EventBO.builder()
+                   .timestamp(OffsetDateTime.now())
+                   .consentId(CONSENT_ID)
+                   .eventOrigin(EventOrigin.TPP)
+                   .eventType(EventType.CREATE_AIS_CONSENT_REQUEST_RECEIVED)
+                   .xRequestId(UUID.randomUUID())
+                   .build();
+    }
+}
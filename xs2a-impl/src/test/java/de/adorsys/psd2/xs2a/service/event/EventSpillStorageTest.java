@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.event.service.model.PsuIdDataBO;
+import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSpillStorageTest {
+    private static final String CONSENT_ID = "c966f143-f6a2-41db-9036-8abaeeef3af7";
+    private static final String PSU_ID = "anton.brueckner";
+    private static final SecretKeySpec SECRET_KEY = new SecretKeySpec("0123456789abcdef".getBytes(), "AES");
+    private static final SecretKeySpec OTHER_SECRET_KEY = new SecretKeySpec("fedcba9876543210".getBytes(), "AES");
+    private static final long MAX_FILE_SIZE = 1024 * 1024;
+    private static final String SPILL_FILE_NAME = "xs2a-events.spill";
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void write_readAndClear_roundTrip() throws IOException {
+        // Given
+        EventSpillStorage spillStorage = buildSpillStorage(SECRET_KEY, MAX_FILE_SIZE);
+        EventBO event = buildEvent();
+
+        // When
+        spillStorage.write(Collections.singletonList(event));
+        List<EventBO> actual = spillStorage.readAndClear();
+
+        // Then
+        assertEquals(1, actual.size());
+        assertEquals(event.getXRequestId(), actual.get(0).getXRequestId());
+        assertEquals(CONSENT_ID, actual.get(0).getConsentId());
+        assertEquals(PSU_ID, actual.get(0).getPsuIdData().getPsuId());
+        assertTrue(spillStorage.isEmpty());
+    }
+
+    @Test
+    void write_eventsAreEncrypted() throws IOException {
+        // Given
+        EventSpillStorage spillStorage = buildSpillStorage(SECRET_KEY, MAX_FILE_SIZE);
+        EventBO event = buildEvent();
+
+        // When
+        spillStorage.write(Collections.singletonList(event));
+
+        // Then
+        String content = new String(Files.readAllBytes(getSpillFile()), StandardCharsets.US_ASCII);
+        assertFalse(content.contains(CONSENT_ID));
+        assertFalse(content.contains(PSU_ID));
+        assertFalse(content.contains(event.getXRequestId().toString()));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void write_ownerOnlyPermissions() throws IOException {
+        // Given
+        EventSpillStorage spillStorage = buildSpillStorage(SECRET_KEY, MAX_FILE_SIZE);
+
+        // When
+        spillStorage.write(Collections.singletonList(buildEvent()));
+
+        // Then
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(getSpillFile()));
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(getSpillFile().getParent()));
+    }
+
+    @Test
+    void write_maxFileSizeExceeded_exception() throws IOException {
+        // Given
+        EventSpillStorage spillStorage = buildSpillStorage(SECRET_KEY, 1);
+
+        // When
+        assertThrows(IOException.class, () -> spillStorage.write(Collections.singletonList(buildEvent())));
+
+        // Then
+        assertTrue(spillStorage.readAndClear().isEmpty());
+    }
+
+    @Test
+    void readAndClear_wrongKey_eventsSkipped() throws IOException {
+        // Given
+        buildSpillStorage(SECRET_KEY, MAX_FILE_SIZE).write(Collections.singletonList(buildEvent()));
+        EventSpillStorage spillStorage = buildSpillStorage(OTHER_SECRET_KEY, MAX_FILE_SIZE);
+
+        // When
+        List<EventBO> actual = spillStorage.readAndClear();
+
+        // Then
+        assertTrue(actual.isEmpty());
+        assertTrue(spillStorage.isEmpty());
+    }
+
+    private EventSpillStorage buildSpillStorage(SecretKeySpec secretKey, long maxFileSize) {
+        return new EventSpillStorage(tempDirectory.resolve("events"), secretKey, maxFileSize, new ObjectMapperConfig().xs2aObjectMapper());
+    }
+
+    private Path getSpillFile() {
+        return tempDirectory.resolve("events").resolve(SPILL_FILE_NAME);
+    }
+
+    private EventBO buildEvent() {
+        return EventBO.builder()
+                   .timestamp(OffsetDateTime.now())
+                   .consentId(CONSENT_ID)
+                   .psuIdData(new PsuIdDataBO(PSU_ID, null, null, null))
+                   .eventOrigin(EventOrigin.TPP)
+                   .eventType(EventType.CREATE_AIS_CONSENT_REQUEST_RECEIVED)
+                   .xRequestId(UUID.randomUUID())
+                   .build();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.profile;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedAspspProfileServiceTest {
+    private static final String ASPSP_SETTINGS_JSON_PATH = "json/service/profile/AspspSettings.json";
+    private static final String INSTANCE_ID = "bank1";
+    private static final String ANOTHER_INSTANCE_ID = "bank2";
+    private static final List<ScaApproach> SCA_APPROACHES = Collections.singletonList(ScaApproach.REDIRECT);
+
+    private final JsonReader jsonReader = new JsonReader();
+    private AspspSettings aspspSettings;
+
+    @Mock
+    private AspspProfileService aspspProfileService;
+
+    @InjectMocks
+    private CachedAspspProfileService cachedAspspProfileService;
+
+    @BeforeEach
+    void setUp() {
+        aspspSettings = jsonReader.getObjectFromFile(ASPSP_SETTINGS_JSON_PATH, AspspSettings.class);
+        ReflectionTestUtils.setField(cachedAspspProfileService, "cacheEnabled", true);
+        ReflectionTestUtils.setField(cachedAspspProfileService, "revalidationIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(cachedAspspProfileService, "maxSize", 100);
+    }
+
+    @Test
+    void getAspspSettings_loadedOnlyOnce() {
+        // Given
+        mockProfile(1L);
+
+        // When
+        AspspSettings first = cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        AspspSettings second = cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        List<ScaApproach> scaApproaches = cachedAspspProfileService.getScaApproaches(INSTANCE_ID);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(SCA_APPROACHES, scaApproaches);
+        verify(aspspProfileService, times(1)).getAspspSettings(INSTANCE_ID);
+        verify(aspspProfileService, times(1)).getScaApproaches(INSTANCE_ID);
+        verify(aspspProfileService, times(1)).getAspspSettingsVersion(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_expiredWithSameVersion_notReloaded() {
+        // Given
+        ReflectionTestUtils.setField(cachedAspspProfileService, "revalidationIntervalMs", 0L);
+        mockProfile(1L);
+
+        // When
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        verify(aspspProfileService, times(1)).getAspspSettings(INSTANCE_ID);
+        verify(aspspProfileService, times(2)).getAspspSettingsVersion(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_expiredWithNewVersion_reloaded() {
+        // Given
+        ReflectionTestUtils.setField(cachedAspspProfileService, "revalidationIntervalMs", 0L);
+        mockProfile(1L, 2L);
+
+        // When
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        verify(aspspProfileService, times(2)).getAspspSettings(INSTANCE_ID);
+        verify(aspspProfileService, times(2)).getScaApproaches(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_profileNotAvailable_previousSnapshotUsed() {
+        // Given
+        ReflectionTestUtils.setField(cachedAspspProfileService, "revalidationIntervalMs", 0L);
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        when(aspspProfileService.getAspspSettingsVersion(INSTANCE_ID)).thenReturn(1L);
+        when(aspspProfileService.getAspspSettings(INSTANCE_ID))
+            .thenReturn(aspspSettings)
+            .thenThrow(new IllegalStateException("Profile is not available"));
+        when(aspspProfileService.getScaApproaches(INSTANCE_ID)).thenReturn(SCA_APPROACHES);
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        when(aspspProfileService.getAspspSettingsVersion(INSTANCE_ID)).thenReturn(2L);
+
+        // When
+        AspspSettings actual = cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        assertSame(aspspSettings, actual);
+    }
+
+    @Test
+    void onAspspProfileUpdated_snapshotsDropped() {
+        // Given
+        mockProfile(1L);
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // When
+        cachedAspspProfileService.onAspspProfileUpdated(new AspspProfileUpdatedEvent(INSTANCE_ID));
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        verify(aspspProfileService, times(2)).getAspspSettings(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_singleTenant_snapshotSharedByInstanceIds() {
+        // Given
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(false);
+        when(aspspProfileService.getAspspSettingsVersion("")).thenReturn(1L);
+        when(aspspProfileService.getAspspSettings("")).thenReturn(aspspSettings);
+        when(aspspProfileService.getScaApproaches("")).thenReturn(SCA_APPROACHES);
+
+        // When
+        AspspSettings first = cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        AspspSettings second = cachedAspspProfileService.getAspspSettings(ANOTHER_INSTANCE_ID);
+        AspspSettings third = cachedAspspProfileService.getAspspSettings(null);
+
+        // Then
+        assertSame(first, second);
+        assertSame(first, third);
+        verify(aspspProfileService, times(1)).getAspspSettings("");
+        verify(aspspProfileService, times(1)).isMultitenancyEnabled();
+    }
+
+    @Test
+    void getAspspSettings_multitenancy_instanceIdCaseIgnored() {
+        // Given
+        mockProfile(1L);
+
+        // When
+        AspspSettings first = cachedAspspProfileService.getAspspSettings("BANK1");
+        AspspSettings second = cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        assertSame(first, second);
+        verify(aspspProfileService, times(1)).getAspspSettings(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_maxSizeReached_leastRecentlyUsedEvicted() {
+        // Given
+        ReflectionTestUtils.setField(cachedAspspProfileService, "maxSize", 1);
+        mockProfile(1L);
+        when(aspspProfileService.getAspspSettingsVersion(ANOTHER_INSTANCE_ID)).thenReturn(1L);
+        when(aspspProfileService.getAspspSettings(ANOTHER_INSTANCE_ID)).thenReturn(aspspSettings);
+        when(aspspProfileService.getScaApproaches(ANOTHER_INSTANCE_ID)).thenReturn(SCA_APPROACHES);
+
+        // When
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        cachedAspspProfileService.getAspspSettings(ANOTHER_INSTANCE_ID);
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        verify(aspspProfileService, times(2)).getAspspSettings(INSTANCE_ID);
+        verify(aspspProfileService, times(1)).getAspspSettings(ANOTHER_INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_cacheDisabled() {
+        // Given
+        ReflectionTestUtils.setField(cachedAspspProfileService, "cacheEnabled", false);
+        when(aspspProfileService.getAspspSettings(INSTANCE_ID)).thenReturn(aspspSettings);
+
+        // When
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+        cachedAspspProfileService.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        verify(aspspProfileService, times(2)).getAspspSettings(INSTANCE_ID);
+        verify(aspspProfileService, never()).getAspspSettingsVersion(anyString());
+    }
+
+    private void mockProfile(Long version, Long... nextVersions) {
+        when(aspspProfileService.isMultitenancyEnabled()).thenReturn(true);
+        when(aspspProfileService.getAspspSettingsVersion(INSTANCE_ID)).thenReturn(version, nextVersions);
+        when(aspspProfileService.getAspspSettings(INSTANCE_ID)).thenReturn(aspspSettings);
+        when(aspspProfileService.getScaApproaches(INSTANCE_ID)).thenReturn(SCA_APPROACHES);
+    }
+}
@@ -51,6 +51,17 @@ class InitialSpiAspspConsentDataProviderTest {
             .updateAspspConsentData(new AspspConsentData("Some not empty data".getBytes(), "Some ID"));
     }
 
+    @Test
+    void onLinkingWithEncryptedIdSaveServiceWillNotBeCalled() {
+        initialSpiAspspConsentDataProvider.updateAspspConsentData("Some data".getBytes());
+        initialSpiAspspConsentDataProvider.linkWith("Some ID");
+        verifyNoInteractions(aspspDataService);
+
+        initialSpiAspspConsentDataProvider.updateAspspConsentData("Some new data".getBytes());
+        verify(aspspDataService, times(1))
+            .updateAspspConsentData(new AspspConsentData("Some new data".getBytes(), "Some ID"));
+    }
+
     @Test
     void dataPutIntoWillBeReadBack() {
         byte[] initialState = initialSpiAspspConsentDataProvider.loadAspspConsentData();
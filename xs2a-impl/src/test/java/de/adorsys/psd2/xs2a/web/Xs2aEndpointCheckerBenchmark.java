@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web;
+
+import de.adorsys.psd2.xs2a.config.Xs2aEndpointPathConstant;
+import de.adorsys.psd2.xs2a.web.request.RequestPathResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures matching of the request path against XS2A endpoint patterns with compiled {@link Xs2aEndpointPathMatcher}
+ * and with {@link AntPathMatcher} for every pattern, both for a single match and for the whole chain of XS2A filters,
+ * which check the same request one after another.
+ * <p>
+ * Run with <code>main</code> method from IDE or with <code>java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main Xs2aEndpointCheckerBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Xs2aEndpointCheckerBenchmark {
+    private static final int FILTER_COUNT = 6;
+    private static final String[] PATTERNS = Xs2aEndpointPathConstant.getAllXs2aEndpointPaths();
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    @Param({"/v1/accounts/123/transactions", "/v2/consents/confirmation-of-funds", "/actuator/health"})
+    private String requestPath;
+
+    private final Xs2aEndpointPathMatcher pathMatcher = new Xs2aEndpointPathMatcher(PATTERNS);
+    private final RequestPathResolver requestPathResolver = new RequestPathResolver();
+    private final Xs2aEndpointChecker xs2aEndpointChecker = new Xs2aEndpointChecker(requestPathResolver);
+
+    @Benchmark
+    public boolean compiledMatcher() {
+        return pathMatcher.matches(requestPath);
+    }
+
+    @Benchmark
+    public boolean antPathMatcher() {
+        return matchWithAntPathMatcher(requestPath);
+    }
+
+    @Benchmark
+    public int filterChainWithStoredResult() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", requestPath);
+        int matches = 0;
+        for (int i = 0; i < FILTER_COUNT; i++) {
+            if (xs2aEndpointChecker.isXs2aEndpoint(request)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int filterChainWithAntPathMatcher() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", requestPath);
+        int matches = 0;
+        for (int i = 0; i < FILTER_COUNT; i++) {
+            if (matchWithAntPathMatcher(requestPathResolver.resolveRequestPath(request))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private boolean matchWithAntPathMatcher(String path) {
+        return Stream.of(PATTERNS)
+                   .anyMatch(p -> ANT_PATH_MATCHER.match(p, path));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(Xs2aEndpointCheckerBenchmark.class.getSimpleName())
+                       .build())
+            .run();
+    }
+}
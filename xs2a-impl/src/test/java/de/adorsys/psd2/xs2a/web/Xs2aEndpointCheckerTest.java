@@ -24,9 +24,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.when;
+import javax.servlet.DispatcherType;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class Xs2aEndpointCheckerTest {
@@ -63,4 +64,36 @@ class Xs2aEndpointCheckerTest {
         // Then
         assertFalse(actual);
     }
+
+    @Test
+    void isXs2aEndpoint_resultIsStoredInRequest() {
+        // Given
+        MockHttpServletRequest httpServletRequest = new MockHttpServletRequest();
+        when(requestPathResolver.resolveRequestPath(httpServletRequest)).thenReturn(XS2A_ENDPOINT);
+
+        // When
+        boolean first = xs2aEndpointChecker.isXs2aEndpoint(httpServletRequest);
+        boolean second = xs2aEndpointChecker.isXs2aEndpoint(httpServletRequest);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(Boolean.TRUE, httpServletRequest.getAttribute(Xs2aEndpointChecker.XS2A_ENDPOINT_ATTRIBUTE));
+        verify(requestPathResolver, times(1)).resolveRequestPath(httpServletRequest);
+    }
+
+    @Test
+    void isXs2aEndpoint_errorDispatch() {
+        // Given
+        MockHttpServletRequest httpServletRequest = new MockHttpServletRequest();
+        httpServletRequest.setDispatcherType(DispatcherType.ERROR);
+        httpServletRequest.setAttribute(Xs2aEndpointChecker.XS2A_ENDPOINT_ATTRIBUTE, true);
+        when(requestPathResolver.resolveRequestPath(httpServletRequest)).thenReturn(NOT_XS2A_ENDPOINT);
+
+        // When
+        boolean actual = xs2aEndpointChecker.isXs2aEndpoint(httpServletRequest);
+
+        // Then
+        assertFalse(actual);
+    }
 }
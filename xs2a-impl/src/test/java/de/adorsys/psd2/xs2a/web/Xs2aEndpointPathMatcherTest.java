@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web;
+
+import de.adorsys.psd2.xs2a.config.Xs2aEndpointPathConstant;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Xs2aEndpointPathMatcherTest {
+    private static final String[] PATTERNS = Xs2aEndpointPathConstant.getAllXs2aEndpointPaths();
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Xs2aEndpointPathMatcher matcher = new Xs2aEndpointPathMatcher(PATTERNS);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/v1/accounts", "/v1/accounts/", "/v1/accounts/123/transactions", "//v1//accounts",
+        "/v1/trusted-beneficiaries", "/v1/trusted-beneficiaries/", "/v1/trusted-beneficiaries/123",
+        "/v1/payments/sepa-credit-transfers", "/v1/signing-baskets/123/authorisations", "/v2/consents/confirmation-of-funds",
+        "/v1/Accounts", "/v1/accountsX", "/v1", "/v1/", "/", "", "v1/accounts", "/v1/gifts", "/v2/accounts", "/error"})
+    void matches_sameAsAntPathMatcher(String path) {
+        // Given
+        boolean expected = Stream.of(PATTERNS).anyMatch(p -> ANT_PATH_MATCHER.match(p, path));
+
+        // When
+        boolean actual = matcher.matches(path);
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/v1/payments/sepa-credit-transfers/123", "/v1/bulk-payments/sepa-credit-transfers/123/status"})
+    void matches_wildcardPatterns(String path) {
+        // Given
+        Xs2aEndpointPathMatcher wildcardMatcher = new Xs2aEndpointPathMatcher("/v1/*payments/{product}/**");
+
+        // When
+        boolean actual = wildcardMatcher.matches(path);
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(wildcardMatcher.matches("/v1/consents/123")).isFalse();
+    }
+}
@@ -16,7 +16,9 @@
 
 package de.adorsys.psd2.xs2a.web.filter.holder;
 
+import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.service.TppService;
+import de.adorsys.psd2.validator.certificate.util.ParsedCertificateCache;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
@@ -32,6 +34,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.servlet.http.HttpServletRequest;
@@ -79,6 +82,10 @@ class QwacCertificateServiceTest {
     private TppService tppService;
     @Mock
     private TppRoleValidationService tppRoleValidationService;
+    @Mock
+    private TppInfoUpdateCache tppInfoUpdateCache;
+    @Spy
+    private ParsedCertificateCache qwacCertificateCache = new ParsedCertificateCache(10);
 
     @Test
     void doFilter_success() throws Exception {
@@ -92,6 +99,21 @@ class QwacCertificateServiceTest {
         verify(tppInfoHolder).setTppInfo(any());
     }
 
+    @Test
+    void doFilter_success_certificateParsedOnce() throws Exception {
+        //Given
+        when(xs2aTppInfoMapper.mapToTppInfo(any(TppCertificateData.class))).thenReturn(new TppInfo());
+
+        //When
+        qwacCertificateService.isApplicable(request, response, TEST_QWAC_CERTIFICATE_VALID);
+        qwacCertificateService.isApplicable(request, response, TEST_QWAC_CERTIFICATE_VALID);
+
+        //Then
+        verify(tppInfoHolder, times(2)).setTppInfo(any());
+        assertEquals(1, qwacCertificateCache.getMissCount());
+        assertEquals(1, qwacCertificateCache.getHitCount());
+    }
+
     @Test
     void doFilter_failure_expired_certificate() throws Exception {
         //Given
@@ -114,6 +136,8 @@ class QwacCertificateServiceTest {
         when(requestProviderService.getTppRolesAllowedHeader()).thenReturn(null);
         when(tppRoleValidationService.hasAccess(any(), eq(request))).thenReturn(true);
         when(aspspProfileService.isCheckTppRolesFromCertificateSupported()).thenReturn(true);
+        when(tppInfoUpdateCache.isUpdateRequired(any(TppInfo.class), any())).thenReturn(true);
+        when(tppService.updateTppInfo(any(TppInfo.class))).thenReturn(CmsResponse.<Boolean>builder().payload(true).build());
 
         //When
         qwacCertificateService.isApplicable(request, response, TEST_QWAC_CERTIFICATE_VALID);
@@ -135,6 +159,8 @@ class QwacCertificateServiceTest {
         when(xs2aTppInfoMapper.mapToTppRoles(Collections.singletonList("AISP"))).thenReturn(Collections.singletonList(TppRole.AISP));
         String rolesRepresentation = roles.stream().map(TppRole::toString).collect(Collectors.joining(", "));
         when(requestProviderService.getTppRolesAllowedHeader()).thenReturn(rolesRepresentation);
+        when(tppInfoUpdateCache.isUpdateRequired(any(TppInfo.class), any())).thenReturn(true);
+        when(tppService.updateTppInfo(any(TppInfo.class))).thenReturn(CmsResponse.<Boolean>builder().payload(true).build());
 
         //When
         qwacCertificateService.isApplicable(request, response, TEST_QWAC_CERTIFICATE_VALID);
@@ -144,6 +170,25 @@ class QwacCertificateServiceTest {
         TppInfo tppInfo = tppInfoArgumentCaptor.getValue();
         verify(tppService, times(1)).updateTppInfo(tppInfo);
         assertEquals(roles, tppInfo.getTppRoles());
+        verify(tppInfoUpdateCache).markUpdated(tppInfo, null);
+    }
+
+    @Test
+    void doFilter_success_tpp_roles_not_changed() throws Exception {
+        //Given
+        when(xs2aTppInfoMapper.mapToTppInfo(any(TppCertificateData.class))).thenReturn(new TppInfo());
+        when(tppRoleValidationService.hasAccess(any(), any())).thenReturn(true);
+        when(xs2aTppInfoMapper.mapToTppRoles(Collections.singletonList("AISP"))).thenReturn(Collections.singletonList(TppRole.AISP));
+        when(requestProviderService.getTppRolesAllowedHeader()).thenReturn("AISP");
+        when(tppInfoUpdateCache.isUpdateRequired(any(TppInfo.class), any())).thenReturn(false);
+
+        //When
+        boolean actual = qwacCertificateService.isApplicable(request, response, TEST_QWAC_CERTIFICATE_VALID);
+
+        //Then
+        assertTrue(actual);
+        verify(tppService, never()).updateTppInfo(any(TppInfo.class));
+        verify(tppInfoUpdateCache, never()).markUpdated(any(TppInfo.class), any());
     }
 
     @Test
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.filter.holder;
+
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TppInfoUpdateCacheTest {
+    private static final String AUTHORISATION_NUMBER = "12345987";
+    private static final String INSTANCE_ID = "bank1";
+    private static final String ANOTHER_INSTANCE_ID = "bank2";
+
+    private TppInfoUpdateCache tppInfoUpdateCache;
+
+    @BeforeEach
+    void setUp() {
+        tppInfoUpdateCache = new TppInfoUpdateCache();
+        ReflectionTestUtils.setField(tppInfoUpdateCache, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(tppInfoUpdateCache, "maxSize", 10);
+    }
+
+    @Test
+    void isUpdateRequired_notUpdatedBefore() {
+        assertTrue(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.AISP), INSTANCE_ID));
+    }
+
+    @Test
+    void isUpdateRequired_sameRoles() {
+        tppInfoUpdateCache.markUpdated(buildTppInfo(TppRole.AISP, TppRole.PISP), INSTANCE_ID);
+
+        assertFalse(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.PISP, TppRole.AISP), INSTANCE_ID));
+    }
+
+    @Test
+    void isUpdateRequired_changedRoles() {
+        tppInfoUpdateCache.markUpdated(buildTppInfo(TppRole.AISP), INSTANCE_ID);
+
+        assertTrue(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.AISP, TppRole.PIISP), INSTANCE_ID));
+    }
+
+    @Test
+    void isUpdateRequired_anotherInstance() {
+        tppInfoUpdateCache.markUpdated(buildTppInfo(TppRole.AISP), INSTANCE_ID);
+
+        assertTrue(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.AISP), ANOTHER_INSTANCE_ID));
+    }
+
+    @Test
+    void isUpdateRequired_expired() {
+        ReflectionTestUtils.setField(tppInfoUpdateCache, "ttlMs", 1L);
+        tppInfoUpdateCache.markUpdated(buildTppInfo(TppRole.AISP), INSTANCE_ID);
+        sleep(5);
+
+        assertTrue(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.AISP), INSTANCE_ID));
+    }
+
+    @Test
+    void isUpdateRequired_cacheDisabled() {
+        ReflectionTestUtils.setField(tppInfoUpdateCache, "ttlMs", 0L);
+        tppInfoUpdateCache.markUpdated(buildTppInfo(TppRole.AISP), INSTANCE_ID);
+
+        assertTrue(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.AISP), INSTANCE_ID));
+    }
+
+    @Test
+    void markUpdated_maxSizeReached() {
+        ReflectionTestUtils.setField(tppInfoUpdateCache, "maxSize", 1);
+        tppInfoUpdateCache.markUpdated(buildTppInfo(TppRole.AISP), INSTANCE_ID);
+        tppInfoUpdateCache.markUpdated(buildTppInfo(TppRole.AISP), ANOTHER_INSTANCE_ID);
+
+        assertTrue(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.AISP), INSTANCE_ID));
+        assertFalse(tppInfoUpdateCache.isUpdateRequired(buildTppInfo(TppRole.AISP), ANOTHER_INSTANCE_ID));
+    }
+
+    private TppInfo buildTppInfo(TppRole... roles) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(AUTHORISATION_NUMBER);
+        List<TppRole> tppRoles = roles.length == 0 ? Collections.emptyList() : Arrays.asList(roles);
+        tppInfo.setTppRoles(tppRoles);
+        return tppInfo;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
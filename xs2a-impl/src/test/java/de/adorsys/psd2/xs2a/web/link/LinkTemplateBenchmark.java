@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.link;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of the links of payment initiation response (self, status, SCA status and start authorisation
+ * links) with compiled link templates and with parsing of the base URL and expansion of the path by
+ * {@link UriComponentsBuilder} for every link.
+ * <p>
+ * Run with <code>main</code> method from IDE or with <code>java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main LinkTemplateBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LinkTemplateBenchmark {
+    private static final String PAYMENT_SERVICE = "payments";
+    private static final String PAYMENT_PRODUCT = "sepa-credit-transfers";
+    private static final String PAYMENT_ID = "j5drwApSajpoFP1h5_pYxh9ftC4ogs6_6emI06HD6O_pllrbeOyAHl4YXhAXbDTnk0TyKYKH8uiQvSrzLsiMcs_aJzS3dI_tse0HueAjChY=_=_psGLvQpt9Q";
+    private static final String AUTHORISATION_ID = "4a8e3d5c-1b2f-4c6d-9e0a-7f3b2c1d0e9f";
+
+    @Param({"http://localhost:8080", "/xs2a"})
+    private String httpUrl;
+
+    @Benchmark
+    public String[] compiledTemplates() {
+        return new String[]{
+            LinkTemplateRegistry.buildLink(httpUrl, UrlHolder.PAYMENT_LINK_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID),
+            LinkTemplateRegistry.buildLink(httpUrl, UrlHolder.PAYMENT_STATUS_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID),
+            LinkTemplateRegistry.buildLink(httpUrl, UrlHolder.PIS_AUTHORISATION_LINK_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID, AUTHORISATION_ID),
+            LinkTemplateRegistry.buildLink(httpUrl, UrlHolder.START_PIS_AUTHORISATION_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID)
+        };
+    }
+
+    @Benchmark
+    public String[] uriComponentsBuilder() {
+        return new String[]{
+            buildWithUriComponentsBuilder(UrlHolder.PAYMENT_LINK_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID),
+            buildWithUriComponentsBuilder(UrlHolder.PAYMENT_STATUS_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID),
+            buildWithUriComponentsBuilder(UrlHolder.PIS_AUTHORISATION_LINK_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID, AUTHORISATION_ID),
+            buildWithUriComponentsBuilder(UrlHolder.START_PIS_AUTHORISATION_URL, PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID)
+        };
+    }
+
+    private String buildWithUriComponentsBuilder(String path, Object... params) {
+        UriComponentsBuilder uriComponentsBuilder = httpUrl.startsWith("/")
+                                                        ? UriComponentsBuilder.fromPath(httpUrl)
+                                                        : UriComponentsBuilder.fromHttpUrl(httpUrl);
+        return uriComponentsBuilder
+                   .path(path)
+                   .buildAndExpand(params)
+                   .toUriString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(LinkTemplateBenchmark.class.getSimpleName())
+                       .build())
+            .run();
+    }
+}
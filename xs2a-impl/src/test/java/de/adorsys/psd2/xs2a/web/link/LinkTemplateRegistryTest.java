@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.link;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LinkTemplateRegistryTest {
+    private static final List<String> HTTP_URLS = List.of("http://localhost:8080",
+                                                          "http://localhost:8080/",
+                                                          "https://xs2a.bank.de/psd2/",
+                                                          "https://user@xs2a.bank.de:8443/psd2?tenant=1#top",
+                                                          "/myhost.com",
+                                                          "/");
+    private static final List<String> PATHS = List.of(UrlHolder.PIS_AUTHORISATION_LINK_URL,
+                                                      UrlHolder.CONSENT_STATUS_URL,
+                                                      "v1/consents/{consentId}",
+                                                      "/v1/consents/consent-id/authorisations/authorisation-id",
+                                                      "");
+    private static final List<Object[]> PARAMS = List.of(
+        new Object[]{"payments", "sepa-credit-transfers", "j5drwApSajpo=_=_psGLvQpt9Q", "4a8e3d5c-1b2f"},
+        new Object[]{"pay ments", "sepa/credit", "id%2F1?x=ä", "auth#1 ü"});
+
+    @Test
+    void buildLink_sameAsUriComponentsBuilder() {
+        for (String httpUrl : HTTP_URLS) {
+            for (String path : PATHS) {
+                for (Object[] params : PARAMS) {
+                    //Given
+                    UriComponentsBuilder builder = httpUrl.startsWith("/")
+                                                       ? UriComponentsBuilder.fromPath(httpUrl)
+                                                       : UriComponentsBuilder.fromHttpUrl(httpUrl);
+                    String expected = builder.path(path)
+                                          .buildAndExpand(params)
+                                          .toUriString();
+
+                    //When
+                    String actual = LinkTemplateRegistry.buildLink(httpUrl, path, params);
+
+                    //Then
+                    assertEquals(expected, actual, "Base URL " + httpUrl + ", path " + path + ", params " + Arrays.toString(params));
+                }
+            }
+        }
+    }
+
+    @Test
+    void buildLink_cachedTemplateWithDifferentValues() {
+        //Given
+        String httpUrl = "http://url";
+
+        //When
+        String first = LinkTemplateRegistry.buildLink(httpUrl, UrlHolder.ACCOUNT_BALANCES_URL, "account-1");
+        String second = LinkTemplateRegistry.buildLink(httpUrl, UrlHolder.ACCOUNT_BALANCES_URL, "account-2");
+
+        //Then
+        assertEquals("http://url/v1/accounts/account-1/balances", first);
+        assertEquals("http://url/v1/accounts/account-2/balances", second);
+    }
+
+    @Test
+    void buildLink_invalidHttpUrl() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> LinkTemplateRegistry.buildLink("localhost:8080", UrlHolder.CONSENT_STATUS_URL, "consent-id"));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.link;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LinkTemplateTest {
+    private static final String PAYMENT_TEMPLATE = "/v1/{payment-service}/{payment-product}/{payment-id}/status";
+
+    @Test
+    void expandInOrder() {
+        //Given
+        LinkTemplate template = LinkTemplate.compile(PAYMENT_TEMPLATE);
+
+        //When
+        String actual = template.expandInOrder("payments", "sepa-credit-transfers", "j5drwApSajpoFP1h5_=_psGLvQpt9Q");
+
+        //Then
+        assertEquals("/v1/payments/sepa-credit-transfers/j5drwApSajpoFP1h5_=_psGLvQpt9Q/status", actual);
+    }
+
+    @Test
+    void expandInOrder_notEncoded() {
+        //Given
+        LinkTemplate template = LinkTemplate.compile("/v1/accounts/{accountId}");
+
+        //When
+        String actual = template.expandInOrder("acc 1/ä?%20");
+
+        //Then
+        assertEquals("/v1/accounts/acc 1/ä?%20", actual);
+    }
+
+    @Test
+    void expandInOrder_nullValue() {
+        //Given
+        LinkTemplate template = LinkTemplate.compile("/v1/accounts/{accountId}/balances");
+
+        //When
+        String actual = template.expandInOrder((Object) null);
+
+        //Then
+        assertEquals("/v1/accounts//balances", actual);
+    }
+
+    @Test
+    void expandInOrder_notEnoughValues() {
+        //Given
+        LinkTemplate template = LinkTemplate.compile(PAYMENT_TEMPLATE);
+
+        //Then
+        assertThrows(IllegalArgumentException.class, () -> template.expandInOrder("payments", "sepa-credit-transfers"));
+    }
+
+    @Test
+    void expand_byName() {
+        //Given
+        LinkTemplate template = LinkTemplate.compile("https://aspsp/ais/{redirect-id}/{encrypted-consent-id}/{redirect-id}?id={unknown}&path={a/b}");
+
+        //When
+        String actual = template.expand(Map.of("redirect-id", "redirect 1", "encrypted-consent-id", "consent"));
+
+        //Then
+        assertEquals("https://aspsp/ais/redirect 1/consent/redirect 1?id={unknown}&path={a/b}", actual);
+    }
+
+    @Test
+    void expand_withoutVariables() {
+        //Given
+        LinkTemplate template = LinkTemplate.compile("https://aspsp/ais/{}");
+
+        //When
+        String actual = template.expand(Map.of("redirect-id", "redirect"));
+
+        //Then
+        assertEquals("https://aspsp/ais/{}", actual);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2021 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.validator.body.raw;
+
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
+import de.adorsys.psd2.xs2a.core.error.ErrorType;
+import de.adorsys.psd2.xs2a.core.error.MessageError;
+import de.adorsys.psd2.xs2a.web.validator.header.ErrorBuildingServiceMock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the sequence of body extractions performed by the payment body validators for a bulk payment, with the body
+ * parsed once per request (request wrapped into {@link MultiReadHttpServletRequest}) and parsed on every extraction.
+ * <p>
+ * Run with <code>main</code> method from IDE or with <code>java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main FieldExtractorBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FieldExtractorBenchmark {
+    private static final String PAYMENT_TEMPLATE = "{\"endToEndIdentification\":\"WBG-%d\",\"debtorAccount\":{\"currency\":\"EUR\",\"iban\":\"DE52500105173911841934\"},"
+                                                       + "\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"20.00\"},\"creditorAccount\":{\"currency\":\"EUR\",\"iban\":\"DE15500105172295759744\"},"
+                                                       + "\"creditorName\":\"WBG\",\"purposeCode\":\"BKDF\",\"chargeBearer\":\"SHAR\",\"remittanceInformationUnstructured\":\"Ref. Number WBG-%d\"}";
+
+    @Param({"true", "false"})
+    private boolean parseOnce;
+
+    @Param({"1", "1000"})
+    private int paymentsCount;
+
+    private FieldExtractor fieldExtractor;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        fieldExtractor = new FieldExtractor(new ErrorBuildingServiceMock(ErrorType.PIS_400), new Xs2aObjectMapper());
+
+        StringBuilder bodyBuilder = new StringBuilder("{\"batchBookingPreferred\":true,\"requestedExecutionDate\":\"2021-01-10\",")
+                                        .append("\"debtorAccount\":{\"currency\":\"EUR\",\"iban\":\"DE52500105173911841934\"},\"payments\":[");
+        for (int i = 0; i < paymentsCount; i++) {
+            if (i > 0) {
+                bodyBuilder.append(',');
+            }
+            bodyBuilder.append(String.format(PAYMENT_TEMPLATE, i, i));
+        }
+        body = bodyBuilder.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void validateBulkPaymentBody(Blackhole blackhole) {
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContent(body);
+        HttpServletRequest request = parseOnce ? new MultiReadHttpServletRequest(mockRequest) : mockRequest;
+        MessageError messageError = new MessageError(ErrorType.PIS_400);
+
+        blackhole.consume(fieldExtractor.mapBodyToInstance(request, messageError, Object.class));
+        blackhole.consume(fieldExtractor.extractOptionalField(request, "dayOfExecution"));
+        blackhole.consume(fieldExtractor.extractField(request, "requestedExecutionDate", messageError));
+        blackhole.consume(fieldExtractor.extractField(request, "requestedExecutionTime", messageError));
+        blackhole.consume(fieldExtractor.extractOptionalList(request, "currency"));
+        blackhole.consume(fieldExtractor.extractOptionalField(request, "batchBookingPreferred"));
+        blackhole.consume(fieldExtractor.extractField(request, "frequency", messageError));
+        blackhole.consume(fieldExtractor.extractList(request, "purposeCode", messageError));
+        blackhole.consume(fieldExtractor.extractOptionalList(request, "chargeBearer"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(FieldExtractorBenchmark.class.getSimpleName())
+                       .build())
+            .run();
+    }
+}
@@ -16,7 +16,10 @@
 
 package de.adorsys.psd2.xs2a.web.validator.body.raw;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.model.PaymentInitiationJson;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.core.error.ErrorType;
 import de.adorsys.psd2.xs2a.core.error.MessageError;
@@ -31,13 +34,17 @@ import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 class FieldExtractorTest {
     private static final String FIELD_NAME = "endToEndIdentification";
@@ -122,6 +129,88 @@ class FieldExtractorTest {
         assertTrue(actualResult.isEmpty());
     }
 
+    @Test
+    void extractField_multiReadRequest_bodyParsedOnce() throws IOException {
+        Xs2aObjectMapper xs2aObjectMapper = Mockito.spy(new Xs2aObjectMapper());
+        FieldExtractor extractor = new FieldExtractor(new ErrorBuildingServiceMock(ErrorType.PIS_400), xs2aObjectMapper);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(mockRequest);
+
+        assertEquals(Optional.of(FIELD_VALUE), extractor.extractField(multiReadRequest, FIELD_NAME, messageError));
+        assertEquals(Optional.of(FIELD_VALUE), extractor.extractOptionalField(multiReadRequest, FIELD_NAME));
+        assertEquals(getCurrencyList(), extractor.extractList(multiReadRequest, CURRENCY_FIELD_NAME, messageError));
+        assertEquals(getCurrencyList(), extractor.extractOptionalList(multiReadRequest, CURRENCY_FIELD_NAME));
+        assertTrue(extractor.mapBodyToInstance(multiReadRequest, messageError, Object.class).isPresent());
+
+        assertTrue(messageError.getTppMessages().isEmpty());
+        verify(xs2aObjectMapper, times(1)).reader();
+        verify(xs2aObjectMapper, never()).readTree(any(InputStream.class));
+    }
+
+    @Test
+    void extractField_multiReadRequest_invalidJson() {
+        mockRequest.setContent("{invalid".getBytes(StandardCharsets.UTF_8));
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(mockRequest);
+
+        assertFalse(fieldExtractor.extractField(multiReadRequest, FIELD_NAME, messageError).isPresent());
+        assertTrue(fieldExtractor.extractList(multiReadRequest, CURRENCY_FIELD_NAME, messageError).isEmpty());
+        assertTrue(messageError.getTppMessages().isEmpty());
+
+        assertFalse(fieldExtractor.mapBodyToInstance(multiReadRequest, messageError, Object.class).isPresent());
+        assertEquals(DESERIALIZATION_ERROR, messageError);
+    }
+
+    @Test
+    void mapBodyToInstance_multiReadRequest_keepsScaleOfDecimalAmount() {
+        mockRequest.setContent("{\"instructedAmount\": {\"currency\": \"EUR\", \"amount\": 20.00}}".getBytes(StandardCharsets.UTF_8));
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(mockRequest);
+
+        Optional<PaymentInitiationJson> payment = fieldExtractor.mapBodyToInstance(multiReadRequest, messageError, PaymentInitiationJson.class);
+        Optional<DecimalAmountHolder> decimalAmount = fieldExtractor.mapBodyToInstance(multiReadRequest, messageError, DecimalAmountHolder.class);
+
+        assertTrue(payment.isPresent());
+        assertEquals("20.00", payment.get().getInstructedAmount().getAmount());
+        assertTrue(decimalAmount.isPresent());
+        assertEquals(new BigDecimal("20.00"), decimalAmount.get().instructedAmount.amount);
+        assertTrue(messageError.getTppMessages().isEmpty());
+    }
+
+    @Test
+    void extractField_typed_multiReadRequest() {
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(mockRequest);
+
+        Optional<Map<String, Object>> actualResult = fieldExtractor.extractField(multiReadRequest, "instructedAmount", new TypeReference<Map<String, Object>>() {
+        }, messageError);
+
+        assertTrue(actualResult.isPresent());
+        assertEquals("EUR", actualResult.get().get(CURRENCY_FIELD_NAME));
+        assertTrue(messageError.getTppMessages().isEmpty());
+    }
+
+    @Test
+    void extractField_typed_Exception() {
+        Optional<Map<String, Object>> actualResult = fieldExtractor.extractField(mockedRequest, "instructedAmount", new TypeReference<Map<String, Object>>() {
+        }, messageError);
+
+        assertFalse(actualResult.isPresent());
+        assertEquals(DESERIALIZATION_ERROR, messageError);
+    }
+
+    @Test
+    void mapBodyToInstance_Exception() {
+        Optional<Object> actualResult = fieldExtractor.mapBodyToInstance(mockedRequest, messageError, Object.class);
+        assertFalse(actualResult.isPresent());
+        assertEquals(DESERIALIZATION_ERROR, messageError);
+    }
+
+    private static class DecimalAmountHolder {
+        public DecimalAmount instructedAmount;
+    }
+
+    private static class DecimalAmount {
+        public String currency;
+        public BigDecimal amount;
+    }
+
     private List<String> getCurrencyList() {
         List<String> currencyList = new ArrayList<>();
         currencyList.add("EUR");
@@ -47,17 +47,34 @@ public class Xs2aObjectMapper extends ObjectMapper {
      */
     public <T> Optional<T> toJsonField(InputStream stream, String fieldName, TypeReference<T> typeReference) {
         try {
-            JsonNode jsonNode = readTree(stream);
-            JsonNode fieldNode = jsonNode.get(fieldName);
+            return toJsonField(readTree(stream), fieldName, typeReference);
+        } catch (IOException e) {
+            log.info("Couldn't extract field {} from json: {}", fieldName, e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Extracts field by given name from already parsed JSON
+     *
+     * @param jsonNode      parsed JSON content
+     * @param fieldName     name of the JSON field to be extracted
+     * @param typeReference type reference of the field
+     * @param <T>           type of the field to be extracted
+     * @return value of the extracted field, if it was found in the JSON
+     */
+    public <T> Optional<T> toJsonField(JsonNode jsonNode, String fieldName, TypeReference<T> typeReference) {
+        JsonNode fieldNode = jsonNode == null ? null : jsonNode.get(fieldName);
 
-            if (fieldNode == null) {
-                log.info("Couldn't extract field from json, because there is no this field {} at json.", fieldName);
-                return Optional.empty();
-            }
+        if (fieldNode == null) {
+            log.info("Couldn't extract field from json, because there is no this field {} at json.", fieldName);
+            return Optional.empty();
+        }
 
+        try {
             T value = readValue(treeAsTokens(fieldNode), typeReference);
             return Optional.ofNullable(value);
-
         } catch (IOException e) {
             log.info("Couldn't extract field {} from json: {}", fieldName, e.getMessage());
         }
@@ -66,13 +83,26 @@ public class Xs2aObjectMapper extends ObjectMapper {
     }
 
     public List<String> toJsonGetValuesForField(InputStream stream, String fieldName) {
-        List<String> values = new ArrayList<>();
         try {
-            JsonNode jsonNode = readTree(stream);
-            values.addAll(jsonNode.findValuesAsText(fieldName));
+            return toJsonGetValuesForField(readTree(stream), fieldName);
         } catch (IOException e) {
             log.info("Couldn't extract field {} from json: {}", fieldName, e.getMessage());
         }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Collects text values of all fields with given name from already parsed JSON
+     *
+     * @param jsonNode  parsed JSON content
+     * @param fieldName name of the JSON fields to be collected
+     * @return list of found values
+     */
+    public List<String> toJsonGetValuesForField(JsonNode jsonNode, String fieldName) {
+        List<String> values = new ArrayList<>();
+        if (jsonNode != null) {
+            values.addAll(jsonNode.findValuesAsText(fieldName));
+        }
         return values;
     }
 
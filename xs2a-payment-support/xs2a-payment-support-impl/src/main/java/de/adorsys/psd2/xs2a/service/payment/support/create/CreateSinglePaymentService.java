@@ -23,8 +23,9 @@ import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.ScaApproachResolver;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationChainResponsibilityService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.Xs2aAuthorisationService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
+import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aConsentAuthorisationMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aToCmsPisCommonPaymentRequestMapper;
 import de.adorsys.psd2.xs2a.service.payment.create.AbstractCreatePaymentService;
@@ -39,7 +40,8 @@ public class CreateSinglePaymentService extends AbstractCreatePaymentService<Sin
 
     @Autowired
     public CreateSinglePaymentService(Xs2aPisCommonPaymentService pisCommonPaymentService,
-                                      PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver,
+                                      Xs2aAuthorisationService xs2aAuthorisationService,
+                                      Xs2aConsentAuthorisationMapper xs2aConsentAuthorisationMapper,
                                       AuthorisationMethodDecider authorisationMethodDecider,
                                       Xs2aPisCommonPaymentMapper xs2aPisCommonPaymentMapper,
                                       Xs2aToCmsPisCommonPaymentRequestMapper xs2aToCmsPisCommonPaymentRequestMapper,
@@ -49,7 +51,7 @@ public class CreateSinglePaymentService extends AbstractCreatePaymentService<Sin
                                       LoggingContextService loggingContextService,
                                       AuthorisationChainResponsibilityService authorisationChainResponsibilityService,
                                       ScaApproachResolver scaApproachResolver) {
-        super(pisCommonPaymentService, pisScaAuthorisationServiceResolver, authorisationMethodDecider,
+        super(pisCommonPaymentService, xs2aAuthorisationService, xs2aConsentAuthorisationMapper, authorisationMethodDecider,
               xs2aPisCommonPaymentMapper, xs2aToCmsPisCommonPaymentRequestMapper, paymentInitiationService,
               requestProviderService, loggingContextService, authorisationChainResponsibilityService, scaApproachResolver);
         this.rawToXs2aPaymentMapper = rawToXs2aPaymentMapper;